@@ -21,6 +21,8 @@ import seedu.address.commons.util.ConfigUtil;
 import seedu.address.commons.util.StringUtil;
 import seedu.address.logic.Logic;
 import seedu.address.logic.LogicManager;
+import seedu.address.logic.RecordExporter;
+import seedu.address.logic.UndoRedoStack;
 import seedu.address.model.AddressBook;
 import seedu.address.model.Model;
 import seedu.address.model.ModelManager;
@@ -28,7 +30,10 @@ import seedu.address.model.ReadOnlyAddressBook;
 import seedu.address.model.UserPrefs;
 import seedu.address.model.util.SampleDataUtil;
 import seedu.address.storage.AddressBookStorage;
+import seedu.address.storage.BinaryAddressBookStorage;
 import seedu.address.storage.JsonUserPrefsStorage;
+import seedu.address.storage.MappedAddressBookStorage;
+import seedu.address.storage.ShardedAddressBookStorage;
 import seedu.address.storage.Storage;
 import seedu.address.storage.StorageManager;
 import seedu.address.storage.UserPrefsStorage;
@@ -62,14 +67,18 @@ public class MainApp extends Application {
 
         UserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(config.getUserPrefsFilePath());
         userPrefs = initPrefs(userPrefsStorage);
-        AddressBookStorage addressBookStorage = new XmlAddressBookStorage(userPrefs.getAddressBookFilePath());
-        storage = new StorageManager(addressBookStorage, userPrefsStorage);
+        AddressBookStorage addressBookStorage = initAddressBookStorage(config, userPrefs);
+        storage = config.getJournalCompactionThreshold() > 0 && !config.isDataFileReadOnly()
+                ? new StorageManager(addressBookStorage, userPrefsStorage, config.getSaveDebounceMillis(),
+                        config.getJournalCompactionThreshold())
+                : new StorageManager(addressBookStorage, userPrefsStorage, config.getSaveDebounceMillis());
 
         initLogging(config);
 
-        model = initModelManager(storage, userPrefs);
+        model = initModelManager(storage, userPrefs, config.isDataFileReadOnly());
 
-        logic = new LogicManager(model);
+        logic = new LogicManager(model,
+                new UndoRedoStack(config.getUndoHistoryLimit(), config.getUndoRecordLimit()));
 
         ui = new UiManager(logic, config, userPrefs);
 
@@ -81,12 +90,34 @@ public class MainApp extends Application {
         return applicationParameters.get(parameterName);
     }
 
+    /**
+     * Returns the storage for the address book file in {@code userPrefs}, in the format chosen in {@code config}.
+     * A binary file that is opened read-only is mapped into memory instead of being read.
+     */
+    private AddressBookStorage initAddressBookStorage(Config config, UserPrefs userPrefs) {
+        switch (config.getStorageFormat()) {
+        case BINARY:
+            if (config.isDataFileReadOnly()) {
+                return new MappedAddressBookStorage(userPrefs.getAddressBookFilePath());
+            }
+            return new BinaryAddressBookStorage(userPrefs.getAddressBookFilePath(), config.getBackupCount(),
+                    config.isDataFileCompressed());
+        case SHARDED:
+            return new ShardedAddressBookStorage(userPrefs.getAddressBookFilePath(), config.getBackupCount(),
+                    config.isDataFileCompressed());
+        default:
+            return new XmlAddressBookStorage(userPrefs.getAddressBookFilePath(), config.getBackupCount(),
+                    config.isDataFileFormatted(), config.isDataFileCompressed());
+        }
+    }
+
     /**
      * Returns a {@code ModelManager} with the data from {@code storage}'s address book and {@code userPrefs}. <br>
      * The data from the sample address book will be used instead if {@code storage}'s address book is not found,
      * or an empty address book will be used instead if errors occur when reading {@code storage}'s address book.
+     * The data cannot be changed if {@code isReadOnly} is true.
      */
-    private Model initModelManager(Storage storage, UserPrefs userPrefs) throws Exception {
+    private Model initModelManager(Storage storage, UserPrefs userPrefs, boolean isReadOnly) throws Exception {
         Optional<ReadOnlyAddressBook> addressBookOptional;
         ReadOnlyAddressBook initialData;
         try {
@@ -103,7 +134,7 @@ public class MainApp extends Application {
             initialData = new AddressBook();
         }
 
-        return new ModelManager(initialData, userPrefs);
+        return new ModelManager(initialData, userPrefs, isReadOnly);
     }
 
     private void initLogging(Config config) {
@@ -192,6 +223,8 @@ public class MainApp extends Application {
     public void stop() {
         logger.info("============================ [ Stopping Medeina ] =============================");
         ui.stop();
+        storage.flushAddressBookSaves();
+        RecordExporter.getInstance().flush();
         try {
             storage.saveUserPrefs(userPrefs);
         } catch (IOException e) {
@@ -10,10 +10,24 @@ public class Config {
 
     public static final String DEFAULT_CONFIG_FILE = "config.json";
 
+    /**
+     * Formats the address book file can be stored in.
+     */
+    public enum StorageFormat { XML, BINARY, SHARDED }
+
     // Config values customizable through config file
     private String appTitle = "Medeina";
     private Level logLevel = Level.INFO;
     private String userPrefsFilePath = "preferences.json";
+    private int undoHistoryLimit = 100;
+    private int undoRecordLimit = 500000;
+    private long saveDebounceMillis = 300;
+    private int backupCount = 3;
+    private boolean dataFileFormatted = true;
+    private StorageFormat storageFormat = StorageFormat.XML;
+    private int journalCompactionThreshold = 0;
+    private boolean dataFileReadOnly = false;
+    private boolean dataFileCompressed = false;
 
     public String getAppTitle() {
         return appTitle;
@@ -39,6 +53,78 @@ public class Config {
         this.userPrefsFilePath = userPrefsFilePath;
     }
 
+    public int getUndoHistoryLimit() {
+        return undoHistoryLimit;
+    }
+
+    public void setUndoHistoryLimit(int undoHistoryLimit) {
+        this.undoHistoryLimit = undoHistoryLimit;
+    }
+
+    public int getUndoRecordLimit() {
+        return undoRecordLimit;
+    }
+
+    public void setUndoRecordLimit(int undoRecordLimit) {
+        this.undoRecordLimit = undoRecordLimit;
+    }
+
+    public long getSaveDebounceMillis() {
+        return saveDebounceMillis;
+    }
+
+    public void setSaveDebounceMillis(long saveDebounceMillis) {
+        this.saveDebounceMillis = saveDebounceMillis;
+    }
+
+    public int getBackupCount() {
+        return backupCount;
+    }
+
+    public void setBackupCount(int backupCount) {
+        this.backupCount = backupCount;
+    }
+
+    public boolean isDataFileFormatted() {
+        return dataFileFormatted;
+    }
+
+    public void setDataFileFormatted(boolean dataFileFormatted) {
+        this.dataFileFormatted = dataFileFormatted;
+    }
+
+    public StorageFormat getStorageFormat() {
+        return storageFormat;
+    }
+
+    public void setStorageFormat(StorageFormat storageFormat) {
+        this.storageFormat = storageFormat;
+    }
+
+    public int getJournalCompactionThreshold() {
+        return journalCompactionThreshold;
+    }
+
+    public void setJournalCompactionThreshold(int journalCompactionThreshold) {
+        this.journalCompactionThreshold = journalCompactionThreshold;
+    }
+
+    public boolean isDataFileReadOnly() {
+        return dataFileReadOnly;
+    }
+
+    public void setDataFileReadOnly(boolean dataFileReadOnly) {
+        this.dataFileReadOnly = dataFileReadOnly;
+    }
+
+    public boolean isDataFileCompressed() {
+        return dataFileCompressed;
+    }
+
+    public void setDataFileCompressed(boolean dataFileCompressed) {
+        this.dataFileCompressed = dataFileCompressed;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -52,12 +138,23 @@ public class Config {
 
         return Objects.equals(appTitle, o.appTitle)
                 && Objects.equals(logLevel, o.logLevel)
-                && Objects.equals(userPrefsFilePath, o.userPrefsFilePath);
+                && Objects.equals(userPrefsFilePath, o.userPrefsFilePath)
+                && undoHistoryLimit == o.undoHistoryLimit
+                && undoRecordLimit == o.undoRecordLimit
+                && saveDebounceMillis == o.saveDebounceMillis
+                && backupCount == o.backupCount
+                && dataFileFormatted == o.dataFileFormatted
+                && storageFormat == o.storageFormat
+                && journalCompactionThreshold == o.journalCompactionThreshold
+                && dataFileReadOnly == o.dataFileReadOnly
+                && dataFileCompressed == o.dataFileCompressed;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(appTitle, logLevel, userPrefsFilePath);
+        return Objects.hash(appTitle, logLevel, userPrefsFilePath, undoHistoryLimit, undoRecordLimit,
+                saveDebounceMillis, backupCount, dataFileFormatted, storageFormat, journalCompactionThreshold,
+                dataFileReadOnly, dataFileCompressed);
     }
 
     @Override
@@ -66,6 +163,15 @@ public class Config {
         sb.append("App title : " + appTitle);
         sb.append("\nCurrent log level : " + logLevel);
         sb.append("\nPreference file Location : " + userPrefsFilePath);
+        sb.append("\nUndo history limit : " + undoHistoryLimit);
+        sb.append("\nUndo record limit : " + undoRecordLimit);
+        sb.append("\nSave debounce (ms) : " + saveDebounceMillis);
+        sb.append("\nBackup count : " + backupCount);
+        sb.append("\nData file formatted : " + dataFileFormatted);
+        sb.append("\nStorage format : " + storageFormat);
+        sb.append("\nJournal compaction threshold : " + journalCompactionThreshold);
+        sb.append("\nData file read-only : " + dataFileReadOnly);
+        sb.append("\nData file compressed : " + dataFileCompressed);
         return sb.toString();
     }
 
@@ -18,4 +18,5 @@ public class Messages {
 
     public static final String MESSAGE_PERSONS_LISTED_OVERVIEW = "%1$d contacts listed!";
     public static final String MESSAGE_PET_PATIENTS_LISTED_OVERVIEW = "%1$d pet patients listed!";
+    public static final String MESSAGE_READ_ONLY = "Medeina was opened read-only, so its data cannot be changed.";
 }
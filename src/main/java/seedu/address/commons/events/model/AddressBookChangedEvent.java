@@ -1,15 +1,46 @@
 package seedu.address.commons.events.model;
 
+import java.util.Collections;
+import java.util.List;
+
 import seedu.address.commons.events.BaseEvent;
+import seedu.address.model.AddressBookMutation;
 import seedu.address.model.ReadOnlyAddressBook;
 
 /** Indicates the AddressBook in the model has changed*/
 public class AddressBookChangedEvent extends BaseEvent {
 
     public final ReadOnlyAddressBook data;
+    private final List<AddressBookMutation> mutations;
 
     public AddressBookChangedEvent(ReadOnlyAddressBook data) {
+        this(data, Collections.emptyList());
+    }
+
+    /**
+     * @param mutation the single mutation that changed the address book into {@code data}, if it is known.
+     */
+    public AddressBookChangedEvent(ReadOnlyAddressBook data, AddressBookMutation mutation) {
+        this(data, mutation == null
+                ? Collections.emptyList()
+                : Collections.singletonList(mutation));
+    }
+
+    /**
+     * @param mutations the mutations that changed the address book into {@code data}, in the order they were made,
+     *                  or an empty list if they are not known.
+     */
+    public AddressBookChangedEvent(ReadOnlyAddressBook data, List<AddressBookMutation> mutations) {
         this.data = data;
+        this.mutations = Collections.unmodifiableList(mutations);
+    }
+
+    /**
+     * Returns the mutations that made this change, in the order they were made, or an empty list if the change
+     * cannot be described by mutations (for example, when the whole address book is replaced).
+     */
+    public List<AddressBookMutation> getMutations() {
+        return mutations;
     }
 
     @Override
@@ -17,6 +48,7 @@ public class AddressBookChangedEvent extends BaseEvent {
         return "number of persons " + data.getPersonList().size()
                 + ", number of tags " + data.getTagList().size()
                 + ", number of appointments " + data.getAppointmentList().size()
-                + ", number of pet patients " + data.getPetPatientList().size();
+                + ", number of pet patients " + data.getPetPatientList().size()
+                + (mutations.isEmpty() ? "" : ", changed by " + mutations);
     }
 }
@@ -0,0 +1,24 @@
+package seedu.address.commons.events.model;
+
+import seedu.address.commons.events.BaseEvent;
+import seedu.address.model.ReadOnlyAddressBook;
+
+/**
+ * Indicates the archived appointments of a year have been read into the AddressBook in the model, so that views of
+ * its appointments show them. The data of the address book stays the same, so there is nothing to save.
+ */
+public class ArchivedAppointmentsLoadedEvent extends BaseEvent {
+
+    public final ReadOnlyAddressBook data;
+    public final int year;
+
+    public ArchivedAppointmentsLoadedEvent(ReadOnlyAddressBook data, int year) {
+        this.data = data;
+        this.year = year;
+    }
+
+    @Override
+    public String toString() {
+        return "appointments in " + year + " read, number of appointments " + data.getAppointmentList().size();
+    }
+}
@@ -0,0 +1,107 @@
+package seedu.address.commons.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes records in the CSV format, as described in RFC 4180.
+ * Fields that contain commas, quotes or line breaks are quoted, and quotes in them are doubled.
+ */
+public class CsvUtil {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    /**
+     * Reads the next record from {@code reader}, which should be buffered.
+     * Returns null if there are no more records. Blank lines are read as records with a single empty field.
+     *
+     * @throws IOException if a quoted field is not closed before the end of the input.
+     */
+    public static List<String> readRecord(Reader reader) throws IOException {
+        requireNonNull(reader);
+
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+        while (true) {
+            if (isQuoted) {
+                if (c == -1) {
+                    throw new IOException("Unclosed quote in field: " + field);
+                }
+                if (c == QUOTE) {
+                    c = reader.read();
+                    if (c != QUOTE) {
+                        isQuoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == QUOTE) {
+                isQuoted = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                if (c == '\r') {
+                    skipLineFeed(reader);
+                }
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    /**
+     * Skips the line feed that follows a carriage return, if there is one.
+     */
+    private static void skipLineFeed(Reader reader) throws IOException {
+        if (!reader.markSupported()) {
+            return;
+        }
+        reader.mark(1);
+        if (reader.read() != '\n') {
+            reader.reset();
+        }
+    }
+
+    /**
+     * Returns {@code fields} as a single record, without a line break at the end.
+     */
+    public static String toRecord(List<String> fields) {
+        requireNonNull(fields);
+        StringBuilder record = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                record.append(SEPARATOR);
+            }
+            record.append(toField(fields.get(i)));
+        }
+        return record.toString();
+    }
+
+    /**
+     * Returns {@code value} as a field, quoting it if it contains commas, quotes or line breaks.
+     */
+    public static String toField(String value) {
+        requireNonNull(value);
+        if (value.indexOf(SEPARATOR) < 0 && value.indexOf(QUOTE) < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return QUOTE + value.replace(String.valueOf(QUOTE), "" + QUOTE + QUOTE) + QUOTE;
+    }
+
+}
@@ -2,9 +2,21 @@ package seedu.address.commons.util;
 
 import static seedu.address.commons.util.AppUtil.checkArgument;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Writes and reads files
@@ -12,6 +24,7 @@ import java.nio.file.Files;
 public class FileUtil {
 
     private static final String CHARSET = "UTF-8";
+    private static final int COMPRESSION_BUFFER_SIZE = 64 * 1024;
 
     public static boolean isFileExists(File file) {
         return file.exists() && file.isFile();
@@ -80,6 +93,110 @@ public class FileUtil {
         Files.write(file.toPath(), content.getBytes(CHARSET));
     }
 
+    /**
+     * Replaces the contents of {@code file} with the data written by {@code contentWriter}.
+     * The data is written to a temporary file in the same directory and synced to the disk before being renamed
+     * over {@code file}, so {@code file} holds either its old or its new contents if the write is interrupted.
+     * Will create the file and its missing parent directories if they do not exist yet.
+     */
+    public static void writeToFileAtomically(File file, ContentWriter contentWriter) throws IOException {
+        File absoluteFile = file.getAbsoluteFile();
+        createParentDirsOfFile(absoluteFile);
+        Path directory = absoluteFile.getParentFile().toPath();
+        Path tempFile = Files.createTempFile(directory, absoluteFile.getName(), ".tmp");
+        try {
+            try (FileOutputStream out = new FileOutputStream(tempFile.toFile())) {
+                contentWriter.writeTo(out);
+                out.flush();
+                out.getChannel().force(true);
+            }
+            moveAtomically(tempFile, absoluteFile.toPath());
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        syncDirectory(directory);
+    }
+
+    /**
+     * Similar to {@link #writeToFileAtomically(File, ContentWriter)}, but compresses the data written by
+     * {@code contentWriter} in the GZIP format if {@code isCompressed} is true.
+     */
+    public static void writeToFileAtomically(File file, boolean isCompressed, ContentWriter contentWriter)
+            throws IOException {
+        if (!isCompressed) {
+            writeToFileAtomically(file, contentWriter);
+            return;
+        }
+        writeToFileAtomically(file, out -> {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, COMPRESSION_BUFFER_SIZE);
+            contentWriter.writeTo(compressed);
+            compressed.finish();
+        });
+    }
+
+    /**
+     * Returns a buffered stream of the contents of {@code file}, which are decompressed first if the file is in the
+     * GZIP format. Files are told apart by the magic number that GZIP files start with, so uncompressed files
+     * can be read too.
+     */
+    public static InputStream openDecompressed(File file) throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream(file));
+        try {
+            if (isCompressed(in)) {
+                return new BufferedInputStream(new GZIPInputStream(in, COMPRESSION_BUFFER_SIZE));
+            }
+            return in;
+        } catch (IOException ioe) {
+            in.close();
+            throw ioe;
+        }
+    }
+
+    /**
+     * Returns true if {@code file} is in the GZIP format.
+     */
+    public static boolean isCompressed(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return isCompressed(in);
+        }
+    }
+
+    /**
+     * Returns true if the data in {@code in} starts with the GZIP magic number, leaving {@code in} where it was.
+     * {@code in} must support marks.
+     */
+    private static boolean isCompressed(InputStream in) throws IOException {
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        return first == (GZIPInputStream.GZIP_MAGIC & 0xff) && second == (GZIPInputStream.GZIP_MAGIC >>> 8);
+    }
+
+    /**
+     * Renames {@code source} to {@code target}, replacing {@code target}, in a single step if the file system
+     * supports it.
+     */
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException amnse) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Syncs the entries of {@code directory} to the disk, so that files renamed into it are not lost on a crash.
+     * Some platforms do not allow directories to be opened, in which case this does nothing.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ioe) {
+            // the rename has already taken place; it will reach the disk when the file system next syncs
+        }
+    }
+
     /**
      * Converts a string to a platform-specific file path
      * @param pathWithForwardSlash A String representing a file path but using '/' as the separator
@@ -90,4 +207,12 @@ public class FileUtil {
         return pathWithForwardSlash.replace("/", File.separator);
     }
 
+    /**
+     * Writes the contents of a file to an output stream.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
 }
@@ -0,0 +1,80 @@
+package seedu.address.commons.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Helps with reading xml files one element at a time.
+ *
+ * Readers never process DTDs, so external entities in a crafted file are never resolved.
+ */
+public class XmlStreamUtil {
+
+    private static final XMLInputFactory inputFactory = XMLInputFactory.newFactory();
+
+    static {
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Returns a reader of the xml in {@code in}, positioned before the start of the document.
+     */
+    public static XMLStreamReader createReader(InputStream in) throws XMLStreamException {
+        requireNonNull(in);
+        return inputFactory.createXMLStreamReader(in);
+    }
+
+    /**
+     * Returns the text of each child element of the element at the current position of {@code reader}, by the
+     * names of the child elements. The reader is left at the end of the element.
+     */
+    public static Map<String, List<String>> readFields(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, List<String>> fields = new HashMap<>();
+        moveToNextElement(reader);
+        while (reader.isStartElement()) {
+            String name = reader.getLocalName();
+            fields.computeIfAbsent(name, unused -> new ArrayList<>(1)).add(readText(reader));
+            moveToNextElement(reader);
+        }
+        return fields;
+    }
+
+    /**
+     * Returns the text directly within the element at the current position of {@code reader}, skipping any
+     * elements nested in it. The reader is left at the end of the element.
+     */
+    public static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamReader.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamReader.END_ELEMENT) {
+                depth--;
+            } else if (depth == 1 && (event == XMLStreamReader.CHARACTERS || event == XMLStreamReader.CDATA)) {
+                text.append(reader.getText());
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Moves {@code reader} past the current event to the next start or end of an element.
+     */
+    public static void moveToNextElement(XMLStreamReader reader) throws XMLStreamException {
+        do {
+            reader.next();
+        } while (!reader.isStartElement() && !reader.isEndElement());
+    }
+}
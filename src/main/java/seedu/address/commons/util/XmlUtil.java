@@ -4,17 +4,32 @@ import static java.util.Objects.requireNonNull;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.namespace.QName;
 
 /**
  * Helps with reading from and writing to XML files.
+ *
+ * Building a {@code JAXBContext} inspects the converted classes reflectively and is far slower than the conversion
+ * of a small file, so a context is built only once per class. Marshallers and unmarshallers are not thread-safe,
+ * so each thread keeps its own for reuse.
  */
 public class XmlUtil {
 
+    private static final Map<Class<?>, JAXBContext> contexts = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<Class<?>, Marshaller>> marshallers = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<Class<?>, Unmarshaller>> unmarshallers =
+            ThreadLocal.withInitial(HashMap::new);
+
     /**
      * Returns the xml data in the file as an object of the specified type.
      *
@@ -36,10 +51,7 @@ public class XmlUtil {
             throw new FileNotFoundException("File not found : " + file.getAbsolutePath());
         }
 
-        JAXBContext context = JAXBContext.newInstance(classToConvert);
-        Unmarshaller um = context.createUnmarshaller();
-
-        return ((T) um.unmarshal(file));
+        return ((T) getUnmarshaller(classToConvert).unmarshal(file));
     }
 
     /**
@@ -60,11 +72,85 @@ public class XmlUtil {
             throw new FileNotFoundException("File not found : " + file.getAbsolutePath());
         }
 
-        JAXBContext context = JAXBContext.newInstance(data.getClass());
-        Marshaller m = context.createMarshaller();
-        m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        getMarshaller(data.getClass(), true).marshal(data, file);
+    }
+
+    /**
+     * Writes the data to the output stream in xml format. The stream is not closed.
+     *
+     * @param isFormatted Whether the xml is indented for reading by people. Unformatted xml is smaller and
+     *                    faster to write.
+     * @throws JAXBException Thrown if there is an error during converting the data
+     *                       into xml and writing to the stream.
+     */
+    public static <T> void saveDataToStream(OutputStream out, T data, boolean isFormatted) throws JAXBException {
+
+        requireNonNull(out);
+        requireNonNull(data);
 
-        m.marshal(data, file);
+        getMarshaller(data.getClass(), isFormatted).marshal(data, out);
+    }
+
+    /**
+     * Writes the data to the output stream in xml format, as an element named {@code elementName} without an
+     * xml declaration, so that it can be part of a larger document. The stream is not closed.
+     *
+     * @param isFormatted Whether the xml is indented for reading by people. Indented elements start on a new line.
+     * @throws JAXBException Thrown if there is an error during converting the data
+     *                       into xml and writing to the stream.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void saveFragmentToStream(OutputStream out, String elementName, T data, boolean isFormatted)
+            throws JAXBException {
+
+        requireNonNull(out);
+        requireNonNull(elementName);
+        requireNonNull(data);
+
+        Marshaller m = getMarshaller(data.getClass(), isFormatted);
+        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        m.marshal(new JAXBElement<>(new QName(elementName), (Class<T>) data.getClass(), data), out);
+    }
+
+    /**
+     * Returns the {@code JAXBContext} for the specified class, building it if this is the first time it is needed.
+     */
+    private static JAXBContext getContext(Class<?> classToConvert) throws JAXBException {
+        JAXBContext context = contexts.get(classToConvert);
+        if (context == null) {
+            // contexts may rarely be built more than once by concurrent callers, but are equivalent
+            context = JAXBContext.newInstance(classToConvert);
+            contexts.putIfAbsent(classToConvert, context);
+        }
+        return context;
+    }
+
+    /**
+     * Returns this thread's marshaller for objects of the specified type, which writes whole documents.
+     */
+    private static Marshaller getMarshaller(Class<?> classToConvert, boolean isFormatted) throws JAXBException {
+        Map<Class<?>, Marshaller> threadMarshallers = marshallers.get();
+        Marshaller m = threadMarshallers.get(classToConvert);
+        if (m == null) {
+            m = getContext(classToConvert).createMarshaller();
+            threadMarshallers.put(classToConvert, m);
+        }
+        m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, isFormatted);
+        m.setProperty(Marshaller.JAXB_FRAGMENT, false);
+        return m;
+    }
+
+    /**
+     * Returns this thread's unmarshaller for objects of the specified type.
+     */
+    private static Unmarshaller getUnmarshaller(Class<?> classToConvert) throws JAXBException {
+        Map<Class<?>, Unmarshaller> threadUnmarshallers = unmarshallers.get();
+        Unmarshaller um = threadUnmarshallers.get(classToConvert);
+        if (um == null) {
+            um = getContext(classToConvert).createUnmarshaller();
+            threadUnmarshallers.put(classToConvert, um);
+        }
+        return um;
     }
 
 }
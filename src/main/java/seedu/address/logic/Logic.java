@@ -35,13 +35,13 @@ public interface Logic {
     /** Returns the list of input entered by the user, encapsulated in a {@code ListElementPointer} object */
     ListElementPointer getHistorySnapshot();
 
-    /** Processes and sets attributes for pet patients objects. */
+    /** Discards the suggestions for the details of pet patients, which are rebuilt when next used. */
     void setAttributesForPetPatientObjects();
 
-    /** Processes and sets attributes for person objects. */
+    /** Discards the suggestions for the details of persons, which are rebuilt when next used. */
     void setAttributesForPersonObjects();
 
-    /** Processes and sets attributes for appointment. */
+    /** Discards the suggestions for the details of appointments, which are rebuilt when next used. */
     void setAttributesForAppointmentObjects();
 
     /** Returns a set of all command words. */
@@ -56,34 +56,34 @@ public interface Logic {
     /** Returns a set of all options used in command syntax. */
     Set<String> getAllOptions();
 
-    /** Returns a set of all Nric found in model. */
-    Set<String> getAllNric();
+    /** Returns a dictionary of all Nric found in model. */
+    SuggestionDictionary getAllNric();
 
-    /** Returns a set of all pet patient names found in model. */
-    Set<String> getAllPetPatientNames();
+    /** Returns a dictionary of all pet patient names found in model. */
+    SuggestionDictionary getAllPetPatientNames();
 
-    /** Returns a set of all pet patient species found in model. */
-    Set<String> getAllPetPatientSpecies();
+    /** Returns a dictionary of all pet patient species found in model. */
+    SuggestionDictionary getAllPetPatientSpecies();
 
-    /** Returns a set of all pet patient breeds found in model. */
-    Set<String> getAllPetPatientBreeds();
+    /** Returns a dictionary of all pet patient breeds found in model. */
+    SuggestionDictionary getAllPetPatientBreeds();
 
-    /** Returns a set of all pet patient colours found in model. */
-    Set<String> getAllPetPatientColours();
+    /** Returns a dictionary of all pet patient colours found in model. */
+    SuggestionDictionary getAllPetPatientColours();
 
-    /** Returns a set of all pet patient blood types found in model. */
-    Set<String> getAllPetPatientBloodTypes();
+    /** Returns a dictionary of all pet patient blood types found in model. */
+    SuggestionDictionary getAllPetPatientBloodTypes();
 
-    /** Returns a set of all persons' tags found in model. */
-    Set<String> getAllPersonTags();
+    /** Returns a dictionary of all persons' tags found in model. */
+    SuggestionDictionary getAllPersonTags();
 
-    /** Returns a set of all pet patients' tags found in model. */
-    Set<String> getAllPetPatientTags();
+    /** Returns a dictionary of all pet patients' tags found in model. */
+    SuggestionDictionary getAllPetPatientTags();
 
-    /** Returns a set of all appointments' tags found in model. */
-    Set<String> getAllAppointmentTags();
+    /** Returns a dictionary of all appointments' tags found in model. */
+    SuggestionDictionary getAllAppointmentTags();
 
-    /** Returns a set of all tags (persons', pet patients' & appointments') found in model. */
-    Set<String> getAllTagsInModel();
+    /** Returns a dictionary of all tags (persons', pet patients' & appointments') found in model. */
+    SuggestionDictionary getAllTagsInModel();
 
 }
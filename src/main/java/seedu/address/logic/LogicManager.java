@@ -1,15 +1,17 @@
 package seedu.address.logic;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import javafx.collections.ObservableList;
 import seedu.address.commons.core.ComponentManager;
 import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.core.Messages;
 import seedu.address.logic.commands.Command;
 import seedu.address.logic.commands.CommandResult;
+import seedu.address.logic.commands.UndoableCommand;
 import seedu.address.logic.commands.exceptions.CommandException;
 import seedu.address.logic.parser.AddressBookParser;
 import seedu.address.logic.parser.CliSyntax;
@@ -33,26 +35,35 @@ public class LogicManager extends ComponentManager implements Logic {
 
     private CliSyntax cliSyntax;
 
+    // each group of details below is built from the model the first time it is used after it is set, so that
+    // starting up does not read every entity in the address book
+
     // person details
-    private Set<String> nricInModel;
-    private Set<Tag> personTagsInModel;
+    private SuggestionDictionary nricInModel;
+    private SuggestionDictionary personTagsInModel;
 
     // pet patient details
-    private Set<String> petPatientNamesInModel;
-    private Set<String> speciesInModel;
-    private Set<String> breedsInModel;
-    private Set<String> coloursInModel;
-    private Set<String> bloodTypesInModel;
-    private Set<Tag> petPatientTagsInModel;
+    private SuggestionDictionary petPatientNamesInModel;
+    private SuggestionDictionary speciesInModel;
+    private SuggestionDictionary breedsInModel;
+    private SuggestionDictionary coloursInModel;
+    private SuggestionDictionary bloodTypesInModel;
+    private SuggestionDictionary petPatientTagsInModel;
 
     // appointment details
-    private Set<Tag> appointmentTagsInModel;
+    private SuggestionDictionary appointmentTagsInModel;
+
+    private SuggestionDictionary tagsInModel;
 
     public LogicManager(Model model) {
+        this(model, new UndoRedoStack());
+    }
+
+    public LogicManager(Model model, UndoRedoStack undoRedoStack) {
         this.model = model;
         history = new CommandHistory();
         addressBookParser = new AddressBookParser();
-        undoRedoStack = new UndoRedoStack();
+        this.undoRedoStack = undoRedoStack;
         cliSyntax = CliSyntax.getInstance();
     }
 
@@ -61,6 +72,9 @@ public class LogicManager extends ComponentManager implements Logic {
         logger.info("----------------[USER COMMAND][" + commandText + "]");
         try {
             Command command = addressBookParser.parseCommand(commandText);
+            if (model.isReadOnly() && command instanceof UndoableCommand) {
+                throw new CommandException(Messages.MESSAGE_READ_ONLY);
+            }
             command.setData(model, history, undoRedoStack);
             CommandResult result = command.execute();
             undoRedoStack.push(command);
@@ -111,103 +125,168 @@ public class LogicManager extends ComponentManager implements Logic {
     }
 
     @Override
-    public Set<String> getAllNric() {
+    public SuggestionDictionary getAllNric() {
+        if (nricInModel == null) {
+            buildPersonSuggestions();
+        }
         return nricInModel;
     }
 
     @Override
-    public Set<String> getAllPersonTags() {
-        Set<String> personTags = personTagsInModel.stream()
-                .map(pt -> pt.tagName)
-                .collect(Collectors.toSet());
-        return personTags;
+    public SuggestionDictionary getAllPersonTags() {
+        if (personTagsInModel == null) {
+            buildPersonSuggestions();
+        }
+        return personTagsInModel;
     }
 
     @Override
-    public Set<String> getAllPetPatientNames() {
+    public SuggestionDictionary getAllPetPatientNames() {
+        if (petPatientNamesInModel == null) {
+            buildPetPatientSuggestions();
+        }
         return petPatientNamesInModel;
     }
 
     @Override
-    public Set<String> getAllPetPatientSpecies() {
+    public SuggestionDictionary getAllPetPatientSpecies() {
+        if (speciesInModel == null) {
+            buildPetPatientSuggestions();
+        }
         return speciesInModel;
     }
 
     @Override
-    public Set<String> getAllPetPatientBreeds() {
+    public SuggestionDictionary getAllPetPatientBreeds() {
+        if (breedsInModel == null) {
+            buildPetPatientSuggestions();
+        }
         return breedsInModel;
     }
 
     @Override
-    public Set<String> getAllPetPatientColours() {
+    public SuggestionDictionary getAllPetPatientColours() {
+        if (coloursInModel == null) {
+            buildPetPatientSuggestions();
+        }
         return coloursInModel;
     }
 
     @Override
-    public Set<String> getAllPetPatientBloodTypes() {
+    public SuggestionDictionary getAllPetPatientBloodTypes() {
+        if (bloodTypesInModel == null) {
+            buildPetPatientSuggestions();
+        }
         return bloodTypesInModel;
     }
 
     @Override
-    public Set<String> getAllPetPatientTags() {
-        Set<String> petPatientTags = petPatientTagsInModel.stream()
-                .map(ppt -> ppt.tagName)
-                .collect(Collectors.toSet());
-        return petPatientTags;
+    public SuggestionDictionary getAllPetPatientTags() {
+        if (petPatientTagsInModel == null) {
+            buildPetPatientSuggestions();
+        }
+        return petPatientTagsInModel;
     }
 
     @Override
-    public Set<String> getAllAppointmentTags() {
-        Set<String> appointmentTags = appointmentTagsInModel.stream()
-                .map(a -> a.tagName)
-                .collect(Collectors.toSet());
-        return appointmentTags;
+    public SuggestionDictionary getAllAppointmentTags() {
+        if (appointmentTagsInModel == null) {
+            buildAppointmentSuggestions();
+        }
+        return appointmentTagsInModel;
     }
 
     @Override
     public void setAttributesForPersonObjects() {
-        nricInModel = new HashSet<>();
-        personTagsInModel = new HashSet<>();
+        nricInModel = null;
+        personTagsInModel = null;
+        tagsInModel = null;
+    }
+
+    @Override
+    public void setAttributesForPetPatientObjects() {
+        petPatientNamesInModel = null;
+        speciesInModel = null;
+        breedsInModel = null;
+        coloursInModel = null;
+        bloodTypesInModel = null;
+        petPatientTagsInModel = null;
+        tagsInModel = null;
+    }
+
+    @Override
+    public void setAttributesForAppointmentObjects() {
+        appointmentTagsInModel = null;
+        tagsInModel = null;
+    }
+
+    /**
+     * Builds the suggestions for the details of the persons in the model.
+     */
+    private void buildPersonSuggestions() {
+        Set<String> nrics = new HashSet<>();
+        Set<String> personTags = new HashSet<>();
 
         for (Person p : model.getAddressBook().getPersonList()) {
-            nricInModel.add(p.getNric().toString());
-            personTagsInModel.addAll(p.getTags());
+            nrics.add(p.getNric().toString());
+            addTagNames(p.getTags(), personTags);
         }
+
+        nricInModel = new SuggestionDictionary(nrics);
+        personTagsInModel = new SuggestionDictionary(personTags);
     }
 
-    @Override
-    public void setAttributesForPetPatientObjects() {
-        petPatientNamesInModel = new HashSet<>();
-        speciesInModel = new HashSet<>();
-        breedsInModel = new HashSet<>();
-        coloursInModel = new HashSet<>();
-        bloodTypesInModel = new HashSet<>();
-        petPatientTagsInModel = new HashSet<>();
+    /**
+     * Builds the suggestions for the details of the pet patients in the model.
+     */
+    private void buildPetPatientSuggestions() {
+        Set<String> petPatientNames = new HashSet<>();
+        Set<String> species = new HashSet<>();
+        Set<String> breeds = new HashSet<>();
+        Set<String> colours = new HashSet<>();
+        Set<String> bloodTypes = new HashSet<>();
+        Set<String> petPatientTags = new HashSet<>();
 
         for (PetPatient p : model.getAddressBook().getPetPatientList()) {
-            petPatientNamesInModel.add(p.getName().toString());
-            speciesInModel.add(p.getSpecies().toString());
-            breedsInModel.add(p.getBreed().toString());
-            coloursInModel.add(p.getColour().toString());
-            bloodTypesInModel.add(p.getBloodType().toString());
-            petPatientTagsInModel.addAll(p.getTags());
+            petPatientNames.add(p.getName().toString());
+            species.add(p.getSpecies().toString());
+            breeds.add(p.getBreed().toString());
+            colours.add(p.getColour().toString());
+            bloodTypes.add(p.getBloodType().toString());
+            addTagNames(p.getTags(), petPatientTags);
         }
+
+        petPatientNamesInModel = new SuggestionDictionary(petPatientNames);
+        speciesInModel = new SuggestionDictionary(species);
+        breedsInModel = new SuggestionDictionary(breeds);
+        coloursInModel = new SuggestionDictionary(colours);
+        bloodTypesInModel = new SuggestionDictionary(bloodTypes);
+        petPatientTagsInModel = new SuggestionDictionary(petPatientTags);
     }
 
-    @Override
-    public void setAttributesForAppointmentObjects() {
-        appointmentTagsInModel = new HashSet<>();
+    /**
+     * Builds the suggestions for the details of the appointments in the model.
+     */
+    private void buildAppointmentSuggestions() {
+        Set<String> appointmentTags = new HashSet<>();
         for (Appointment a : model.getAddressBook().getAppointmentList()) {
-            appointmentTagsInModel.addAll(a.getTag());
+            addTagNames(a.getTag(), appointmentTags);
         }
+        appointmentTagsInModel = new SuggestionDictionary(appointmentTags);
     }
 
     @Override
-    public Set<String> getAllTagsInModel() {
-        Set<String> tagsInModel = new HashSet<>();
-        for (Tag t : model.getTagList()) {
-            tagsInModel.add(t.tagName);
+    public SuggestionDictionary getAllTagsInModel() {
+        if (tagsInModel == null) {
+            Set<String> tags = new HashSet<>();
+            addTagNames(model.getTagList(), tags);
+            tagsInModel = new SuggestionDictionary(tags);
         }
         return tagsInModel;
     }
+
+    //@@author
+    private static void addTagNames(Collection<Tag> tags, Set<String> tagNames) {
+        tags.forEach(t -> tagNames.add(t.tagName));
+    }
 }
@@ -0,0 +1,189 @@
+package seedu.address.logic;
+
+import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import seedu.address.commons.core.EventsCenter;
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.events.ui.NewResultAvailableEvent;
+import seedu.address.commons.util.CsvUtil;
+import seedu.address.commons.util.FileUtil;
+
+/**
+ * Exports records to csv or json files on a single background thread, so that large exports do not hold up the ui.
+ *
+ * Records are written one at a time through a buffered writer on the channel of the file, so an export never holds
+ * more than a buffer of its output in memory. The progress of each export is posted as a
+ * {@link NewResultAvailableEvent} every {@link #PROGRESS_INTERVAL} records, and once it is done.
+ */
+public class RecordExporter {
+
+    public static final int PROGRESS_INTERVAL = 10000;
+
+    public static final String MESSAGE_PROGRESS = "Exporting to %1$s: %2$d of %3$d %4$s written";
+    public static final String MESSAGE_SUCCESS = "Exported %1$d %2$s to %3$s";
+    public static final String MESSAGE_FAILURE = "Could not export to %1$s: %2$s";
+
+    private static final String JSON_EXTENSION = ".json";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Logger logger = LogsCenter.getLogger(RecordExporter.class);
+
+    private static RecordExporter instance;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "record-exporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public static synchronized RecordExporter getInstance() {
+        if (instance == null) {
+            instance = new RecordExporter();
+        }
+        return instance;
+    }
+
+    /**
+     * Exports {@code records} to {@code file} in the background. The file is written in json if its name ends with
+     * {@code .json}, and in csv otherwise, with a header line of {@code columns}.
+     * {@code records} must not change after they are passed in.
+     *
+     * @param recordName the name of the records in messages, such as {@code appointments}.
+     * @param toFields returns the fields of a record in the order of {@code columns}. A field that is a collection
+     *                 is written as a json array, or as its elements separated by spaces in csv.
+     */
+    public <T> Future<?> export(List<T> records, String recordName, List<String> columns,
+                                Function<T, List<Object>> toFields, File file) {
+        requireAllNonNull(records, recordName, columns, toFields, file);
+        return executor.submit(() -> {
+            try {
+                FileUtil.writeToFileAtomically(file, out ->
+                        write(out, records, recordName, columns, toFields, file));
+                post(String.format(MESSAGE_SUCCESS, records.size(), recordName, file.getPath()));
+            } catch (IOException ioe) {
+                logger.warning("Failed to export to " + file + ": " + ioe.getMessage());
+                post(String.format(MESSAGE_FAILURE, file.getPath(), ioe.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Returns once every export requested before this call is done.
+     */
+    public void flush() {
+        try {
+            executor.submit(() -> { }).get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ee) {
+            throw new AssertionError("An empty task should not throw exceptions.", ee.getCause());
+        }
+    }
+
+    /**
+     * Writes {@code records} to {@code out} in the format of {@code file}.
+     */
+    private <T> void write(OutputStream out, List<T> records, String recordName, List<String> columns,
+                           Function<T, List<Object>> toFields, File file) throws IOException {
+        // FileUtil writes to a FileOutputStream, whose own channel is returned here
+        Writer writer = Channels.newWriter(Channels.newChannel(out), StandardCharsets.UTF_8.newEncoder(),
+                BUFFER_SIZE);
+        if (file.getName().toLowerCase(Locale.ROOT).endsWith(JSON_EXTENSION)) {
+            writeJson(writer, records, recordName, columns, toFields, file);
+        } else {
+            writeCsv(writer, records, recordName, columns, toFields, file);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes {@code records} to {@code writer} as csv, with a header line of {@code columns}.
+     */
+    private <T> void writeCsv(Writer writer, List<T> records, String recordName, List<String> columns,
+                              Function<T, List<Object>> toFields, File file) throws IOException {
+        writer.write(CsvUtil.toRecord(columns));
+        writer.write('\n');
+        List<String> values = new ArrayList<>(columns.size());
+        for (int i = 0; i < records.size(); i++) {
+            values.clear();
+            for (Object field : toFields.apply(records.get(i))) {
+                values.add(field instanceof Collection
+                        ? String.join(" ", toStrings((Collection<?>) field))
+                        : String.valueOf(field));
+            }
+            writer.write(CsvUtil.toRecord(values));
+            writer.write('\n');
+            reportProgress(i + 1, records.size(), recordName, file);
+        }
+    }
+
+    /**
+     * Writes {@code records} to {@code writer} as a json array of objects, with fields named by {@code columns}.
+     */
+    private <T> void writeJson(Writer writer, List<T> records, String recordName, List<String> columns,
+                               Function<T, List<Object>> toFields, File file) throws IOException {
+        JsonGenerator generator = jsonFactory.createGenerator(writer);
+        generator.writeStartArray();
+        for (int i = 0; i < records.size(); i++) {
+            List<Object> fields = toFields.apply(records.get(i));
+            generator.writeStartObject();
+            for (int j = 0; j < columns.size(); j++) {
+                Object field = fields.get(j);
+                if (field instanceof Collection) {
+                    generator.writeArrayFieldStart(columns.get(j));
+                    for (String element : toStrings((Collection<?>) field)) {
+                        generator.writeString(element);
+                    }
+                    generator.writeEndArray();
+                } else {
+                    generator.writeStringField(columns.get(j), String.valueOf(field));
+                }
+            }
+            generator.writeEndObject();
+            reportProgress(i + 1, records.size(), recordName, file);
+        }
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    /**
+     * Posts the progress of an export once every {@link #PROGRESS_INTERVAL} records, except for the last record.
+     */
+    private static void reportProgress(int written, int total, String recordName, File file) {
+        if (written % PROGRESS_INTERVAL == 0 && written < total) {
+            post(String.format(MESSAGE_PROGRESS, file.getPath(), written, total, recordName));
+        }
+    }
+
+    private static List<String> toStrings(Collection<?> elements) {
+        List<String> strings = new ArrayList<>(elements.size());
+        elements.forEach(element -> strings.add(String.valueOf(element)));
+        return strings;
+    }
+
+    private static void post(String message) {
+        EventsCenter.getInstance().post(new NewResultAvailableEvent(message));
+    }
+}
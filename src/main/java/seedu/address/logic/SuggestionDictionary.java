@@ -0,0 +1,79 @@
+package seedu.address.logic;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * An immutable set of words to suggest for autocomplete, kept sorted by their lower-cased form.
+ *
+ * The words starting with a prefix, ignoring case, are next to each other in the sorted array, so they are found with
+ * a binary search for the first of them, and are read off from there already in order. A lookup costs
+ * O(log n) comparisons with the prefix, plus the number of suggestions returned.
+ */
+public class SuggestionDictionary {
+
+    private static final Comparator<String> ORDER = Comparator.comparing(SuggestionDictionary::toKey)
+            .thenComparing(Comparator.naturalOrder());
+
+    private final String[] words;
+    private final String[] keys;
+
+    /**
+     * Creates a dictionary of the distinct words in {@code words}.
+     */
+    public SuggestionDictionary(Collection<String> words) {
+        requireNonNull(words);
+        this.words = words.stream().distinct().sorted(ORDER).toArray(String[]::new);
+        this.keys = Arrays.stream(this.words).map(SuggestionDictionary::toKey).toArray(String[]::new);
+    }
+
+    /**
+     * Returns up to {@code limit} words that start with {@code prefix} ignoring case, other than {@code prefix}
+     * itself, sorted ignoring case.
+     */
+    public List<String> getSuggestions(String prefix, int limit) {
+        requireNonNull(prefix);
+        String key = toKey(prefix);
+        List<String> suggestions = new ArrayList<>();
+        for (int i = findFirstAtLeast(key); i < keys.length && suggestions.size() < limit; i++) {
+            if (!keys[i].startsWith(key)) {
+                break;
+            }
+            if (!keys[i].equals(key)) {
+                suggestions.add(words[i]);
+            }
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    /**
+     * Returns the index of the first key that is not less than {@code key}, or the number of keys if there is none.
+     */
+    private int findFirstAtLeast(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String toKey(String word) {
+        return word.toLowerCase(Locale.ROOT);
+    }
+}
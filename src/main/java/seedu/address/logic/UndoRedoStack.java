@@ -10,14 +10,30 @@ import seedu.address.logic.commands.UndoableCommand;
 /**
  * Maintains the undo-stack (the stack of commands that can be undone) and the redo-stack (the stack of
  * commands that can be undone).
+ *
+ * The oldest commands are dropped from the undo-stack once it holds more than {@code maxUndoDepth} commands,
+ * or once the changes kept to undo them hold on to more than {@code maxUndoRecordCount} records in total.
+ * The latest command can always be undone.
  */
 public class UndoRedoStack {
+    public static final int DEFAULT_MAX_UNDO_DEPTH = 100;
+    public static final int DEFAULT_MAX_UNDO_RECORD_COUNT = 500000;
+
     private Stack<UndoableCommand> undoStack;
     private Stack<UndoableCommand> redoStack;
+    private final int maxUndoDepth;
+    private final int maxUndoRecordCount;
 
     public UndoRedoStack() {
+        this(DEFAULT_MAX_UNDO_DEPTH, DEFAULT_MAX_UNDO_RECORD_COUNT);
+    }
+
+    public UndoRedoStack(int maxUndoDepth, int maxUndoRecordCount) {
+        assert maxUndoDepth > 0 : "At least one command should be undoable";
         undoStack = new Stack<>();
         redoStack = new Stack<>();
+        this.maxUndoDepth = maxUndoDepth;
+        this.maxUndoRecordCount = maxUndoRecordCount;
     }
 
     /**
@@ -34,6 +50,27 @@ public class UndoRedoStack {
         }
 
         undoStack.add((UndoableCommand) command);
+        dropOldestCommandsOverLimit();
+    }
+
+    /**
+     * Drops the oldest commands in the undo-stack until it is within {@code maxUndoDepth} and
+     * {@code maxUndoRecordCount}, keeping at least the latest command.
+     */
+    private void dropOldestCommandsOverLimit() {
+        int undoRecordCount = getUndoRecordCount();
+        while (undoStack.size() > maxUndoDepth
+                || (undoStack.size() > 1 && undoRecordCount > maxUndoRecordCount)) {
+            undoRecordCount -= undoStack.remove(0).getUndoRecordCount();
+        }
+    }
+
+    /**
+     * Returns the number of persons, pet patients and appointments held on to in order to undo the commands in
+     * the undo-stack.
+     */
+    public int getUndoRecordCount() {
+        return undoStack.stream().mapToInt(UndoableCommand::getUndoRecordCount).sum();
     }
 
     /**
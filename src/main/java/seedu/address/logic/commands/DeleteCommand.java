@@ -175,28 +175,30 @@ public class DeleteCommand extends UndoableCommand {
 
     /**
      * Forcefully deletes {@code personToDelete} from the address book.
-     * All related dependencies (pet patients, appointments) will be deleted as well.
+     * All related dependencies (pet patients, appointments) will be deleted as well, as a single change.
      */
     private CommandResult deleteForcePerson() {
-        String deleteDependenciesList = "";
-
-        try {
-            requireNonNull(personToDelete);
-            List<PetPatient> petPatientsDeleted = model.deletePetPatientDependencies(personToDelete);
-            List<Appointment> appointmentsDeleted = new ArrayList<>();
-            for (PetPatient pp : petPatientsDeleted) {
-                appointmentsDeleted.addAll(model.deleteAppointmentDependencies(pp));
-                deleteDependenciesList += "\n" + (String.format(MESSAGE_DELETE_PET_PATIENT_SUCCESS, pp));
-            }
-            for (Appointment appointment : appointmentsDeleted) {
-                deleteDependenciesList += "\n" + (String.format(MESSAGE_DELETE_APPOINTMENT_SUCCESS, appointment));
+        requireNonNull(personToDelete);
+        String deleteDependenciesList = model.batch(batch -> {
+            String deleted = "";
+            try {
+                List<PetPatient> petPatientsDeleted = batch.deletePetPatientDependencies(personToDelete);
+                List<Appointment> appointmentsDeleted = new ArrayList<>();
+                for (PetPatient pp : petPatientsDeleted) {
+                    appointmentsDeleted.addAll(batch.deleteAppointmentDependencies(pp));
+                    deleted += "\n" + (String.format(MESSAGE_DELETE_PET_PATIENT_SUCCESS, pp));
+                }
+                for (Appointment appointment : appointmentsDeleted) {
+                    deleted += "\n" + (String.format(MESSAGE_DELETE_APPOINTMENT_SUCCESS, appointment));
+                }
+                batch.deletePerson(personToDelete);
+            } catch (PersonNotFoundException e) {
+                throw new AssertionError("The target contact cannot be missing");
+            } catch (PetDependencyNotEmptyException e) {
+                throw new AssertionError("Pet dependencies still exist!");
             }
-            model.deletePerson(personToDelete);
-        } catch (PersonNotFoundException e) {
-            throw new AssertionError("The target contact cannot be missing");
-        } catch (PetDependencyNotEmptyException e) {
-            throw new AssertionError("Pet dependencies still exist!");
-        }
+            return deleted;
+        });
 
         return new CommandResult(String.format(MESSAGE_DELETE_PERSON_SUCCESS, personToDelete)
                 + deleteDependenciesList);
@@ -204,23 +206,26 @@ public class DeleteCommand extends UndoableCommand {
 
     /**
      * Forcefully deletes {@code petPatientToDelete} from the address book.
-     * All related dependencies (appointments) will be deleted as well.
+     * All related dependencies (appointments) will be deleted as well, as a single change.
      */
     private CommandResult deleteForcePetPatient() {
-        String deleteDependenciesList = "";
-
-        try {
-            requireNonNull(petPatientToDelete);
-            List<Appointment> appointmentDependenciesDeleted = model.deleteAppointmentDependencies(petPatientToDelete);
-            for (Appointment appointment : appointmentDependenciesDeleted) {
-                deleteDependenciesList += "\n" + (String.format(MESSAGE_DELETE_APPOINTMENT_SUCCESS, appointment));
+        requireNonNull(petPatientToDelete);
+        String deleteDependenciesList = model.batch(batch -> {
+            String deleted = "";
+            try {
+                List<Appointment> appointmentDependenciesDeleted =
+                        batch.deleteAppointmentDependencies(petPatientToDelete);
+                for (Appointment appointment : appointmentDependenciesDeleted) {
+                    deleted += "\n" + (String.format(MESSAGE_DELETE_APPOINTMENT_SUCCESS, appointment));
+                }
+                batch.deletePetPatient(petPatientToDelete);
+            } catch (PetPatientNotFoundException ppnfe) {
+                throw new AssertionError("The target pet patient cannot be missing");
+            }  catch (AppointmentDependencyNotEmptyException e) {
+                throw new AssertionError("Appointment dependencies still exist!");
             }
-            model.deletePetPatient(petPatientToDelete);
-        } catch (PetPatientNotFoundException ppnfe) {
-            throw new AssertionError("The target pet patient cannot be missing");
-        }  catch (AppointmentDependencyNotEmptyException e) {
-            throw new AssertionError("Appointment dependencies still exist!");
-        }
+            return deleted;
+        });
 
         return new CommandResult(String.format(MESSAGE_DELETE_PET_PATIENT_SUCCESS, petPatientToDelete)
                 + deleteDependenciesList);
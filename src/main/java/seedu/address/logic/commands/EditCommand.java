@@ -45,6 +45,7 @@ import seedu.address.model.person.Name;
 import seedu.address.model.person.Nric;
 import seedu.address.model.person.Person;
 import seedu.address.model.person.Phone;
+import seedu.address.model.person.exceptions.DuplicateNricException;
 import seedu.address.model.person.exceptions.DuplicatePersonException;
 import seedu.address.model.person.exceptions.PersonNotFoundException;
 import seedu.address.model.petpatient.BloodType;
@@ -101,6 +102,7 @@ public class EditCommand extends UndoableCommand {
     public static final String MESSAGE_EDIT_APPOINTMENT_SUCCESS = "Edited Appointment: %1$s";
     public static final String MESSAGE_NOT_EDITED = "At least one field to edit must be provided.";
     public static final String MESSAGE_DUPLICATE_PERSON = "This contact already exists in the address book.";
+    public static final String MESSAGE_DUPLICATE_NRIC = "There is already a contact with this NRIC.";
     public static final String MESSAGE_DUPLICATE_PET_PATIENT = "This pet patient already exists in the address book.";
     public static final String MESSAGE_DUPLICATE_APPOINTMENT = "This appointment already exists in the address book.";
     public static final String MESSAGE_MISSING_PERSON = "The target contact cannot be missing.";
@@ -191,6 +193,8 @@ public class EditCommand extends UndoableCommand {
             }
         } catch (DuplicatePersonException dpe) {
             throw new CommandException(MESSAGE_DUPLICATE_PERSON);
+        } catch (DuplicateNricException dne) {
+            throw new CommandException(MESSAGE_DUPLICATE_NRIC);
         } catch (PersonNotFoundException pnfe) {
             throw new CommandException(MESSAGE_MISSING_PERSON);
         } catch (DuplicatePetPatientException dppe) {
@@ -229,12 +233,21 @@ public class EditCommand extends UndoableCommand {
      * If no, do nothing
      */
     private void resolvePersonDependencies() throws DuplicatePetPatientException, PetPatientNotFoundException,
-            DuplicateAppointmentException, AppointmentNotFoundException {
+            DuplicateAppointmentException, DuplicateDateTimeException, AppointmentNotFoundException,
+            DuplicatePersonException, DuplicateNricException {
 
         Nric oldNric = personToEdit.getNric();
         Nric newNric = editedPerson.getNric();
 
         if (!oldNric.equals(newNric)) {
+            // check for clashes before any dependency is moved to the new NRIC
+            Person personWithNewNric = model.getPersonWithNric(newNric);
+            if (personWithNewNric != null && personWithNewNric.equals(editedPerson)) {
+                throw new DuplicatePersonException();
+            }
+            if (personWithNewNric != null) {
+                throw new DuplicateNricException();
+            }
             updatePetPatientsByOwnerNric(oldNric, newNric);
             updateAppointmentByOwnerNric(oldNric, newNric);
         }
@@ -245,7 +258,7 @@ public class EditCommand extends UndoableCommand {
      * If yes, update all other relevant appointments and also the update the new owner for the pet
      */
     private void resolvePetPatientDependencies() throws CommandException,
-            AppointmentNotFoundException, DuplicateAppointmentException {
+            AppointmentNotFoundException, DuplicateAppointmentException, DuplicateDateTimeException {
 
         Nric oldNric = petPatientToEdit.getOwner();
         Nric newNric = editedPetPatient.getOwner();
@@ -338,8 +351,9 @@ public class EditCommand extends UndoableCommand {
      * Helper function to update appointment's owner from an old nric to new nric
      */
     private void updateAppointmentByOwnerNric(Nric oldNric, Nric newNric) throws
-            AppointmentNotFoundException, DuplicateAppointmentException {
+            AppointmentNotFoundException, DuplicateAppointmentException, DuplicateDateTimeException {
 
+        model.loadArchivedAppointments(oldNric);
         ArrayList<Appointment> appointmentArrayList = model.getAppointmentsWithNric(oldNric);
         EditAppointmentDescriptor ead = new EditAppointmentDescriptor();
         ead.setOwnerNric(newNric);
@@ -356,8 +370,9 @@ public class EditCommand extends UndoableCommand {
      */
     private void updateAppointmentByPetPatientName(Nric ownerNric, PetPatientName oldPetName,
                                                    PetPatientName newPetName) throws
-            DuplicateAppointmentException, AppointmentNotFoundException {
+            DuplicateAppointmentException, DuplicateDateTimeException, AppointmentNotFoundException {
 
+        model.loadArchivedAppointments(ownerNric);
         ArrayList<Appointment> appointmentArrayList =
                 model.getAppointmentsWithNricAndPetName(ownerNric, oldPetName);
         EditAppointmentDescriptor ead = new EditAppointmentDescriptor();
@@ -374,8 +389,9 @@ public class EditCommand extends UndoableCommand {
      * Helper function to update the pet patient owner's NRIC for all its appointment
      */
     private void updateAppointmentByOwnerNricForSpecificPetName(Nric oldNric, Nric newNric, PetPatientName oldPetName)
-            throws DuplicateAppointmentException, AppointmentNotFoundException {
+            throws DuplicateAppointmentException, DuplicateDateTimeException, AppointmentNotFoundException {
 
+        model.loadArchivedAppointments(oldNric);
         ArrayList<Appointment> appointmentArrayList =
                 model.getAppointmentsWithNricAndPetName(oldNric, oldPetName);
         EditAppointmentDescriptor ead = new EditAppointmentDescriptor();
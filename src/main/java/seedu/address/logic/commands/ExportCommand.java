@@ -0,0 +1,100 @@
+package seedu.address.logic.commands;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import seedu.address.logic.RecordExporter;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.person.Person;
+import seedu.address.model.petpatient.PetPatient;
+import seedu.address.model.tag.Tag;
+
+/**
+ * Exports the contacts, pet patients or appointments currently listed to a csv or json file.
+ *
+ * The file is written in the background by {@link RecordExporter}, which reports its progress as it goes. The columns
+ * are those read by {@link ImportCommand}, so an exported csv file can be imported again.
+ */
+public class ExportCommand extends Command {
+
+    public static final String COMMAND_WORD = "export";
+    public static final String COMMAND_ALIAS = "ex";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD
+            + ": Exports the contacts, pet patients or appointments currently listed to a csv or json file.\n"
+            + "Parameters: -o|-p|-a FILE_PATH\n"
+            + "Example: " + COMMAND_WORD + " -a data/appointments.csv";
+
+    public static final String MESSAGE_EXPORTING = "Exporting %1$d %2$s to %3$s";
+
+    private static final List<String> PERSON_COLUMNS =
+            Arrays.asList("type", "name", "phone", "email", "address", "nric", "tags");
+    private static final List<String> PET_PATIENT_COLUMNS =
+            Arrays.asList("type", "name", "species", "breed", "colour", "bloodType", "ownerNric", "tags");
+    private static final List<String> APPOINTMENT_COLUMNS =
+            Arrays.asList("type", "ownerNric", "petPatientName", "remark", "dateTime", "tags");
+
+    private final int type;
+    private final String filePath;
+
+    /**
+     * Creates an ExportCommand to export the contacts ({@code type} 1), pet patients (2) or appointments (3)
+     * currently listed to the file at {@code filePath}.
+     */
+    public ExportCommand(int type, String filePath) {
+        requireNonNull(filePath);
+        this.type = type;
+        this.filePath = filePath;
+    }
+
+    @Override
+    public CommandResult execute() {
+        requireNonNull(model);
+        RecordExporter exporter = RecordExporter.getInstance();
+        File file = new File(filePath);
+        // the filtered lists are copied here, as they may only be read on the thread that changes them
+        switch (type) {
+        case 1:
+            List<Person> persons = new ArrayList<>(model.getFilteredPersonList());
+            exporter.export(persons, "contacts", PERSON_COLUMNS, person -> Arrays.asList("person",
+                    person.getName(), person.getPhone(), person.getEmail(), person.getAddress(), person.getNric(),
+                    getTagNames(person.getTags())), file);
+            return new CommandResult(String.format(MESSAGE_EXPORTING, persons.size(), "contacts", filePath));
+        case 2:
+            List<PetPatient> petPatients = new ArrayList<>(model.getFilteredPetPatientList());
+            exporter.export(petPatients, "pet patients", PET_PATIENT_COLUMNS, petPatient -> Arrays.asList(
+                    "petPatient", petPatient.getName(), petPatient.getSpecies(), petPatient.getBreed(),
+                    petPatient.getColour(), petPatient.getBloodType(), petPatient.getOwner(),
+                    getTagNames(petPatient.getTags())), file);
+            return new CommandResult(String.format(MESSAGE_EXPORTING, petPatients.size(), "pet patients", filePath));
+        case 3:
+            List<Appointment> appointments = new ArrayList<>(model.getFilteredAppointmentList());
+            exporter.export(appointments, "appointments", APPOINTMENT_COLUMNS, appointment -> Arrays.asList(
+                    "appointment", appointment.getOwnerNric(), appointment.getPetPatientName(),
+                    appointment.getRemark(), appointment.getFormattedLocalDateTime(),
+                    getTagNames(appointment.getAppointmentTags())), file);
+            return new CommandResult(String.format(MESSAGE_EXPORTING, appointments.size(), "appointments",
+                    filePath));
+        default:
+            throw new AssertionError("Unknown export type: " + type);
+        }
+    }
+
+    private static List<String> getTagNames(Set<Tag> tags) {
+        return tags.stream().map(tag -> tag.tagName).sorted().collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof ExportCommand // instanceof handles nulls
+                && type == ((ExportCommand) other).type
+                && filePath.equals(((ExportCommand) other).filePath));
+    }
+}
@@ -1,15 +1,29 @@
 package seedu.address.logic.commands;
 
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
 
-import seedu.address.commons.util.StringUtil;
 import seedu.address.logic.commands.exceptions.CommandException;
+import seedu.address.model.person.Nric;
 import seedu.address.model.person.Person;
 import seedu.address.model.petpatient.PetPatient;
+import seedu.address.model.util.SearchIndex.Field;
+import seedu.address.model.util.SearchIndex.Keyword;
 
 //@@author wynonaK
 /**
@@ -28,13 +42,77 @@ public class FindCommand extends Command {
             + "Accepted Options: -o (CONTACT-RELATED), -p (PET-PATIENT-RELATED)\n"
             + "Accepted Prefixes for Contacts: n/NAME, nr/NRIC, t/TAG\n"
             + "Accepted Prefixes for Pet Patient: n/NAME, s/SPECIES, b/BREED, c/COLOUR, bt/BLOODTYPE, t/TAG\n"
-            + "Example: " + COMMAND_WORD + " -o n/alice bob charlie";
+            + "Name and breed keywords ending with " + FindCommand.PREFIX_MATCH_SUFFIX + " match words starting with"
+            + " them, and those ending with " + FindCommand.FUZZY_MATCH_SUFFIX + " match words spelt similarly.\n"
+            + "The best matches are listed first, " + FindCommand.PAGE_SIZE + " to a page, and --page PAGE"
+            + " at the end lists the later pages.\n"
+            + "Example: " + COMMAND_WORD + " -o n/alice bob charlie\n"
+            + "Example: " + COMMAND_WORD + " -p n/jew* b/schnauser~ --page 2";
+
+    public static final String MESSAGE_PAGE = "Page %1$d of %2$d, out of %3$d matches";
+    public static final String MESSAGE_PAGE_NOT_FOUND = "There is no page %1$d, as the matches fill %2$d pages";
+
+    public static final int PAGE_SIZE = 50;
+
+    public static final String PREFIX_MATCH_SUFFIX = "*";
+    public static final String FUZZY_MATCH_SUFFIX = "~";
+
+    private static final Map<String, Field> OWNER_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, Field> PET_PATIENT_FIELDS = new LinkedHashMap<>();
+
+    static {
+        OWNER_FIELDS.put("ownerName", Field.NAME);
+        OWNER_FIELDS.put("ownerNric", Field.NRIC);
+        OWNER_FIELDS.put("ownerTag", Field.TAG);
+
+        PET_PATIENT_FIELDS.put("petName", Field.NAME);
+        PET_PATIENT_FIELDS.put("petSpecies", Field.SPECIES);
+        PET_PATIENT_FIELDS.put("petBreed", Field.BREED);
+        PET_PATIENT_FIELDS.put("petColour", Field.COLOUR);
+        PET_PATIENT_FIELDS.put("petBloodType", Field.BLOOD_TYPE);
+        PET_PATIENT_FIELDS.put("petTag", Field.TAG);
+    }
+
+    /** The prefixes whose keywords may end with {@link #PREFIX_MATCH_SUFFIX} or {@link #FUZZY_MATCH_SUFFIX}. */
+    private static final Set<String> MATCH_SUFFIX_PREFIXES =
+            new HashSet<>(Arrays.asList("ownerName", "petName", "petBreed"));
+
+    /** The relevance added by an appointment today, which falls away the further the appointment is from today. */
+    private static final double RECENCY_WEIGHT = 2;
+    /** The number of days from today at which an appointment adds half of {@link #RECENCY_WEIGHT}. */
+    private static final double RECENCY_HALF_WEIGHT_DAYS = 30;
+
+    private static final Comparator<Person> PERSON_ORDER = Comparator
+            .comparing((Person person) -> person.getName().fullName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(person -> person.getNric().toString());
+    private static final Comparator<PetPatient> PET_PATIENT_ORDER = Comparator
+            .comparing((PetPatient petPatient) -> petPatient.getName().fullName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(petPatient -> petPatient.getOwner().toString());
 
     private HashMap<String, String[]> hashMap;
     private int type = 0;
+    private final int page;
+    private final Clock clock;
 
     public FindCommand(HashMap<String, String[]> hashMap) {
+        this(hashMap, 1);
+    }
+
+    /**
+     * Creates a FindCommand that lists the {@code page}th page of the matches of the keywords in {@code hashMap}.
+     */
+    public FindCommand(HashMap<String, String[]> hashMap, int page) {
+        this(hashMap, page, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a FindCommand that lists the {@code page}th page of the matches of the keywords in {@code hashMap},
+     * ranking matches with appointments closer to the date of {@code clock} higher.
+     */
+    public FindCommand(HashMap<String, String[]> hashMap, int page, Clock clock) {
         this.hashMap = hashMap;
+        this.page = page;
+        this.clock = clock;
         if (hashMap.containsKey("ownerName")
                 || hashMap.containsKey("ownerNric")
                 || hashMap.containsKey("ownerTag")) {
@@ -62,155 +140,198 @@ public class FindCommand extends Command {
     }
 
     /**
-     * Finds owners with given {@code predicate} in this {@code addressbook}.
+     * Finds owners in this {@code addressbook} whose fields contain the keywords given for them, and lists a page of
+     * them from the most relevant.
+     * The owners are looked up in the search index of the address book, instead of by checking every owner.
      */
-    private CommandResult findOwner() {
-        Predicate<Person> finalPredicate = null;
-
-        if (hashMap.containsKey("ownerName")) {
-            String[] nameKeywords = hashMap.get("ownerName");
-            Predicate<Person> namePredicate =  person -> Arrays.stream(nameKeywords)
-                    .anyMatch(keyword -> StringUtil.containsWordIgnoreCase(person.getName().fullName, keyword));
-            finalPredicate = namePredicate;
-        }
+    private CommandResult findOwner() throws CommandException {
+        Map<Person, Double> scores = model.findPersons(getKeywords(OWNER_FIELDS));
+        scores.replaceAll((person, score) ->
+                score + getRecencyScore(model.getLatestAppointmentDateTime(person.getNric())));
+        Map<Nric, Integer> ranks = getRanks(getPage(scores, PERSON_ORDER), Person::getNric);
 
-        if (hashMap.containsKey("ownerNric")) {
-            String[] nricKeywords = hashMap.get("ownerNric");
-            Predicate<Person>  nricPredicate = person -> Arrays.stream(nricKeywords)
-                    .anyMatch(keyword -> StringUtil.containsWordIgnoreCase(person.getNric().toString(), keyword));
-            if (finalPredicate == null) {
-                finalPredicate = nricPredicate;
-            } else {
-                finalPredicate = finalPredicate.and(nricPredicate);
-            }
-        }
+        model.updateFilteredPersonList(person -> ranks.containsKey(person.getNric()),
+                Comparator.comparing((Person person) -> ranks.get(person.getNric())));
+        updatePetListForOwner();
+        return new CommandResult(getMessageForPersonListShownSummary(model.getFilteredPersonList().size())
+                + "\n"
+                + getMessageForPetPatientListShownSummary(model.getFilteredPetPatientList().size())
+                + getPageMessage(scores.size()));
+    }
 
-        if (hashMap.containsKey("ownerTag")) {
-            String[] tagKeywords = hashMap.get("ownerTag");
-            Predicate<Person> tagPredicate = person -> Arrays.stream(tagKeywords)
-                    .anyMatch(keyword -> StringUtil.containsWordIgnoreCase(person.getTagString(), keyword));
-            if (finalPredicate == null) {
-                finalPredicate = tagPredicate;
-            } else {
-                finalPredicate = finalPredicate.and(tagPredicate);
-            }
-        }
+    /**
+     * Finds pet patients in this {@code addressbook} whose fields contain the keywords given for them, and lists a
+     * page of them from the most relevant.
+     * The pet patients are looked up in the search index of the address book, instead of by checking every pet patient.
+     */
+    private CommandResult findPetPatient() throws CommandException {
+        Map<PetPatient, Double> scores = model.findPetPatients(getKeywords(PET_PATIENT_FIELDS));
+        scores.replaceAll((petPatient, score) -> score + getRecencyScore(
+                model.getLatestAppointmentDateTime(petPatient.getOwner(), petPatient.getName())));
+        Map<List<Object>, Integer> ranks = getRanks(getPage(scores, PET_PATIENT_ORDER), FindCommand::getKey);
 
-        model.updateFilteredPersonList(finalPredicate);
-        updatePetListForOwner();
+        model.updateFilteredPetPatientList(petPatient -> ranks.containsKey(getKey(petPatient)),
+                Comparator.comparing((PetPatient petPatient) -> ranks.get(getKey(petPatient))));
+        updateOwnerListForPets();
         return new CommandResult(getMessageForPersonListShownSummary(model.getFilteredPersonList().size())
                 + "\n"
-                + getMessageForPetPatientListShownSummary(model.getFilteredPetPatientList().size()));
+                + getMessageForPetPatientListShownSummary(model.getFilteredPetPatientList().size())
+                + getPageMessage(scores.size()));
     }
 
+    //@@author
     /**
-     * Finds owners with given {@code predicate} in this {@code addressbook}.
+     * Returns the relevance added by the latest appointment, at {@code latestDateTime}, which is larger the closer it
+     * is to the date of the clock of this command. There is none if {@code latestDateTime} is null.
      */
-    private CommandResult findPetPatient() {
-        Predicate<PetPatient> finalPredicate = null;
-
-        if (hashMap.containsKey("petName")) {
-            String[] nameKeywords = hashMap.get("petName");
-            Predicate<PetPatient> namePredicate =  petPatient -> Arrays.stream(nameKeywords)
-                    .anyMatch(keyword -> StringUtil.containsWordIgnoreCase(petPatient.getName().fullName, keyword));
-            finalPredicate = namePredicate;
+    private double getRecencyScore(LocalDateTime latestDateTime) {
+        if (latestDateTime == null) {
+            return 0;
         }
+        LocalDate latest = latestDateTime.toLocalDate();
+        long days = Math.abs(ChronoUnit.DAYS.between(LocalDate.now(clock), latest));
+        return RECENCY_WEIGHT / (1 + days / RECENCY_HALF_WEIGHT_DAYS);
+    }
 
-        if (hashMap.containsKey("petSpecies")) {
-            String[] speciesKeywords = hashMap.get("petSpecies");
-            Predicate<PetPatient> speciesPredicate =  petPatient -> Arrays.stream(speciesKeywords)
-                    .anyMatch(keyword -> StringUtil.containsWordIgnoreCase(petPatient.getSpecies().species, keyword));
-            if (finalPredicate == null) {
-                finalPredicate = speciesPredicate;
-            } else {
-                finalPredicate = finalPredicate.and(speciesPredicate);
-            }
+    /**
+     * Returns the elements on the page of this command, when the keys of {@code scores} are ranked from the highest
+     * score, and then by {@code order}.
+     * Only the best elements up to the end of the page are kept, in a heap with the worst of them at its head, so
+     * finding a page takes a single pass over the matches and never sorts all of them.
+     *
+     * @throws CommandException if there are fewer pages of matches than the page of this command.
+     */
+    private <T> List<T> getPage(Map<T, Double> scores, Comparator<T> order) throws CommandException {
+        int pageCount = getPageCount(scores.size());
+        if (page > pageCount) {
+            throw new CommandException(String.format(MESSAGE_PAGE_NOT_FOUND, page, pageCount));
         }
 
-        if (hashMap.containsKey("petBreed")) {
-            String[] breedKeywords = hashMap.get("petBreed");
-            Predicate<PetPatient> breedPredicate =  petPatient -> Arrays.stream(breedKeywords)
-                    .anyMatch(keyword -> StringUtil.containsWordIgnoreCase(petPatient.getBreed().breed, keyword));
-            if (finalPredicate == null) {
-                finalPredicate = breedPredicate;
-            } else {
-                finalPredicate = finalPredicate.and(breedPredicate);
+        Comparator<T> ranking = Comparator.<T>comparingDouble(scores::get).reversed().thenComparing(order);
+        int limit = page * PAGE_SIZE;
+        PriorityQueue<T> best = new PriorityQueue<>(Math.min(limit, scores.size()) + 1, ranking.reversed());
+        for (T element : scores.keySet()) {
+            best.add(element);
+            if (best.size() > limit) {
+                best.poll();
             }
         }
 
-        if (hashMap.containsKey("petColour")) {
-            String[] colourKeywords = hashMap.get("petColour");
-            Predicate<PetPatient> colourPredicate =  petPatient -> Arrays.stream(colourKeywords)
-                    .anyMatch(keyword -> StringUtil.containsWordIgnoreCase(petPatient.getColour().colour, keyword));
-            if (finalPredicate == null) {
-                finalPredicate = colourPredicate;
-            } else {
-                finalPredicate = finalPredicate.and(colourPredicate);
-            }
+        List<T> ranked = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ranked.add(best.poll());
         }
+        Collections.reverse(ranked);
+        return ranked.subList((page - 1) * PAGE_SIZE, ranked.size());
+    }
 
-        if (hashMap.containsKey("petBloodType")) {
-            String[] bloodTypeKeywords = hashMap.get("petBloodType");
-            Predicate<PetPatient> bloodTypePredicate =  petPatient -> Arrays.stream(bloodTypeKeywords)
-                    .anyMatch(keyword -> StringUtil.containsWordIgnoreCase(
-                            petPatient.getBloodType().bloodType, keyword));
-            if (finalPredicate == null) {
-                finalPredicate = bloodTypePredicate;
-            } else {
-                finalPredicate = finalPredicate.and(bloodTypePredicate);
-            }
+    /**
+     * Returns the key of each of {@code elements} mapped to its position in {@code elements}.
+     * The displayed lists are matched by key rather than by identity, as a read-only model searches a copy of the
+     * address book it displays.
+     */
+    private static <T, K> Map<K, Integer> getRanks(List<T> elements, Function<T, K> key) {
+        Map<K, Integer> ranks = new HashMap<>();
+        for (int i = 0; i < elements.size(); i++) {
+            ranks.put(key.apply(elements.get(i)), i);
         }
+        return ranks;
+    }
+
+    /**
+     * Returns the NRIC of the owner and the name of {@code petPatient}, which tell pet patients apart.
+     */
+    private static List<Object> getKey(PetPatient petPatient) {
+        return Arrays.asList(petPatient.getOwner(), petPatient.getName());
+    }
+
+    private static int getPageCount(int matchCount) {
+        return Math.max(1, (matchCount + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    /**
+     * Returns a line that tells which page of {@code matchCount} matches is listed, if they fill more than one page.
+     */
+    private String getPageMessage(int matchCount) {
+        int pageCount = getPageCount(matchCount);
+        return pageCount == 1 ? "" : "\n" + String.format(MESSAGE_PAGE, page, pageCount, matchCount);
+    }
 
-        if (hashMap.containsKey("petTag")) {
-            String[] tagKeywords = hashMap.get("petTag");
-            Predicate<PetPatient> tagPredicate = petPatient -> Arrays.stream(tagKeywords)
-                    .anyMatch(keyword -> StringUtil.containsWordIgnoreCase(petPatient.getTagString(), keyword));
-            if (finalPredicate == null) {
-                finalPredicate = tagPredicate;
-            } else {
-                finalPredicate = finalPredicate.and(tagPredicate);
+    /**
+     * Returns the keywords given for each of {@code fields}, which maps the prefixes of this command to the
+     * fields they search.
+     */
+    private Map<Field, List<Keyword>> getKeywords(Map<String, Field> fields) {
+        Map<Field, List<Keyword>> keywords = new EnumMap<>(Field.class);
+        fields.forEach((prefix, field) -> {
+            if (hashMap.containsKey(prefix)) {
+                List<Keyword> fieldKeywords = new ArrayList<>();
+                for (String keyword : hashMap.get(prefix)) {
+                    fieldKeywords.add(MATCH_SUFFIX_PREFIXES.contains(prefix) ? toKeyword(keyword)
+                                                                             : Keyword.word(keyword));
+                }
+                keywords.put(field, fieldKeywords);
             }
+        });
+        return keywords;
+    }
+
+    /**
+     * Returns the {@code Keyword} that {@code keyword} stands for, which matches words starting with it if it ends
+     * with {@link #PREFIX_MATCH_SUFFIX}, words spelt similarly if it ends with {@link #FUZZY_MATCH_SUFFIX}, and
+     * only the word itself otherwise.
+     */
+    private static Keyword toKeyword(String keyword) {
+        if (keyword.endsWith(PREFIX_MATCH_SUFFIX)) {
+            return new Keyword(removeMatchSuffix(keyword), Keyword.Match.PREFIX);
+        } else if (keyword.endsWith(FUZZY_MATCH_SUFFIX)) {
+            return new Keyword(removeMatchSuffix(keyword), Keyword.Match.FUZZY);
+        } else {
+            return Keyword.word(keyword);
         }
+    }
 
-        model.updateFilteredPetPatientList(finalPredicate);
-        updateOwnerListForPets();
-        return new CommandResult(getMessageForPersonListShownSummary(model.getFilteredPersonList().size())
-                + "\n"
-                + getMessageForPetPatientListShownSummary(model.getFilteredPetPatientList().size()));
+    /**
+     * Returns {@code keyword} without its {@link #PREFIX_MATCH_SUFFIX} or {@link #FUZZY_MATCH_SUFFIX}, if it has one.
+     */
+    public static String removeMatchSuffix(String keyword) {
+        if (keyword.endsWith(PREFIX_MATCH_SUFFIX) || keyword.endsWith(FUZZY_MATCH_SUFFIX)) {
+            return keyword.substring(0, keyword.length() - 1);
+        }
+        return keyword;
     }
 
+    //@@author wynonaK
     /**
      * Updates the filtered pet list with the changed owners in this {@code addressbook}.
+     * The NRICs of the owners are collected into a set, so each pet patient is matched with a single lookup.
      */
     private void updatePetListForOwner() {
-        List<String> nricKeywordsForPets = new ArrayList<>();
+        Set<Nric> ownerNrics = new HashSet<>();
         for (Person person : model.getFilteredPersonList()) {
-            nricKeywordsForPets.add(person.getNric().toString());
+            ownerNrics.add(person.getNric());
         }
-        Predicate<PetPatient> petPatientNricPredicate =  petPatient -> nricKeywordsForPets.stream()
-                .anyMatch(keyword -> StringUtil.containsWordIgnoreCase(petPatient.getOwner().toString(), keyword));
-        model.updateFilteredPetPatientList(petPatientNricPredicate);
+        model.updateFilteredPetPatientList(petPatient -> ownerNrics.contains(petPatient.getOwner()));
     }
 
     /**
      * Updates the filtered person list with the changed pets in this {@code addressbook}.
+     * The NRICs of the owners of the pet patients are collected into a set, so each person is matched with a single
+     * lookup.
      */
     private void updateOwnerListForPets() {
-        List<String> nricKeywordsForOwner = new ArrayList<>();
+        Set<Nric> ownerNrics = new HashSet<>();
         for (PetPatient petPatient : model.getFilteredPetPatientList()) {
-            if (!nricKeywordsForOwner.contains(petPatient.getOwner().toString())) {
-                nricKeywordsForOwner.add(petPatient.getOwner().toString());
-            }
+            ownerNrics.add(petPatient.getOwner());
         }
-        Predicate<Person> ownerNricPredicate =  person -> nricKeywordsForOwner.stream()
-                .anyMatch(keyword -> StringUtil.containsWordIgnoreCase(person.getNric().toString(), keyword));
-        model.updateFilteredPersonList(ownerNricPredicate);
+        model.updateFilteredPersonList(person -> ownerNrics.contains(person.getNric()));
     }
 
     @Override
     public boolean equals(Object other) {
         return other == this // short circuit if same object
                 || (other instanceof FindCommand // instanceof handles nulls
-                && this.hashMap.equals(((FindCommand) other).hashMap)); // state check
+                && this.hashMap.equals(((FindCommand) other).hashMap) // state check
+                && page == ((FindCommand) other).page);
     }
 }
@@ -0,0 +1,224 @@
+package seedu.address.logic.commands;
+
+import static java.util.Objects.requireNonNull;
+import static seedu.address.model.appointment.UniqueAppointmentList.APPOINTMENT_DURATION_MINUTES;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.logic.commands.exceptions.CommandException;
+import seedu.address.logic.parser.ImportBatch;
+import seedu.address.logic.parser.ImportBatch.Row;
+import seedu.address.logic.parser.ImportFileParser;
+import seedu.address.logic.parser.exceptions.ParseException;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.person.Nric;
+import seedu.address.model.person.Person;
+import seedu.address.model.petpatient.PetPatient;
+import seedu.address.model.petpatient.PetPatientName;
+
+/**
+ * Imports the contacts, pet patients and appointments in a csv or xml file into Medeina.
+ *
+ * Every line of the file is checked before anything is imported, and all the errors found are reported at once.
+ * Nothing is imported unless every line is valid. The entities are then added as a single change, which is saved
+ * once and undone at once.
+ */
+public class ImportCommand extends UndoableCommand {
+
+    public static final String COMMAND_WORD = "import";
+    public static final String COMMAND_ALIAS = "im";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD
+            + ": Imports the contacts, pet patients and appointments in a csv or xml file.\n"
+            + "Parameters: FILE_PATH\n"
+            + "Example: " + COMMAND_WORD + " data/clinic.csv";
+
+    public static final String MESSAGE_SUCCESS = "Imported %1$d contacts, %2$d pet patients and %3$d appointments "
+            + "from %4$s";
+    public static final String MESSAGE_FILE_NOT_FOUND = "File not found: %1$s";
+    public static final String MESSAGE_UNREADABLE_FILE = "Unable to read %1$s: %2$s";
+    public static final String MESSAGE_INVALID_LINES = "Nothing was imported, as %1$d errors were found:\n%2$s";
+
+    private final String filePath;
+
+    private final List<Person> personsToAdd = new ArrayList<>();
+    private final List<PetPatient> petPatientsToAdd = new ArrayList<>();
+    private final List<Appointment> appointmentsToAdd = new ArrayList<>();
+
+    /**
+     * Creates an ImportCommand to import the file at {@code filePath}.
+     */
+    public ImportCommand(String filePath) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+    }
+
+    @Override
+    protected void preprocessUndoableCommand() throws CommandException {
+        File file = new File(filePath);
+        if (!file.isFile()) {
+            throw new CommandException(String.format(MESSAGE_FILE_NOT_FOUND, filePath));
+        }
+
+        ImportBatch batch;
+        try {
+            batch = new ImportFileParser().parse(file);
+        } catch (IOException | ParseException e) {
+            throw new CommandException(String.format(MESSAGE_UNREADABLE_FILE, filePath, e.getMessage()));
+        }
+
+        personsToAdd.clear();
+        petPatientsToAdd.clear();
+        appointmentsToAdd.clear();
+        checkPersons(batch);
+        checkPetPatients(batch);
+        checkAppointments(batch);
+
+        if (batch.hasErrors()) {
+            List<String> errors = batch.getErrors();
+            throw new CommandException(String.format(MESSAGE_INVALID_LINES, errors.size(),
+                    String.join("\n", errors)));
+        }
+    }
+
+    /**
+     * Checks that no person in {@code batch} shares an NRIC with a contact in Medeina, or with a person before it.
+     */
+    private void checkPersons(ImportBatch batch) {
+        Set<Nric> importedNrics = new HashSet<>();
+        for (Row<Person> row : batch.getPersons()) {
+            Nric nric = row.getEntity().getNric();
+            if (model.getPersonWithNric(nric) != null || !importedNrics.add(nric)) {
+                batch.addError(row.getLine(), AddCommand.MESSAGE_DUPLICATE_NRIC);
+                continue;
+            }
+            personsToAdd.add(row.getEntity());
+        }
+    }
+
+    /**
+     * Checks that the owner of each pet patient in {@code batch} is in Medeina or is imported, and that the owner
+     * does not have another pet patient of the same name.
+     */
+    private void checkPetPatients(ImportBatch batch) {
+        Set<Nric> importedNrics = getNrics(personsToAdd);
+        Map<Nric, Set<PetPatientName>> importedPetPatientNames = new HashMap<>();
+        for (Row<PetPatient> row : batch.getPetPatients()) {
+            PetPatient petPatient = row.getEntity();
+            Nric ownerNric = petPatient.getOwner();
+            if (model.getPersonWithNric(ownerNric) == null && !importedNrics.contains(ownerNric)) {
+                batch.addError(row.getLine(), AddCommand.MESSAGE_INVALID_NRIC);
+                continue;
+            }
+            Set<PetPatientName> petPatientNames =
+                    importedPetPatientNames.computeIfAbsent(ownerNric, unused -> new HashSet<>());
+            if (model.getPetPatientWithNricAndName(ownerNric, petPatient.getName()) != null
+                    || !petPatientNames.add(petPatient.getName())) {
+                batch.addError(row.getLine(), AddCommand.MESSAGE_DUPLICATE_PET_PATIENT);
+                continue;
+            }
+            petPatientsToAdd.add(petPatient);
+        }
+    }
+
+    /**
+     * Checks that the owner and pet patient of each appointment in {@code batch} are in Medeina or are imported,
+     * and that the appointment neither takes the slot of nor overlaps another appointment.
+     */
+    private void checkAppointments(ImportBatch batch) {
+        Set<Nric> importedNrics = getNrics(personsToAdd);
+        Set<List<Object>> importedPetPatients = new HashSet<>();
+        for (PetPatient petPatient : petPatientsToAdd) {
+            importedPetPatients.add(getKey(petPatient.getOwner(), petPatient.getName()));
+        }
+
+        TreeSet<LocalDateTime> importedDateTimes = new TreeSet<>();
+        for (Row<Appointment> row : batch.getAppointments()) {
+            Appointment appointment = row.getEntity();
+            Nric ownerNric = appointment.getOwnerNric();
+            PetPatientName petPatientName = appointment.getPetPatientName();
+            LocalDateTime dateTime = appointment.getDateTime();
+            if (model.getPersonWithNric(ownerNric) == null && !importedNrics.contains(ownerNric)) {
+                batch.addError(row.getLine(), AddCommand.MESSAGE_INVALID_NRIC);
+            } else if (model.getPetPatientWithNricAndName(ownerNric, petPatientName) == null
+                    && !importedPetPatients.contains(getKey(ownerNric, petPatientName))) {
+                batch.addError(row.getLine(), AddCommand.MESSAGE_INVALID_PET_PATIENT);
+            } else if (model.getClashingAppointment(dateTime) != null || importedDateTimes.contains(dateTime)) {
+                batch.addError(row.getLine(), AddCommand.MESSAGE_DUPLICATE_DATETIME);
+            } else if (model.hasConcurrentAppointment(null, dateTime)
+                    || isConcurrent(dateTime, importedDateTimes)) {
+                batch.addError(row.getLine(), AddCommand.MESSAGE_CONCURRENT_APPOINTMENT);
+            } else {
+                importedDateTimes.add(dateTime);
+                appointmentsToAdd.add(appointment);
+            }
+        }
+    }
+
+    /**
+     * Returns true if an appointment at {@code dateTime} would overlap an appointment at one of {@code dateTimes}.
+     */
+    private static boolean isConcurrent(LocalDateTime dateTime, TreeSet<LocalDateTime> dateTimes) {
+        LocalDateTime before = dateTimes.lower(dateTime);
+        LocalDateTime after = dateTimes.higher(dateTime);
+        return (before != null && dateTime.isBefore(before.plusMinutes(APPOINTMENT_DURATION_MINUTES)))
+                || (after != null && dateTime.plusMinutes(APPOINTMENT_DURATION_MINUTES).isAfter(after));
+    }
+
+    /**
+     * Returns the NRICs of {@code persons}.
+     */
+    private static Set<Nric> getNrics(List<Person> persons) {
+        Set<Nric> nrics = new HashSet<>();
+        persons.forEach(person -> nrics.add(person.getNric()));
+        return nrics;
+    }
+
+    /**
+     * Returns the key that a pet patient is known by, which is unique among the pet patients in Medeina.
+     */
+    private static List<Object> getKey(Nric ownerNric, PetPatientName petPatientName) {
+        return Arrays.asList(ownerNric, petPatientName);
+    }
+
+    @Override
+    public CommandResult executeUndoableCommand() throws CommandException {
+        requireNonNull(model);
+        try {
+            model.batch(batch -> {
+                for (Person person : personsToAdd) {
+                    batch.addPerson(person);
+                }
+                for (PetPatient petPatient : petPatientsToAdd) {
+                    batch.addPetPatient(petPatient);
+                }
+                for (Appointment appointment : appointmentsToAdd) {
+                    batch.addAppointment(appointment);
+                }
+                return null;
+            });
+        } catch (IllegalValueException ive) {
+            throw new CommandException(ive.getMessage());
+        }
+        return new CommandResult(String.format(MESSAGE_SUCCESS, personsToAdd.size(), petPatientsToAdd.size(),
+                appointmentsToAdd.size(), filePath));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof ImportCommand // instanceof handles nulls
+                && filePath.equals(((ImportCommand) other).filePath));
+    }
+}
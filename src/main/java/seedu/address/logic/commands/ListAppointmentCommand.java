@@ -6,7 +6,6 @@ import static seedu.address.model.Model.PREDICATE_SHOW_ALL_APPOINTMENTS;
 import java.time.LocalDate;
 import java.time.Year;
 import java.time.YearMonth;
-import java.util.List;
 
 import seedu.address.commons.core.EventsCenter;
 import seedu.address.commons.events.ui.ChangeDayViewRequestEvent;
@@ -14,7 +13,6 @@ import seedu.address.commons.events.ui.ChangeMonthViewRequestEvent;
 import seedu.address.commons.events.ui.ChangeWeekViewRequestEvent;
 import seedu.address.commons.events.ui.ChangeYearViewRequestEvent;
 import seedu.address.logic.commands.exceptions.CommandException;
-import seedu.address.model.appointment.Appointment;
 import seedu.address.model.appointment.exceptions.NoAppointmentInYearException;
 
 //@@author wynonaK
@@ -38,6 +36,8 @@ public class ListAppointmentCommand extends Command {
             + "If nothing is given as a FIELD, it will return the specified view of the current date.\n"
             + "You can only list past appointments if you had an appointment in the year of the specified field.";
 
+    private static final int DAYS_PER_WEEK = 7;
+
     private int type = 0; //year = 1, month = 2, week = 3, day = 4.
     private Year year = null;
     private YearMonth yearMonth = null;
@@ -66,6 +66,7 @@ public class ListAppointmentCommand extends Command {
             }
         }
 
+        model.loadArchivedAppointments(year.getValue());
         EventsCenter.getInstance().post(new ChangeYearViewRequestEvent(year));
         return new CommandResult(String.format(MESSAGE_SUCCESS, "year"));
     }
@@ -77,6 +78,7 @@ public class ListAppointmentCommand extends Command {
             }
         }
 
+        model.loadArchivedAppointments(yearMonth.getYear());
         EventsCenter.getInstance().post(new ChangeMonthViewRequestEvent(yearMonth));
         return new CommandResult(String.format(MESSAGE_SUCCESS, "month"));
     }
@@ -88,6 +90,7 @@ public class ListAppointmentCommand extends Command {
             }
         }
 
+        loadArchivedAppointments(date.minusDays(DAYS_PER_WEEK - 1), date.plusDays(DAYS_PER_WEEK - 1));
         EventsCenter.getInstance().post(new ChangeWeekViewRequestEvent(date));
         return new CommandResult(String.format(MESSAGE_SUCCESS, "week"));
     }
@@ -99,22 +102,29 @@ public class ListAppointmentCommand extends Command {
             }
         }
 
+        model.loadArchivedAppointments(date.getYear());
         EventsCenter.getInstance().post(new ChangeDayViewRequestEvent(date));
         return new CommandResult(String.format(MESSAGE_SUCCESS, "day"));
     }
 
+    //@@author
+    /**
+     * Reads the archived appointments in the years from that of {@code start} to that of {@code end} into the model,
+     * so that the view of the dates in between shows them.
+     */
+    private void loadArchivedAppointments(LocalDate start, LocalDate end) {
+        for (int year = start.getYear(); year <= end.getYear(); year++) {
+            model.loadArchivedAppointments(year);
+        }
+    }
+
+    //@@author wynonaK
     /**
      * Check if there exists a past appointment with in the {@code model} with the {@code year} specified.
      */
     private boolean checkPastAppointment(int year) {
         model.updateFilteredAppointmentList(PREDICATE_SHOW_ALL_APPOINTMENTS);
-        List<Appointment> appointmentList = model.getFilteredAppointmentList();
-        for (Appointment appointment : appointmentList) {
-            if  (appointment.getDateTime().getYear() == year)  {
-                return true;
-            }
-        }
-        return false;
+        return model.hasAppointmentInYear(year);
     }
 
     @Override
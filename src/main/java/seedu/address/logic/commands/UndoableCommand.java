@@ -5,25 +5,16 @@ import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
 import static seedu.address.model.Model.PREDICATE_SHOW_ALL_PERSONS;
 
 import seedu.address.logic.commands.exceptions.CommandException;
-import seedu.address.model.AddressBook;
-import seedu.address.model.ReadOnlyAddressBook;
+import seedu.address.model.AddressBookDelta;
 
 /**
  * Represents a command which can be undone and redone.
  */
 public abstract class UndoableCommand extends Command {
-    private ReadOnlyAddressBook previousAddressBook;
+    private AddressBookDelta changes;
 
     protected abstract CommandResult executeUndoableCommand() throws CommandException;
 
-    /**
-     * Stores the current state of {@code model#addressBook}.
-     */
-    private void saveAddressBookSnapshot() {
-        requireNonNull(model);
-        this.previousAddressBook = new AddressBook(model.getAddressBook());
-    }
-
     /**
      * This method is called before the execution of {@code UndoableCommand}.
      * {@code UndoableCommand}s that require this preprocessing step should override this method.
@@ -31,13 +22,13 @@ public abstract class UndoableCommand extends Command {
     protected void preprocessUndoableCommand() throws CommandException {}
 
     /**
-     * Reverts the AddressBook to the state before this command
-     * was executed and updates the filtered person list to
-     * show all persons.
+     * Reverts the changes this command made to the AddressBook
+     * and updates the filtered person list to show all persons.
      */
     protected final void undo() {
-        requireAllNonNull(model, previousAddressBook);
-        model.resetData(previousAddressBook);
+        requireAllNonNull(model, changes);
+        model.revertChanges(changes);
+        changes = null;
         model.updateFilteredPersonList(PREDICATE_SHOW_ALL_PERSONS);
     }
 
@@ -47,19 +38,34 @@ public abstract class UndoableCommand extends Command {
      */
     protected final void redo() {
         requireNonNull(model);
+        model.startRecordingChanges();
         try {
             executeUndoableCommand();
         } catch (CommandException ce) {
             throw new AssertionError("The command has been successfully executed previously; "
                     + "it should not fail now");
+        } finally {
+            changes = model.stopRecordingChanges();
         }
         model.updateFilteredPersonList(PREDICATE_SHOW_ALL_PERSONS);
     }
 
+    /**
+     * Returns the number of persons, pet patients and appointments held on to in order to undo this command.
+     */
+    public int getUndoRecordCount() {
+        return changes == null ? 0 : changes.getRecordCount();
+    }
+
     @Override
     public final CommandResult execute() throws CommandException {
-        saveAddressBookSnapshot();
-        preprocessUndoableCommand();
-        return executeUndoableCommand();
+        requireNonNull(model);
+        model.startRecordingChanges();
+        try {
+            preprocessUndoableCommand();
+            return executeUndoableCommand();
+        } finally {
+            changes = model.stopRecordingChanges();
+        }
     }
 }
@@ -10,9 +10,11 @@ import seedu.address.logic.commands.ClearCommand;
 import seedu.address.logic.commands.DeleteCommand;
 import seedu.address.logic.commands.EditCommand;
 import seedu.address.logic.commands.ExitCommand;
+import seedu.address.logic.commands.ExportCommand;
 import seedu.address.logic.commands.FindCommand;
 import seedu.address.logic.commands.HelpCommand;
 import seedu.address.logic.commands.HistoryCommand;
+import seedu.address.logic.commands.ImportCommand;
 import seedu.address.logic.commands.ListAppointmentCommand;
 import seedu.address.logic.commands.ListCommand;
 import seedu.address.logic.commands.RedoCommand;
@@ -61,6 +63,7 @@ public class CliSyntax {
     public static final String OPTION_MONTH = "-m";
     public static final String OPTION_WEEK = "-w";
     public static final String OPTION_DAY = "-d";
+    public static final String OPTION_PAGE = "--page";
 
     /* Option with description */
     public static final String OPTION_OWNER_DESC = OPTION_OWNER + "\t: person/owner";
@@ -89,7 +92,8 @@ public class CliSyntax {
             AddCommand.COMMAND_WORD, EditCommand.COMMAND_WORD, DeleteCommand.COMMAND_WORD, ListCommand.COMMAND_WORD,
             FindCommand.COMMAND_WORD, ChangeThemeCommand.COMMAND_WORD, ClearCommand.COMMAND_WORD,
             HelpCommand.COMMAND_WORD, ExitCommand.COMMAND_WORD, RedoCommand.COMMAND_WORD, UndoCommand.COMMAND_WORD,
-            HistoryCommand.COMMAND_WORD, ListAppointmentCommand.COMMAND_WORD).collect(Collectors.toSet());
+            HistoryCommand.COMMAND_WORD, ListAppointmentCommand.COMMAND_WORD, ImportCommand.COMMAND_WORD,
+            ExportCommand.COMMAND_WORD).collect(Collectors.toSet());
 
     private static final Set<String> options = Stream.of(OPTION_OWNER_DESC, OPTION_PETPATIENT_DESC,
             OPTION_APPOINTMENT_DESC, OPTIONFORCE_OWNER_DESC, OPTIONFORCE_PETPATIENT_DESC,
@@ -0,0 +1,44 @@
+package seedu.address.logic.parser;
+
+import static seedu.address.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static seedu.address.logic.parser.CliSyntax.OPTION_APPOINTMENT;
+import static seedu.address.logic.parser.CliSyntax.OPTION_OWNER;
+import static seedu.address.logic.parser.CliSyntax.OPTION_PETPATIENT;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import seedu.address.logic.commands.ExportCommand;
+import seedu.address.logic.parser.exceptions.ParseException;
+
+/**
+ * Parses input arguments and creates a new ExportCommand object
+ */
+public class ExportCommandParser implements Parser<ExportCommand> {
+
+    private static final Pattern EXPORT_COMMAND_FORMAT = Pattern.compile("(?<option>-\\S+)\\s+(?<filePath>.+)");
+
+    /**
+     * Parses the given {@code String} of arguments in the context of the ExportCommand
+     * and returns an ExportCommand object for execution.
+     * @throws ParseException if the user input does not conform the expected format
+     */
+    public ExportCommand parse(String args) throws ParseException {
+        final Matcher matcher = EXPORT_COMMAND_FORMAT.matcher(args.trim());
+        if (!matcher.matches()) {
+            throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, ExportCommand.MESSAGE_USAGE));
+        }
+
+        String filePath = matcher.group("filePath").trim();
+        switch (matcher.group("option")) {
+        case OPTION_OWNER:
+            return new ExportCommand(1, filePath);
+        case OPTION_PETPATIENT:
+            return new ExportCommand(2, filePath);
+        case OPTION_APPOINTMENT:
+            return new ExportCommand(3, filePath);
+        default:
+            throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, ExportCommand.MESSAGE_USAGE));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package seedu.address.logic.parser;
 
 import static seedu.address.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static seedu.address.logic.parser.CliSyntax.OPTION_PAGE;
 import static seedu.address.logic.parser.CliSyntax.PREFIX_BLOODTYPE;
 import static seedu.address.logic.parser.CliSyntax.PREFIX_BREED;
 import static seedu.address.logic.parser.CliSyntax.PREFIX_COLOUR;
@@ -15,6 +16,7 @@ import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.commons.util.StringUtil;
 import seedu.address.logic.commands.FindCommand;
 import seedu.address.logic.parser.exceptions.ParseException;
 import seedu.address.model.person.Name;
@@ -32,14 +34,19 @@ import seedu.address.model.tag.Tag;
  */
 public class FindCommandParser implements Parser<FindCommand> {
 
+    public static final String MESSAGE_INVALID_PAGE = "Page number should be a positive integer.";
+
     private static final Pattern FIND_COMMAND_FORMAT_OWNER = Pattern.compile("-(o)+(?<personInfo>.*)");
     private static final Pattern FIND_COMMAND_FORMAT_PET_PATIENT = Pattern.compile("-(p)+(?<petPatientInfo>.*)");
+    private static final Pattern FIND_COMMAND_FORMAT_PAGE =
+            Pattern.compile("(?<arguments>.*?)(\\s+" + OPTION_PAGE + "\\b(?<page>.*))?");
 
     /**
      * Parses the given {@code String} of arguments in the context of the FindCommand
      * and returns an FindCommand object for execution. Currently acceptable formats are:
      * find -o n/ nr/ t/ (inclusive of individual and all combinations)
      * find -p n/ s/ b/ c/ bt/ t/ (inclusive of individual and all combinations)
+     * Either may end with --page PAGE, to list a later page of the matches.
      * @throws ParseException if the user input does not conform the expected format
      */
 
@@ -51,27 +58,47 @@ public class FindCommandParser implements Parser<FindCommand> {
                     String.format(MESSAGE_INVALID_COMMAND_FORMAT, FindCommand.MESSAGE_USAGE));
         }
 
-        final Matcher matcherForPerson = FIND_COMMAND_FORMAT_OWNER.matcher(trimmedArgs);
-        final Matcher matcherForPetPatient = FIND_COMMAND_FORMAT_PET_PATIENT.matcher(trimmedArgs);
+        final Matcher matcherForPage = FIND_COMMAND_FORMAT_PAGE.matcher(trimmedArgs);
+        if (!matcherForPage.matches()) {
+            throw new ParseException(
+                    String.format(MESSAGE_INVALID_COMMAND_FORMAT, FindCommand.MESSAGE_USAGE));
+        }
+        final String arguments = matcherForPage.group("arguments");
+        final int page = matcherForPage.group("page") == null ? 1 : parsePage(matcherForPage.group("page"));
+
+        final Matcher matcherForPerson = FIND_COMMAND_FORMAT_OWNER.matcher(arguments);
+        final Matcher matcherForPetPatient = FIND_COMMAND_FORMAT_PET_PATIENT.matcher(arguments);
 
         // Eind-owner related, else find-pet related, else error
         if (matcherForPerson.matches()) {
             String personInfo = matcherForPerson.group("personInfo");
-            return parsePerson(personInfo);
+            return new FindCommand(parsePerson(personInfo), page);
         } else if (matcherForPetPatient.matches()) {
             String petPatientInfo = matcherForPetPatient.group("petPatientInfo");
-            return parsePetPatient(petPatientInfo);
+            return new FindCommand(parsePetPatient(petPatientInfo), page);
         } else {
             throw new ParseException(
                     String.format(MESSAGE_INVALID_COMMAND_FORMAT, FindCommand.MESSAGE_USAGE));
         }
     }
 
+    /**
+     * Parses {@code page}, the number given after {@code --page}.
+     * @throws ParseException if {@code page} is not a positive integer.
+     */
+    private static int parsePage(String page) throws ParseException {
+        String trimmedPage = page.trim();
+        if (!StringUtil.isNonZeroUnsignedInteger(trimmedPage)) {
+            throw new ParseException(MESSAGE_INVALID_PAGE);
+        }
+        return Integer.parseInt(trimmedPage);
+    }
+
     /**
      * Parses {@code personInfo} to find out what the user is parsing to find.
      * @throws ParseException if the {@code personInfo} cannot be identified to a known prefix.
      */
-    private FindCommand parsePerson(String personInfo) throws ParseException {
+    private HashMap<String, String[]> parsePerson(String personInfo) throws ParseException {
         ArgumentMultimap argMultimapOwner =
                 ArgumentTokenizer.tokenize(personInfo, PREFIX_NAME, PREFIX_NRIC, PREFIX_TAG);
         if ((!arePrefixesPresent(argMultimapOwner, PREFIX_NAME)
@@ -99,7 +126,7 @@ public class FindCommandParser implements Parser<FindCommand> {
             finalHashMap.put("ownerTag", tagKeywords);
         }
 
-        return new FindCommand(finalHashMap);
+        return finalHashMap;
     }
 
     /**
@@ -145,7 +172,7 @@ public class FindCommandParser implements Parser<FindCommand> {
             String nameWithoutPrefix = argMultimapOwner.getAllValues(PREFIX_NAME).get(0);
             String[] nameKeywords = nameWithoutPrefix.trim().split("\\s+");
             for (String nameKeyword : nameKeywords) {
-                Name name = ParserUtil.parseName(nameKeyword);
+                Name name = ParserUtil.parseName(FindCommand.removeMatchSuffix(nameKeyword));
             }
             return nameKeywords;
         } catch (IllegalValueException ive) {
@@ -162,7 +189,7 @@ public class FindCommandParser implements Parser<FindCommand> {
             String nameWithoutPrefix = argMultimapPetPatient.getAllValues(PREFIX_NAME).get(0);
             String[] nameKeywords = nameWithoutPrefix.trim().split("\\s+");
             for (String nameKeyword : nameKeywords) {
-                PetPatientName name = ParserUtil.parsePetPatientName(nameKeyword);
+                PetPatientName name = ParserUtil.parsePetPatientName(FindCommand.removeMatchSuffix(nameKeyword));
             }
             return nameKeywords;
         } catch (IllegalValueException ive) {
@@ -196,7 +223,7 @@ public class FindCommandParser implements Parser<FindCommand> {
             String breedWithoutPrefix = argMultimapPetPatient.getAllValues(PREFIX_BREED).get(0);
             String[] breedKeywords = breedWithoutPrefix.trim().split("\\s+");
             for (String breedKeyword : breedKeywords) {
-                Breed breed = ParserUtil.parseBreed(breedKeyword);
+                Breed breed = ParserUtil.parseBreed(FindCommand.removeMatchSuffix(breedKeyword));
             }
             return breedKeywords;
         } catch (IllegalValueException ive) {
@@ -249,7 +276,8 @@ public class FindCommandParser implements Parser<FindCommand> {
     /**
      * Parses {@code petPatientInfo} to find out what the user is parsing to find.
      */
-    private FindCommand parsePetPatient(String petPatientInfo) throws ParseException, IllegalArgumentException {
+    private HashMap<String, String[]> parsePetPatient(String petPatientInfo)
+            throws ParseException, IllegalArgumentException {
         ArgumentMultimap argMultimapPetPatient =
                 ArgumentTokenizer.tokenize(petPatientInfo, PREFIX_NAME, PREFIX_SPECIES, PREFIX_BREED,
                         PREFIX_COLOUR, PREFIX_BLOODTYPE, PREFIX_TAG);
@@ -296,6 +324,6 @@ public class FindCommandParser implements Parser<FindCommand> {
             finalHashMap.put("petTag", tagKeywords);
         }
 
-        return new FindCommand(finalHashMap);
+        return finalHashMap;
     }
 }
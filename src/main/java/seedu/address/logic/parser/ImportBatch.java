@@ -0,0 +1,91 @@
+package seedu.address.logic.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.person.Person;
+import seedu.address.model.petpatient.PetPatient;
+
+/**
+ * The contacts, pet patients and appointments read from an import file, each with the line it was read from,
+ * and the errors found in the lines that could not be read.
+ */
+public class ImportBatch {
+
+    public static final String MESSAGE_LINE_ERROR = "Line %1$d: %2$s";
+
+    private final List<Row<Person>> persons = new ArrayList<>();
+    private final List<Row<PetPatient>> petPatients = new ArrayList<>();
+    private final List<Row<Appointment>> appointments = new ArrayList<>();
+    private final List<Row<String>> errors = new ArrayList<>();
+
+    public void addPerson(int line, Person person) {
+        persons.add(new Row<>(line, person));
+    }
+
+    public void addPetPatient(int line, PetPatient petPatient) {
+        petPatients.add(new Row<>(line, petPatient));
+    }
+
+    public void addAppointment(int line, Appointment appointment) {
+        appointments.add(new Row<>(line, appointment));
+    }
+
+    /**
+     * Adds the error {@code message} found in {@code line}.
+     */
+    public void addError(int line, String message) {
+        errors.add(new Row<>(line, message));
+    }
+
+    public List<Row<Person>> getPersons() {
+        return Collections.unmodifiableList(persons);
+    }
+
+    public List<Row<PetPatient>> getPetPatients() {
+        return Collections.unmodifiableList(petPatients);
+    }
+
+    public List<Row<Appointment>> getAppointments() {
+        return Collections.unmodifiableList(appointments);
+    }
+
+    /**
+     * Returns the errors found, by the order of the lines they were found in.
+     */
+    public List<String> getErrors() {
+        return errors.stream()
+                .sorted(Comparator.comparingInt(Row::getLine))
+                .map(error -> String.format(MESSAGE_LINE_ERROR, error.getLine(), error.getEntity()))
+                .collect(Collectors.toList());
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    /**
+     * An entity read from an import file, and the line it was read from.
+     */
+    public static class Row<T> {
+        private final int line;
+        private final T entity;
+
+        Row(int line, T entity) {
+            this.line = line;
+            this.entity = entity;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public T getEntity() {
+            return entity;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package seedu.address.logic.parser;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.commons.util.CsvUtil;
+import seedu.address.commons.util.FileUtil;
+import seedu.address.commons.util.XmlStreamUtil;
+import seedu.address.logic.parser.exceptions.ParseException;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.Remark;
+import seedu.address.model.person.Nric;
+import seedu.address.model.person.Person;
+import seedu.address.model.petpatient.PetPatient;
+import seedu.address.model.petpatient.PetPatientName;
+
+/**
+ * Reads the contacts, pet patients and appointments in an import file into an {@link ImportBatch}.
+ *
+ * A file whose name ends with {@code .xml} is read in the xml format of Medeina's data file. Any other file is read
+ * as csv, with a header line naming the field in each column. The {@code type} column holds the kind of entity in
+ * each line: {@code person}, {@code petPatient} or {@code appointment}. The other columns have the names of the
+ * fields in the data file, and the tags of an entity are separated by spaces in the {@code tags} column.
+ *
+ * Every line is read, so that the errors in all of them are found at once.
+ */
+public class ImportFileParser {
+
+    public static final String MESSAGE_MISSING_TYPE_COLUMN = "The first line of a csv file should name the columns, "
+            + "including the type column.";
+    public static final String MESSAGE_UNKNOWN_TYPE = "Unknown type: %1$s";
+    public static final String MESSAGE_MISSING_FIELD = "Missing field: %1$s";
+
+    private static final String XML_EXTENSION = ".xml";
+
+    private static final String TYPE_COLUMN = "type";
+    private static final String TAGS_COLUMN = "tags";
+    private static final String PERSON_TYPE = "person";
+    private static final String PET_PATIENT_TYPE = "petpatient";
+    private static final String APPOINTMENT_TYPE = "appointment";
+
+    private static final String PERSON_ELEMENT = "persons";
+    private static final String PET_PATIENT_ELEMENT = "petPatients";
+    private static final String APPOINTMENT_ELEMENT = "appointments";
+    private static final String TAGGED_ELEMENT = "tagged";
+    private static final String APPOINTMENT_TAG_ELEMENT = "appointmentTagged";
+
+    /**
+     * Returns the entities in {@code file}, and the errors in the lines that could not be read.
+     *
+     * @throws IOException if the file cannot be read.
+     * @throws ParseException if the file is not a csv or xml file in the format described above.
+     */
+    public ImportBatch parse(File file) throws IOException, ParseException {
+        requireNonNull(file);
+
+        ImportBatch batch = new ImportBatch();
+        try (InputStream in = FileUtil.openDecompressed(file)) {
+            if (file.getName().toLowerCase(Locale.ROOT).endsWith(XML_EXTENSION)) {
+                parseXml(in, batch);
+            } else {
+                parseCsv(in, batch);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Reads the csv lines in {@code in} into {@code batch}.
+     */
+    private void parseCsv(InputStream in, ImportBatch batch) throws IOException, ParseException {
+        LineNumberReader reader = new LineNumberReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = CsvUtil.readRecord(reader);
+        List<String> columns = new ArrayList<>();
+        for (String column : header == null ? Collections.<String>emptyList() : header) {
+            columns.add(column.trim().toLowerCase(Locale.ROOT));
+        }
+        if (!columns.contains(TYPE_COLUMN)) {
+            throw new ParseException(MESSAGE_MISSING_TYPE_COLUMN);
+        }
+
+        int line = reader.getLineNumber() + 1;
+        List<String> record = CsvUtil.readRecord(reader);
+        while (record != null) {
+            if (!(record.size() == 1 && record.get(0).trim().isEmpty())) {
+                Map<String, List<String>> fields = new HashMap<>();
+                for (int i = 0; i < record.size() && i < columns.size(); i++) {
+                    String value = record.get(i).trim();
+                    if (columns.get(i).equals(TAGS_COLUMN)) {
+                        fields.put(TAGS_COLUMN, value.isEmpty()
+                                ? new ArrayList<>() : Arrays.asList(value.split("\\s+")));
+                    } else if (!value.isEmpty()) {
+                        fields.put(columns.get(i), Collections.singletonList(value));
+                    }
+                }
+                String type = getField(fields, TYPE_COLUMN);
+                addEntity(line, type == null ? "" : type.toLowerCase(Locale.ROOT), fields, batch);
+            }
+            line = reader.getLineNumber() + 1;
+            record = CsvUtil.readRecord(reader);
+        }
+    }
+
+    /**
+     * Reads the entities in the xml in {@code in} into {@code batch}.
+     */
+    private void parseXml(InputStream in, ImportBatch batch) throws ParseException {
+        try {
+            XMLStreamReader reader = XmlStreamUtil.createReader(in);
+            try {
+                reader.nextTag(); // the root element
+                XmlStreamUtil.moveToNextElement(reader);
+                while (reader.isStartElement()) {
+                    int line = reader.getLocation().getLineNumber();
+                    switch (reader.getLocalName()) {
+                    case PERSON_ELEMENT:
+                        addEntity(line, PERSON_TYPE, readFields(reader, TAGGED_ELEMENT), batch);
+                        break;
+                    case PET_PATIENT_ELEMENT:
+                        addEntity(line, PET_PATIENT_TYPE, readFields(reader, TAGGED_ELEMENT), batch);
+                        break;
+                    case APPOINTMENT_ELEMENT:
+                        addEntity(line, APPOINTMENT_TYPE, readFields(reader, APPOINTMENT_TAG_ELEMENT), batch);
+                        break;
+                    default:
+                        // tags and unknown elements are ignored, as tags are added along with the entities
+                        XmlStreamUtil.readText(reader);
+                    }
+                    XmlStreamUtil.moveToNextElement(reader);
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new ParseException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Adds the entity of {@code type} with {@code fields}, read from {@code line}, to {@code batch}, or the error
+     * found in it if it is invalid.
+     */
+    private void addEntity(int line, String type, Map<String, List<String>> fields, ImportBatch batch) {
+        try {
+            switch (type) {
+            case PERSON_TYPE:
+                batch.addPerson(line, parsePerson(fields));
+                break;
+            case PET_PATIENT_TYPE:
+                batch.addPetPatient(line, parsePetPatient(fields));
+                break;
+            case APPOINTMENT_TYPE:
+                batch.addAppointment(line, parseAppointment(fields));
+                break;
+            default:
+                batch.addError(line, String.format(MESSAGE_UNKNOWN_TYPE, type));
+            }
+        } catch (IllegalValueException ive) {
+            batch.addError(line, ive.getMessage());
+        }
+    }
+
+    /**
+     * Returns the person with {@code fields}.
+     */
+    private static Person parsePerson(Map<String, List<String>> fields) throws IllegalValueException {
+        return new Person(ParserUtil.parseName(getRequiredField(fields, "name")),
+                ParserUtil.parsePhone(getRequiredField(fields, "phone")),
+                ParserUtil.parseEmail(getRequiredField(fields, "email")),
+                ParserUtil.parseAddress(getRequiredField(fields, "address")),
+                ParserUtil.parseNric(getRequiredField(fields, "nric")),
+                ParserUtil.parseTags(fields.getOrDefault(TAGS_COLUMN, Collections.emptyList())));
+    }
+
+    /**
+     * Returns the pet patient with {@code fields}.
+     */
+    private static PetPatient parsePetPatient(Map<String, List<String>> fields) throws IllegalValueException {
+        return new PetPatient(ParserUtil.parsePetPatientName(getRequiredField(fields, "name")),
+                ParserUtil.parseSpecies(getRequiredField(fields, "species")),
+                ParserUtil.parseBreed(getRequiredField(fields, "breed")),
+                ParserUtil.parseColour(getRequiredField(fields, "colour")),
+                ParserUtil.parseBloodType(getRequiredField(fields, "bloodtype")),
+                ParserUtil.parseNric(getRequiredField(fields, "ownernric")),
+                ParserUtil.parseTags(fields.getOrDefault(TAGS_COLUMN, Collections.emptyList())));
+    }
+
+    /**
+     * Returns the appointment with {@code fields}. Unlike the add command, appointments in the past are accepted,
+     * as imported records are usually kept for their history.
+     */
+    private static Appointment parseAppointment(Map<String, List<String>> fields) throws IllegalValueException {
+        Nric ownerNric = ParserUtil.parseNric(getRequiredField(fields, "ownernric"));
+        PetPatientName petPatientName = ParserUtil.parsePetPatientName(getRequiredField(fields, "petpatientname"));
+        Remark remark = ParserUtil.parseRemark(getRequiredField(fields, "remark"));
+        LocalDateTime dateTime = ParserUtil.parseDateTime(getRequiredField(fields, "datetime"));
+        return new Appointment(ownerNric, petPatientName, remark, dateTime,
+                ParserUtil.parseTags(fields.getOrDefault(TAGS_COLUMN, Collections.emptyList())));
+    }
+
+    /**
+     * Returns the first value of the field {@code name}.
+     *
+     * @throws IllegalValueException if there is no such field.
+     */
+    private static String getRequiredField(Map<String, List<String>> fields, String name)
+            throws IllegalValueException {
+        String value = getField(fields, name);
+        if (value == null) {
+            throw new IllegalValueException(String.format(MESSAGE_MISSING_FIELD, name));
+        }
+        return value;
+    }
+
+    /**
+     * Returns the first value of the field {@code name}, or null if there is no such field.
+     */
+    private static String getField(Map<String, List<String>> fields, String name) {
+        List<String> values = fields.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * Returns the text of each child element of the element at the current position of {@code reader}, by the
+     * lower case names of the child elements. The text of each {@code tagElement} is kept under {@code tags}.
+     * The reader is left at the end of the element.
+     */
+    private static Map<String, List<String>> readFields(XMLStreamReader reader, String tagElement)
+            throws XMLStreamException {
+        Map<String, List<String>> fields = new HashMap<>();
+        fields.put(TAGS_COLUMN, new ArrayList<>());
+        for (Map.Entry<String, List<String>> field : XmlStreamUtil.readFields(reader).entrySet()) {
+            String name = field.getKey().equals(tagElement) ? TAGS_COLUMN : field.getKey().toLowerCase(Locale.ROOT);
+            for (String value : field.getValue()) {
+                String text = value.trim();
+                if (!text.isEmpty()) {
+                    fields.computeIfAbsent(name, unused -> new ArrayList<>(1)).add(text);
+                }
+            }
+        }
+        return fields;
+    }
+}
@@ -1,20 +1,25 @@
 package seedu.address.model;
 
 import static java.util.Objects.requireNonNull;
+import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import javafx.collections.ObservableList;
 
 import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.ArchivedAppointments;
+import seedu.address.model.appointment.ArchivedYear;
 import seedu.address.model.appointment.UniqueAppointmentList;
 import seedu.address.model.appointment.exceptions.AppointmentDependencyNotEmptyException;
 import seedu.address.model.appointment.exceptions.AppointmentNotFoundException;
@@ -22,30 +27,37 @@ import seedu.address.model.appointment.exceptions.ConcurrentAppointmentException
 import seedu.address.model.appointment.exceptions.DuplicateAppointmentException;
 import seedu.address.model.appointment.exceptions.DuplicateDateTimeException;
 import seedu.address.model.appointment.exceptions.PastAppointmentException;
+import seedu.address.model.person.Nric;
 import seedu.address.model.person.Person;
 import seedu.address.model.person.UniquePersonList;
 import seedu.address.model.person.exceptions.DuplicateNricException;
 import seedu.address.model.person.exceptions.DuplicatePersonException;
 import seedu.address.model.person.exceptions.PersonNotFoundException;
 import seedu.address.model.petpatient.PetPatient;
+import seedu.address.model.petpatient.PetPatientName;
 import seedu.address.model.petpatient.UniquePetPatientList;
 import seedu.address.model.petpatient.exceptions.DuplicatePetPatientException;
 import seedu.address.model.petpatient.exceptions.PetDependencyNotEmptyException;
 import seedu.address.model.petpatient.exceptions.PetPatientNotFoundException;
 import seedu.address.model.tag.Tag;
+import seedu.address.model.tag.TagRegistry;
 import seedu.address.model.tag.UniqueTagList;
+import seedu.address.model.util.SearchIndex.Field;
+import seedu.address.model.util.SearchIndex.Keyword;
 
 /**
  * Wraps all data at the address-book level
  * Duplicates are not allowed (by .equals comparison)
  */
-public class AddressBook implements ReadOnlyAddressBook {
+public class AddressBook implements IndexedAddressBook {
 
     private final UniquePersonList persons;
-    private final UniqueTagList tags;
+    private final TagRegistry tags;
     private final UniqueAppointmentList appointments;
     private final UniquePetPatientList petPatients;
 
+    private AddressBookDelta recordedChanges;
+
         /*
          * The 'unusual' code block below is an non-static initialization block, sometimes used to avoid duplication
          * between constructors. See https://docs.oracle.com/javase/tutorial/java/javaOO/initial.html
@@ -54,7 +66,7 @@ public class AddressBook implements ReadOnlyAddressBook {
         *   among constructors.
         */ {
         persons = new UniquePersonList();
-        tags = new UniqueTagList();
+        tags = new TagRegistry();
         appointments = new UniqueAppointmentList();
         petPatients = new UniquePetPatientList();
     }
@@ -76,16 +88,20 @@ public class AddressBook implements ReadOnlyAddressBook {
         this.persons.setPersons(persons);
     }
 
-    public void setTags(Set<Tag> tags) {
-        this.tags.setTags(tags);
-    }
-
     public void setAppointments(List<Appointment> appointments)
             throws DuplicateAppointmentException, DuplicateDateTimeException,
         ConcurrentAppointmentException, PastAppointmentException {
         this.appointments.setAppointments(appointments);
     }
 
+    /**
+     * Makes {@code archivedAppointments} the years of appointments that are read into the appointment list once
+     * they are needed, instead of being in it already.
+     */
+    public void setArchivedAppointments(ArchivedAppointments archivedAppointments) {
+        this.appointments.setArchivedAppointments(archivedAppointments);
+    }
+
     public void setPetPatients(List<PetPatient> petPatients) throws DuplicatePetPatientException,
         ConcurrentAppointmentException, PastAppointmentException {
         this.petPatients.setPetPatients(petPatients);
@@ -96,10 +112,24 @@ public class AddressBook implements ReadOnlyAddressBook {
      */
     public void resetData(ReadOnlyAddressBook newData) {
         requireNonNull(newData);
-        setTags(new HashSet<>(newData.getTagList()));
-        List<Person> syncedPersonList = newData.getPersonList().stream()
-                .map(this::syncWithMasterTagList)
-                .collect(Collectors.toList());
+        if (isRecordingChanges()) {
+            AddressBookSnapshot previousData = snapshot();
+            record(addressBook -> addressBook.restore(previousData), previousData.getPersons().asList().size()
+                    + previousData.getPetPatients().asList().size() + previousData.getAppointments().asList().size());
+        }
+
+        if (newData instanceof AddressBookSnapshot) {
+            restore((AddressBookSnapshot) newData);
+            return;
+        }
+
+        tags.resetData(newData.getTagList());
+        List<Person> syncedPersonList = new ArrayList<>();
+        for (Person person : newData.getPersonList()) {
+            Person syncedPerson = syncWithMasterTagList(person);
+            tags.acquire(syncedPerson.getTags());
+            syncedPersonList.add(syncedPerson);
+        }
 
         try {
             setPersons(syncedPersonList);
@@ -109,10 +139,12 @@ public class AddressBook implements ReadOnlyAddressBook {
             throw new AssertionError("Medeina should not have two contacts sharing the same NRIC.");
         }
 
-        setTags(new HashSet<>(newData.getTagList()));
-        List<Appointment> syncedAppointmentList = newData.getAppointmentList().stream()
-                .map(this::syncWithMasterTagList)
-                .collect(Collectors.toList());
+        List<Appointment> syncedAppointmentList = new ArrayList<>();
+        for (Appointment appointment : newData.getAppointmentList()) {
+            Appointment syncedAppointment = syncWithMasterTagList(appointment);
+            tags.acquire(syncedAppointment.getAppointmentTags());
+            syncedAppointmentList.add(syncedAppointment);
+        }
         try {
             setAppointments(syncedAppointmentList);
         } catch (DuplicateAppointmentException dae) {
@@ -124,11 +156,14 @@ public class AddressBook implements ReadOnlyAddressBook {
         } catch (PastAppointmentException pae) {
             throw new AssertionError("AddressBook should not add appointments with past DateTime");
         }
+        setArchivedAppointments(newData.getArchivedAppointments());
 
-        setTags(new HashSet<>(newData.getTagList()));
-        List<PetPatient> syncedPetPatientList = newData.getPetPatientList().stream()
-                .map(this::syncWithMasterTagList)
-                .collect(Collectors.toList());
+        List<PetPatient> syncedPetPatientList = new ArrayList<>();
+        for (PetPatient petPatient : newData.getPetPatientList()) {
+            PetPatient syncedPetPatient = syncWithMasterTagList(petPatient);
+            tags.acquire(syncedPetPatient.getTags());
+            syncedPetPatientList.add(syncedPetPatient);
+        }
 
         try {
             setPetPatients(syncedPetPatientList);
@@ -141,6 +176,275 @@ public class AddressBook implements ReadOnlyAddressBook {
         }
     }
 
+    /**
+     * Returns a snapshot of the current state of this {@code AddressBook}.
+     * The snapshot shares its contents with this address book, so taking one takes constant time.
+     */
+    public AddressBookSnapshot snapshot() {
+        return new AddressBookSnapshot(persons.snapshot(), petPatients.snapshot(), appointments.snapshot(),
+                tags.snapshot());
+    }
+
+    /**
+     * Restores the state of this {@code AddressBook} from {@code snapshot}, in constant time.
+     * The snapshot holds the lists together with their indexes and the tag reference counts as they were, so this
+     * only swaps them back in.
+     */
+    private void restore(AddressBookSnapshot snapshot) {
+        persons.restore(snapshot.getPersons());
+        petPatients.restore(snapshot.getPetPatients());
+        appointments.restore(snapshot.getAppointments());
+        tags.restore(snapshot.getTags());
+    }
+
+    //// change recording
+
+    /**
+     * Starts recording the changes made to this {@code AddressBook}, so that they can be reverted later.
+     * Changes recorded so far are discarded.
+     */
+    public void startRecordingChanges() {
+        recordedChanges = new AddressBookDelta();
+    }
+
+    /**
+     * Stops recording changes and returns the changes made since {@link #startRecordingChanges()}.
+     */
+    public AddressBookDelta stopRecordingChanges() {
+        AddressBookDelta changes = recordedChanges == null ? new AddressBookDelta() : recordedChanges;
+        recordedChanges = null;
+        return changes;
+    }
+
+    /**
+     * Reverts the changes in {@code delta}, which must be the latest changes made to this {@code AddressBook}.
+     * Reverting them is not recorded as a change.
+     */
+    public void revertChanges(AddressBookDelta delta) {
+        requireNonNull(delta);
+        AddressBookDelta changesBeingRecorded = recordedChanges;
+        recordedChanges = null;
+        try {
+            delta.revert(this);
+        } finally {
+            recordedChanges = changesBeingRecorded;
+        }
+    }
+
+    /**
+     * Makes the changes in {@code change} as a whole: if it throws, every change it made is reverted before the
+     * exception is passed on. The changes are recorded as usual if changes are being recorded.
+     */
+    public <T, E extends Exception> T applyAtomically(AtomicChange<T, E> change) throws E {
+        requireNonNull(change);
+        AddressBookDelta changesBeingRecorded = recordedChanges;
+        AddressBookDelta changes = new AddressBookDelta();
+        recordedChanges = changes;
+        boolean isApplied = false;
+        try {
+            T result = change.apply();
+            isApplied = true;
+            return result;
+        } finally {
+            recordedChanges = null;
+            if (!isApplied) {
+                changes.revert(this);
+            }
+            recordedChanges = changesBeingRecorded;
+            if (isApplied && changesBeingRecorded != null) {
+                changesBeingRecorded.add(changes);
+            }
+        }
+    }
+
+    private boolean isRecordingChanges() {
+        return recordedChanges != null;
+    }
+
+    /**
+     * Records {@code change}, which reverts the latest change and holds on to {@code records} entities,
+     * if changes are being recorded.
+     */
+    private void record(AddressBookDelta.Change change, int records) {
+        if (isRecordingChanges()) {
+            recordedChanges.add(change, records);
+        }
+    }
+
+    /**
+     * Records the removal of {@code toRemove}, which are about to be removed from the pet patient list,
+     * from the last one in the list to the first, so that each of them is put back in its current position.
+     */
+    private void recordPetPatientRemovals(List<PetPatient> toRemove) {
+        SortedMap<Integer, PetPatient> removalsByIndex = new TreeMap<>(Collections.reverseOrder());
+        toRemove.forEach(petPatient -> removalsByIndex.put(petPatients.indexOf(petPatient), petPatient));
+        removalsByIndex.forEach((index, petPatient) ->
+                record(addressBook -> addressBook.revertRemoval(index, petPatient), 1));
+    }
+
+    /**
+     * Records the removal of {@code toRemove}, which are about to be removed from the appointment list,
+     * from the last one in the list to the first, so that each of them is put back in its current position.
+     */
+    private void recordAppointmentRemovals(List<Appointment> toRemove) {
+        SortedMap<Integer, Appointment> removalsByIndex = new TreeMap<>(Collections.reverseOrder());
+        toRemove.forEach(appointment -> removalsByIndex.put(appointments.indexOf(appointment), appointment));
+        removalsByIndex.forEach((index, appointment) ->
+                record(addressBook -> addressBook.revertRemoval(index, appointment), 1));
+    }
+
+    /**
+     * Removes {@code person}, which was added by the change being reverted.
+     */
+    private void revertAddition(Person person) {
+        try {
+            removePerson(person);
+        } catch (PersonNotFoundException | PetDependencyNotEmptyException e) {
+            throw new AssertionError("Changes should be reverted in the reverse order they were made.", e);
+        }
+    }
+
+    /**
+     * Removes {@code petPatient}, which was added by the change being reverted.
+     */
+    private void revertAddition(PetPatient petPatient) {
+        try {
+            removePetPatient(petPatient);
+        } catch (PetPatientNotFoundException | AppointmentDependencyNotEmptyException e) {
+            throw new AssertionError("Changes should be reverted in the reverse order they were made.", e);
+        }
+    }
+
+    /**
+     * Removes {@code appointment}, which was added by the change being reverted.
+     */
+    private void revertAddition(Appointment appointment) {
+        try {
+            removeAppointment(appointment);
+        } catch (AppointmentNotFoundException e) {
+            throw new AssertionError("Changes should be reverted in the reverse order they were made.", e);
+        }
+    }
+
+    /**
+     * Replaces {@code editedPerson} with {@code originalPerson}, which it replaced in the change being reverted.
+     */
+    private void revertUpdate(Person originalPerson, Person editedPerson) {
+        try {
+            updatePerson(editedPerson, originalPerson);
+        } catch (DuplicatePersonException | DuplicateNricException | PersonNotFoundException e) {
+            throw new AssertionError("Changes should be reverted in the reverse order they were made.", e);
+        }
+    }
+
+    /**
+     * Replaces {@code editedPetPatient} with {@code originalPetPatient}, which it replaced in the change being
+     * reverted.
+     */
+    private void revertUpdate(PetPatient originalPetPatient, PetPatient editedPetPatient) {
+        try {
+            updatePetPatient(editedPetPatient, originalPetPatient);
+        } catch (DuplicatePetPatientException | PetPatientNotFoundException e) {
+            throw new AssertionError("Changes should be reverted in the reverse order they were made.", e);
+        }
+    }
+
+    /**
+     * Replaces {@code editedAppointment} with {@code originalAppointment}, which it replaced in the change being
+     * reverted.
+     */
+    private void revertUpdate(Appointment originalAppointment, Appointment editedAppointment) {
+        try {
+            updateAppointment(editedAppointment, originalAppointment);
+        } catch (DuplicateAppointmentException | DuplicateDateTimeException | AppointmentNotFoundException e) {
+            throw new AssertionError("Changes should be reverted in the reverse order they were made.", e);
+        }
+    }
+
+    /**
+     * Puts {@code person}, which was removed by the change being reverted, back at {@code index}.
+     */
+    private void revertRemoval(int index, Person person) {
+        Person syncedPerson = syncWithMasterTagList(person);
+        try {
+            persons.insert(index, syncedPerson);
+        } catch (DuplicatePersonException | DuplicateNricException e) {
+            throw new AssertionError("Changes should be reverted in the reverse order they were made.", e);
+        }
+        tags.acquire(syncedPerson.getTags());
+    }
+
+    /**
+     * Puts {@code petPatient}, which was removed by the change being reverted, back at {@code index}.
+     */
+    private void revertRemoval(int index, PetPatient petPatient) {
+        PetPatient syncedPetPatient = syncWithMasterTagList(petPatient);
+        try {
+            petPatients.insert(index, syncedPetPatient);
+        } catch (DuplicatePetPatientException e) {
+            throw new AssertionError("Changes should be reverted in the reverse order they were made.", e);
+        }
+        tags.acquire(syncedPetPatient.getTags());
+    }
+
+    /**
+     * Puts {@code appointment}, which was removed by the change being reverted, back at {@code index}.
+     */
+    private void revertRemoval(int index, Appointment appointment) {
+        Appointment syncedAppointment = syncWithMasterTagList(appointment);
+        try {
+            appointments.insert(index, syncedAppointment);
+        } catch (DuplicateAppointmentException | DuplicateDateTimeException e) {
+            throw new AssertionError("Changes should be reverted in the reverse order they were made.", e);
+        }
+        tags.acquire(syncedAppointment.getAppointmentTags());
+    }
+
+    //// archived appointments
+
+    /**
+     * Reads the appointments of those of {@code years} that are archived into the appointment list, where they were
+     * saved. This only changes which appointments are held in memory, so it is not recorded as a change.
+     */
+    public void loadArchivedYears(Collection<Integer> years) {
+        requireAllNonNull(years);
+        for (int year : years) {
+            ArchivedYear archivedYear = appointments.getArchivedAppointments().get(year);
+            if (archivedYear == null) {
+                continue;
+            }
+            List<Appointment> syncedAppointments = new ArrayList<>();
+            for (Appointment appointment : archivedYear.getAppointments()) {
+                Appointment syncedAppointment = syncWithMasterTagList(appointment);
+                tags.acquire(syncedAppointment.getAppointmentTags());
+                syncedAppointments.add(syncedAppointment);
+            }
+            try {
+                appointments.loadArchivedYear(year, syncedAppointments);
+            } catch (DuplicateAppointmentException dae) {
+                throw new AssertionError("Medeina should not have duplicate appointments.");
+            } catch (DuplicateDateTimeException ddte) {
+                throw new AssertionError("Medeina should not have appointments on the same slot");
+            }
+        }
+    }
+
+    /**
+     * Reads the archived appointments of the pet patients owned by the person with {@code ownerNric} into the
+     * appointment list, so that they can be changed along with the person or their pet patients.
+     */
+    public void loadArchivedYearsWithNric(Nric ownerNric) {
+        loadArchivedYears(appointments.getArchivedAppointments().getYearsWithNric(ownerNric));
+    }
+
+    /**
+     * Reads the archived appointments that an appointment at {@code dateTime} could be in the same slot as, or
+     * overlap, into the appointment list.
+     */
+    private void loadArchivedYearsAt(LocalDateTime dateTime) {
+        loadArchivedYears(appointments.getArchivedAppointments().getYearsNeededAt(dateTime));
+    }
+
     //// person-level operations
 
     /**
@@ -152,10 +456,9 @@ public class AddressBook implements ReadOnlyAddressBook {
      */
     public void addPerson(Person p) throws DuplicatePersonException, DuplicateNricException {
         Person person = syncWithMasterTagList(p);
-        // TODO: the tags master list will be updated even though the below line fails.
-        // This can cause the tags master list to have additional tags that are not tagged to any person
-        // in the person list.
         persons.add(person);
+        tags.acquire(person.getTags());
+        record(addressBook -> addressBook.revertAddition(person), 1);
     }
 
     /**
@@ -164,19 +467,22 @@ public class AddressBook implements ReadOnlyAddressBook {
      *
      * @throws DuplicatePersonException if updating the person's details causes the person to be equivalent to
      *                                  another existing person in the list.
+     * @throws DuplicateNricException   if updating the person's details causes the person to share the same NRIC
+     *                                  as another existing person in the list.
      * @throws PersonNotFoundException  if {@code target} could not be found in the list.
      * @see #syncWithMasterTagList(Person)
      */
     public void updatePerson(Person target, Person editedPerson)
-            throws DuplicatePersonException, PersonNotFoundException {
+            throws DuplicatePersonException, DuplicateNricException, PersonNotFoundException {
         requireNonNull(editedPerson);
 
         Person syncedEditedPerson = syncWithMasterTagList(editedPerson);
-        // TODO: the tags master list will be updated even though the below line fails.
-        // This can cause the tags master list to have additional tags that are not tagged to any person
-        // in the person list.
+        Person storedTarget = persons.getPersonWithNric(target.getNric());
         persons.setPerson(target, syncedEditedPerson);
-        removeUselessTags();
+        tags.acquire(syncedEditedPerson.getTags());
+        tags.release(storedTarget.getTags());
+        tags.removeUnreferencedTags();
+        record(addressBook -> addressBook.revertUpdate(storedTarget, syncedEditedPerson), 2);
     }
 
     /**
@@ -189,6 +495,8 @@ public class AddressBook implements ReadOnlyAddressBook {
     public void addPetPatient(PetPatient p) throws DuplicatePetPatientException {
         PetPatient petPatient = syncWithMasterTagList(p);
         petPatients.add(petPatient);
+        tags.acquire(petPatient.getTags());
+        record(addressBook -> addressBook.revertAddition(petPatient), 1);
     }
 
     //@@author chialejing
@@ -206,8 +514,12 @@ public class AddressBook implements ReadOnlyAddressBook {
         requireNonNull(editedPetPatient);
 
         PetPatient syncEditedPetPatient = syncWithMasterTagList(editedPetPatient);
+        PetPatient storedTarget = getStoredPetPatient(target);
         petPatients.setPetPatient(target, syncEditedPetPatient);
-        removeUselessTags();
+        tags.acquire(syncEditedPetPatient.getTags());
+        tags.release(storedTarget.getTags());
+        tags.removeUnreferencedTags();
+        record(addressBook -> addressBook.revertUpdate(storedTarget, syncEditedPetPatient), 2);
     }
 
     /**
@@ -216,37 +528,34 @@ public class AddressBook implements ReadOnlyAddressBook {
      *
      * @throws DuplicateAppointmentException if updating the appointment's details causes the appointment to be
      *                                       equivalent to another existing appointment in the list.
+     * @throws DuplicateDateTimeException    if updating the appointment's details causes the appointment to be
+     *                                       in the same slot as another existing appointment in the list.
      * @throws AppointmentNotFoundException  if {@code target} could not be found in the list.
      * @see #syncWithMasterTagList(Appointment)
      */
     public void updateAppointment(Appointment target, Appointment editedAppointment)
-            throws DuplicateAppointmentException, AppointmentNotFoundException {
+            throws DuplicateAppointmentException, DuplicateDateTimeException, AppointmentNotFoundException {
         requireNonNull(editedAppointment);
+        loadArchivedYearsAt(target.getDateTime());
+        loadArchivedYearsAt(editedAppointment.getDateTime());
 
-        Appointment syncEditedPetPatient = syncWithMasterTagList(editedAppointment);
-        appointments.setAppointment(target, syncEditedPetPatient);
-        removeUselessTags();
+        Appointment syncEditedAppointment = syncWithMasterTagList(editedAppointment);
+        Appointment storedTarget = appointments.getAppointmentAt(target.getDateTime());
+        appointments.setAppointment(target, syncEditedAppointment);
+        tags.acquire(syncEditedAppointment.getAppointmentTags());
+        tags.release(storedTarget.getAppointmentTags());
+        tags.removeUnreferencedTags();
+        record(addressBook -> addressBook.revertUpdate(storedTarget, syncEditedAppointment), 2);
     }
 
     //@@author
     /**
-     * Updates the master tag list to include tags in {@code person} that are not in the list.
-     *
-     * @return a copy of this {@code person} such that every tag in this person points to a Tag object in the master
-     * list.
+     * Returns a copy of this {@code person} such that every tag in this person that is already in the master list
+     * points to the Tag object in the master list.
+     * The master list itself is only updated once the person is in the person list, through {@link #tags}.
      */
     private Person syncWithMasterTagList(Person person) {
-        final UniqueTagList personTags = new UniqueTagList(person.getTags());
-        tags.mergeFrom(personTags);
-
-        // Create map with values = tag object references in the master list
-        // used for checking person tag references
-        final Map<Tag, Tag> masterTagObjects = new HashMap<>();
-        tags.forEach(tag -> masterTagObjects.put(tag, tag));
-
-        // Rebuild the list of person tags to point to the relevant tags in the master tag list.
-        final Set<Tag> correctTagReferences = new HashSet<>();
-        personTags.forEach(tag -> correctTagReferences.add(masterTagObjects.get(tag)));
+        final Set<Tag> correctTagReferences = tags.intern(person.getTags());
         return new Person(
                 person.getName(), person.getPhone(), person.getEmail(), person.getAddress(),
             person.getNric(), correctTagReferences);
@@ -254,23 +563,12 @@ public class AddressBook implements ReadOnlyAddressBook {
 
     //@@author chialejing
     /**
-     * Updates the master tag list to include tags in {@code petPatient} that are not in the list.
-     *
-     * @return a copy of this {@code petPatient} such that every tag in this pet patient points to a Tag object in the
-     * master list.
+     * Returns a copy of this {@code petPatient} such that every tag in this pet patient that is already in the
+     * master list points to the Tag object in the master list.
+     * The master list itself is only updated once the pet patient is in the pet patient list.
      */
     private PetPatient syncWithMasterTagList (PetPatient petPatient) {
-        final UniqueTagList currentPetPatientTags = new UniqueTagList(petPatient.getTags());
-        tags.mergeFrom(currentPetPatientTags);
-
-        // Create map with values = tag object references in the master list
-        // used for checking person tag references
-        final Map<Tag, Tag> masterTagObjects = new HashMap<>();
-        tags.forEach(tag -> masterTagObjects.put(tag, tag));
-
-        // Rebuild the list of person tags to point to the relevant tags in the master tag list.
-        final Set<Tag> correctTagReferences = new HashSet<>();
-        currentPetPatientTags.forEach(tag -> correctTagReferences.add(masterTagObjects.get(tag)));
+        final Set<Tag> correctTagReferences = tags.intern(petPatient.getTags());
         return new PetPatient(
                 petPatient.getName(),
                 petPatient.getSpecies(),
@@ -283,23 +581,12 @@ public class AddressBook implements ReadOnlyAddressBook {
 
     //@@author wynonaK
     /**
-     * Updates the master tag list to include tags in {@code appointment} that are not in the list.
-     *
-     * @return a copy of this {@code appointment} such that every tag in this appointment
-     * points to a Tag object in the master list.
+     * Returns a copy of this {@code appointment} such that every tag in this appointment that is already in the
+     * master list points to the Tag object in the master list.
+     * The master list itself is only updated once the appointment is in the appointment list.
      */
     private Appointment syncWithMasterTagList(Appointment appointment) {
-        final UniqueTagList appointmentTags = new UniqueTagList(appointment.getAppointmentTags());
-        tags.mergeFrom(appointmentTags);
-
-        // Create map with values = tag object references in the master list
-        // used for checking person tag references
-        final Map<Tag, Tag> masterTagObjects = new HashMap<>();
-        tags.forEach(tag -> masterTagObjects.put(tag, tag));
-
-        // Rebuild the list of person tags to point to the relevant tags in the master tag list.
-        final Set<Tag> correctTagReferences = new HashSet<>();
-        appointmentTags.forEach(tag -> correctTagReferences.add(masterTagObjects.get(tag)));
+        final Set<Tag> correctTagReferences = tags.intern(appointment.getAppointmentTags());
         return new Appointment(
                 appointment.getOwnerNric(),
                 appointment.getPetPatientName(),
@@ -317,11 +604,11 @@ public class AddressBook implements ReadOnlyAddressBook {
      */
     public void addAppointment(Appointment a) throws DuplicateAppointmentException, DuplicateDateTimeException,
         ConcurrentAppointmentException, PastAppointmentException {
+        loadArchivedYearsAt(a.getDateTime());
         Appointment appointment = syncWithMasterTagList(a);
-        // TODO: the tags master list will be updated even though the below line fails.
-        // This can cause the tags master list to have additional tags that are not tagged to any appointment
-        // in the appointment list.
         appointments.add(appointment);
+        tags.acquire(appointment.getAppointmentTags());
+        record(addressBook -> addressBook.revertAddition(appointment), 1);
     }
 
     ////Delete operations
@@ -335,9 +622,13 @@ public class AddressBook implements ReadOnlyAddressBook {
      */
     public boolean removePerson(Person key) throws PersonNotFoundException, PetDependencyNotEmptyException {
         petPatientDependenciesExist(key);
+        Person storedKey = persons.getPersonWithNric(key.getNric());
+        int index = isRecordingChanges() ? persons.indexOf(storedKey) : -1;
 
         if (persons.remove(key)) {
-            removeUselessTags();
+            tags.release(storedKey.getTags());
+            tags.removeUnreferencedTags();
+            record(addressBook -> addressBook.revertRemoval(index, storedKey), 1);
             return true;
         } else {
             throw new PersonNotFoundException();
@@ -353,9 +644,13 @@ public class AddressBook implements ReadOnlyAddressBook {
     public boolean removePetPatient(PetPatient key)
             throws PetPatientNotFoundException, AppointmentDependencyNotEmptyException {
         appointmentDependenciesExist(key);
+        PetPatient storedKey = getStoredPetPatient(key);
+        int index = isRecordingChanges() ? petPatients.indexOf(storedKey) : -1;
 
         if (petPatients.remove(key)) {
-            removeUselessTags();
+            tags.release(storedKey.getTags());
+            tags.removeUnreferencedTags();
+            record(addressBook -> addressBook.revertRemoval(index, storedKey), 1);
             return true;
         } else {
             throw new PetPatientNotFoundException();
@@ -367,16 +662,13 @@ public class AddressBook implements ReadOnlyAddressBook {
      */
 
     public List<PetPatient> removeAllPetPatientDependencies(Person key) {
-        Iterator<PetPatient> petPatientIterator = petPatients.iterator();
-        List<PetPatient> petPatientsDeleted = new ArrayList<>();
-        while (petPatientIterator.hasNext()) {
-            PetPatient petPatient = petPatientIterator.next();
-
-            if (petPatient.getOwner().equals(key.getNric())) {
-                petPatientsDeleted.add(petPatient);
-                petPatientIterator.remove();
-            }
+        List<PetPatient> petPatientsDeleted = petPatients.getPetPatientsWithNric(key.getNric());
+        if (isRecordingChanges()) {
+            recordPetPatientRemovals(petPatientsDeleted);
         }
+        petPatients.removeAll(petPatientsDeleted);
+        petPatientsDeleted.forEach(petPatient -> tags.release(petPatient.getTags()));
+        tags.removeUnreferencedTags();
         return petPatientsDeleted;
     }
 
@@ -385,11 +677,8 @@ public class AddressBook implements ReadOnlyAddressBook {
      * still exists in {@code AddressBook}.
      */
     private void appointmentDependenciesExist(PetPatient key) throws AppointmentDependencyNotEmptyException {
-        for (Appointment appointment : appointments) {
-            if (appointment.getPetPatientName().equals(key.getName())
-                    && appointment.getOwnerNric().equals(key.getOwner())) {
-                throw new AppointmentDependencyNotEmptyException("Appointment dependency still exist!");
-            }
+        if (appointments.hasAppointmentsWithNricAndPetName(key.getOwner(), key.getName())) {
+            throw new AppointmentDependencyNotEmptyException("Appointment dependency still exist!");
         }
     }
 
@@ -397,10 +686,8 @@ public class AddressBook implements ReadOnlyAddressBook {
      * @throws PetDependencyNotEmptyException if pet dependencies of {@code key} still exists in {@code AddressBook}.
      */
     private void petPatientDependenciesExist(Person key) throws PetDependencyNotEmptyException {
-        for (PetPatient petPatient : petPatients) {
-            if (petPatient.getOwner().equals(key.getNric())) {
-                throw new PetDependencyNotEmptyException("Pet Patient dependency still exist!");
-            }
+        if (petPatients.hasPetPatientsWithNric(key.getNric())) {
+            throw new PetDependencyNotEmptyException("Pet Patient dependency still exist!");
         }
     }
 
@@ -409,19 +696,16 @@ public class AddressBook implements ReadOnlyAddressBook {
      *
      */
     public List<Appointment> removeAllAppointmentDependencies(PetPatient key) {
-        List<Appointment> appointmentsDeleted = new ArrayList<>();
-        Iterator<Appointment> appointmentIterator = appointments.iterator();
-
-        while (appointmentIterator.hasNext()) {
-            Appointment appointment = appointmentIterator.next();
-
-            if (appointment.getPetPatientName().equals(key.getName())
-                    && appointment.getOwnerNric().equals(key.getOwner())) {
-                appointmentsDeleted.add(appointment);
-                appointmentIterator.remove();
-            }
+        loadArchivedYears(appointments.getArchivedAppointments().getYearsWithNricAndPetName(key.getOwner(),
+                key.getName()));
+        List<Appointment> appointmentsDeleted =
+                appointments.getAppointmentsWithNricAndPetName(key.getOwner(), key.getName());
+        if (isRecordingChanges()) {
+            recordAppointmentRemovals(appointmentsDeleted);
         }
-
+        appointments.removeAll(appointmentsDeleted);
+        appointmentsDeleted.forEach(appointment -> tags.release(appointment.getAppointmentTags()));
+        tags.removeUnreferencedTags();
         return appointmentsDeleted;
     }
 
@@ -431,8 +715,14 @@ public class AddressBook implements ReadOnlyAddressBook {
      * @throws AppointmentNotFoundException if the {@code key} is not in this {@code AddressBook}.
      */
     public boolean removeAppointment(Appointment key) throws AppointmentNotFoundException {
+        loadArchivedYears(Collections.singleton(key.getDateTime().getYear()));
+        Appointment storedKey = appointments.getAppointmentAt(key.getDateTime());
+        int index = isRecordingChanges() ? appointments.indexOf(storedKey) : -1;
+
         if (appointments.remove(key)) {
-            removeUselessTags();
+            tags.release(storedKey.getAppointmentTags());
+            tags.removeUnreferencedTags();
+            record(addressBook -> addressBook.revertRemoval(index, storedKey), 1);
             return true;
         } else {
             throw new AppointmentNotFoundException();
@@ -446,36 +736,17 @@ public class AddressBook implements ReadOnlyAddressBook {
         tags.add(t);
     }
 
-    //@@author wynonaK-reused
     /**
-     * Removes all {@code tag}s not used by anyone in this {@code AddressBook}.
-     * Reused from https://github.com/se-edu/addressbook-level4/pull/790/files with minor modifications
+     * Returns the pet patient in the list that is equivalent to {@code key}, or {@code key} itself if there is none.
      */
-    private void removeUselessTags() {
-        Set<Tag> personTags =
-                persons.asObservableList()
-                        .stream()
-                        .map(Person::getTags)
-                        .flatMap(Set::stream)
-                        .collect(Collectors.toSet());
-        Set<Tag> appointmentTags =
-                appointments.asObservableList()
-                        .stream()
-                        .map(Appointment::getAppointmentTags)
-                        .flatMap(Set::stream)
-                        .collect(Collectors.toSet());
-        Set<Tag> petPatientTags =
-                petPatients.asObservableList()
-                        .stream()
-                        .map(PetPatient::getTags)
-                        .flatMap(Set::stream)
-                        .collect(Collectors.toSet());
-
-        personTags.addAll(appointmentTags);
-        personTags.addAll(petPatientTags);
-        tags.setTags(personTags);
+    private PetPatient getStoredPetPatient(PetPatient key) {
+        return petPatients.getPetPatientsWithNric(key.getOwner()).stream()
+                .filter(key::equals)
+                .findFirst()
+                .orElse(key);
     }
 
+    //@@author wynonaK-reused
     /**
      * Removes {@code tag} from {@code person} with that tag this {@code AddressBook}.
      *
@@ -495,6 +766,8 @@ public class AddressBook implements ReadOnlyAddressBook {
                 updatePerson(person, updatedPerson);
             } catch (DuplicatePersonException dpe) {
                 throw new AssertionError("Modifying tag only should not result in duplicate contact.");
+            } catch (DuplicateNricException dne) {
+                throw new AssertionError("Modifying tag only should not result in duplicate NRIC.");
             }
         } else {
             return;
@@ -515,9 +788,135 @@ public class AddressBook implements ReadOnlyAddressBook {
         }
     }
 
+    //@@author
+    //// lookup operations
+
+    /**
+     * Returns the person with the given {@code nric}, or null if there is no such person.
+     */
+    @Override
+    public Person getPersonWithNric(Nric nric) {
+        return persons.getPersonWithNric(nric);
+    }
+
+    /**
+     * Returns the persons that, for every field in {@code keywords}, have a word in the field that matches at least
+     * one of that field's keywords, each mapped to its relevance score.
+     */
+    @Override
+    public Map<Person, Double> findPersons(Map<Field, List<Keyword>> keywords) {
+        return persons.find(keywords);
+    }
+
+    /**
+     * Returns the pet patients that, for every field in {@code keywords}, have a word in the field that matches at
+     * least one of that field's keywords, each mapped to its relevance score.
+     */
+    @Override
+    public Map<PetPatient, Double> findPetPatients(Map<Field, List<Keyword>> keywords) {
+        return petPatients.find(keywords);
+    }
+
+    /**
+     * Returns the pet patient named {@code petPatientName} owned by the person with {@code ownerNric},
+     * or null if there is no such pet patient.
+     */
+    @Override
+    public PetPatient getPetPatientWithNricAndName(Nric ownerNric, PetPatientName petPatientName) {
+        return petPatients.getPetPatientWithNricAndName(ownerNric, petPatientName);
+    }
+
+    /**
+     * Returns the pet patients owned by the person with {@code ownerNric}.
+     */
+    @Override
+    public List<PetPatient> getPetPatientsWithNric(Nric ownerNric) {
+        return petPatients.getPetPatientsWithNric(ownerNric);
+    }
+
+    /**
+     * Returns the appointments of all pet patients owned by the person with {@code ownerNric}, except those in
+     * archived years, which {@link #loadArchivedYearsWithNric(Nric)} reads.
+     */
+    @Override
+    public List<Appointment> getAppointmentsWithNric(Nric ownerNric) {
+        return appointments.getAppointmentsWithNric(ownerNric);
+    }
+
+    /**
+     * Returns the appointments of the pet patient named {@code petPatientName} owned by the person with
+     * {@code ownerNric}, except those in archived years, which {@link #loadArchivedYearsWithNric(Nric)} reads.
+     */
+    @Override
+    public List<Appointment> getAppointmentsWithNricAndPetName(Nric ownerNric, PetPatientName petPatientName) {
+        return appointments.getAppointmentsWithNricAndPetName(ownerNric, petPatientName);
+    }
+
+    /**
+     * Returns the date and time of the latest appointment of the pet patients owned by the person with
+     * {@code ownerNric}, or null if they have none. An archived year is not read: the latest appointment in it
+     * stands in for theirs.
+     */
+    @Override
+    public LocalDateTime getLatestAppointmentDateTime(Nric ownerNric) {
+        return getLatestDateTime(IndexedAddressBook.getLatestDateTime(getAppointmentsWithNric(ownerNric)),
+                appointments.getArchivedAppointments().getYearsWithNric(ownerNric));
+    }
+
+    /**
+     * Returns the date and time of the latest appointment of the pet patient named {@code petPatientName} owned by
+     * the person with {@code ownerNric}, or null if it has none. An archived year is not read: the latest
+     * appointment in it stands in for that of the pet patient.
+     */
+    @Override
+    public LocalDateTime getLatestAppointmentDateTime(Nric ownerNric, PetPatientName petPatientName) {
+        return getLatestDateTime(IndexedAddressBook.getLatestDateTime(
+                getAppointmentsWithNricAndPetName(ownerNric, petPatientName)),
+                appointments.getArchivedAppointments().getYearsWithNricAndPetName(ownerNric, petPatientName));
+    }
+
+    /**
+     * Returns the later of {@code latestRead}, which may be null, and the latest appointment in the last of
+     * {@code archivedYears}, which are in order.
+     */
+    private LocalDateTime getLatestDateTime(LocalDateTime latestRead, List<Integer> archivedYears) {
+        if (archivedYears.isEmpty()) {
+            return latestRead;
+        }
+        int lastYear = archivedYears.get(archivedYears.size() - 1);
+        LocalDateTime latestArchived = appointments.getArchivedAppointments().get(lastYear).getLastDateTime();
+        return latestRead == null || latestArchived.isAfter(latestRead) ? latestArchived : latestRead;
+    }
+
+    /**
+     * Returns the appointment at exactly {@code dateTime}, or null if there is no such appointment.
+     */
+    @Override
+    public Appointment getAppointmentAt(LocalDateTime dateTime) {
+        loadArchivedYears(Collections.singleton(dateTime.getYear()));
+        return appointments.getAppointmentAt(dateTime);
+    }
+
+    /**
+     * Returns true if an appointment at {@code dateTime} would overlap an existing appointment,
+     * ignoring the appointment at {@code excludedDateTime}.
+     */
+    @Override
+    public boolean hasConcurrentAppointment(LocalDateTime dateTime, LocalDateTime excludedDateTime) {
+        loadArchivedYearsAt(dateTime);
+        return appointments.hasConcurrentAppointment(dateTime, excludedDateTime);
+    }
+
+    /**
+     * Returns true if there is an appointment in {@code year}.
+     */
+    @Override
+    public boolean hasAppointmentInYear(int year) {
+        return appointments.hasAppointmentInYear(year);
+    }
+
     //// util methods
 
-    //@@author
     @Override
     public String toString() {
         return persons.asObservableList().size() + " contacts, "
@@ -549,6 +948,11 @@ public class AddressBook implements ReadOnlyAddressBook {
     }
 
     //@@author
+    @Override
+    public ArchivedAppointments getArchivedAppointments() {
+        return appointments.getArchivedAppointments();
+    }
+
     @Override
     public boolean equals(Object other) {
         return other == this // short circuit if same object
@@ -556,7 +960,7 @@ public class AddressBook implements ReadOnlyAddressBook {
                 && this.persons.equals(((AddressBook) other).persons)
                 && this.appointments.equals(((AddressBook) other).appointments)
                 && this.petPatients.equals(((AddressBook) other).petPatients)
-                && this.tags.equalsOrderInsensitive(((AddressBook) other).tags));
+                && this.tags.equals(((AddressBook) other).tags));
     }
 
     @Override
@@ -564,4 +968,12 @@ public class AddressBook implements ReadOnlyAddressBook {
         // use this method for custom fields hashing instead of implementing your own
         return Objects.hash(persons, appointments, petPatients, tags);
     }
+
+    /**
+     * A group of changes made to an {@code AddressBook} by {@link #applyAtomically(AtomicChange)}.
+     */
+    @FunctionalInterface
+    public interface AtomicChange<T, E extends Exception> {
+        T apply() throws E;
+    }
 }
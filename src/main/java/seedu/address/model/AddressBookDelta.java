@@ -0,0 +1,66 @@
+package seedu.address.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The changes made to an {@code AddressBook} since {@link AddressBook#startRecordingChanges()} was called,
+ * kept as the operations that revert them.
+ *
+ * Only the entities involved in the changes are held on to, so the size of a delta is proportional to the size of
+ * the changes rather than to the size of the address book.
+ */
+public class AddressBookDelta {
+
+    private final List<Change> changes = new ArrayList<>();
+    private int recordCount;
+
+    /**
+     * Adds {@code change}, which reverts the latest change to the address book and holds on to
+     * {@code records} persons, pet patients and appointments.
+     */
+    void add(Change change, int records) {
+        changes.add(change);
+        recordCount += records;
+    }
+
+    /**
+     * Adds the changes in {@code delta}, which were made after the changes in this delta.
+     */
+    void add(AddressBookDelta delta) {
+        changes.addAll(delta.changes);
+        recordCount += delta.recordCount;
+    }
+
+    /**
+     * Reverts the changes in {@code addressBook}, latest change first.
+     */
+    void revert(AddressBook addressBook) {
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            changes.get(i).revert(addressBook);
+        }
+    }
+
+    /**
+     * Returns the number of persons, pet patients and appointments held on to by this delta.
+     * This is used to estimate the memory taken up by the undo history.
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns true if no changes were recorded.
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * An operation that reverts a single change to an {@code AddressBook}.
+     */
+    @FunctionalInterface
+    interface Change {
+        void revert(AddressBook addressBook);
+    }
+}
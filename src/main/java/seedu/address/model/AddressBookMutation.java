@@ -0,0 +1,176 @@
+package seedu.address.model;
+
+import static java.util.Objects.requireNonNull;
+import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.exceptions.AppointmentDependencyNotEmptyException;
+import seedu.address.model.appointment.exceptions.AppointmentNotFoundException;
+import seedu.address.model.person.Person;
+import seedu.address.model.person.exceptions.PersonNotFoundException;
+import seedu.address.model.petpatient.PetPatient;
+import seedu.address.model.petpatient.exceptions.PetDependencyNotEmptyException;
+import seedu.address.model.petpatient.exceptions.PetPatientNotFoundException;
+import seedu.address.model.tag.Tag;
+
+/**
+ * A single change made to the address book through the {@code Model}.
+ *
+ * Mutations hold on to the entities they were made with, so that they can be written to a journal and applied
+ * again to the address book as it was before they were made.
+ */
+public class AddressBookMutation {
+
+    /**
+     * The kinds of mutations, with the class of the entity each is made with.
+     */
+    public enum Type {
+        ADD_PERSON(Person.class, false),
+        UPDATE_PERSON(Person.class, true),
+        DELETE_PERSON(Person.class, false),
+        ADD_PET_PATIENT(PetPatient.class, false),
+        UPDATE_PET_PATIENT(PetPatient.class, true),
+        DELETE_PET_PATIENT(PetPatient.class, false),
+        DELETE_PET_PATIENT_DEPENDENCIES(Person.class, false),
+        ADD_APPOINTMENT(Appointment.class, false),
+        UPDATE_APPOINTMENT(Appointment.class, true),
+        DELETE_APPOINTMENT(Appointment.class, false),
+        DELETE_APPOINTMENT_DEPENDENCIES(PetPatient.class, false),
+        DELETE_TAG(Tag.class, false);
+
+        private final Class<?> entityClass;
+        private final boolean isUpdate;
+
+        Type(Class<?> entityClass, boolean isUpdate) {
+            this.entityClass = entityClass;
+            this.isUpdate = isUpdate;
+        }
+
+        /**
+         * Returns the class of the target, and of the edited entity for updates.
+         */
+        public Class<?> getEntityClass() {
+            return entityClass;
+        }
+
+        /**
+         * Returns true if mutations of this type replace their target with an edited entity.
+         */
+        public boolean isUpdate() {
+            return isUpdate;
+        }
+    }
+
+    private final Type type;
+    private final Object target;
+    private final Object editedTarget;
+
+    /**
+     * Every field must be present and not null, except {@code editedTarget}, which must be present for updates only.
+     */
+    public AddressBookMutation(Type type, Object target, Object editedTarget) {
+        requireAllNonNull(type, target);
+        if (!type.getEntityClass().isInstance(target) || type.isUpdate() != (editedTarget != null)
+                || (editedTarget != null && !type.getEntityClass().isInstance(editedTarget))) {
+            throw new IllegalArgumentException("Entities do not match mutation type " + type);
+        }
+        this.type = type;
+        this.target = target;
+        this.editedTarget = editedTarget;
+    }
+
+    public AddressBookMutation(Type type, Object target) {
+        this(type, target, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Object getTarget() {
+        return target;
+    }
+
+    public Optional<Object> getEditedTarget() {
+        return Optional.ofNullable(editedTarget);
+    }
+
+    /**
+     * Makes this mutation again on {@code addressBook}.
+     *
+     * @throws IllegalValueException if the mutation cannot be made on {@code addressBook}, for example because the
+     *                               entity it deletes is not in it.
+     */
+    public void applyTo(AddressBook addressBook) throws IllegalValueException {
+        requireNonNull(addressBook);
+        try {
+            switch (type) {
+            case ADD_PERSON:
+                addressBook.addPerson((Person) target);
+                break;
+            case UPDATE_PERSON:
+                addressBook.updatePerson((Person) target, (Person) editedTarget);
+                break;
+            case DELETE_PERSON:
+                addressBook.removePerson((Person) target);
+                break;
+            case ADD_PET_PATIENT:
+                addressBook.addPetPatient((PetPatient) target);
+                break;
+            case UPDATE_PET_PATIENT:
+                addressBook.updatePetPatient((PetPatient) target, (PetPatient) editedTarget);
+                break;
+            case DELETE_PET_PATIENT:
+                addressBook.removePetPatient((PetPatient) target);
+                break;
+            case DELETE_PET_PATIENT_DEPENDENCIES:
+                addressBook.removeAllPetPatientDependencies((Person) target);
+                break;
+            case ADD_APPOINTMENT:
+                addressBook.addAppointment((Appointment) target);
+                break;
+            case UPDATE_APPOINTMENT:
+                addressBook.updateAppointment((Appointment) target, (Appointment) editedTarget);
+                break;
+            case DELETE_APPOINTMENT:
+                addressBook.removeAppointment((Appointment) target);
+                break;
+            case DELETE_APPOINTMENT_DEPENDENCIES:
+                addressBook.removeAllAppointmentDependencies((PetPatient) target);
+                break;
+            case DELETE_TAG:
+                addressBook.removeTag((Tag) target);
+                break;
+            default:
+                throw new AssertionError("Unknown mutation type " + type);
+            }
+        } catch (PersonNotFoundException | PetPatientNotFoundException | AppointmentNotFoundException e) {
+            throw new IllegalValueException("Cannot " + type + ", entity not found: " + target);
+        } catch (PetDependencyNotEmptyException | AppointmentDependencyNotEmptyException e) {
+            throw new IllegalValueException("Cannot " + type + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof AddressBookMutation // instanceof handles nulls
+                && type == ((AddressBookMutation) other).type
+                && target.equals(((AddressBookMutation) other).target)
+                && Objects.equals(editedTarget, ((AddressBookMutation) other).editedTarget));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, target, editedTarget);
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + target + (editedTarget == null ? "" : " to " + editedTarget);
+    }
+}
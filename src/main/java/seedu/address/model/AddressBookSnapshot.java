@@ -0,0 +1,109 @@
+package seedu.address.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.ArchivedAppointments;
+import seedu.address.model.appointment.UniqueAppointmentList;
+import seedu.address.model.person.Person;
+import seedu.address.model.person.UniquePersonList;
+import seedu.address.model.petpatient.PetPatient;
+import seedu.address.model.petpatient.UniquePetPatientList;
+import seedu.address.model.tag.Tag;
+import seedu.address.model.tag.TagRegistry;
+
+/**
+ * An immutable view of an {@code AddressBook} at the time it was taken.
+ *
+ * Shares its persons, pet patients, appointments and tags, and their indexes, with the address book it was taken
+ * from, so taking one does not copy the address book. Passing it to {@link AddressBook#resetData(ReadOnlyAddressBook)}
+ * restores the address book in constant time, without validating, re-tagging or re-indexing its contents again.
+ */
+public class AddressBookSnapshot implements ReadOnlyAddressBook {
+
+    /**
+     * The collections of entities that an address book is made up of.
+     */
+    public enum Section { PERSONS, TAGS, APPOINTMENTS, PET_PATIENTS }
+
+    private final UniquePersonList.Snapshot persons;
+    private final UniquePetPatientList.Snapshot petPatients;
+    private final UniqueAppointmentList.Snapshot appointments;
+    private final TagRegistry.Snapshot tags;
+
+    AddressBookSnapshot(UniquePersonList.Snapshot persons, UniquePetPatientList.Snapshot petPatients,
+                        UniqueAppointmentList.Snapshot appointments, TagRegistry.Snapshot tags) {
+        this.persons = persons;
+        this.petPatients = petPatients;
+        this.appointments = appointments;
+        this.tags = tags;
+    }
+
+    UniquePersonList.Snapshot getPersons() {
+        return persons;
+    }
+
+    UniquePetPatientList.Snapshot getPetPatients() {
+        return petPatients;
+    }
+
+    UniqueAppointmentList.Snapshot getAppointments() {
+        return appointments;
+    }
+
+    TagRegistry.Snapshot getTags() {
+        return tags;
+    }
+
+    /**
+     * Returns the sections of this snapshot that may differ from those of {@code previous}, a snapshot taken
+     * earlier. Takes constant time, as a section that was not changed in between is shared by both snapshots.
+     */
+    public Set<Section> getChangedSections(AddressBookSnapshot previous) {
+        requireNonNull(previous);
+        Set<Section> changedSections = EnumSet.noneOf(Section.class);
+        if (persons.asList() != previous.persons.asList()) {
+            changedSections.add(Section.PERSONS);
+        }
+        if (tags.asList() != previous.tags.asList()) {
+            changedSections.add(Section.TAGS);
+        }
+        if (appointments.asList() != previous.appointments.asList()) {
+            changedSections.add(Section.APPOINTMENTS);
+        }
+        if (petPatients.asList() != previous.petPatients.asList()) {
+            changedSections.add(Section.PET_PATIENTS);
+        }
+        return changedSections;
+    }
+
+    @Override
+    public ObservableList<Person> getPersonList() {
+        return FXCollections.unmodifiableObservableList(FXCollections.observableList(persons.asList()));
+    }
+
+    @Override
+    public ObservableList<Tag> getTagList() {
+        return FXCollections.unmodifiableObservableList(FXCollections.observableList(tags.asList()));
+    }
+
+    @Override
+    public ObservableList<Appointment> getAppointmentList() {
+        return FXCollections.unmodifiableObservableList(FXCollections.observableList(appointments.asList()));
+    }
+
+    @Override
+    public ObservableList<PetPatient> getPetPatientList() {
+        return FXCollections.unmodifiableObservableList(FXCollections.observableList(petPatients.asList()));
+    }
+
+    @Override
+    public ArchivedAppointments getArchivedAppointments() {
+        return appointments.getArchivedAppointments();
+    }
+}
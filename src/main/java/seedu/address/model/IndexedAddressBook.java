@@ -0,0 +1,100 @@
+package seedu.address.model;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.person.Nric;
+import seedu.address.model.person.Person;
+import seedu.address.model.petpatient.PetPatient;
+import seedu.address.model.petpatient.PetPatientName;
+import seedu.address.model.util.SearchIndex.Field;
+import seedu.address.model.util.SearchIndex.Keyword;
+
+/**
+ * Unmodifiable view of an address book that looks up its entities by their keys, so that a lookup does not read
+ * the entities it does not return.
+ */
+public interface IndexedAddressBook extends ReadOnlyAddressBook {
+
+    /**
+     * Returns the person with {@code nric}, or null if there is no such person.
+     */
+    Person getPersonWithNric(Nric nric);
+
+    /**
+     * Returns the pet patient named {@code petPatientName} owned by the person with {@code ownerNric}, or null if
+     * there is no such pet patient.
+     */
+    PetPatient getPetPatientWithNricAndName(Nric ownerNric, PetPatientName petPatientName);
+
+    /**
+     * Returns the pet patients owned by the person with {@code ownerNric}.
+     */
+    List<PetPatient> getPetPatientsWithNric(Nric ownerNric);
+
+    /**
+     * Returns the appointments of the pet patients owned by the person with {@code ownerNric}.
+     */
+    List<Appointment> getAppointmentsWithNric(Nric ownerNric);
+
+    /**
+     * Returns the appointments of the pet patient named {@code petPatientName} owned by the person with
+     * {@code ownerNric}.
+     */
+    List<Appointment> getAppointmentsWithNricAndPetName(Nric ownerNric, PetPatientName petPatientName);
+
+    /**
+     * Returns the date and time of the latest appointment of the pet patients owned by the person with
+     * {@code ownerNric}, or null if they have none.
+     */
+    default LocalDateTime getLatestAppointmentDateTime(Nric ownerNric) {
+        return getLatestDateTime(getAppointmentsWithNric(ownerNric));
+    }
+
+    /**
+     * Returns the date and time of the latest appointment of the pet patient named {@code petPatientName} owned by
+     * the person with {@code ownerNric}, or null if it has none.
+     */
+    default LocalDateTime getLatestAppointmentDateTime(Nric ownerNric, PetPatientName petPatientName) {
+        return getLatestDateTime(getAppointmentsWithNricAndPetName(ownerNric, petPatientName));
+    }
+
+    /**
+     * Returns the date and time of the latest of {@code appointments}, or null if there are none.
+     */
+    static LocalDateTime getLatestDateTime(List<Appointment> appointments) {
+        return appointments.isEmpty()
+                ? null
+                : Collections.max(appointments, Comparator.comparing(Appointment::getDateTime)).getDateTime();
+    }
+
+    /**
+     * Returns the appointment at exactly {@code dateTime}, or null if there is no such appointment.
+     */
+    Appointment getAppointmentAt(LocalDateTime dateTime);
+
+    /**
+     * Returns true if an appointment at {@code dateTime} would overlap an existing appointment,
+     * ignoring the appointment at {@code excludedDateTime}.
+     */
+    boolean hasConcurrentAppointment(LocalDateTime dateTime, LocalDateTime excludedDateTime);
+
+    /**
+     * Returns true if there is an appointment in {@code year}.
+     */
+    boolean hasAppointmentInYear(int year);
+
+    /**
+     * Returns the persons matching {@code keywords}, each mapped to its relevance score.
+     */
+    Map<Person, Double> findPersons(Map<Field, List<Keyword>> keywords);
+
+    /**
+     * Returns the pet patients matching {@code keywords}, each mapped to its relevance score.
+     */
+    Map<PetPatient, Double> findPetPatients(Map<Field, List<Keyword>> keywords);
+}
@@ -2,7 +2,9 @@ package seedu.address.model;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 
 import javafx.collections.ObservableList;
@@ -24,6 +26,8 @@ import seedu.address.model.petpatient.exceptions.DuplicatePetPatientException;
 import seedu.address.model.petpatient.exceptions.PetDependencyNotEmptyException;
 import seedu.address.model.petpatient.exceptions.PetPatientNotFoundException;
 import seedu.address.model.tag.Tag;
+import seedu.address.model.util.SearchIndex.Field;
+import seedu.address.model.util.SearchIndex.Keyword;
 
 /**
  * The API of the Model component.
@@ -40,6 +44,26 @@ public interface Model {
     /** Returns the AddressBook */
     ReadOnlyAddressBook getAddressBook();
 
+    /** Returns true if the AddressBook cannot be changed. */
+    boolean isReadOnly();
+
+    /** Starts recording the changes made to the AddressBook, so that they can be reverted later. */
+    void startRecordingChanges();
+
+    /** Stops recording changes and returns the changes made since recording started. */
+    AddressBookDelta stopRecordingChanges();
+
+    /** Reverts {@code changes}, which must be the latest changes made to the AddressBook. */
+    void revertChanges(AddressBookDelta changes);
+
+    /**
+     * Makes the changes in {@code changes} to this model as a single change, and returns what {@code changes}
+     * returns. No other changes can be made to the model in the meantime.
+     * If {@code changes} throws, every change it made is reverted before the exception is passed on. Otherwise, one
+     * event is raised for all of the changes, describing each of them, instead of one event for each change.
+     */
+    <T, E extends Exception> T batch(BatchChange<T, E> changes) throws E;
+
     /** Deletes the given person. */
     void deletePerson(Person target) throws PersonNotFoundException, PetDependencyNotEmptyException;
 
@@ -51,16 +75,18 @@ public interface Model {
      *
      * @throws DuplicatePersonException if updating the person's details causes the person to be equivalent to
      *      another existing person in the list.
+     * @throws DuplicateNricException if updating the person's details causes the person to share the same NRIC
+     *      as another existing person in the list.
      * @throws PersonNotFoundException if {@code target} could not be found in the list.
      */
     void updatePerson(Person target, Person editedPerson)
-            throws DuplicatePersonException, PersonNotFoundException;
+            throws DuplicatePersonException, DuplicateNricException, PersonNotFoundException;
 
     void updatePetPatient(PetPatient target, PetPatient editedPetPatient)
             throws DuplicatePetPatientException, PetPatientNotFoundException;
 
     void updateAppointment(Appointment target, Appointment editedAppointment)
-            throws DuplicateAppointmentException, AppointmentNotFoundException;
+            throws DuplicateAppointmentException, DuplicateDateTimeException, AppointmentNotFoundException;
 
     /** Removes the specific {@code tag} from all {@code persons} with that tag **/
     void deleteTag(Tag tag);
@@ -81,6 +107,13 @@ public interface Model {
      */
     void updateFilteredPersonList(Predicate<Person> predicate);
 
+    /**
+     * Updates the filter of the filtered person list to filter by the given {@code predicate}, and orders the list by
+     * {@code comparator}. The list is back in the order of the address book once it is next filtered without one.
+     * @throws NullPointerException if {@code predicate} or {@code comparator} is null.
+     */
+    void updateFilteredPersonList(Predicate<Person> predicate, Comparator<Person> comparator);
+
     /** Returns an unmodifiable view of the filtered appointment list */
     ObservableList<Appointment> getFilteredAppointmentList();
 
@@ -95,6 +128,14 @@ public interface Model {
 
     void updateFilteredPetPatientList(Predicate<PetPatient> predicate);
 
+    /**
+     * Updates the filter of the filtered pet patient list to filter by the given {@code predicate}, and orders the
+     * list by {@code comparator}. The list is back in the order of the address book once it is next filtered without
+     * one.
+     * @throws NullPointerException if {@code predicate} or {@code comparator} is null.
+     */
+    void updateFilteredPetPatientList(Predicate<PetPatient> predicate, Comparator<PetPatient> comparator);
+
     void addPetPatient(PetPatient petPatient) throws DuplicatePetPatientException;
 
     /** Returns a person object that has the given {@code Nric}. */
@@ -103,6 +144,20 @@ public interface Model {
     /** Returns a petpatient object that has the given {@code Nric} and {@code PetPatientName}. */
     PetPatient getPetPatientWithNricAndName(Nric ownerNric, PetPatientName petPatientName);
 
+    /**
+     * Returns the persons that, for every field in {@code keywords}, have a word in the field that matches at least
+     * one of that field's keywords, each mapped to its relevance score.
+     * The persons are looked up in an index of the words of each field.
+     */
+    Map<Person, Double> findPersons(Map<Field, List<Keyword>> keywords);
+
+    /**
+     * Returns the pet patients that, for every field in {@code keywords}, have a word in the field that matches at
+     * least one of that field's keywords, each mapped to its relevance score.
+     * The pet patients are looked up in an index of the words of each field.
+     */
+    Map<PetPatient, Double> findPetPatients(Map<Field, List<Keyword>> keywords);
+
     /** Returns a list of tags used in the application. */
     List<Tag> getTagList();
 
@@ -112,6 +167,18 @@ public interface Model {
 
     ArrayList<Appointment> getAppointmentsWithNricAndPetName(Nric ownerNric, PetPatientName petPatientName);
 
+    /**
+     * Returns the date and time of the latest appointment of the pet patients owned by the person with
+     * {@code ownerNric}, or null if they have none, without reading the appointments in archived years.
+     */
+    LocalDateTime getLatestAppointmentDateTime(Nric ownerNric);
+
+    /**
+     * Returns the date and time of the latest appointment of the pet patient named {@code petPatientName} owned by
+     * the person with {@code ownerNric}, or null if it has none, without reading the appointments in archived years.
+     */
+    LocalDateTime getLatestAppointmentDateTime(Nric ownerNric, PetPatientName petPatientName);
+
     Appointment getClashingAppointment(LocalDateTime dateTime);
 
     /** Deletes the given pet. */
@@ -125,4 +192,24 @@ public interface Model {
     List<Appointment> deleteAppointmentDependencies(PetPatient target);
 
     boolean hasConcurrentAppointment(LocalDateTime oldDateTime, LocalDateTime newDateTime);
+
+    /** Returns true if there is an appointment in {@code year}. */
+    boolean hasAppointmentInYear(int year);
+
+    /** Reads the appointments in {@code year} into the appointment list, if they have not been read yet. */
+    void loadArchivedAppointments(int year);
+
+    /**
+     * Reads the appointments of the pet patients owned by the person with {@code ownerNric} into the appointment
+     * list, if they have not been read yet, so that they can be changed along with the person or their pet patients.
+     */
+    void loadArchivedAppointments(Nric ownerNric);
+
+    /**
+     * A group of changes made to a {@code Model} by {@link Model#batch(BatchChange)}.
+     */
+    @FunctionalInterface
+    interface BatchChange<T, E extends Exception> {
+        T applyTo(Model model) throws E;
+    }
 }
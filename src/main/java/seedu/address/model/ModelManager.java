@@ -2,19 +2,35 @@ package seedu.address.model;
 
 import static java.util.Objects.requireNonNull;
 import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
+import static seedu.address.model.AddressBookMutation.Type.ADD_APPOINTMENT;
+import static seedu.address.model.AddressBookMutation.Type.ADD_PERSON;
+import static seedu.address.model.AddressBookMutation.Type.ADD_PET_PATIENT;
+import static seedu.address.model.AddressBookMutation.Type.DELETE_APPOINTMENT;
+import static seedu.address.model.AddressBookMutation.Type.DELETE_APPOINTMENT_DEPENDENCIES;
+import static seedu.address.model.AddressBookMutation.Type.DELETE_PERSON;
+import static seedu.address.model.AddressBookMutation.Type.DELETE_PET_PATIENT;
+import static seedu.address.model.AddressBookMutation.Type.DELETE_PET_PATIENT_DEPENDENCIES;
+import static seedu.address.model.AddressBookMutation.Type.DELETE_TAG;
+import static seedu.address.model.AddressBookMutation.Type.UPDATE_APPOINTMENT;
+import static seedu.address.model.AddressBookMutation.Type.UPDATE_PERSON;
+import static seedu.address.model.AddressBookMutation.Type.UPDATE_PET_PATIENT;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 import seedu.address.commons.core.ComponentManager;
 import seedu.address.commons.core.LogsCenter;
 import seedu.address.commons.events.model.AddressBookChangedEvent;
+import seedu.address.commons.events.model.ArchivedAppointmentsLoadedEvent;
 import seedu.address.model.appointment.Appointment;
 import seedu.address.model.appointment.exceptions.AppointmentDependencyNotEmptyException;
 import seedu.address.model.appointment.exceptions.AppointmentNotFoundException;
@@ -33,6 +49,9 @@ import seedu.address.model.petpatient.exceptions.DuplicatePetPatientException;
 import seedu.address.model.petpatient.exceptions.PetDependencyNotEmptyException;
 import seedu.address.model.petpatient.exceptions.PetPatientNotFoundException;
 import seedu.address.model.tag.Tag;
+import seedu.address.model.util.DeferredFilteredList;
+import seedu.address.model.util.SearchIndex.Field;
+import seedu.address.model.util.SearchIndex.Keyword;
 
 /**
  * Represents the in-memory model of the address book data.
@@ -42,23 +61,46 @@ public class ModelManager extends ComponentManager implements Model {
     private static final Logger logger = LogsCenter.getLogger(ModelManager.class);
 
     private final AddressBook addressBook;
-    private final FilteredList<Person> filteredPersons;
-    private final FilteredList<Appointment> filteredAppointments;
-    private final FilteredList<PetPatient> filteredPetPatients;
+    private final DeferredFilteredList<Person> filteredPersons;
+    private final DeferredFilteredList<Appointment> filteredAppointments;
+    private final DeferredFilteredList<PetPatient> filteredPetPatients;
+
+    /** The mutations made by the batch being made, in order, or null if no batch is being made. */
+    private List<AddressBookMutation> batchMutations;
+    /** True if the batch being made has made a change that is not described by a mutation. */
+    private boolean hasUndescribedBatchChange;
+
+    /** The address book viewed by a read-only model, or null if the model can be changed. */
+    private final IndexedAddressBook viewedAddressBook;
 
     /**
      * Initializes a ModelManager with the given addressBook and userPrefs.
      */
     public ModelManager(ReadOnlyAddressBook addressBook, UserPrefs userPrefs) {
+        this(addressBook, userPrefs, false);
+    }
+
+    /**
+     * Initializes a ModelManager with the given addressBook and userPrefs.
+     * A read-only model views {@code addressBook} without copying it, so entities of an address book that reads
+     * them lazily are only read once they are displayed or looked up. It cannot be changed. An address book that
+     * cannot look its entities up by their keys is copied once, to index them.
+     */
+    public ModelManager(ReadOnlyAddressBook addressBook, UserPrefs userPrefs, boolean isReadOnly) {
         super();
         requireAllNonNull(addressBook, userPrefs);
 
-        logger.fine("Initializing with Medeina: " + addressBook + " and user prefs " + userPrefs);
+        logger.fine("Initializing with Medeina: " + addressBook + " and user prefs " + userPrefs
+                + (isReadOnly ? " (read-only)" : ""));
 
-        this.addressBook = new AddressBook(addressBook);
-        filteredPersons = new FilteredList<>(this.addressBook.getPersonList());
-        filteredAppointments = new FilteredList<>(this.addressBook.getAppointmentList());
-        filteredPetPatients = new FilteredList<>(this.addressBook.getPetPatientList());
+        this.addressBook = isReadOnly ? new AddressBook() : new AddressBook(addressBook);
+        this.viewedAddressBook = !isReadOnly ? null
+                : addressBook instanceof IndexedAddressBook ? (IndexedAddressBook) addressBook
+                : new AddressBook(addressBook);
+        ReadOnlyAddressBook displayed = isReadOnly ? viewedAddressBook : this.addressBook;
+        filteredPersons = new DeferredFilteredList<>(displayed.getPersonList());
+        filteredAppointments = new DeferredFilteredList<>(displayed.getAppointmentList());
+        filteredPetPatients = new DeferredFilteredList<>(displayed.getPetPatientList());
     }
 
     public ModelManager() {
@@ -66,202 +108,334 @@ public class ModelManager extends ComponentManager implements Model {
     }
 
     @Override
-    public void resetData(ReadOnlyAddressBook newData) {
+    public synchronized void resetData(ReadOnlyAddressBook newData) {
+        requireChangeable();
         addressBook.resetData(newData);
         indicateAddressBookChanged();
     }
 
     @Override
     public ReadOnlyAddressBook getAddressBook() {
-        return addressBook;
+        return isReadOnly() ? viewedAddressBook : addressBook;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return viewedAddressBook != null;
+    }
+
+    /**
+     * Throws {@code UnsupportedOperationException} if this model is read-only.
+     */
+    private void requireChangeable() {
+        if (isReadOnly()) {
+            throw new UnsupportedOperationException("Medeina was opened read-only.");
+        }
+    }
+
+    /**
+     * Returns the address book that entities are looked up in: the viewed address book of a read-only model, which
+     * looks them up without reading the others, or the address book of the model.
+     */
+    private IndexedAddressBook getIndexedAddressBook() {
+        return isReadOnly() ? viewedAddressBook : addressBook;
+    }
+
+    @Override
+    public void startRecordingChanges() {
+        requireChangeable();
+        addressBook.startRecordingChanges();
+    }
+
+    @Override
+    public AddressBookDelta stopRecordingChanges() {
+        return addressBook.stopRecordingChanges();
+    }
+
+    @Override
+    public synchronized void revertChanges(AddressBookDelta changes) {
+        requireChangeable();
+        addressBook.revertChanges(changes);
+        indicateAddressBookChanged();
+    }
+
+    @Override
+    public synchronized <T, E extends Exception> T batch(BatchChange<T, E> changes) throws E {
+        requireChangeable();
+        requireNonNull(changes);
+        if (batchMutations != null) {
+            return applyBatch(changes);
+        }
+
+        List<AddressBookMutation> mutations = new ArrayList<>();
+        batchMutations = mutations;
+        hasUndescribedBatchChange = false;
+        T result;
+        try {
+            result = applyBatch(changes);
+        } finally {
+            batchMutations = null;
+        }
+
+        if (hasUndescribedBatchChange) {
+            indicateAddressBookChanged();
+        } else if (!mutations.isEmpty()) {
+            raise(new AddressBookChangedEvent(addressBook.snapshot(), mutations));
+        }
+        return result;
+    }
+
+    /**
+     * Makes the changes in {@code changes} as part of the batch being made. If {@code changes} throws, the changes
+     * it made are reverted and dropped from the batch, so that a batch nested in another is undone on its own.
+     */
+    private <T, E extends Exception> T applyBatch(BatchChange<T, E> changes) throws E {
+        int mutationCount = batchMutations.size();
+        boolean hadUndescribedBatchChange = hasUndescribedBatchChange;
+        boolean isApplied = false;
+        try {
+            T result = addressBook.applyAtomically(() -> changes.applyTo(this));
+            isApplied = true;
+            return result;
+        } finally {
+            if (!isApplied) {
+                batchMutations.subList(mutationCount, batchMutations.size()).clear();
+                hasUndescribedBatchChange = hadUndescribedBatchChange;
+            }
+        }
     }
 
-    /** Raises an event to indicate the model has changed */
+    /**
+     * Raises an event to indicate the model has changed.
+     * The event carries a snapshot, so handlers may read it on other threads while the model keeps changing.
+     * Within a batch, the event is raised once the batch is done instead.
+     */
     private void indicateAddressBookChanged() {
-        raise(new AddressBookChangedEvent(addressBook));
+        if (batchMutations != null) {
+            hasUndescribedBatchChange = true;
+            return;
+        }
+        raise(new AddressBookChangedEvent(addressBook.snapshot()));
+    }
+
+    /**
+     * Raises an event to indicate the model has been changed by {@code mutation} alone.
+     * Within a batch, {@code mutation} is added to the event raised once the batch is done instead.
+     */
+    private void indicateAddressBookChanged(AddressBookMutation mutation) {
+        if (batchMutations != null) {
+            batchMutations.add(mutation);
+            return;
+        }
+        raise(new AddressBookChangedEvent(addressBook.snapshot(), mutation));
     }
 
     @Override
     public synchronized void deletePerson(Person target)
             throws PersonNotFoundException, PetDependencyNotEmptyException {
+        requireChangeable();
         addressBook.removePerson(target);
-        indicateAddressBookChanged();
+        indicateAddressBookChanged(new AddressBookMutation(DELETE_PERSON, target));
     }
 
     @Override
     public synchronized void addPerson(Person person) throws DuplicatePersonException, DuplicateNricException {
+        requireChangeable();
         addressBook.addPerson(person);
         updateFilteredPersonList(PREDICATE_SHOW_ALL_PERSONS);
-        indicateAddressBookChanged();
+        indicateAddressBookChanged(new AddressBookMutation(ADD_PERSON, person));
     }
 
     //@@author wynonaK
     @Override
     public synchronized void deletePetPatient(PetPatient target)
             throws PetPatientNotFoundException, AppointmentDependencyNotEmptyException {
+        requireChangeable();
         addressBook.removePetPatient(target);
-        indicateAddressBookChanged();
+        indicateAddressBookChanged(new AddressBookMutation(DELETE_PET_PATIENT, target));
     }
 
     @Override
     public synchronized List<PetPatient> deletePetPatientDependencies(Person target) {
+        requireChangeable();
         List<PetPatient> petPatients = addressBook.removeAllPetPatientDependencies(target);
-        indicateAddressBookChanged();
+        indicateAddressBookChanged(new AddressBookMutation(DELETE_PET_PATIENT_DEPENDENCIES, target));
         return petPatients;
     }
 
     @Override
     public synchronized List<Appointment> deleteAppointmentDependencies(PetPatient target) {
+        requireChangeable();
         List<Appointment> dependenciesDeleted = addressBook.removeAllAppointmentDependencies(target);
-        indicateAddressBookChanged();
+        indicateAddressBookChanged(new AddressBookMutation(DELETE_APPOINTMENT_DEPENDENCIES, target));
         return dependenciesDeleted;
     }
 
     //@@author chialejing
     @Override
     public synchronized void addPetPatient(PetPatient petPatient) throws DuplicatePetPatientException {
+        requireChangeable();
         addressBook.addPetPatient(petPatient);
         updateFilteredPetPatientList(PREDICATE_SHOW_ALL_PET_PATIENTS);
-        indicateAddressBookChanged();
+        indicateAddressBookChanged(new AddressBookMutation(ADD_PET_PATIENT, petPatient));
     }
 
     //@@author aquarinte
     @Override
     public Person getPersonWithNric(Nric ownerNric) {
-        for (Person p : addressBook.getPersonList()) {
-            if (p.getNric().equals(ownerNric)) {
-                return p;
-            }
-        }
-        return null;
+        return getIndexedAddressBook().getPersonWithNric(ownerNric);
     }
 
     @Override
     public PetPatient getPetPatientWithNricAndName(Nric ownerNric, PetPatientName petPatientName) {
-        for (PetPatient p : addressBook.getPetPatientList()) {
-            if (p.getOwner().equals(ownerNric) && p.getName().equals(petPatientName)) {
-                return p;
-            }
-        }
-        return null;
+        return getIndexedAddressBook().getPetPatientWithNricAndName(ownerNric, petPatientName);
+    }
+
+    //@@author
+    @Override
+    public Map<Person, Double> findPersons(Map<Field, List<Keyword>> keywords) {
+        return getIndexedAddressBook().findPersons(keywords);
+    }
+
+    @Override
+    public Map<PetPatient, Double> findPetPatients(Map<Field, List<Keyword>> keywords) {
+        return getIndexedAddressBook().findPetPatients(keywords);
     }
 
     //@@author chialejing
     @Override
     public ArrayList<PetPatient> getPetPatientsWithNric(Nric ownerNric) {
-        ArrayList<PetPatient> petPatientArrayList = new ArrayList<>();
-        for (PetPatient p : addressBook.getPetPatientList()) {
-            if (p.getOwner().equals(ownerNric)) {
-                petPatientArrayList.add(p);
-            }
-        }
-        return petPatientArrayList;
+        return new ArrayList<>(getIndexedAddressBook().getPetPatientsWithNric(ownerNric));
     }
 
     @Override
-    public ArrayList<Appointment> getAppointmentsWithNric(Nric ownerNric) {
-        ArrayList<Appointment> appointmentArrayList = new ArrayList<>();
-        for (Appointment a : addressBook.getAppointmentList()) {
-            if (a.getOwnerNric().equals(ownerNric)) {
-                appointmentArrayList.add(a);
-            }
-        }
-        return appointmentArrayList;
+    public synchronized ArrayList<Appointment> getAppointmentsWithNric(Nric ownerNric) {
+        return new ArrayList<>(getIndexedAddressBook().getAppointmentsWithNric(ownerNric));
     }
 
     @Override
-    public ArrayList<Appointment> getAppointmentsWithNricAndPetName(Nric ownerNric, PetPatientName petPatientName) {
-        ArrayList<Appointment> appointmentArrayList = new ArrayList<>();
-        for (Appointment a : addressBook.getAppointmentList()) {
-            if (a.getOwnerNric().equals(ownerNric) && a.getPetPatientName().equals(petPatientName)) {
-                appointmentArrayList.add(a);
-            }
-        }
-        return appointmentArrayList;
+    public synchronized ArrayList<Appointment> getAppointmentsWithNricAndPetName(Nric ownerNric,
+                                                                              PetPatientName petPatientName) {
+        return new ArrayList<>(getIndexedAddressBook().getAppointmentsWithNricAndPetName(ownerNric, petPatientName));
     }
 
     @Override
-    public Appointment getClashingAppointment(LocalDateTime dateTime) {
-        for (Appointment a : addressBook.getAppointmentList()) {
-            if (a.getDateTime().equals(dateTime)) {
-                return a;
-            }
-        }
-        return null;
+    public synchronized LocalDateTime getLatestAppointmentDateTime(Nric ownerNric) {
+        return getIndexedAddressBook().getLatestAppointmentDateTime(ownerNric);
     }
 
     @Override
-    public boolean hasConcurrentAppointment(LocalDateTime oldDateTime, LocalDateTime newDateTime) {
-        for (Appointment a : addressBook.getAppointmentList()) {
-            LocalDateTime dateTime = a.getDateTime();
-            if (newDateTime.isAfter(dateTime)
-                    && newDateTime.isBefore(dateTime.plusMinutes(30))
-                    && !dateTime.equals(oldDateTime)) {
-                return true;
-            }
-            if (newDateTime.isBefore(dateTime)
-                    && newDateTime.plusMinutes(30).isAfter(dateTime)
-                    && !dateTime.equals(oldDateTime)) {
-                return true;
-            }
+    public synchronized LocalDateTime getLatestAppointmentDateTime(Nric ownerNric, PetPatientName petPatientName) {
+        return getIndexedAddressBook().getLatestAppointmentDateTime(ownerNric, petPatientName);
+    }
+
+    @Override
+    public synchronized Appointment getClashingAppointment(LocalDateTime dateTime) {
+        return getIndexedAddressBook().getAppointmentAt(dateTime);
+    }
+
+    @Override
+    public synchronized boolean hasConcurrentAppointment(LocalDateTime oldDateTime, LocalDateTime newDateTime) {
+        return getIndexedAddressBook().hasConcurrentAppointment(newDateTime, oldDateTime);
+    }
+
+    //@@author
+    @Override
+    public boolean hasAppointmentInYear(int year) {
+        return getIndexedAddressBook().hasAppointmentInYear(year);
+    }
+
+    /**
+     * Reads the archived appointments in {@code year} into the address book displayed, and raises an event so that
+     * views of its appointments show them. Its data stays the same, so it is not indicated to have changed, and a
+     * read-only model reads them into the address book it views too. An address book that is not an
+     * {@code AddressBook} has no archived appointments.
+     */
+    @Override
+    public synchronized void loadArchivedAppointments(int year) {
+        if (!(getAddressBook() instanceof AddressBook)) {
+            return;
         }
-        return false;
+        AddressBook displayed = (AddressBook) getAddressBook();
+        if (!displayed.getArchivedAppointments().contains(year)) {
+            return;
+        }
+        displayed.loadArchivedYears(Collections.singleton(year));
+        raise(new ArchivedAppointmentsLoadedEvent(displayed.snapshot(), year));
     }
 
+    /**
+     * Reads the archived appointments of the pet patients owned by the person with {@code ownerNric} into the
+     * address book. The changes made to them next indicate that the address book has changed.
+     */
     @Override
-    public void updatePetPatient(PetPatient target, PetPatient editedPetPatient)
+    public synchronized void loadArchivedAppointments(Nric ownerNric) {
+        requireChangeable();
+        addressBook.loadArchivedYearsWithNric(ownerNric);
+    }
+
+    //@@author chialejing
+    @Override
+    public synchronized void updatePetPatient(PetPatient target, PetPatient editedPetPatient)
             throws DuplicatePetPatientException, PetPatientNotFoundException {
+        requireChangeable();
         requireAllNonNull(target, editedPetPatient);
 
         addressBook.updatePetPatient(target, editedPetPatient);
-        indicateAddressBookChanged();
+        indicateAddressBookChanged(new AddressBookMutation(UPDATE_PET_PATIENT, target, editedPetPatient));
     }
 
     @Override
-    public void updateAppointment(Appointment target, Appointment editedAppointment)
-            throws DuplicateAppointmentException, AppointmentNotFoundException {
+    public synchronized void updateAppointment(Appointment target, Appointment editedAppointment)
+            throws DuplicateAppointmentException, DuplicateDateTimeException, AppointmentNotFoundException {
+        requireChangeable();
         requireAllNonNull(target, editedAppointment);
 
         addressBook.updateAppointment(target, editedAppointment);
-        indicateAddressBookChanged();
+        indicateAddressBookChanged(new AddressBookMutation(UPDATE_APPOINTMENT, target, editedAppointment));
     }
 
     //@@author
     @Override
     public List<Tag> getTagList() {
-        return addressBook.getTagList();
+        return getAddressBook().getTagList();
     }
     //@@author
 
     @Override
-    public void updatePerson(Person target, Person editedPerson)
-            throws DuplicatePersonException, PersonNotFoundException {
+    public synchronized void updatePerson(Person target, Person editedPerson)
+            throws DuplicatePersonException, DuplicateNricException, PersonNotFoundException {
+        requireChangeable();
         requireAllNonNull(target, editedPerson);
 
         addressBook.updatePerson(target, editedPerson);
-        indicateAddressBookChanged();
+        indicateAddressBookChanged(new AddressBookMutation(UPDATE_PERSON, target, editedPerson));
     }
 
     //@@author wynonaK
     @Override
     public synchronized void deleteAppointment(Appointment target) throws AppointmentNotFoundException {
+        requireChangeable();
         addressBook.removeAppointment(target);
-        indicateAddressBookChanged();
+        indicateAddressBookChanged(new AddressBookMutation(DELETE_APPOINTMENT, target));
     }
 
     @Override
     public synchronized void addAppointment(Appointment appointment)
             throws DuplicateAppointmentException, DuplicateDateTimeException,
         ConcurrentAppointmentException, PastAppointmentException {
+        requireChangeable();
         addressBook.addAppointment(appointment);
         updateFilteredAppointmentList(PREDICATE_SHOW_ALL_APPOINTMENTS);
-        indicateAddressBookChanged();
+        indicateAddressBookChanged(new AddressBookMutation(ADD_APPOINTMENT, appointment));
     }
 
 
     @Override
-    public void deleteTag(Tag tag) {
+    public synchronized void deleteTag(Tag tag) {
+        requireChangeable();
         addressBook.removeTag(tag);
+        indicateAddressBookChanged(new AddressBookMutation(DELETE_TAG, tag));
     }
 
     //=========== Filtered Person List Accessors =============================================================
@@ -282,6 +456,12 @@ public class ModelManager extends ComponentManager implements Model {
         filteredPersons.setPredicate(predicate);
     }
 
+    @Override
+    public void updateFilteredPersonList(Predicate<Person> predicate, Comparator<Person> comparator) {
+        requireAllNonNull(predicate, comparator);
+        filteredPersons.setPredicate(predicate, comparator);
+    }
+
     //=========== Filtered Appointment List Accessors =============================================================
 
     //@@author wynonaK
@@ -318,6 +498,12 @@ public class ModelManager extends ComponentManager implements Model {
         filteredPetPatients.setPredicate(predicate);
     }
 
+    @Override
+    public void updateFilteredPetPatientList(Predicate<PetPatient> predicate, Comparator<PetPatient> comparator) {
+        requireAllNonNull(predicate, comparator);
+        filteredPetPatients.setPredicate(predicate, comparator);
+    }
+
     //@@author
     @Override
     public boolean equals(Object obj) {
@@ -334,6 +520,7 @@ public class ModelManager extends ComponentManager implements Model {
         // state check
         ModelManager other = (ModelManager) obj;
         return addressBook.equals(other.addressBook)
+                && Objects.equals(viewedAddressBook, other.viewedAddressBook)
                 && filteredPersons.equals(other.filteredPersons)
                 && filteredAppointments.equals(other.filteredAppointments)
                 && filteredPetPatients.equals(other.filteredPetPatients);
@@ -2,6 +2,7 @@ package seedu.address.model;
 
 import javafx.collections.ObservableList;
 import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.ArchivedAppointments;
 import seedu.address.model.person.Person;
 import seedu.address.model.petpatient.PetPatient;
 import seedu.address.model.tag.Tag;
@@ -36,4 +37,12 @@ public interface ReadOnlyAddressBook {
      * This list will not contain any duplicate pet patients.
      */
     ObservableList<PetPatient> getPetPatientList();
+
+    /**
+     * Returns the years of appointments that are not in the appointments list, because they have not been read
+     * from storage yet.
+     */
+    default ArchivedAppointments getArchivedAppointments() {
+        return ArchivedAppointments.empty();
+    }
 }
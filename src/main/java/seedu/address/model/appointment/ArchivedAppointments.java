@@ -0,0 +1,257 @@
+package seedu.address.model.appointment;
+
+import static java.util.Objects.requireNonNull;
+import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+
+import seedu.address.model.person.Nric;
+import seedu.address.model.petpatient.PetPatientName;
+
+/**
+ * The appointments of the years that are kept in storage instead of in a {@code UniqueAppointmentList}, which are
+ * read into the list a year at a time when they are first needed.
+ *
+ * Which years are needed is told from their {@code ArchivedYear}s without reading them: a clash check only needs the
+ * year of its time, and a neighbouring year whose first or last appointment is close enough to clash, while a
+ * dependency check only needs the years in which the pet patient has appointments.
+ *
+ * The order the appointments were saved in is kept as runs of consecutive appointments in the same year. Each run
+ * goes back in front of the appointment that followed it when it was saved, so the appointments of a year read
+ * later are put back where they were saved, whichever order the years are read in.
+ *
+ * An {@code ArchivedAppointments} is immutable.
+ */
+public final class ArchivedAppointments {
+
+    private static final ArchivedAppointments EMPTY =
+            new ArchivedAppointments(Collections.emptyList(), Collections.emptyMap(), new TreeMap<>());
+
+    /** The runs the appointments were saved in, whether their years are archived or not, in order. */
+    private final List<Run> savedOrder;
+    /** The date and time each run starts at, mapped to that of the run after it. */
+    private final Map<LocalDateTime, LocalDateTime> nextRunStarts;
+    private final SortedMap<Integer, ArchivedYear> years;
+
+    private ArchivedAppointments(List<Run> savedOrder, Map<LocalDateTime, LocalDateTime> nextRunStarts,
+                                 SortedMap<Integer, ArchivedYear> years) {
+        this.savedOrder = savedOrder;
+        this.nextRunStarts = nextRunStarts;
+        this.years = years;
+    }
+
+    /**
+     * Returns archived appointments without any archived years.
+     */
+    public static ArchivedAppointments empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the archived appointments of {@code years}, when the appointments were saved in the runs of
+     * {@code savedOrder}.
+     */
+    public static ArchivedAppointments of(List<Run> savedOrder, Collection<ArchivedYear> years) {
+        requireAllNonNull(savedOrder, years);
+        if (years.isEmpty()) {
+            return EMPTY;
+        }
+        Map<LocalDateTime, LocalDateTime> nextRunStarts = new HashMap<>();
+        for (int i = 0; i < savedOrder.size(); i++) {
+            nextRunStarts.put(savedOrder.get(i).getFirstDateTime(),
+                    i + 1 < savedOrder.size() ? savedOrder.get(i + 1).getFirstDateTime() : null);
+        }
+        SortedMap<Integer, ArchivedYear> yearMap = new TreeMap<>();
+        years.forEach(year -> yearMap.put(year.getYear(), year));
+        return new ArchivedAppointments(Collections.unmodifiableList(new ArrayList<>(savedOrder)),
+                Collections.unmodifiableMap(nextRunStarts), yearMap);
+    }
+
+    public boolean isEmpty() {
+        return years.isEmpty();
+    }
+
+    /**
+     * Returns the archived years, in order.
+     */
+    public Collection<ArchivedYear> getYears() {
+        return Collections.unmodifiableCollection(years.values());
+    }
+
+    /**
+     * Returns the archived {@code year}, or null if {@code year} is not archived.
+     */
+    public ArchivedYear get(int year) {
+        return years.get(year);
+    }
+
+    public boolean contains(int year) {
+        return years.containsKey(year);
+    }
+
+    /**
+     * Returns these archived appointments without {@code year}, once its appointments have been read.
+     */
+    public ArchivedAppointments without(int year) {
+        if (!years.containsKey(year)) {
+            return this;
+        }
+        SortedMap<Integer, ArchivedYear> remainingYears = new TreeMap<>(years);
+        remainingYears.remove(year);
+        return remainingYears.isEmpty() ? EMPTY : new ArchivedAppointments(savedOrder, nextRunStarts, remainingYears);
+    }
+
+    /**
+     * Returns the archived years that have to be read before an appointment at {@code dateTime} is added or checked
+     * for clashes: its own year, and the years with an appointment close enough to {@code dateTime} to clash.
+     */
+    public List<Integer> getYearsNeededAt(LocalDateTime dateTime) {
+        requireNonNull(dateTime);
+        LocalDateTime start = dateTime.minusMinutes(UniqueAppointmentList.APPOINTMENT_DURATION_MINUTES);
+        LocalDateTime end = dateTime.plusMinutes(UniqueAppointmentList.APPOINTMENT_DURATION_MINUTES);
+        List<Integer> neededYears = new ArrayList<>();
+        for (ArchivedYear year : years.subMap(start.getYear(), end.getYear() + 1).values()) {
+            if (year.getYear() == dateTime.getYear()
+                    || (year.getFirstDateTime().isBefore(end) && year.getLastDateTime().isAfter(start))) {
+                neededYears.add(year.getYear());
+            }
+        }
+        return neededYears;
+    }
+
+    /**
+     * Returns the archived years in which the person with {@code ownerNric} has a pet patient with appointments.
+     */
+    public List<Integer> getYearsWithNric(Nric ownerNric) {
+        requireNonNull(ownerNric);
+        List<Integer> ownerYears = new ArrayList<>();
+        for (ArchivedYear year : years.values()) {
+            if (year.hasAppointmentsWithNric(ownerNric)) {
+                ownerYears.add(year.getYear());
+            }
+        }
+        return ownerYears;
+    }
+
+    /**
+     * Returns the archived years in which the pet patient named {@code petPatientName} owned by the person with
+     * {@code ownerNric} has appointments.
+     */
+    public List<Integer> getYearsWithNricAndPetName(Nric ownerNric, PetPatientName petPatientName) {
+        requireAllNonNull(ownerNric, petPatientName);
+        List<Integer> petYears = new ArrayList<>();
+        for (ArchivedYear year : years.values()) {
+            if (year.hasAppointmentsWithNricAndPetName(ownerNric, petPatientName)) {
+                petYears.add(year.getYear());
+            }
+        }
+        return petYears;
+    }
+
+    /**
+     * Returns the runs of the archived years, in the order they were saved in.
+     */
+    public List<Run> getArchivedRuns() {
+        List<Run> archivedRuns = new ArrayList<>();
+        for (Run run : savedOrder) {
+            if (years.containsKey(run.getYear())) {
+                archivedRuns.add(run);
+            }
+        }
+        return archivedRuns;
+    }
+
+    /**
+     * Returns the runs of {@code year}, in the order they were saved in.
+     */
+    public List<Run> getRuns(int year) {
+        List<Run> yearRuns = new ArrayList<>();
+        for (Run run : savedOrder) {
+            if (run.getYear() == year) {
+                yearRuns.add(run);
+            }
+        }
+        return yearRuns;
+    }
+
+    /**
+     * Returns the index that {@code run} goes back to in a list of {@code size} appointments: the index of the
+     * appointment that followed it when it was saved, as given by {@code indexOfAppointmentAt}, which returns -1 if
+     * the list has no appointment at a date and time. If that appointment is not in the list, because its year is
+     * still archived or it has been removed, the run goes where the run after it would go, and so on, up to the end
+     * of the list.
+     */
+    public int getInsertionIndex(Run run, ToIntFunction<LocalDateTime> indexOfAppointmentAt, int size) {
+        requireAllNonNull(run, indexOfAppointmentAt);
+        LocalDateTime next = nextRunStarts.get(run.getFirstDateTime());
+        while (next != null) {
+            int index = indexOfAppointmentAt.applyAsInt(next);
+            if (index >= 0) {
+                return index;
+            }
+            next = nextRunStarts.get(next);
+        }
+        return size;
+    }
+
+    /**
+     * Consecutive appointments in the same year, in the order the appointments were saved in.
+     */
+    public static final class Run {
+        private final int size;
+        private final LocalDateTime firstDateTime;
+
+        /**
+         * @param firstDateTime the date and time of the first appointment of the run, which is in the year of all of
+         *                      them.
+         */
+        public Run(int size, LocalDateTime firstDateTime) {
+            requireNonNull(firstDateTime);
+            if (size <= 0) {
+                throw new IllegalArgumentException("A run should have appointments");
+            }
+            this.size = size;
+            this.firstDateTime = firstDateTime;
+        }
+
+        public int getYear() {
+            return firstDateTime.getYear();
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public LocalDateTime getFirstDateTime() {
+            return firstDateTime;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other == this // short circuit if same object
+                    || (other instanceof Run // instanceof handles nulls
+                    && size == ((Run) other).size
+                    && firstDateTime.equals(((Run) other).firstDateTime));
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(size, firstDateTime);
+        }
+
+        @Override
+        public String toString() {
+            return size + " appointments from " + firstDateTime;
+        }
+    }
+}
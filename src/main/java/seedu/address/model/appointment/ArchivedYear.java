@@ -0,0 +1,160 @@
+package seedu.address.model.appointment;
+
+import static java.util.Objects.requireNonNull;
+import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.person.Nric;
+import seedu.address.model.petpatient.PetPatientName;
+
+/**
+ * The appointments of a year that are kept in storage instead of in memory, together with what is known about them
+ * without reading them: the date and time of the first and last of them, and how many of them each pet patient has.
+ *
+ * The appointments are read the first time they are asked for, and kept from then on, so that an undo snapshot taken
+ * before they were read can still be restored, and saved, after the file they were read from has been replaced.
+ */
+public final class ArchivedYear {
+
+    private final int year;
+    private final LocalDateTime firstDateTime;
+    private final LocalDateTime lastDateTime;
+    private final Map<Nric, Map<PetPatientName, Integer>> appointmentCounts;
+    private final Loader loader;
+    /** The appointments, once they have been read. */
+    private List<Appointment> appointments;
+
+    /**
+     * @param appointmentCounts the number of appointments of each pet patient, by the NRIC of its owner and its name.
+     * @param loader reads the appointments of the year, in the order they were saved in.
+     */
+    public ArchivedYear(int year, LocalDateTime firstDateTime, LocalDateTime lastDateTime,
+                        Map<Nric, Map<PetPatientName, Integer>> appointmentCounts, Loader loader) {
+        requireAllNonNull(firstDateTime, lastDateTime, appointmentCounts, loader);
+        this.year = year;
+        this.firstDateTime = firstDateTime;
+        this.lastDateTime = lastDateTime;
+        Map<Nric, Map<PetPatientName, Integer>> counts = new HashMap<>();
+        appointmentCounts.forEach((ownerNric, petCounts) ->
+                counts.put(ownerNric, Collections.unmodifiableMap(new HashMap<>(petCounts))));
+        this.appointmentCounts = Collections.unmodifiableMap(counts);
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the archived year of {@code appointments}, which are all in {@code year} and in the order they were
+     * saved in, and which {@code loader} reads back.
+     */
+    public static ArchivedYear of(int year, List<Appointment> appointments, Loader loader) {
+        requireAllNonNull(appointments, loader);
+        if (appointments.isEmpty()) {
+            throw new IllegalArgumentException("An archived year should have appointments");
+        }
+        LocalDateTime first = null;
+        LocalDateTime last = null;
+        Map<Nric, Map<PetPatientName, Integer>> counts = new HashMap<>();
+        for (Appointment appointment : appointments) {
+            LocalDateTime dateTime = appointment.getDateTime();
+            first = first == null || dateTime.isBefore(first) ? dateTime : first;
+            last = last == null || dateTime.isAfter(last) ? dateTime : last;
+            counts.computeIfAbsent(appointment.getOwnerNric(), ownerNric -> new HashMap<>())
+                    .merge(appointment.getPetPatientName(), 1, Integer::sum);
+        }
+        return new ArchivedYear(year, first, last, counts, loader);
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public LocalDateTime getFirstDateTime() {
+        return firstDateTime;
+    }
+
+    public LocalDateTime getLastDateTime() {
+        return lastDateTime;
+    }
+
+    /**
+     * Returns the number of appointments of each pet patient in the year, by the NRIC of its owner and its name.
+     */
+    public Map<Nric, Map<PetPatientName, Integer>> getAppointmentCounts() {
+        return appointmentCounts;
+    }
+
+    /**
+     * Returns the number of appointments in the year.
+     */
+    public int getAppointmentCount() {
+        int count = 0;
+        for (Map<PetPatientName, Integer> petCounts : appointmentCounts.values()) {
+            for (int petCount : petCounts.values()) {
+                count += petCount;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns true if the person with {@code ownerNric} has a pet patient with an appointment in the year.
+     */
+    public boolean hasAppointmentsWithNric(Nric ownerNric) {
+        requireNonNull(ownerNric);
+        return appointmentCounts.containsKey(ownerNric);
+    }
+
+    /**
+     * Returns true if the pet patient named {@code petPatientName} owned by the person with {@code ownerNric} has an
+     * appointment in the year.
+     */
+    public boolean hasAppointmentsWithNricAndPetName(Nric ownerNric, PetPatientName petPatientName) {
+        requireAllNonNull(ownerNric, petPatientName);
+        return appointmentCounts.getOrDefault(ownerNric, Collections.emptyMap()).containsKey(petPatientName);
+    }
+
+    /**
+     * Returns the appointments of the year, in the order they were saved in, reading them if they have not been
+     * read before.
+     *
+     * @throws IllegalStateException if the appointments cannot be read.
+     */
+    public synchronized List<Appointment> getAppointments() {
+        if (appointments == null) {
+            appointments = readAppointments();
+        }
+        return appointments;
+    }
+
+    /**
+     * Returns the appointments of the year, in the order they were saved in, without keeping them if they have not
+     * been read before, for callers that only need them once.
+     *
+     * @throws IllegalStateException if the appointments cannot be read.
+     */
+    public synchronized List<Appointment> readAppointments() {
+        if (appointments != null) {
+            return appointments;
+        }
+        try {
+            return Collections.unmodifiableList(new ArrayList<>(loader.load()));
+        } catch (DataConversionException | IOException e) {
+            throw new IllegalStateException("Unable to read the appointments in " + year, e);
+        }
+    }
+
+    /**
+     * Reads the appointments of an archived year.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        List<Appointment> load() throws DataConversionException, IOException;
+    }
+}
@@ -3,8 +3,10 @@ package seedu.address.model.appointment;
 import static java.util.Objects.requireNonNull;
 import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 
@@ -15,31 +17,128 @@ import seedu.address.model.appointment.exceptions.ConcurrentAppointmentException
 import seedu.address.model.appointment.exceptions.DuplicateAppointmentException;
 import seedu.address.model.appointment.exceptions.DuplicateDateTimeException;
 import seedu.address.model.appointment.exceptions.PastAppointmentException;
+import seedu.address.model.person.Nric;
+import seedu.address.model.petpatient.PetPatientName;
+import seedu.address.model.util.PersistentList;
+import seedu.address.model.util.PersistentMap;
+import seedu.address.model.util.PersistentObservableList;
+import seedu.address.model.util.PersistentSortedMap;
 
 //@@author wynonaK
 /**
  * A list of appointments that enforces uniqueness between its elements and does not allow nulls.
  *
  * Supports a minimal set of list operations.
+ * Appointments are additionally indexed by their date and time. As no two appointments may share a slot,
+ * clash and overlap checks only need to look at the appointments immediately before and after a given time.
+ * Appointments are also indexed by owner NRIC and pet patient name, so lookups for a given owner or pet patient
+ * only need to look at that owner's appointments.
+ * The list itself indexes the position of each appointment, so edits and removals find the appointment to change in
+ * logarithmic time.
+ * The contents and both indexes are persistent data structures, so that a snapshot of the list can be taken, and
+ * restored, in constant time.
+ * The appointments of the years that have not been read from storage yet are kept as {@code ArchivedAppointments},
+ * which the list consults for the checks that do not need the appointments themselves. The other lookups only see
+ * the appointments in the list, so the years they need have to be loaded first.
  *
  * @see Appointment#equals(Object)
  */
 public class UniqueAppointmentList implements Iterable<Appointment> {
 
-    private final ObservableList<Appointment> internalList = FXCollections.observableArrayList();
+    public static final int APPOINTMENT_DURATION_MINUTES = 30;
+
+    private final PersistentObservableList<Appointment> internalList =
+            new PersistentObservableList<>(PersistentList.emptyIndexed());
+    private PersistentSortedMap<LocalDateTime, Appointment> dateTimeIndex = PersistentSortedMap.empty();
+    private PersistentMap<Nric, PersistentMap<PetPatientName, PersistentList<Appointment>>> ownerIndex =
+            PersistentMap.empty();
+    private ArchivedAppointments archivedAppointments = ArchivedAppointments.empty();
 
     /**
      * Returns true if the list contains an equivalent appointment as the given argument.
      */
     public boolean contains(Appointment toCheck) {
         requireNonNull(toCheck);
-        return internalList.contains(toCheck);
+        return toCheck.equals(dateTimeIndex.get(toCheck.getDateTime()));
+    }
+
+    //@@author
+    /**
+     * Returns the appointment in the list at exactly {@code dateTime}, or null if the slot is free.
+     */
+    public Appointment getAppointmentAt(LocalDateTime dateTime) {
+        requireNonNull(dateTime);
+        return dateTimeIndex.get(dateTime);
     }
 
+    /**
+     * Returns the appointments of all pet patients owned by the person with {@code ownerNric}.
+     */
+    public List<Appointment> getAppointmentsWithNric(Nric ownerNric) {
+        requireNonNull(ownerNric);
+        List<Appointment> appointments = new ArrayList<>();
+        ownerIndex.getOrDefault(ownerNric, PersistentMap.empty()).values().forEach(appointments::addAll);
+        return appointments;
+    }
+
+    /**
+     * Returns the appointments of the pet patient named {@code petPatientName} owned by the person with
+     * {@code ownerNric}, in the order they were added.
+     */
+    public List<Appointment> getAppointmentsWithNricAndPetName(Nric ownerNric, PetPatientName petPatientName) {
+        requireAllNonNull(ownerNric, petPatientName);
+        return new ArrayList<>(getIndexedAppointments(ownerNric, petPatientName));
+    }
+
+    /**
+     * Returns true if the pet patient named {@code petPatientName} owned by the person with {@code ownerNric}
+     * has at least one appointment in the list or in its archived years.
+     */
+    public boolean hasAppointmentsWithNricAndPetName(Nric ownerNric, PetPatientName petPatientName) {
+        requireAllNonNull(ownerNric, petPatientName);
+        return !getIndexedAppointments(ownerNric, petPatientName).isEmpty()
+                || !archivedAppointments.getYearsWithNricAndPetName(ownerNric, petPatientName).isEmpty();
+    }
+
+    /**
+     * Returns true if the list, or its archived years, has an appointment in {@code year}.
+     */
+    public boolean hasAppointmentInYear(int year) {
+        if (archivedAppointments.contains(year)) {
+            return true;
+        }
+        LocalDateTime first = dateTimeIndex.ceilingKey(LocalDate.of(year, 1, 1).atStartOfDay());
+        return first != null && first.getYear() == year;
+    }
+
+    /**
+     * Returns true if an appointment starting at {@code dateTime} would overlap an existing appointment
+     * that does not start at exactly {@code dateTime}.
+     * The appointment at {@code excludedDateTime}, if any, is not considered. It may be null.
+     */
+    public boolean hasConcurrentAppointment(LocalDateTime dateTime, LocalDateTime excludedDateTime) {
+        requireNonNull(dateTime);
+
+        LocalDateTime before = dateTimeIndex.lowerKey(dateTime);
+        if (before != null && before.equals(excludedDateTime)) {
+            before = dateTimeIndex.lowerKey(before);
+        }
+        LocalDateTime after = dateTimeIndex.higherKey(dateTime);
+        if (after != null && after.equals(excludedDateTime)) {
+            after = dateTimeIndex.higherKey(after);
+        }
+
+        return (before != null && dateTime.isBefore(before.plusMinutes(APPOINTMENT_DURATION_MINUTES)))
+                || (after != null && dateTime.plusMinutes(APPOINTMENT_DURATION_MINUTES).isAfter(after));
+    }
+
+    //@@author wynonaK
     /**
      * Adds an appointment to the list.
      *
      * @throws DuplicateAppointmentException if the person to add is a duplicate of an existing person in the list.
+     * @throws DuplicateDateTimeException if another appointment is already in the same slot.
+     * @throws ConcurrentAppointmentException if the appointment overlaps another appointment.
      */
     public void add(Appointment toAdd) throws DuplicateAppointmentException, DuplicateDateTimeException,
         PastAppointmentException, ConcurrentAppointmentException {
@@ -49,65 +148,167 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
             throw new DuplicateAppointmentException();
         }
 
-        ArrayList<LocalDateTime> timeList = new ArrayList<>();
+        if (dateTimeIndex.containsKey(toAdd.getDateTime())) {
+            throw new DuplicateDateTimeException();
+        }
 
-        for (Appointment a : internalList) {
-            timeList.add(a.getDateTime());
-            if (a.getDateTime().equals(toAdd.getDateTime())) {
-                throw new DuplicateDateTimeException();
-            }
+        if (hasConcurrentAppointment(toAdd.getDateTime(), null)) {
+            throw new ConcurrentAppointmentException();
         }
 
-        for (LocalDateTime dateTime : timeList) {
-            if (toAdd.getDateTime().isAfter(dateTime) && toAdd.getDateTime().isBefore(dateTime.plusMinutes(30))) {
-                throw new ConcurrentAppointmentException();
-            }
-            if (toAdd.getDateTime().isBefore(dateTime) && toAdd.getDateTime().plusMinutes(30).isAfter(dateTime)) {
-                throw new ConcurrentAppointmentException();
+        internalList.add(toAdd);
+        addToIndex(toAdd);
+    }
+
+    //@@author
+    /**
+     * Inserts an appointment at {@code index} of the list, so that a removal can be reverted.
+     * As the appointment was in the list before, it is not checked for overlaps with other appointments again.
+     *
+     * @throws DuplicateAppointmentException if the appointment to insert is a duplicate of an existing
+     * appointment in the list.
+     * @throws DuplicateDateTimeException if another appointment is already in the same slot.
+     */
+    public void insert(int index, Appointment toInsert)
+            throws DuplicateAppointmentException, DuplicateDateTimeException {
+        requireNonNull(toInsert);
+        if (contains(toInsert)) {
+            throw new DuplicateAppointmentException();
+        }
+
+        if (dateTimeIndex.containsKey(toInsert.getDateTime())) {
+            throw new DuplicateDateTimeException();
+        }
+
+        int petPosition = 0;
+        for (Appointment appointment : getIndexedAppointments(toInsert.getOwnerNric(), toInsert.getPetPatientName())) {
+            if (internalList.indexOf(appointment) < index) {
+                petPosition++;
             }
         }
-        internalList.add(toAdd);
+        internalList.add(index, toInsert);
+        dateTimeIndex = dateTimeIndex.with(toInsert.getDateTime(), toInsert);
+        setIndexedAppointments(toInsert.getOwnerNric(), toInsert.getPetPatientName(),
+                getIndexedAppointments(toInsert.getOwnerNric(), toInsert.getPetPatientName())
+                        .withInserted(petPosition, toInsert));
     }
 
+    //@@author wynonaK
     /**
      * Replaces the appointment {@code target} in the list with {@code editedAppointment}.
      *
      * @throws DuplicateAppointmentException if the replacement is equivalent to
      * another existing appointment in the list.
+     * @throws DuplicateDateTimeException if the replacement is in the same slot as another appointment.
      * @throws AppointmentNotFoundException if {@code target} could not be found in the list.
      */
     public void setAppointment(Appointment target, Appointment editedAppointment)
-            throws DuplicateAppointmentException, AppointmentNotFoundException {
+            throws DuplicateAppointmentException, DuplicateDateTimeException, AppointmentNotFoundException {
         requireNonNull(editedAppointment);
 
-        int index = internalList.indexOf(target);
-        if (index == -1) {
+        if (!contains(target)) {
             throw new AppointmentNotFoundException();
         }
 
-        if (!target.equals(editedAppointment) && internalList.contains(editedAppointment)) {
+        if (!target.equals(editedAppointment) && contains(editedAppointment)) {
             throw new DuplicateAppointmentException();
         }
 
+        if (!target.getDateTime().equals(editedAppointment.getDateTime())
+                && dateTimeIndex.containsKey(editedAppointment.getDateTime())) {
+            throw new DuplicateDateTimeException();
+        }
+
+        int index = internalList.indexOf(target);
         internalList.set(index, editedAppointment);
+
+        dateTimeIndex = dateTimeIndex.without(target.getDateTime())
+                .with(editedAppointment.getDateTime(), editedAppointment);
+        if (target.getOwnerNric().equals(editedAppointment.getOwnerNric())
+                && target.getPetPatientName().equals(editedAppointment.getPetPatientName())) {
+            PersistentList<Appointment> petAppointments =
+                    getIndexedAppointments(target.getOwnerNric(), target.getPetPatientName());
+            setIndexedAppointments(target.getOwnerNric(), target.getPetPatientName(),
+                    petAppointments.withSet(petAppointments.indexOf(target), editedAppointment));
+        } else {
+            removeFromOwnerIndex(target);
+            addToOwnerIndex(editedAppointment);
+        }
     }
 
     /**
-     * Removes the equivalent pet patient from the list.
+     * Returns the position of the equivalent appointment in the list, or -1 if there is none, in logarithmic time.
+     */
+    public int indexOf(Appointment toFind) {
+        requireNonNull(toFind);
+        return internalList.indexOf(toFind);
+    }
+
+    /**
+     * Removes the equivalent appointment from the list.
      *
-     * @throws AppointmentNotFoundException if no such pet patient could be found in the list.
+     * @throws AppointmentNotFoundException if no such appointment could be found in the list.
      */
     public boolean remove(Appointment toRemove) throws AppointmentNotFoundException {
         requireNonNull(toRemove);
-        final boolean appointmentFoundAndDeleted = internalList.remove(toRemove);
-        if (!appointmentFoundAndDeleted) {
+        if (!contains(toRemove)) {
             throw new AppointmentNotFoundException();
         }
-        return appointmentFoundAndDeleted;
+        int index = internalList.indexOf(toRemove);
+        internalList.remove(index);
+        removeFromIndex(toRemove);
+        return true;
     }
 
+    //@@author
+    /**
+     * Removes all appointments in {@code toRemove} from the list, finding and removing each in logarithmic time.
+     * Every appointment in {@code toRemove} must be an element obtained from this list.
+     */
+    public void removeAll(Collection<Appointment> toRemove) {
+        requireAllNonNull(toRemove);
+        for (Appointment appointment : toRemove) {
+            removeFromIndex(internalList.remove(internalList.indexOf(appointment)));
+        }
+    }
+
+    /**
+     * Returns the years whose appointments have not been read into the list yet.
+     */
+    public ArchivedAppointments getArchivedAppointments() {
+        return archivedAppointments;
+    }
+
+    public void setArchivedAppointments(ArchivedAppointments archivedAppointments) {
+        this.archivedAppointments = requireNonNull(archivedAppointments);
+    }
+
+    /**
+     * Puts {@code yearAppointments}, the appointments of the archived {@code year} in the order they were saved in,
+     * back into the list where they were saved, and drops {@code year} from the archived years.
+     * As the appointments were in the list when they were saved, they are not checked for overlaps again.
+     *
+     * @throws DuplicateAppointmentException if an appointment to load is a duplicate of an existing appointment in
+     * the list.
+     * @throws DuplicateDateTimeException if another appointment is already in the same slot as one to load.
+     */
+    public void loadArchivedYear(int year, List<Appointment> yearAppointments)
+            throws DuplicateAppointmentException, DuplicateDateTimeException {
+        requireAllNonNull(yearAppointments);
+        int loaded = 0;
+        for (ArchivedAppointments.Run run : archivedAppointments.getRuns(year)) {
+            int index = archivedAppointments.getInsertionIndex(run, this::indexOfAppointmentAt, internalList.size());
+            for (Appointment appointment : yearAppointments.subList(loaded, loaded + run.getSize())) {
+                insert(index++, appointment);
+            }
+            loaded += run.getSize();
+        }
+        archivedAppointments = archivedAppointments.without(year);
+    }
+
+    //@@author wynonaK
     public void setAppointments(UniqueAppointmentList replacement) {
-        this.internalList.setAll(replacement.internalList);
+        restore(replacement.snapshot());
     }
 
     public void setAppointments(List<Appointment> appointments)
@@ -121,6 +322,27 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
         setAppointments(replacement);
     }
 
+    //@@author
+    /**
+     * Returns the current contents of the list and its indexes. Later changes to this list do not affect the
+     * returned snapshot.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(internalList.getContents(), dateTimeIndex, ownerIndex, archivedAppointments);
+    }
+
+    /**
+     * Replaces the contents of this list and its indexes with {@code snapshot}, in constant time.
+     */
+    public void restore(Snapshot snapshot) {
+        requireNonNull(snapshot);
+        dateTimeIndex = snapshot.dateTimeIndex;
+        ownerIndex = snapshot.ownerIndex;
+        archivedAppointments = snapshot.archivedAppointments;
+        internalList.setContents(snapshot.contents);
+    }
+
+    //@@author wynonaK
     /**
      * Returns the backing list as an unmodifiable {@code ObservableList}.
      */
@@ -128,11 +350,71 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
         return FXCollections.unmodifiableObservableList(internalList);
     }
 
+    /**
+     * Returns a read-only iterator, so that removals cannot bypass the date time index.
+     */
     @Override
     public Iterator<Appointment> iterator() {
-        return internalList.iterator();
+        return asObservableList().iterator();
+    }
+
+    //@@author
+    /**
+     * Returns the index of the appointment in the list at exactly {@code dateTime}, or -1 if the slot is free.
+     */
+    private int indexOfAppointmentAt(LocalDateTime dateTime) {
+        Appointment appointment = dateTimeIndex.get(dateTime);
+        return appointment == null ? -1 : internalList.indexOf(appointment);
+    }
+
+    private PersistentList<Appointment> getIndexedAppointments(Nric ownerNric, PetPatientName petPatientName) {
+        return ownerIndex.getOrDefault(ownerNric, PersistentMap.empty())
+                .getOrDefault(petPatientName, PersistentList.empty());
+    }
+
+    /**
+     * Makes {@code petAppointments} the appointments of the pet patient named {@code petPatientName} owned by the
+     * person with {@code ownerNric} in the owner index, dropping entries that become empty.
+     */
+    private void setIndexedAppointments(Nric ownerNric, PetPatientName petPatientName,
+                                        PersistentList<Appointment> petAppointments) {
+        PersistentMap<PetPatientName, PersistentList<Appointment>> ownerAppointments =
+                ownerIndex.getOrDefault(ownerNric, PersistentMap.empty());
+        ownerAppointments = petAppointments.isEmpty()
+                ? ownerAppointments.without(petPatientName)
+                : ownerAppointments.with(petPatientName, petAppointments);
+        ownerIndex = ownerAppointments.isEmpty()
+                ? ownerIndex.without(ownerNric)
+                : ownerIndex.with(ownerNric, ownerAppointments);
+    }
+
+    private void addToIndex(Appointment appointment) {
+        dateTimeIndex = dateTimeIndex.with(appointment.getDateTime(), appointment);
+        addToOwnerIndex(appointment);
+    }
+
+    private void removeFromIndex(Appointment appointment) {
+        dateTimeIndex = dateTimeIndex.without(appointment.getDateTime());
+        removeFromOwnerIndex(appointment);
+    }
+
+    private void addToOwnerIndex(Appointment appointment) {
+        setIndexedAppointments(appointment.getOwnerNric(), appointment.getPetPatientName(),
+                getIndexedAppointments(appointment.getOwnerNric(), appointment.getPetPatientName())
+                        .withAdded(appointment));
     }
 
+    /**
+     * Removes {@code appointment} from the owner index, dropping entries that become empty.
+     */
+    private void removeFromOwnerIndex(Appointment appointment) {
+        PersistentList<Appointment> petAppointments =
+                getIndexedAppointments(appointment.getOwnerNric(), appointment.getPetPatientName());
+        setIndexedAppointments(appointment.getOwnerNric(), appointment.getPetPatientName(),
+                petAppointments.withRemoved(petAppointments.indexOf(appointment)));
+    }
+
+    //@@author wynonaK
     @Override
     public boolean equals(Object other) {
         return other == this // short circuit if same object
@@ -144,4 +426,39 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
     public int hashCode() {
         return internalList.hashCode();
     }
+
+    //@@author
+    /**
+     * The contents of a {@code UniqueAppointmentList} and its indexes at the time the snapshot was taken.
+     */
+    public static final class Snapshot {
+        private final PersistentList<Appointment> contents;
+        private final PersistentSortedMap<LocalDateTime, Appointment> dateTimeIndex;
+        private final PersistentMap<Nric, PersistentMap<PetPatientName, PersistentList<Appointment>>> ownerIndex;
+        private final ArchivedAppointments archivedAppointments;
+
+        private Snapshot(PersistentList<Appointment> contents,
+                         PersistentSortedMap<LocalDateTime, Appointment> dateTimeIndex,
+                         PersistentMap<Nric, PersistentMap<PetPatientName, PersistentList<Appointment>>> ownerIndex,
+                         ArchivedAppointments archivedAppointments) {
+            this.contents = contents;
+            this.dateTimeIndex = dateTimeIndex;
+            this.ownerIndex = ownerIndex;
+            this.archivedAppointments = archivedAppointments;
+        }
+
+        /**
+         * Returns the appointments in the list, in order.
+         */
+        public PersistentList<Appointment> asList() {
+            return contents;
+        }
+
+        /**
+         * Returns the years whose appointments had not been read into the list.
+         */
+        public ArchivedAppointments getArchivedAppointments() {
+            return archivedAppointments;
+        }
+    }
 }
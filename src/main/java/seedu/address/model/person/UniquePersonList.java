@@ -3,8 +3,12 @@ package seedu.address.model.person;
 import static java.util.Objects.requireNonNull;
 import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
 
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -12,31 +16,70 @@ import seedu.address.commons.util.CollectionUtil;
 import seedu.address.model.person.exceptions.DuplicateNricException;
 import seedu.address.model.person.exceptions.DuplicatePersonException;
 import seedu.address.model.person.exceptions.PersonNotFoundException;
+import seedu.address.model.util.PersistentList;
+import seedu.address.model.util.PersistentMap;
+import seedu.address.model.util.PersistentObservableList;
+import seedu.address.model.util.SearchIndex;
+import seedu.address.model.util.SearchIndex.Field;
+import seedu.address.model.util.SearchIndex.Keyword;
 
 /**
  * A list of persons that enforces uniqueness between its elements and does not allow nulls.
  *
  * Supports a minimal set of list operations.
+ * Persons are additionally indexed by their {@code Nric}, so duplicate checks and NRIC lookups
+ * do not need to scan the whole list.
+ * The list itself indexes the position of each person, so edits and removals find the person to change in
+ * logarithmic time.
+ * The words of their name, NRIC and tags are kept in a {@code SearchIndex}, so that a search by those fields
+ * only looks at the persons that have the words searched for.
+ * The contents and both indexes are persistent data structures, so that a snapshot of the list can be taken, and
+ * restored, in constant time.
  *
  * @see Person#equals(Object)
  * @see CollectionUtil#elementsAreUnique(Collection)
  */
 public class UniquePersonList implements Iterable<Person> {
 
-    private final ObservableList<Person> internalList = FXCollections.observableArrayList();
+    private static final SearchIndex<Person> EMPTY_SEARCH_INDEX = new SearchIndex<>(getSearchableFields());
+
+    private final PersistentObservableList<Person> internalList =
+            new PersistentObservableList<>(PersistentList.emptyIndexed());
+    private PersistentMap<Nric, Person> nricIndex = PersistentMap.empty();
+    private SearchIndex<Person> searchIndex = EMPTY_SEARCH_INDEX;
 
     /**
      * Returns true if the list contains an equivalent person as the given argument.
      */
     public boolean contains(Person toCheck) {
         requireNonNull(toCheck);
-        return internalList.contains(toCheck);
+        return toCheck.equals(nricIndex.get(toCheck.getNric()));
+    }
+
+    /**
+     * Returns the person in the list with the given {@code nric}, or null if there is no such person.
+     */
+    public Person getPersonWithNric(Nric nric) {
+        requireNonNull(nric);
+        return nricIndex.get(nric);
+    }
+
+    /**
+     * Returns the persons in the list that, for every field in {@code keywords}, have a word in the field that matches
+     * at least one of that field's keywords, each mapped to its relevance score.
+     *
+     * @see SearchIndex#score(Map)
+     */
+    public Map<Person, Double> find(Map<Field, ? extends Collection<Keyword>> keywords) {
+        requireNonNull(keywords);
+        return searchIndex.score(keywords);
     }
 
     /**
      * Adds a person to the list.
      *
      * @throws DuplicatePersonException if the person to add is a duplicate of an existing person in the list.
+     * @throws DuplicateNricException if another person in the list already has the same NRIC.
      */
     public void add(Person toAdd) throws DuplicatePersonException, DuplicateNricException {
         requireNonNull(toAdd);
@@ -44,35 +87,72 @@ public class UniquePersonList implements Iterable<Person> {
             throw new DuplicatePersonException();
         }
 
-        for (Person p : internalList) {
-            if (p.getNric().equals(toAdd.getNric())) {
-                throw new DuplicateNricException();
-            }
+        if (nricIndex.containsKey(toAdd.getNric())) {
+            throw new DuplicateNricException();
         }
 
         internalList.add(toAdd);
+        nricIndex = nricIndex.with(toAdd.getNric(), toAdd);
+        searchIndex = searchIndex.with(toAdd);
+    }
+
+    /**
+     * Inserts a person at {@code index} of the list, so that a removal can be reverted.
+     *
+     * @throws DuplicatePersonException if the person to insert is a duplicate of an existing person in the list.
+     * @throws DuplicateNricException if another person in the list already has the same NRIC.
+     */
+    public void insert(int index, Person toInsert) throws DuplicatePersonException, DuplicateNricException {
+        requireNonNull(toInsert);
+        if (contains(toInsert)) {
+            throw new DuplicatePersonException();
+        }
+
+        if (nricIndex.containsKey(toInsert.getNric())) {
+            throw new DuplicateNricException();
+        }
+
+        internalList.add(index, toInsert);
+        nricIndex = nricIndex.with(toInsert.getNric(), toInsert);
+        searchIndex = searchIndex.with(toInsert);
     }
 
     /**
      * Replaces the person {@code target} in the list with {@code editedPerson}.
      *
      * @throws DuplicatePersonException if the replacement is equivalent to another existing person in the list.
+     * @throws DuplicateNricException if the replacement has the same NRIC as another existing person in the list.
      * @throws PersonNotFoundException if {@code target} could not be found in the list.
      */
     public void setPerson(Person target, Person editedPerson)
-            throws DuplicatePersonException, PersonNotFoundException {
+            throws DuplicatePersonException, DuplicateNricException, PersonNotFoundException {
         requireNonNull(editedPerson);
 
-        int index = internalList.indexOf(target);
-        if (index == -1) {
+        if (!contains(target)) {
             throw new PersonNotFoundException();
         }
 
-        if (!target.equals(editedPerson) && internalList.contains(editedPerson)) {
+        if (!target.equals(editedPerson) && contains(editedPerson)) {
             throw new DuplicatePersonException();
         }
 
+        if (!target.getNric().equals(editedPerson.getNric()) && nricIndex.containsKey(editedPerson.getNric())) {
+            throw new DuplicateNricException();
+        }
+
+        int index = internalList.indexOf(target);
+        Person storedTarget = internalList.get(index);
         internalList.set(index, editedPerson);
+        nricIndex = nricIndex.without(target.getNric()).with(editedPerson.getNric(), editedPerson);
+        searchIndex = searchIndex.without(storedTarget).with(editedPerson);
+    }
+
+    /**
+     * Returns the position of the equivalent person in the list, or -1 if there is none, in logarithmic time.
+     */
+    public int indexOf(Person toFind) {
+        requireNonNull(toFind);
+        return internalList.indexOf(toFind);
     }
 
     /**
@@ -82,15 +162,17 @@ public class UniquePersonList implements Iterable<Person> {
      */
     public boolean remove(Person toRemove) throws PersonNotFoundException {
         requireNonNull(toRemove);
-        final boolean personFoundAndDeleted = internalList.remove(toRemove);
-        if (!personFoundAndDeleted) {
+        if (!contains(toRemove)) {
             throw new PersonNotFoundException();
         }
-        return personFoundAndDeleted;
+        int index = internalList.indexOf(toRemove);
+        searchIndex = searchIndex.without(internalList.remove(index));
+        nricIndex = nricIndex.without(toRemove.getNric());
+        return true;
     }
 
     public void setPersons(UniquePersonList replacement) {
-        this.internalList.setAll(replacement.internalList);
+        restore(replacement.snapshot());
     }
 
     public void setPersons(List<Person> persons) throws DuplicatePersonException, DuplicateNricException {
@@ -102,6 +184,24 @@ public class UniquePersonList implements Iterable<Person> {
         setPersons(replacement);
     }
 
+    /**
+     * Returns the current contents of the list and its indexes. Later changes to this list do not affect the
+     * returned snapshot.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(internalList.getContents(), nricIndex, searchIndex);
+    }
+
+    /**
+     * Replaces the contents of this list and its indexes with {@code snapshot}, in constant time.
+     */
+    public void restore(Snapshot snapshot) {
+        requireNonNull(snapshot);
+        nricIndex = snapshot.nricIndex;
+        searchIndex = snapshot.searchIndex;
+        internalList.setContents(snapshot.contents);
+    }
+
     /**
      * Returns the backing list as an unmodifiable {@code ObservableList}.
      */
@@ -109,9 +209,23 @@ public class UniquePersonList implements Iterable<Person> {
         return FXCollections.unmodifiableObservableList(internalList);
     }
 
+    /**
+     * Returns a read-only iterator, so that removals cannot bypass the NRIC index.
+     */
     @Override
     public Iterator<Person> iterator() {
-        return internalList.iterator();
+        return asObservableList().iterator();
+    }
+
+    /**
+     * Returns the text of each field that persons can be searched by.
+     */
+    public static Map<Field, Function<Person, String>> getSearchableFields() {
+        Map<Field, Function<Person, String>> fields = new EnumMap<>(Field.class);
+        fields.put(Field.NAME, person -> person.getName().fullName);
+        fields.put(Field.NRIC, person -> person.getNric().toString());
+        fields.put(Field.TAG, Person::getTagString);
+        return fields;
     }
 
     @Override
@@ -125,4 +239,27 @@ public class UniquePersonList implements Iterable<Person> {
     public int hashCode() {
         return internalList.hashCode();
     }
+
+    /**
+     * The contents of a {@code UniquePersonList} and its indexes at the time the snapshot was taken.
+     */
+    public static final class Snapshot {
+        private final PersistentList<Person> contents;
+        private final PersistentMap<Nric, Person> nricIndex;
+        private final SearchIndex<Person> searchIndex;
+
+        private Snapshot(PersistentList<Person> contents, PersistentMap<Nric, Person> nricIndex,
+                         SearchIndex<Person> searchIndex) {
+            this.contents = contents;
+            this.nricIndex = nricIndex;
+            this.searchIndex = searchIndex;
+        }
+
+        /**
+         * Returns the persons in the list, in order.
+         */
+        public PersistentList<Person> asList() {
+            return contents;
+        }
+    }
 }
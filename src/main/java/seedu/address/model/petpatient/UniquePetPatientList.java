@@ -3,34 +3,104 @@ package seedu.address.model.petpatient;
 import static java.util.Objects.requireNonNull;
 import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import seedu.address.model.person.Nric;
 import seedu.address.model.petpatient.exceptions.DuplicatePetPatientException;
 import seedu.address.model.petpatient.exceptions.PetPatientNotFoundException;
+import seedu.address.model.util.PersistentList;
+import seedu.address.model.util.PersistentMap;
+import seedu.address.model.util.PersistentObservableList;
+import seedu.address.model.util.SearchIndex;
+import seedu.address.model.util.SearchIndex.Field;
+import seedu.address.model.util.SearchIndex.Keyword;
 
 //@@author chialejing
 /**
  * A list of pet patients that enforces uniqueness between its elements and does not allow nulls.
  *
  * Supports a minimal set of list operations.
+ * Pet patients are additionally indexed by their owner's {@code Nric}, so lookups by owner only need to look at
+ * that owner's pet patients.
+ * The list itself indexes the position of each pet patient, so edits and removals find the pet patient to change in
+ * logarithmic time.
+ * The words of their name, species, breed, colour, blood type and tags are kept in a {@code SearchIndex}, so that a
+ * search by those fields only looks at the pet patients that have the words searched for.
+ * The contents and both indexes are persistent data structures, so that a snapshot of the list can be taken, and
+ * restored, in constant time.
  *
  * @see PetPatient#equals(Object)
  * @see CollectionUtil#elementsAreUnique(Collection)
  */
 public class UniquePetPatientList implements Iterable<PetPatient> {
-    private final ObservableList<PetPatient> internalList = FXCollections.observableArrayList();
+    //@@author
+    private static final SearchIndex<PetPatient> EMPTY_SEARCH_INDEX = new SearchIndex<>(getSearchableFields());
+
+    //@@author chialejing
+    private final PersistentObservableList<PetPatient> internalList =
+            new PersistentObservableList<>(PersistentList.emptyIndexed());
+    private PersistentMap<Nric, PersistentList<PetPatient>> ownerIndex = PersistentMap.empty();
+    //@@author
+    private SearchIndex<PetPatient> searchIndex = EMPTY_SEARCH_INDEX;
 
     /**
      * Returns true if the list contains an equivalent pet patient as the given argument.
      */
     public boolean contains(PetPatient toCheck) {
         requireNonNull(toCheck);
-        return internalList.contains(toCheck);
+        return getIndexedPetPatients(toCheck.getOwner()).contains(toCheck);
+    }
+
+    /**
+     * Returns the pet patients owned by the person with {@code ownerNric}, in the order they were added.
+     */
+    public List<PetPatient> getPetPatientsWithNric(Nric ownerNric) {
+        requireNonNull(ownerNric);
+        return new ArrayList<>(getIndexedPetPatients(ownerNric));
+    }
+
+    /**
+     * Returns true if the person with {@code ownerNric} owns at least one pet patient in the list.
+     */
+    public boolean hasPetPatientsWithNric(Nric ownerNric) {
+        requireNonNull(ownerNric);
+        return ownerIndex.containsKey(ownerNric);
+    }
+
+    /**
+     * Returns the pet patient named {@code petPatientName} owned by the person with {@code ownerNric},
+     * or null if there is no such pet patient.
+     */
+    public PetPatient getPetPatientWithNricAndName(Nric ownerNric, PetPatientName petPatientName) {
+        requireNonNull(petPatientName);
+        for (PetPatient petPatient : getIndexedPetPatients(ownerNric)) {
+            if (petPatient.getName().equals(petPatientName)) {
+                return petPatient;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the pet patients in the list that, for every field in {@code keywords}, have a word in the field that
+     * matches at least one of that field's keywords, each mapped to its relevance score.
+     *
+     * @see SearchIndex#score(Map)
+     */
+    public Map<PetPatient, Double> find(Map<Field, ? extends Collection<Keyword>> keywords) {
+        requireNonNull(keywords);
+        return searchIndex.score(keywords);
     }
 
+    //@@author chialejing
     /**
      * Adds a pet patient to the list.
      *
@@ -43,8 +113,35 @@ public class UniquePetPatientList implements Iterable<PetPatient> {
             throw new DuplicatePetPatientException();
         }
         internalList.add(toAdd);
+        addToIndex(toAdd);
+    }
+
+    //@@author
+    /**
+     * Inserts a pet patient at {@code index} of the list, so that a removal can be reverted.
+     *
+     * @throws DuplicatePetPatientException if the pet patient to insert is a duplicate of an existing pet patient
+     * in the list.
+     */
+    public void insert(int index, PetPatient toInsert) throws DuplicatePetPatientException {
+        requireNonNull(toInsert);
+        if (contains(toInsert)) {
+            throw new DuplicatePetPatientException();
+        }
+
+        int ownerPosition = 0;
+        for (PetPatient petPatient : getIndexedPetPatients(toInsert.getOwner())) {
+            if (internalList.indexOf(petPatient) < index) {
+                ownerPosition++;
+            }
+        }
+        internalList.add(index, toInsert);
+        ownerIndex = ownerIndex.with(toInsert.getOwner(),
+                getIndexedPetPatients(toInsert.getOwner()).withInserted(ownerPosition, toInsert));
+        searchIndex = searchIndex.with(toInsert);
     }
 
+    //@@author chialejing
     /**
      * Replaces the pet patient {@code target} in the list with {@code editedPetPatient}.
      *
@@ -56,16 +153,34 @@ public class UniquePetPatientList implements Iterable<PetPatient> {
             throws DuplicatePetPatientException, PetPatientNotFoundException {
         requireNonNull(editedPetPatient);
 
-        int index = internalList.indexOf(target);
-        if (index == -1) {
+        if (!contains(target)) {
             throw new PetPatientNotFoundException();
         }
 
-        if (!target.equals(editedPetPatient) && internalList.contains(editedPetPatient)) {
+        if (!target.equals(editedPetPatient) && contains(editedPetPatient)) {
             throw new DuplicatePetPatientException();
         }
 
-        internalList.set(index, editedPetPatient);
+        int index = internalList.indexOf(target);
+        PetPatient storedTarget = internalList.set(index, editedPetPatient);
+
+        PersistentList<PetPatient> ownerPetPatients = ownerIndex.get(target.getOwner());
+        if (target.getOwner().equals(editedPetPatient.getOwner())) {
+            ownerIndex = ownerIndex.with(target.getOwner(),
+                    ownerPetPatients.withSet(ownerPetPatients.indexOf(target), editedPetPatient));
+            searchIndex = searchIndex.without(storedTarget).with(editedPetPatient);
+        } else {
+            removeFromIndex(storedTarget);
+            addToIndex(editedPetPatient);
+        }
+    }
+
+    /**
+     * Returns the position of the equivalent pet patient in the list, or -1 if there is none, in logarithmic time.
+     */
+    public int indexOf(PetPatient toFind) {
+        requireNonNull(toFind);
+        return internalList.indexOf(toFind);
     }
 
     /**
@@ -75,15 +190,29 @@ public class UniquePetPatientList implements Iterable<PetPatient> {
      */
     public boolean remove(PetPatient toRemove) throws PetPatientNotFoundException {
         requireNonNull(toRemove);
-        final boolean petPatientFoundAndDeleted = internalList.remove(toRemove);
-        if (!petPatientFoundAndDeleted) {
+        if (!contains(toRemove)) {
             throw new PetPatientNotFoundException();
         }
-        return petPatientFoundAndDeleted;
+        int index = internalList.indexOf(toRemove);
+        removeFromIndex(internalList.remove(index));
+        return true;
     }
 
+    //@@author
+    /**
+     * Removes all pet patients in {@code toRemove} from the list, finding and removing each in logarithmic time.
+     * Every pet patient in {@code toRemove} must be an element obtained from this list.
+     */
+    public void removeAll(Collection<PetPatient> toRemove) {
+        requireAllNonNull(toRemove);
+        for (PetPatient petPatient : toRemove) {
+            removeFromIndex(internalList.remove(internalList.indexOf(petPatient)));
+        }
+    }
+
+    //@@author chialejing
     public void setPetPatients(UniquePetPatientList replacement) {
-        this.internalList.setAll(replacement.internalList);
+        restore(replacement.snapshot());
     }
 
     public void setPetPatients(List<PetPatient> petPatients) throws DuplicatePetPatientException {
@@ -95,6 +224,26 @@ public class UniquePetPatientList implements Iterable<PetPatient> {
         setPetPatients(replacement);
     }
 
+    //@@author
+    /**
+     * Returns the current contents of the list and its indexes. Later changes to this list do not affect the
+     * returned snapshot.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(internalList.getContents(), ownerIndex, searchIndex);
+    }
+
+    /**
+     * Replaces the contents of this list and its indexes with {@code snapshot}, in constant time.
+     */
+    public void restore(Snapshot snapshot) {
+        requireNonNull(snapshot);
+        ownerIndex = snapshot.ownerIndex;
+        searchIndex = snapshot.searchIndex;
+        internalList.setContents(snapshot.contents);
+    }
+
+    //@@author chialejing
     /**
      * Returns the backing list as an unmodifiable {@code ObservableList}.
      */
@@ -102,9 +251,51 @@ public class UniquePetPatientList implements Iterable<PetPatient> {
         return FXCollections.unmodifiableObservableList(internalList);
     }
 
+    /**
+     * Returns a read-only iterator, so that removals cannot bypass the owner index.
+     */
     @Override
     public Iterator<PetPatient> iterator() {
-        return internalList.iterator();
+        return asObservableList().iterator();
+    }
+
+    //@@author
+    private PersistentList<PetPatient> getIndexedPetPatients(Nric ownerNric) {
+        return ownerIndex.getOrDefault(ownerNric, PersistentList.empty());
+    }
+
+    private void addToIndex(PetPatient petPatient) {
+        ownerIndex = ownerIndex.with(petPatient.getOwner(),
+                getIndexedPetPatients(petPatient.getOwner()).withAdded(petPatient));
+        searchIndex = searchIndex.with(petPatient);
+    }
+
+    /**
+     * Removes {@code petPatient} from the owner and search indexes, dropping the owner's entry once it is empty.
+     */
+    private void removeFromIndex(PetPatient petPatient) {
+        searchIndex = searchIndex.without(petPatient);
+        PersistentList<PetPatient> ownerPetPatients = ownerIndex.get(petPatient.getOwner());
+        PersistentList<PetPatient> newOwnerPetPatients = ownerPetPatients.withRemoved(
+                ownerPetPatients.indexOf(petPatient));
+        ownerIndex = newOwnerPetPatients.isEmpty()
+                ? ownerIndex.without(petPatient.getOwner())
+                : ownerIndex.with(petPatient.getOwner(), newOwnerPetPatients);
+    }
+
+    //@@author chialejing
+    /**
+     * Returns the text of each field that pet patients can be searched by.
+     */
+    public static Map<Field, Function<PetPatient, String>> getSearchableFields() {
+        Map<Field, Function<PetPatient, String>> fields = new EnumMap<>(Field.class);
+        fields.put(Field.NAME, petPatient -> petPatient.getName().fullName);
+        fields.put(Field.SPECIES, petPatient -> petPatient.getSpecies().species);
+        fields.put(Field.BREED, petPatient -> petPatient.getBreed().breed);
+        fields.put(Field.COLOUR, petPatient -> petPatient.getColour().colour);
+        fields.put(Field.BLOOD_TYPE, petPatient -> petPatient.getBloodType().bloodType);
+        fields.put(Field.TAG, PetPatient::getTagString);
+        return fields;
     }
 
     @Override
@@ -118,4 +309,29 @@ public class UniquePetPatientList implements Iterable<PetPatient> {
     public int hashCode() {
         return internalList.hashCode();
     }
+
+    //@@author
+    /**
+     * The contents of a {@code UniquePetPatientList} and its indexes at the time the snapshot was taken.
+     */
+    public static final class Snapshot {
+        private final PersistentList<PetPatient> contents;
+        private final PersistentMap<Nric, PersistentList<PetPatient>> ownerIndex;
+        private final SearchIndex<PetPatient> searchIndex;
+
+        private Snapshot(PersistentList<PetPatient> contents,
+                         PersistentMap<Nric, PersistentList<PetPatient>> ownerIndex,
+                         SearchIndex<PetPatient> searchIndex) {
+            this.contents = contents;
+            this.ownerIndex = ownerIndex;
+            this.searchIndex = searchIndex;
+        }
+
+        /**
+         * Returns the pet patients in the list, in order.
+         */
+        public PersistentList<PetPatient> asList() {
+            return contents;
+        }
+    }
 }
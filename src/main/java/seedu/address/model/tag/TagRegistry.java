@@ -0,0 +1,205 @@
+package seedu.address.model.tag;
+
+import static java.util.Objects.requireNonNull;
+import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import seedu.address.model.util.PersistentList;
+import seedu.address.model.util.PersistentMap;
+import seedu.address.model.util.PersistentObservableList;
+
+/**
+ * The master list of tags of an address book.
+ *
+ * Interns {@code Tag}s so that all entities share the same {@code Tag} objects, and counts how many entities
+ * refer to each tag. Tags that are no longer referred to are kept until {@link #removeUnreferencedTags()} is
+ * called, so that every change costs time proportional to the number of tags involved, not to the size of
+ * the address book. The tags and their counts are kept in persistent data structures, so that a snapshot of the
+ * registry can be taken, and restored, in constant time.
+ *
+ * @see Tag#equals(Object)
+ */
+public class TagRegistry {
+
+    private final PersistentObservableList<Tag> internalList =
+            new PersistentObservableList<>(PersistentList.emptyIndexed());
+    private PersistentMap<Tag, Tag> internedTags = PersistentMap.empty();
+    private PersistentMap<Tag, Integer> referenceCounts = PersistentMap.empty();
+    /** The tags that are no longer referred to, each mapped to itself. */
+    private PersistentMap<Tag, Tag> unreferencedTags = PersistentMap.empty();
+
+    /**
+     * Returns true if the registry contains an equivalent Tag as the given argument.
+     */
+    public boolean contains(Tag toCheck) {
+        requireNonNull(toCheck);
+        return internedTags.containsKey(toCheck);
+    }
+
+    /**
+     * Returns the {@code Tag} objects in the registry that are equivalent to {@code tags}.
+     * Tags that are not in the registry are returned as they are. The registry is not modified.
+     */
+    public Set<Tag> intern(Set<Tag> tags) {
+        requireAllNonNull(tags);
+        final Set<Tag> interned = new HashSet<>();
+        tags.forEach(tag -> interned.add(internedTags.getOrDefault(tag, tag)));
+        return interned;
+    }
+
+    /**
+     * Adds an unreferenced Tag to the registry.
+     *
+     * @throws UniqueTagList.DuplicateTagException if an equivalent Tag is already in the registry.
+     */
+    public void add(Tag toAdd) throws UniqueTagList.DuplicateTagException {
+        requireNonNull(toAdd);
+        if (contains(toAdd)) {
+            throw new UniqueTagList.DuplicateTagException();
+        }
+        register(toAdd);
+        unreferencedTags = unreferencedTags.with(toAdd, toAdd);
+    }
+
+    /**
+     * Records one more reference to each of {@code tags}, adding tags that are not yet in the registry.
+     * {@code tags} should have been obtained from {@link #intern(Set)}.
+     */
+    public void acquire(Set<Tag> tags) {
+        requireAllNonNull(tags);
+        for (Tag tag : tags) {
+            if (!contains(tag)) {
+                register(tag);
+            }
+            referenceCounts = referenceCounts.with(tag, referenceCounts.getOrDefault(tag, 0) + 1);
+            unreferencedTags = unreferencedTags.without(tag);
+        }
+    }
+
+    /**
+     * Records one less reference to each of {@code tags}.
+     */
+    public void release(Set<Tag> tags) {
+        requireAllNonNull(tags);
+        for (Tag tag : tags) {
+            Integer count = referenceCounts.get(tag);
+            assert count != null : "Released a tag that was never acquired";
+            if (count == 1) {
+                referenceCounts = referenceCounts.without(tag);
+                unreferencedTags = unreferencedTags.with(tag, tag);
+            } else {
+                referenceCounts = referenceCounts.with(tag, count - 1);
+            }
+        }
+    }
+
+    /**
+     * Removes all tags that are no longer referred to by any entity.
+     */
+    public void removeUnreferencedTags() {
+        if (unreferencedTags.isEmpty()) {
+            return;
+        }
+        for (Tag tag : unreferencedTags.keySet()) {
+            internalList.remove(internalList.indexOf(tag));
+            internedTags = internedTags.without(tag);
+        }
+        unreferencedTags = PersistentMap.empty();
+    }
+
+    /**
+     * Replaces the contents of the registry with {@code tags}, none of which are referred to yet.
+     */
+    public void resetData(Collection<Tag> tags) {
+        requireAllNonNull(tags);
+        internalList.setContents(PersistentList.emptyIndexed());
+        internedTags = PersistentMap.empty();
+        referenceCounts = PersistentMap.empty();
+        unreferencedTags = PersistentMap.empty();
+        for (Tag tag : tags) {
+            if (!contains(tag)) {
+                register(tag);
+                unreferencedTags = unreferencedTags.with(tag, tag);
+            }
+        }
+    }
+
+    /**
+     * Makes {@code tag} the canonical instance of its equivalent tags.
+     */
+    private void register(Tag tag) {
+        internalList.add(tag);
+        internedTags = internedTags.with(tag, tag);
+    }
+
+    /**
+     * Returns the registered tags and their reference counts. Later changes to the registry do not affect the
+     * returned snapshot.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(internalList.getContents(), internedTags, referenceCounts, unreferencedTags);
+    }
+
+    /**
+     * Replaces the tags and reference counts of the registry with {@code snapshot}, in constant time.
+     */
+    public void restore(Snapshot snapshot) {
+        requireNonNull(snapshot);
+        internedTags = snapshot.internedTags;
+        referenceCounts = snapshot.referenceCounts;
+        unreferencedTags = snapshot.unreferencedTags;
+        internalList.setContents(snapshot.contents);
+    }
+
+    /**
+     * Returns the registered tags as an unmodifiable {@code ObservableList}.
+     */
+    public ObservableList<Tag> asObservableList() {
+        return FXCollections.unmodifiableObservableList(internalList);
+    }
+
+    /**
+     * Returns true if both registries contain the same tags, in any order.
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof TagRegistry // instanceof handles nulls
+                && this.internedTags.keySet().equals(((TagRegistry) other).internedTags.keySet()));
+    }
+
+    @Override
+    public int hashCode() {
+        return internedTags.keySet().hashCode();
+    }
+
+    /**
+     * The tags of a {@code TagRegistry} and their reference counts at the time the snapshot was taken.
+     */
+    public static final class Snapshot {
+        private final PersistentList<Tag> contents;
+        private final PersistentMap<Tag, Tag> internedTags;
+        private final PersistentMap<Tag, Integer> referenceCounts;
+        private final PersistentMap<Tag, Tag> unreferencedTags;
+
+        private Snapshot(PersistentList<Tag> contents, PersistentMap<Tag, Tag> internedTags,
+                         PersistentMap<Tag, Integer> referenceCounts, PersistentMap<Tag, Tag> unreferencedTags) {
+            this.contents = contents;
+            this.internedTags = internedTags;
+            this.referenceCounts = referenceCounts;
+            this.unreferencedTags = unreferencedTags;
+        }
+
+        /**
+         * Returns the registered tags, in order.
+         */
+        public PersistentList<Tag> asList() {
+            return contents;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package seedu.address.model.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.collections.transformation.TransformationList;
+
+/**
+ * A filtered view of an observable list, which does not look at the elements of the list until a predicate is set.
+ *
+ * Until then, the view passes every call through to the source list, so a source list that reads its elements
+ * lazily only reads the ones that are accessed. A {@code FilteredList}, in contrast, tests every element as soon
+ * as it is created. Once a predicate is set, the view behaves as a {@code FilteredList}, whose elements may also be
+ * ordered by a comparator instead of by their order in the source list.
+ */
+public class DeferredFilteredList<E> extends TransformationList<E, E> {
+
+    private final ObservableList<E> source;
+    private final ListChangeListener<E> filteredListener = this::forwardChange;
+    private FilteredList<E> filtered;
+    private SortedList<E> sorted;
+
+    public DeferredFilteredList(ObservableList<E> source) {
+        super(source);
+        this.source = source;
+    }
+
+    /**
+     * Filters the view by {@code predicate}. A null predicate shows every element of the source list.
+     */
+    public void setPredicate(Predicate<? super E> predicate) {
+        setPredicate(predicate, null);
+    }
+
+    /**
+     * Filters the view by {@code predicate}, and orders it by {@code comparator}. A null predicate shows every element
+     * of the source list, and a null comparator keeps the elements in the order of the source list.
+     */
+    public void setPredicate(Predicate<? super E> predicate, Comparator<? super E> comparator) {
+        if (filtered == null) {
+            if (predicate == null && comparator == null) {
+                return;
+            }
+            filtered = new FilteredList<>(source, predicate);
+            sorted = new SortedList<>(filtered, comparator);
+            sorted.addListener(filteredListener);
+            fireReplacedWith(new ArrayList<>(source));
+            return;
+        }
+        // the elements are only sorted once, by the new comparator, after they are filtered
+        sorted.setComparator(null);
+        filtered.setPredicate(predicate);
+        sorted.setComparator(comparator);
+    }
+
+    public Predicate<? super E> getPredicate() {
+        return filtered == null ? null : filtered.getPredicate();
+    }
+
+    public Comparator<? super E> getComparator() {
+        return sorted == null ? null : sorted.getComparator();
+    }
+
+    @Override
+    protected void sourceChanged(ListChangeListener.Change<? extends E> change) {
+        if (filtered == null) {
+            forwardChange(change);
+        }
+        // otherwise the change reaches this view through the filtered and sorted lists
+    }
+
+    @Override
+    public int getSourceIndex(int index) {
+        return filtered == null ? index : filtered.getSourceIndex(sorted.getSourceIndex(index));
+    }
+
+    /**
+     * Returns the index in this view of the element at {@code index} of the source list, or -1 if it is filtered out.
+     */
+    public int getViewIndex(int index) {
+        if (filtered == null) {
+            return index;
+        }
+        for (int i = 0; i < sorted.size(); i++) {
+            if (getSourceIndex(i) == index) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public E get(int index) {
+        return filtered == null ? source.get(index) : sorted.get(index);
+    }
+
+    @Override
+    public int size() {
+        return filtered == null ? source.size() : sorted.size();
+    }
+
+    /**
+     * Fires a change that replaces {@code removed}, the previous contents of this view, with its current contents.
+     */
+    private void fireReplacedWith(List<? extends E> removed) {
+        beginChange();
+        nextRemove(0, removed);
+        if (size() > 0) {
+            nextAdd(0, size());
+        }
+        endChange();
+    }
+
+    /**
+     * Fires {@code change}, which was made to the list this view currently passes through to, as a change to
+     * this view.
+     */
+    private void forwardChange(ListChangeListener.Change<? extends E> change) {
+        beginChange();
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                int[] permutation = new int[change.getTo() - change.getFrom()];
+                for (int i = change.getFrom(); i < change.getTo(); i++) {
+                    permutation[i - change.getFrom()] = change.getPermutation(i);
+                }
+                nextPermutation(change.getFrom(), change.getTo(), permutation);
+            } else if (change.wasUpdated()) {
+                for (int i = change.getFrom(); i < change.getTo(); i++) {
+                    nextUpdate(i);
+                }
+            } else {
+                if (change.wasRemoved()) {
+                    nextRemove(change.getFrom(), change.getRemoved());
+                }
+                if (change.wasAdded()) {
+                    nextAdd(change.getFrom(), change.getTo());
+                }
+            }
+        }
+        endChange();
+    }
+}
@@ -0,0 +1,238 @@
+package seedu.address.model.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * An immutable list that shares structure with the lists it is derived from.
+ *
+ * Each element is given a label, and the elements are kept in a {@code PersistentSortedMap} from their labels, so
+ * that the order of the labels is the order of the list. Labels are handed out with gaps between them, so an element
+ * inserted between two others can be given a label between theirs without relabelling the rest of the list. Deriving
+ * a new list with one element added, inserted, replaced or removed therefore takes time logarithmic in the size of
+ * the list, and shares all but a logarithmic number of nodes with the original list. Keeping an old version of a
+ * list around is cheap, which is what makes undo snapshots of a large address book affordable.
+ *
+ * A list created by {@link #emptyIndexed()} holds distinct elements, and also maps each element to its label, so
+ * that finding the position of an element takes logarithmic time as well.
+ *
+ * Supports a minimal set of list operations. The mutators inherited from {@code List} are not supported.
+ */
+public final class PersistentList<T> extends AbstractList<T> {
+
+    /** The gap between the labels of consecutive elements of a list that nothing was inserted into. */
+    private static final long LABEL_GAP = 1L << 32;
+    /** The largest gap left between the label of an inserted element and the label of its neighbour. */
+    private static final long MAX_INSERTION_GAP = 1L << 16;
+
+    private static final PersistentList<?> EMPTY = new PersistentList<>(PersistentSortedMap.empty(), null);
+    private static final PersistentList<?> EMPTY_INDEXED =
+            new PersistentList<>(PersistentSortedMap.empty(), PersistentMap.empty());
+
+    private final PersistentSortedMap<Long, T> elements;
+    /** The label of each element, or null if the list does not index its elements. */
+    private final PersistentMap<T, Long> labels;
+
+    private PersistentList(PersistentSortedMap<Long, T> elements, PersistentMap<T, Long> labels) {
+        this.elements = elements;
+        this.labels = labels;
+    }
+
+    /**
+     * Returns an empty list.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentList<T> empty() {
+        return (PersistentList<T>) EMPTY;
+    }
+
+    /**
+     * Returns an empty list that indexes the position of its elements, which must be distinct.
+     * {@link #indexOf(Object)} and {@link #contains(Object)} take logarithmic time on it and the lists derived from it.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentList<T> emptyIndexed() {
+        return (PersistentList<T>) EMPTY_INDEXED;
+    }
+
+    /**
+     * Returns a list containing {@code elements}, in iteration order. Takes time linear in the number of elements.
+     */
+    public static <T> PersistentList<T> of(Collection<? extends T> elements) {
+        return of(elements, false);
+    }
+
+    /**
+     * Returns a list containing {@code elements}, in iteration order, that indexes the position of its elements if
+     * {@code isIndexed}. Takes time linear in the number of elements, and logarithmic per element if indexed.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> PersistentList<T> of(Collection<? extends T> elements, boolean isIndexed) {
+        requireNonNull(elements);
+        Object[] values = elements.toArray();
+        Long[] labels = new Long[values.length];
+        PersistentMap<T, Long> elementLabels = isIndexed ? PersistentMap.empty() : null;
+        for (int i = 0; i < values.length; i++) {
+            requireNonNull(values[i]);
+            labels[i] = i * LABEL_GAP;
+            if (isIndexed) {
+                elementLabels = elementLabels.with((T) values[i], labels[i]);
+            }
+        }
+        return new PersistentList<>(PersistentSortedMap.ofSorted(labels, (T[]) values), elementLabels);
+    }
+
+    @Override
+    public T get(int index) {
+        return elements.valueAt(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * Returns an iterator over the elements in order, which takes constant time per element on average.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        Iterator<Map.Entry<Long, T>> entries = elements.entrySet().iterator();
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return entries.next().getValue();
+            }
+        };
+    }
+
+    /**
+     * Returns the index of the first occurrence of {@code element}, or -1 if the list does not contain it.
+     * Takes logarithmic time if the list indexes its elements. Otherwise walks the list with its iterator, which is
+     * faster than looking up each index in turn.
+     */
+    @Override
+    public int indexOf(Object element) {
+        if (labels != null) {
+            Long label = labels.get(element);
+            return label == null ? -1 : elements.indexOfKey(label);
+        }
+        int index = 0;
+        for (T candidate : this) {
+            if (candidate.equals(element)) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return labels != null ? labels.containsKey(element) : super.contains(element);
+    }
+
+    /**
+     * Returns a list with {@code element} appended to the end of this list.
+     *
+     * @throws IllegalArgumentException if the list indexes its elements and already contains {@code element}.
+     */
+    public PersistentList<T> withAdded(T element) {
+        requireNonNull(element);
+        if (isEmpty()) {
+            return withLabel(0L, element);
+        }
+        long lastLabel = elements.lastKey();
+        if (lastLabel > Long.MAX_VALUE - LABEL_GAP) {
+            return relabelled().withAdded(element);
+        }
+        return withLabel(lastLabel + LABEL_GAP, element);
+    }
+
+    /**
+     * Returns a list with {@code element} inserted at {@code index}, shifting the elements from {@code index}
+     * onwards to the right.
+     *
+     * @throws IllegalArgumentException if the list indexes its elements and already contains {@code element}.
+     */
+    public PersistentList<T> withInserted(int index, T element) {
+        requireNonNull(element);
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        if (index == size()) {
+            return withAdded(element);
+        }
+
+        long nextLabel = elements.keyAt(index);
+        if (index == 0) {
+            if (nextLabel < Long.MIN_VALUE + MAX_INSERTION_GAP) {
+                return relabelled().withInserted(index, element);
+            }
+            return withLabel(nextLabel - MAX_INSERTION_GAP, element);
+        }
+
+        long previousLabel = elements.keyAt(index - 1);
+        long gap = nextLabel - previousLabel;
+        // a gap too large for a long overflows to a negative number, which is treated as no room
+        if (gap < 2) {
+            return relabelled().withInserted(index, element);
+        }
+        return withLabel(previousLabel + Math.min(gap / 2, MAX_INSERTION_GAP), element);
+    }
+
+    /**
+     * Returns a list with the element at {@code index} replaced by {@code element}.
+     *
+     * @throws IllegalArgumentException if the list indexes its elements and contains {@code element} at another
+     * index.
+     */
+    public PersistentList<T> withSet(int index, T element) {
+        requireNonNull(element);
+        long label = elements.keyAt(index);
+        if (labels == null) {
+            return new PersistentList<>(elements.with(label, element), null);
+        }
+        return new PersistentList<>(elements, labels.without(elements.valueAt(index))).withLabel(label, element);
+    }
+
+    /**
+     * Returns a list with the element at {@code index} removed.
+     */
+    public PersistentList<T> withRemoved(int index) {
+        long label = elements.keyAt(index);
+        return new PersistentList<>(elements.without(label),
+                labels == null ? null : labels.without(elements.get(label)));
+    }
+
+    /**
+     * Returns a list with {@code element} at {@code label}, which is not in use by another element.
+     */
+    private PersistentList<T> withLabel(long label, T element) {
+        if (labels == null) {
+            return new PersistentList<>(elements.with(label, element), null);
+        }
+        if (labels.containsKey(element)) {
+            throw new IllegalArgumentException("The elements of an indexed list should be distinct");
+        }
+        return new PersistentList<>(elements.with(label, element), labels.with(element, label));
+    }
+
+    /**
+     * Returns this list with its elements labelled {@code LABEL_GAP} apart again, once some labels have run out of
+     * room between them. Takes time linear in the size of the list, but labels only run out of room after many
+     * insertions between the same two elements.
+     */
+    private PersistentList<T> relabelled() {
+        return of(this, labels != null);
+    }
+}
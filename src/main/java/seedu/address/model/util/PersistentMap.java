@@ -0,0 +1,463 @@
+package seedu.address.model.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * An immutable hash map that shares structure with the maps it is derived from.
+ *
+ * The entries are stored in a hash array mapped trie: each level of the trie is indexed by the next five bits of
+ * the hash of a key, and holds only the branches that are in use. Deriving a new map with one entry added, replaced
+ * or removed only copies the nodes on the path to that entry, which takes time logarithmic in the size of the map;
+ * every other node is shared with the original map.
+ *
+ * A map either compares keys with {@code equals}, or, if created by {@link #identity()}, by identity. The mutators
+ * inherited from {@code Map} are not supported.
+ */
+public final class PersistentMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS_PER_LEVEL = 5;
+    private static final int LEVEL_MASK = (1 << BITS_PER_LEVEL) - 1;
+
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(false, BitmapNode.EMPTY, 0);
+    private static final PersistentMap<?, ?> EMPTY_IDENTITY = new PersistentMap<>(true, BitmapNode.EMPTY, 0);
+
+    private final boolean isIdentity;
+    private final BitmapNode root;
+    private final int size;
+
+    private PersistentMap(boolean isIdentity, BitmapNode root, int size) {
+        this.isIdentity = isIdentity;
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns an empty map that compares keys with {@code equals}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns an empty map that compares keys by identity.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> identity() {
+        return (PersistentMap<K, V>) EMPTY_IDENTITY;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Leaf leaf = root.find(key, hash(key), 0, this);
+        return leaf == null ? null : (V) leaf.getValue();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return root.find(key, hash(key), 0, this) != null;
+    }
+
+    /**
+     * Returns a map with {@code key} mapped to {@code value}, replacing the value {@code key} had, if any.
+     */
+    public PersistentMap<K, V> with(K key, V value) {
+        requireNonNull(key);
+        Leaf leaf = new Leaf(key, value, hash(key));
+        boolean[] isAdded = new boolean[1];
+        BitmapNode newRoot = root.with(leaf, 0, this, isAdded);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentMap<>(isIdentity, newRoot, isAdded[0] ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map without {@code key}. Returns this map if it does not contain {@code key}.
+     */
+    public PersistentMap<K, V> without(Object key) {
+        requireNonNull(key);
+        Object newRoot = root.without(key, hash(key), 0, this);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentMap<>(isIdentity, toRoot(newRoot), size - 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        requireNonNull(action);
+        root.forEach(leaf -> action.accept((K) leaf.getKey(), (V) leaf.getValue()));
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int hash(Object key) {
+        int hash = isIdentity ? System.identityHashCode(key) : key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private boolean isSameKey(Object key, Object otherKey) {
+        return isIdentity ? key == otherKey : key.equals(otherKey);
+    }
+
+    /**
+     * Returns {@code node}, what is left of a root node after a removal, as a root node.
+     */
+    private static BitmapNode toRoot(Object node) {
+        if (node == null) {
+            return BitmapNode.EMPTY;
+        }
+        if (node instanceof BitmapNode) {
+            return (BitmapNode) node;
+        }
+        Object[] slots = {node};
+        return new BitmapNode(1 << ((node instanceof Leaf ? ((Leaf) node).hash : ((CollisionNode) node).hash)
+                & LEVEL_MASK), slots);
+    }
+
+    /**
+     * Returns the index within its level of a key with {@code hash} at the level {@code shift} bits deep.
+     */
+    private static int levelIndex(int hash, int shift) {
+        return (hash >>> shift) & LEVEL_MASK;
+    }
+
+    /**
+     * An entry of the map, which is stored along with the hash of its key.
+     */
+    private static final class Leaf extends SimpleImmutableEntry<Object, Object> {
+        private final int hash;
+
+        Leaf(Object key, Object value, int hash) {
+            super(key, value);
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * The entries whose keys have the same hash. Only found at the bottom of the trie.
+     */
+    private static final class CollisionNode {
+        private final int hash;
+        private final Leaf[] leaves;
+
+        CollisionNode(int hash, Leaf[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        /**
+         * Returns the leaf of {@code key}, or null if this node does not contain {@code key}.
+         */
+        Leaf find(Object key, PersistentMap<?, ?> map) {
+            for (Leaf leaf : leaves) {
+                if (map.isSameKey(key, leaf.getKey())) {
+                    return leaf;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns this node with {@code newLeaf}, which has the same hash, replacing the leaf of the same key, if any.
+         * Sets {@code isAdded[0]} if there was no such leaf.
+         */
+        CollisionNode with(Leaf newLeaf, PersistentMap<?, ?> map, boolean[] isAdded) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (map.isSameKey(newLeaf.getKey(), leaves[i].getKey())) {
+                    if (leaves[i].getValue() == newLeaf.getValue()) {
+                        return this;
+                    }
+                    Leaf[] newLeaves = leaves.clone();
+                    newLeaves[i] = newLeaf;
+                    return new CollisionNode(hash, newLeaves);
+                }
+            }
+            Leaf[] newLeaves = new Leaf[leaves.length + 1];
+            System.arraycopy(leaves, 0, newLeaves, 0, leaves.length);
+            newLeaves[leaves.length] = newLeaf;
+            isAdded[0] = true;
+            return new CollisionNode(hash, newLeaves);
+        }
+
+        /**
+         * Returns this node without {@code key}: this node if it does not contain {@code key}, or the only leaf left.
+         */
+        Object without(Object key, PersistentMap<?, ?> map) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (map.isSameKey(key, leaves[i].getKey())) {
+                    if (leaves.length == 2) {
+                        return leaves[1 - i];
+                    }
+                    Leaf[] newLeaves = new Leaf[leaves.length - 1];
+                    System.arraycopy(leaves, 0, newLeaves, 0, i);
+                    System.arraycopy(leaves, i + 1, newLeaves, i, leaves.length - i - 1);
+                    return new CollisionNode(hash, newLeaves);
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * A level of the trie. Bit {@code i} of {@code bitmap} is set if the level has a branch for the level index
+     * {@code i}, and the branches are stored in {@code slots} in order of their level indexes. A branch is a
+     * {@code Leaf}, a {@code CollisionNode} or the {@code BitmapNode} of the next level.
+     */
+    private static final class BitmapNode {
+        private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private int slotOf(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        /**
+         * Returns the leaf of {@code key}, whose hash is {@code hash}, below this node at the level {@code shift} bits
+         * deep, or null if there is no such leaf.
+         */
+        Leaf find(Object key, int hash, int shift, PersistentMap<?, ?> map) {
+            int bit = 1 << levelIndex(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = slots[slotOf(bit)];
+            if (slot instanceof BitmapNode) {
+                return ((BitmapNode) slot).find(key, hash, shift + BITS_PER_LEVEL, map);
+            }
+            if (slot instanceof CollisionNode) {
+                CollisionNode collisions = (CollisionNode) slot;
+                return collisions.hash == hash ? collisions.find(key, map) : null;
+            }
+            Leaf leaf = (Leaf) slot;
+            return leaf.hash == hash && map.isSameKey(key, leaf.getKey()) ? leaf : null;
+        }
+
+        /**
+         * Returns this node, at the level {@code shift} bits deep, with {@code newLeaf} replacing the leaf of the same
+         * key below it, if any. Sets {@code isAdded[0]} if there was no such leaf.
+         */
+        BitmapNode with(Leaf newLeaf, int shift, PersistentMap<?, ?> map, boolean[] isAdded) {
+            int bit = 1 << levelIndex(newLeaf.hash, shift);
+            int index = slotOf(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newSlots = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, newSlots, 0, index);
+                newSlots[index] = newLeaf;
+                System.arraycopy(slots, index, newSlots, index + 1, slots.length - index);
+                isAdded[0] = true;
+                return new BitmapNode(bitmap | bit, newSlots);
+            }
+
+            Object slot = slots[index];
+            Object newSlot;
+            if (slot instanceof BitmapNode) {
+                newSlot = ((BitmapNode) slot).with(newLeaf, shift + BITS_PER_LEVEL, map, isAdded);
+            } else if (slot instanceof CollisionNode && ((CollisionNode) slot).hash == newLeaf.hash) {
+                newSlot = ((CollisionNode) slot).with(newLeaf, map, isAdded);
+            } else if (slot instanceof Leaf && ((Leaf) slot).hash == newLeaf.hash
+                    && map.isSameKey(newLeaf.getKey(), ((Leaf) slot).getKey())) {
+                newSlot = ((Leaf) slot).getValue() == newLeaf.getValue() ? slot : newLeaf;
+            } else {
+                newSlot = merge(slot, newLeaf, shift + BITS_PER_LEVEL);
+                isAdded[0] = true;
+            }
+
+            if (newSlot == slot) {
+                return this;
+            }
+            Object[] newSlots = slots.clone();
+            newSlots[index] = newSlot;
+            return new BitmapNode(bitmap, newSlots);
+        }
+
+        /**
+         * Returns this node without {@code key}: this node if it does not contain {@code key}, null if nothing is
+         * left, or the only leaf or collision node left, so that the level above can hold it directly.
+         */
+        Object without(Object key, int hash, int shift, PersistentMap<?, ?> map) {
+            int bit = 1 << levelIndex(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = slotOf(bit);
+            Object slot = slots[index];
+            Object newSlot;
+            if (slot instanceof BitmapNode) {
+                newSlot = ((BitmapNode) slot).without(key, hash, shift + BITS_PER_LEVEL, map);
+            } else if (slot instanceof CollisionNode) {
+                newSlot = ((CollisionNode) slot).hash == hash ? ((CollisionNode) slot).without(key, map) : slot;
+            } else {
+                Leaf leaf = (Leaf) slot;
+                newSlot = leaf.hash == hash && map.isSameKey(key, leaf.getKey()) ? null : slot;
+            }
+
+            if (newSlot == slot) {
+                return this;
+            }
+            if (newSlot != null) {
+                if (slots.length == 1 && !(newSlot instanceof BitmapNode)) {
+                    return newSlot;
+                }
+                Object[] newSlots = slots.clone();
+                newSlots[index] = newSlot;
+                return new BitmapNode(bitmap, newSlots);
+            }
+            if (slots.length == 1) {
+                return null;
+            }
+            if (slots.length == 2 && !(slots[1 - index] instanceof BitmapNode)) {
+                return slots[1 - index];
+            }
+            Object[] newSlots = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, newSlots, 0, index);
+            System.arraycopy(slots, index + 1, newSlots, index, slots.length - index - 1);
+            return new BitmapNode(bitmap & ~bit, newSlots);
+        }
+
+        /**
+         * Performs {@code action} on every leaf below this node.
+         */
+        void forEach(Consumer<Leaf> action) {
+            for (Object slot : slots) {
+                if (slot instanceof BitmapNode) {
+                    ((BitmapNode) slot).forEach(action);
+                } else if (slot instanceof CollisionNode) {
+                    for (Leaf leaf : ((CollisionNode) slot).leaves) {
+                        action.accept(leaf);
+                    }
+                } else {
+                    action.accept((Leaf) slot);
+                }
+            }
+        }
+
+        /**
+         * Returns a branch holding both {@code existing}, a leaf or collision node, and {@code newLeaf}, whose hash
+         * is different, at the level {@code shift} bits deep.
+         */
+        private static Object merge(Object existing, Leaf newLeaf, int shift) {
+            int existingHash = existing instanceof Leaf ? ((Leaf) existing).hash : ((CollisionNode) existing).hash;
+            if (existingHash == newLeaf.hash) {
+                return new CollisionNode(existingHash, new Leaf[] {(Leaf) existing, newLeaf});
+            }
+            int existingIndex = levelIndex(existingHash, shift);
+            int newIndex = levelIndex(newLeaf.hash, shift);
+            if (existingIndex == newIndex) {
+                return new BitmapNode(1 << existingIndex,
+                        new Object[] {merge(existing, newLeaf, shift + BITS_PER_LEVEL)});
+            }
+            Object[] slots = existingIndex < newIndex
+                    ? new Object[] {existing, newLeaf}
+                    : new Object[] {newLeaf, existing};
+            return new BitmapNode((1 << existingIndex) | (1 << newIndex), slots);
+        }
+    }
+
+    /**
+     * Iterates over the entries of a trie, depth first.
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        private final Deque<Object[]> slotStack = new ArrayDeque<>();
+        private final Deque<Integer> indexStack = new ArrayDeque<>();
+        private Leaf[] collisions;
+        private int collisionIndex;
+        private Leaf next;
+
+        EntryIterator(BitmapNode root) {
+            slotStack.push(root.slots);
+            indexStack.push(0);
+            advance();
+        }
+
+        /**
+         * Moves {@code next} to the next leaf, or to null if every leaf has been visited.
+         */
+        private void advance() {
+            next = null;
+            if (collisions != null) {
+                if (collisionIndex < collisions.length) {
+                    next = collisions[collisionIndex++];
+                    return;
+                }
+                collisions = null;
+            }
+            while (!slotStack.isEmpty()) {
+                Object[] slots = slotStack.peek();
+                int index = indexStack.pop();
+                if (index == slots.length) {
+                    slotStack.pop();
+                    continue;
+                }
+                indexStack.push(index + 1);
+                Object slot = slots[index];
+                if (slot instanceof BitmapNode) {
+                    slotStack.push(((BitmapNode) slot).slots);
+                    indexStack.push(0);
+                } else if (slot instanceof CollisionNode) {
+                    collisions = ((CollisionNode) slot).leaves;
+                    collisionIndex = 1;
+                    next = collisions[0];
+                    return;
+                } else {
+                    next = (Leaf) slot;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Leaf leaf = next;
+            advance();
+            return (Entry<K, V>) (Entry<?, ?>) leaf;
+        }
+    }
+}
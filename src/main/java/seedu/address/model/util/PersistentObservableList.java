@@ -0,0 +1,114 @@
+package seedu.address.model.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Iterator;
+
+import javafx.collections.ObservableListBase;
+
+/**
+ * An {@code ObservableList} whose contents are a {@code PersistentList}.
+ *
+ * Changing the list replaces its contents with a list derived from them, so the contents at any point can be kept
+ * by {@link #getContents()} in constant time. The contents can also be replaced as a whole by
+ * {@link #setContents(PersistentList)} in constant time, which listeners see as every element being replaced.
+ */
+public class PersistentObservableList<T> extends ObservableListBase<T> {
+
+    private PersistentList<T> contents;
+
+    /**
+     * Creates an empty list.
+     */
+    public PersistentObservableList() {
+        this(PersistentList.empty());
+    }
+
+    /**
+     * Creates a list with {@code contents}. The list derives its later contents from them, so if {@code contents}
+     * index their elements, as those of {@link PersistentList#emptyIndexed()} do, so will the later contents.
+     */
+    public PersistentObservableList(PersistentList<T> contents) {
+        this.contents = requireNonNull(contents);
+    }
+
+    /**
+     * Returns the current contents of the list. Later changes to this list do not affect the returned list.
+     */
+    public PersistentList<T> getContents() {
+        return contents;
+    }
+
+    /**
+     * Replaces the contents of the list with {@code newContents}.
+     */
+    public void setContents(PersistentList<T> newContents) {
+        requireNonNull(newContents);
+        PersistentList<T> oldContents = contents;
+        if (newContents == oldContents) {
+            return;
+        }
+        contents = newContents;
+        beginChange();
+        if (!oldContents.isEmpty()) {
+            nextRemove(0, oldContents);
+        }
+        if (!newContents.isEmpty()) {
+            nextAdd(0, newContents.size());
+        }
+        endChange();
+    }
+
+    @Override
+    public T get(int index) {
+        return contents.get(index);
+    }
+
+    @Override
+    public int size() {
+        return contents.size();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return contents.iterator();
+    }
+
+    @Override
+    public int indexOf(Object element) {
+        return contents.indexOf(element);
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return contents.contains(element);
+    }
+
+    @Override
+    public void add(int index, T element) {
+        contents = contents.withInserted(index, element);
+        beginChange();
+        nextAdd(index, index + 1);
+        endChange();
+    }
+
+    @Override
+    public T set(int index, T element) {
+        T oldElement = contents.get(index);
+        contents = contents.withSet(index, element);
+        beginChange();
+        nextSet(index, oldElement);
+        endChange();
+        return oldElement;
+    }
+
+    @Override
+    public T remove(int index) {
+        T oldElement = contents.get(index);
+        contents = contents.withRemoved(index);
+        beginChange();
+        nextRemove(index, oldElement);
+        endChange();
+        return oldElement;
+    }
+}
@@ -0,0 +1,422 @@
+package seedu.address.model.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable sorted map that shares structure with the maps it is derived from.
+ *
+ * The entries are stored in a balanced binary search tree in which every node also records the size of its subtree.
+ * Deriving a new map with one entry added, replaced or removed only copies the nodes on the path to that entry,
+ * which takes time logarithmic in the size of the map; every other node is shared with the original map. The sizes
+ * let the entry at a given position in key order be found in logarithmic time as well.
+ *
+ * The mutators inherited from {@code Map} are not supported.
+ */
+public final class PersistentSortedMap<K, V> extends AbstractMap<K, V> {
+
+    private final Comparator<? super K> comparator;
+    private final Node<K, V> root;
+
+    private PersistentSortedMap(Comparator<? super K> comparator, Node<K, V> root) {
+        this.comparator = comparator;
+        this.root = root;
+    }
+
+    /**
+     * Returns an empty map ordered by the natural ordering of its keys.
+     */
+    public static <K extends Comparable<? super K>, V> PersistentSortedMap<K, V> empty() {
+        return new PersistentSortedMap<>(Comparator.naturalOrder(), null);
+    }
+
+    /**
+     * Returns an empty map ordered by {@code comparator}.
+     */
+    public static <K, V> PersistentSortedMap<K, V> empty(Comparator<? super K> comparator) {
+        requireNonNull(comparator);
+        return new PersistentSortedMap<>(comparator, null);
+    }
+
+    /**
+     * Returns a map ordered by the natural ordering of its keys, with {@code keys[i]} mapped to {@code values[i]}.
+     * {@code keys} must be distinct and sorted. Takes time linear in the number of keys.
+     */
+    public static <K extends Comparable<? super K>, V> PersistentSortedMap<K, V> ofSorted(K[] keys, V[] values) {
+        requireNonNull(keys);
+        requireNonNull(values);
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("There should be as many keys as values");
+        }
+        return new PersistentSortedMap<>(Comparator.naturalOrder(), build(keys, values, 0, keys.length));
+    }
+
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = find(key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) != null;
+    }
+
+    /**
+     * Returns a map with {@code key} mapped to {@code value}, replacing the value {@code key} had, if any.
+     */
+    public PersistentSortedMap<K, V> with(K key, V value) {
+        requireNonNull(key);
+        Node<K, V> newRoot = with(root, key, value);
+        return newRoot == root ? this : new PersistentSortedMap<>(comparator, newRoot);
+    }
+
+    /**
+     * Returns a map without {@code key}. Returns this map if it does not contain {@code key}.
+     */
+    public PersistentSortedMap<K, V> without(K key) {
+        requireNonNull(key);
+        Node<K, V> newRoot = without(root, key);
+        return newRoot == root ? this : new PersistentSortedMap<>(comparator, newRoot);
+    }
+
+    /**
+     * Returns the key at {@code index} in key order.
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is not the index of an entry of the map.
+     */
+    public K keyAt(int index) {
+        return nodeAt(index).key;
+    }
+
+    /**
+     * Returns the value of the key at {@code index} in key order.
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is not the index of an entry of the map.
+     */
+    public V valueAt(int index) {
+        return nodeAt(index).value;
+    }
+
+    /**
+     * Returns the index of {@code key} in key order, or -1 if the map does not contain {@code key}.
+     */
+    public int indexOfKey(K key) {
+        requireNonNull(key);
+        int index = 0;
+        Node<K, V> node = root;
+        while (node != null) {
+            int comparison = comparator.compare(key, node.key);
+            if (comparison == 0) {
+                return index + sizeOf(node.left);
+            }
+            if (comparison < 0) {
+                node = node.left;
+            } else {
+                index += sizeOf(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the least key, or null if the map is empty.
+     */
+    public K firstKey() {
+        Node<K, V> node = root;
+        while (node != null && node.left != null) {
+            node = node.left;
+        }
+        return node == null ? null : node.key;
+    }
+
+    /**
+     * Returns the greatest key, or null if the map is empty.
+     */
+    public K lastKey() {
+        Node<K, V> node = root;
+        while (node != null && node.right != null) {
+            node = node.right;
+        }
+        return node == null ? null : node.key;
+    }
+
+    /**
+     * Returns the greatest key strictly less than {@code key}, or null if there is no such key.
+     */
+    public K lowerKey(K key) {
+        return closestKey(key, false, false);
+    }
+
+    /**
+     * Returns the least key strictly greater than {@code key}, or null if there is no such key.
+     */
+    public K higherKey(K key) {
+        return closestKey(key, true, false);
+    }
+
+    /**
+     * Returns the least key greater than or equal to {@code key}, or null if there is no such key.
+     */
+    public K ceilingKey(K key) {
+        return closestKey(key, true, true);
+    }
+
+    /**
+     * Returns the entries of the map in key order.
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return sizeOf(root);
+            }
+        };
+    }
+
+    /**
+     * Returns the closest key after {@code key} if {@code isAfter}, or before it otherwise, including {@code key}
+     * itself if {@code isInclusive}.
+     */
+    private K closestKey(K key, boolean isAfter, boolean isInclusive) {
+        requireNonNull(key);
+        K closest = null;
+        Node<K, V> node = root;
+        while (node != null) {
+            int comparison = comparator.compare(key, node.key);
+            if (comparison == 0 && isInclusive) {
+                return node.key;
+            }
+            if (isAfter && comparison < 0) {
+                closest = node.key;
+                node = node.left;
+            } else if (isAfter) {
+                node = node.right;
+            } else if (comparison > 0) {
+                closest = node.key;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Returns the node of {@code key}, or null if the map does not contain {@code key}.
+     */
+    @SuppressWarnings("unchecked")
+    private Node<K, V> find(Object key) {
+        requireNonNull(key);
+        Node<K, V> node = root;
+        while (node != null) {
+            int comparison = comparator.compare((K) key, node.key);
+            if (comparison == 0) {
+                return node;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the node at {@code index} in key order, using the subtree sizes to skip the subtrees before it.
+     */
+    private Node<K, V> nodeAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node<K, V> node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (index == leftSize) {
+                return node;
+            }
+            if (index < leftSize) {
+                node = node.left;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the tree under {@code node} with {@code key} mapped to {@code value}, or {@code node} itself if it
+     * already maps {@code key} to {@code value}.
+     */
+    private Node<K, V> with(Node<K, V> node, K key, V value) {
+        if (node == null) {
+            return new Node<>(key, value, null, null);
+        }
+        int comparison = comparator.compare(key, node.key);
+        if (comparison == 0) {
+            return node.value == value ? node : new Node<>(key, value, node.left, node.right);
+        }
+        if (comparison < 0) {
+            Node<K, V> newLeft = with(node.left, key, value);
+            return newLeft == node.left ? node : balance(node.key, node.value, newLeft, node.right);
+        }
+        Node<K, V> newRight = with(node.right, key, value);
+        return newRight == node.right ? node : balance(node.key, node.value, node.left, newRight);
+    }
+
+    /**
+     * Returns the tree under {@code node} without {@code key}, or {@code node} itself if it does not contain
+     * {@code key}. A removed node with two subtrees is replaced by its successor.
+     */
+    private Node<K, V> without(Node<K, V> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = comparator.compare(key, node.key);
+        if (comparison < 0) {
+            Node<K, V> newLeft = without(node.left, key);
+            return newLeft == node.left ? node : balance(node.key, node.value, newLeft, node.right);
+        }
+        if (comparison > 0) {
+            Node<K, V> newRight = without(node.right, key);
+            return newRight == node.right ? node : balance(node.key, node.value, node.left, newRight);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node<K, V> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.key, successor.value, node.left, withoutFirst(node.right));
+    }
+
+    /**
+     * Returns the tree under {@code node} without its least entry.
+     */
+    private static <K, V> Node<K, V> withoutFirst(Node<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.key, node.value, withoutFirst(node.left), node.right);
+    }
+
+    /**
+     * Returns a node with {@code key} and {@code value} over {@code left} and {@code right}, whose heights differ by
+     * at most two, rotated so that the heights of its subtrees differ by at most one.
+     */
+    private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+        int leftHeight = heightOf(left);
+        int rightHeight = heightOf(right);
+        if (leftHeight > rightHeight + 1) {
+            if (heightOf(left.left) >= heightOf(left.right)) {
+                return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+            }
+            return new Node<>(left.right.key, left.right.value,
+                    new Node<>(left.key, left.value, left.left, left.right.left),
+                    new Node<>(key, value, left.right.right, right));
+        }
+        if (rightHeight > leftHeight + 1) {
+            if (heightOf(right.right) >= heightOf(right.left)) {
+                return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+            }
+            return new Node<>(right.left.key, right.left.value,
+                    new Node<>(key, value, left, right.left.left),
+                    new Node<>(right.key, right.value, right.left.right, right.right));
+        }
+        return new Node<>(key, value, left, right);
+    }
+
+    /**
+     * Returns a balanced tree of {@code keys[from]} to {@code keys[to - 1]}, which are sorted, and their values.
+     */
+    private static <K, V> Node<K, V> build(K[] keys, V[] values, int from, int to) {
+        if (from == to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        return new Node<>(requireNonNull(keys[middle]), values[middle], build(keys, values, from, middle),
+                build(keys, values, middle + 1, to));
+    }
+
+    private static int sizeOf(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int heightOf(Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * A node of the tree, which holds one entry and the entries less than and greater than it.
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private final Node<K, V> left;
+        private final Node<K, V> right;
+        private final int size;
+        private final int height;
+
+        Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.size = sizeOf(left) + sizeOf(right) + 1;
+            this.height = Math.max(heightOf(left), heightOf(right)) + 1;
+        }
+    }
+
+    /**
+     * Iterates over the entries of a tree in key order.
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        private final Deque<Node<K, V>> path = new ArrayDeque<>();
+
+        EntryIterator(Node<K, V> root) {
+            pushLeftmostPath(root);
+        }
+
+        private void pushLeftmostPath(Node<K, V> node) {
+            for (; node != null; node = node.left) {
+                path.push(node);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node<K, V> node = path.pop();
+            pushLeftmostPath(node.right);
+            return new SimpleImmutableEntry<>(node.key, node.value);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package seedu.address.model.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * An inverted index from the words in the searchable fields of some elements to the elements themselves.
+ *
+ * Each field of an element is split into words on whitespace, and the element is added to the posting set of
+ * every word, lower-cased, in that field. A search then only looks at the posting sets of the words searched for,
+ * instead of at every element. Elements are held by identity, so an element must be removed with the same
+ * instance that was added.
+ * An index is immutable: adding or removing an element derives a new index that shares all but the changed posting
+ * sets and the trie nodes leading to them with the original index, so keeping an old version of an index is cheap.
+ * The words of each field are kept in a {@code WordTrie}, so a keyword can also match the words that start with it,
+ * or the words within a small edit distance of it, without comparing it with every word.
+ * Each element found is given a relevance score, from the weights of the fields it matched in and how closely its
+ * words matched the keywords.
+ */
+public class SearchIndex<T> {
+
+    /**
+     * The fields that elements can be searched by, each with the weight of a match in it.
+     * Names and NRICs identify an element, so they weigh the most.
+     */
+    public enum Field {
+        NAME(3), NRIC(3), TAG(1), SPECIES(1), BREED(2), COLOUR(1), BLOOD_TYPE(1);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+    }
+
+    private final Map<Field, Function<T, String>> fieldGetters;
+    private final Map<Field, WordTrie<Postings<T>>> postings;
+
+    /**
+     * Creates an empty index over the fields in {@code fieldGetters}, each of which returns the text of that field
+     * of an element.
+     */
+    public SearchIndex(Map<Field, Function<T, String>> fieldGetters) {
+        requireNonNull(fieldGetters);
+        this.fieldGetters = new EnumMap<>(fieldGetters);
+        this.postings = new EnumMap<>(Field.class);
+        this.fieldGetters.keySet().forEach(field -> postings.put(field, WordTrie.empty()));
+    }
+
+    private SearchIndex(Map<Field, Function<T, String>> fieldGetters, Map<Field, WordTrie<Postings<T>>> postings) {
+        this.fieldGetters = fieldGetters;
+        this.postings = postings;
+    }
+
+    /**
+     * Returns an index with {@code element} added to the posting sets of the words in each of its fields.
+     */
+    public SearchIndex<T> with(T element) {
+        requireNonNull(element);
+        Map<Field, WordTrie<Postings<T>>> newPostings = new EnumMap<>(postings);
+        fieldGetters.forEach((field, getter) -> {
+            WordTrie<Postings<T>> fieldPostings = newPostings.get(field);
+            for (String word : toWords(getter.apply(element))) {
+                Postings<T> wordPostings = fieldPostings.get(word);
+                fieldPostings = fieldPostings.with(word, wordPostings == null
+                        ? new Postings<>(word, PersistentMap.<T, T>identity().with(element, element))
+                        : wordPostings.with(element));
+            }
+            newPostings.put(field, fieldPostings);
+        });
+        return new SearchIndex<>(fieldGetters, newPostings);
+    }
+
+    /**
+     * Returns an index with {@code element} removed from the posting sets of the words in each of its fields,
+     * dropping the sets that become empty.
+     */
+    public SearchIndex<T> without(T element) {
+        requireNonNull(element);
+        Map<Field, WordTrie<Postings<T>>> newPostings = new EnumMap<>(postings);
+        fieldGetters.forEach((field, getter) -> {
+            WordTrie<Postings<T>> fieldPostings = newPostings.get(field);
+            for (String word : toWords(getter.apply(element))) {
+                Postings<T> wordPostings = fieldPostings.get(word);
+                if (wordPostings == null) {
+                    continue;
+                }
+                Postings<T> newWordPostings = wordPostings.without(element);
+                fieldPostings = newWordPostings.elements.isEmpty()
+                        ? fieldPostings.without(word)
+                        : fieldPostings.with(word, newWordPostings);
+            }
+            newPostings.put(field, fieldPostings);
+        });
+        return new SearchIndex<>(fieldGetters, newPostings);
+    }
+
+    /**
+     * Returns the elements that, for every field in {@code keywords}, have a word in the field that matches at least
+     * one of that field's keywords, ignoring case.
+     * The posting sets of the keywords of a field are joined, and the sets of the fields are then intersected,
+     * starting from the smallest.
+     */
+    public Set<T> find(Map<Field, ? extends Collection<Keyword>> keywords) {
+        return score(keywords).keySet();
+    }
+
+    /**
+     * Returns the elements found by {@link #find(Map)}, each mapped to its relevance score.
+     * Every word of an element that matches a keyword adds the weight of its field to the score, in full if the word
+     * is the keyword, and in part if it only starts with the keyword or is spelt like it.
+     */
+    public Map<T, Double> score(Map<Field, ? extends Collection<Keyword>> keywords) {
+        requireNonNull(keywords);
+        List<Map<T, Double>> fieldMatches = new ArrayList<>();
+        keywords.forEach((field, fieldKeywords) -> {
+            WordTrie<Postings<T>> fieldPostings = postings.get(field);
+            if (fieldPostings == null) {
+                throw new IllegalArgumentException("Field is not indexed: " + field);
+            }
+            Map<T, Double> matches = new IdentityHashMap<>();
+            for (Keyword keyword : fieldKeywords) {
+                for (Postings<T> wordPostings : keyword.getPostings(fieldPostings)) {
+                    double score = field.getWeight() * keyword.getMatchQuality(wordPostings.word);
+                    wordPostings.elements.forEach((element, same) -> matches.merge(element, score, Double::sum));
+                }
+            }
+            fieldMatches.add(matches);
+        });
+
+        if (fieldMatches.isEmpty()) {
+            return new IdentityHashMap<>();
+        }
+        fieldMatches.sort(Comparator.comparingInt(Map::size));
+        Map<T, Double> result = fieldMatches.get(0);
+        for (Map<T, Double> matches : fieldMatches.subList(1, fieldMatches.size())) {
+            result.keySet().retainAll(matches.keySet());
+            result.replaceAll((element, score) -> score + matches.get(element));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the distinct lower-cased words of {@code text}.
+     */
+    private static Set<String> toWords(String text) {
+        Set<String> words = new HashSet<>();
+        for (String word : text.trim().split("\\s+")) {
+            if (!word.isEmpty()) {
+                words.add(normalize(word));
+            }
+        }
+        return words;
+    }
+
+    private static String normalize(String word) {
+        return word.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the largest number of edits allowed between a fuzzy keyword of {@code length} characters and the words
+     * it matches. Short keywords allow fewer edits, as most short words are within a few edits of each other.
+     */
+    static int getMaxEditDistance(int length) {
+        if (length <= 2) {
+            return 0;
+        } else if (length <= 5) {
+            return 1;
+        } else {
+            return 2;
+        }
+    }
+
+    /**
+     * A word of a field, and the elements that have the word in that field, each mapped to itself.
+     */
+    private static class Postings<T> {
+        private final String word;
+        private final PersistentMap<T, T> elements;
+
+        private Postings(String word, PersistentMap<T, T> elements) {
+            this.word = word;
+            this.elements = elements;
+        }
+
+        private Postings<T> with(T element) {
+            return new Postings<>(word, elements.with(element, element));
+        }
+
+        private Postings<T> without(T element) {
+            return new Postings<>(word, elements.without(element));
+        }
+    }
+
+    /**
+     * A keyword to search a field by, and how it matches the words of the field.
+     */
+    public static class Keyword {
+
+        /**
+         * How a keyword matches the words of a field.
+         */
+        public enum Match {
+            /** Matches the word that is the keyword. */
+            WORD,
+            /** Matches the words that start with the keyword. */
+            PREFIX,
+            /** Matches the words within a few edits of the keyword, as given by {@link #getMaxEditDistance(int)}. */
+            FUZZY
+        }
+
+        /** The part of the weight of a field added for a word that starts with a keyword without being it. */
+        private static final double PREFIX_MATCH_QUALITY = 0.6;
+        /** The part of the weight of a field added for a word that is spelt like a keyword without being it. */
+        private static final double FUZZY_MATCH_QUALITY = 0.4;
+
+        private final String word;
+        private final Match match;
+
+        public Keyword(String word, Match match) {
+            requireNonNull(word);
+            requireNonNull(match);
+            this.word = normalize(word);
+            this.match = match;
+        }
+
+        /**
+         * Returns a keyword that matches {@code word} as a whole word.
+         */
+        public static Keyword word(String word) {
+            return new Keyword(word, Match.WORD);
+        }
+
+        /**
+         * Returns the postings of the words in {@code fieldPostings} that this keyword matches.
+         */
+        private <T> List<Postings<T>> getPostings(WordTrie<Postings<T>> fieldPostings) {
+            switch (match) {
+            case WORD:
+                Postings<T> wordPostings = fieldPostings.get(word);
+                return wordPostings == null ? Collections.emptyList() : Collections.singletonList(wordPostings);
+            case PREFIX:
+                return fieldPostings.getWithPrefix(word);
+            case FUZZY:
+                return fieldPostings.getWithinDistance(word, getMaxEditDistance(word.length()));
+            default:
+                throw new AssertionError("Unknown match: " + match);
+            }
+        }
+
+        /**
+         * Returns the part of the weight of a field that {@code matchedWord}, a word this keyword matches, adds to
+         * the score of its elements.
+         */
+        private double getMatchQuality(String matchedWord) {
+            if (matchedWord.equals(word)) {
+                return 1;
+            }
+            return match == Match.PREFIX ? PREFIX_MATCH_QUALITY : FUZZY_MATCH_QUALITY;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other == this // short circuit if same object
+                    || (other instanceof Keyword // instanceof handles nulls
+                    && word.equals(((Keyword) other).word)
+                    && match == ((Keyword) other).match);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(word, match);
+        }
+
+        @Override
+        public String toString() {
+            return word + " (" + match + ")";
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package seedu.address.model.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable map from words to values that is stored as a trie of the characters of the words.
+ *
+ * Besides looking up a single word, the values of all the words that start with a prefix, or that are within an
+ * edit distance of a word, can be collected by walking only the branches of the trie that can still match. Words
+ * that share a prefix share the nodes of that prefix, so each branch is visited once for all of its words.
+ * Deriving a new trie with one word added or removed only copies the nodes along that word; every other node is
+ * shared with the original trie.
+ */
+public final class WordTrie<V> {
+
+    private static final WordTrie<?> EMPTY = new WordTrie<>(Node.leaf());
+
+    private final Node<V> root;
+
+    private WordTrie(Node<V> root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns an empty trie.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> WordTrie<V> empty() {
+        return (WordTrie<V>) EMPTY;
+    }
+
+    /**
+     * Returns the value of {@code word}, or null if the trie does not contain {@code word}.
+     */
+    public V get(String word) {
+        requireNonNull(word);
+        Node<V> node = find(word);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Returns a trie with {@code word} mapped to {@code value}, replacing the value {@code word} had, if any.
+     */
+    public WordTrie<V> with(String word, V value) {
+        requireNonNull(word);
+        requireNonNull(value);
+        return new WordTrie<>(with(root, word, 0, value));
+    }
+
+    /**
+     * Returns a trie without {@code word}, and without the nodes that no longer lead to any word.
+     */
+    public WordTrie<V> without(String word) {
+        requireNonNull(word);
+        Node<V> newRoot = without(root, word, 0);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? empty() : new WordTrie<>(newRoot);
+    }
+
+    /**
+     * Returns the values of all the words that start with {@code prefix}.
+     */
+    public List<V> getWithPrefix(String prefix) {
+        requireNonNull(prefix);
+        List<V> values = new ArrayList<>();
+        Node<V> node = find(prefix);
+        if (node != null) {
+            collect(node, values);
+        }
+        return values;
+    }
+
+    /**
+     * Returns the values of all the words that can be turned into {@code word} with at most {@code maxDistance}
+     * insertions, deletions or substitutions of a character.
+     *
+     * A row of the edit distance table of {@code word} is computed for each node visited, from the row of its parent.
+     * A branch is left as soon as every entry of its row exceeds {@code maxDistance}, as no word below it can match.
+     */
+    public List<V> getWithinDistance(String word, int maxDistance) {
+        requireNonNull(word);
+        List<V> values = new ArrayList<>();
+        int[] firstRow = new int[word.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+        collectWithinDistance(root, word, firstRow, maxDistance, values);
+        return values;
+    }
+
+    /**
+     * Adds the values of the words below {@code node} that are within {@code maxDistance} of {@code word}, given the
+     * row {@code row} of the edit distance table for the characters leading to {@code node}.
+     */
+    private static <V> void collectWithinDistance(Node<V> node, String word, int[] row, int maxDistance,
+                                                  List<V> values) {
+        if (node.value != null && row[word.length()] <= maxDistance) {
+            values.add(node.value);
+        }
+        for (int child = 0; child < node.keys.length; child++) {
+            char c = node.keys[child];
+            int[] nextRow = new int[row.length];
+            nextRow[0] = row[0] + 1;
+            int minDistance = nextRow[0];
+            for (int i = 1; i < row.length; i++) {
+                int substitution = row[i - 1] + (word.charAt(i - 1) == c ? 0 : 1);
+                nextRow[i] = Math.min(substitution, Math.min(row[i] + 1, nextRow[i - 1] + 1));
+                minDistance = Math.min(minDistance, nextRow[i]);
+            }
+            if (minDistance <= maxDistance) {
+                collectWithinDistance(node.children[child], word, nextRow, maxDistance, values);
+            }
+        }
+    }
+
+    /**
+     * Adds the values of {@code node} and of all the nodes below it to {@code values}.
+     */
+    private static <V> void collect(Node<V> node, List<V> values) {
+        if (node.value != null) {
+            values.add(node.value);
+        }
+        for (Node<V> child : node.children) {
+            collect(child, values);
+        }
+    }
+
+    /**
+     * Returns the node of {@code word}, or null if no word in the trie starts with {@code word}.
+     */
+    private Node<V> find(String word) {
+        Node<V> node = root;
+        for (int i = 0; i < word.length() && node != null; i++) {
+            node = node.getChild(word.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Returns a copy of {@code node}, which is reached by the first {@code depth} characters of {@code word},
+     * with the rest of {@code word} mapped to {@code value}.
+     */
+    private static <V> Node<V> with(Node<V> node, String word, int depth, V value) {
+        if (depth == word.length()) {
+            return new Node<>(node.keys, node.children, value);
+        }
+        char c = word.charAt(depth);
+        Node<V> child = node.getChild(c);
+        return node.withChild(c, with(child == null ? Node.leaf() : child, word, depth + 1, value));
+    }
+
+    /**
+     * Returns {@code node}, which is reached by the first {@code depth} characters of {@code word}, without the
+     * rest of {@code word}: {@code node} itself if it does not lead to {@code word}, or null if nothing is left.
+     */
+    private static <V> Node<V> without(Node<V> node, String word, int depth) {
+        Node<V> newNode;
+        if (depth == word.length()) {
+            if (node.value == null) {
+                return node;
+            }
+            newNode = new Node<>(node.keys, node.children, null);
+        } else {
+            char c = word.charAt(depth);
+            Node<V> child = node.getChild(c);
+            if (child == null) {
+                return node;
+            }
+            Node<V> newChild = without(child, word, depth + 1);
+            if (newChild == child) {
+                return node;
+            }
+            newNode = newChild == null ? node.withoutChild(c) : node.withChild(c, newChild);
+        }
+        return newNode.value == null && newNode.keys.length == 0 ? null : newNode;
+    }
+
+    /**
+     * A node of the trie, which holds the value of the word that ends at it, if any, and its children in order of
+     * the characters that lead to them.
+     */
+    private static final class Node<V> {
+        private final char[] keys;
+        private final Node<V>[] children;
+        private final V value;
+
+        Node(char[] keys, Node<V>[] children, V value) {
+            this.keys = keys;
+            this.children = children;
+            this.value = value;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <V> Node<V> leaf() {
+            return new Node<>(new char[0], (Node<V>[]) new Node<?>[0], null);
+        }
+
+        Node<V> getChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index < 0 ? null : children[index];
+        }
+
+        /**
+         * Returns a copy of this node with {@code child} as the child for {@code c}.
+         */
+        @SuppressWarnings("unchecked")
+        Node<V> withChild(char c, Node<V> child) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                Node<V>[] newChildren = children.clone();
+                newChildren[index] = child;
+                return new Node<>(keys, newChildren, value);
+            }
+            int insertion = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node<V>[] newChildren = (Node<V>[]) new Node<?>[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertion);
+            System.arraycopy(children, 0, newChildren, 0, insertion);
+            newKeys[insertion] = c;
+            newChildren[insertion] = child;
+            System.arraycopy(keys, insertion, newKeys, insertion + 1, keys.length - insertion);
+            System.arraycopy(children, insertion, newChildren, insertion + 1, children.length - insertion);
+            return new Node<>(newKeys, newChildren, value);
+        }
+
+        /**
+         * Returns a copy of this node without the child for {@code c}, which it has.
+         */
+        @SuppressWarnings("unchecked")
+        Node<V> withoutChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            char[] newKeys = new char[keys.length - 1];
+            Node<V>[] newChildren = (Node<V>[]) new Node<?>[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            return new Node<>(newKeys, newChildren, value);
+        }
+    }
+}
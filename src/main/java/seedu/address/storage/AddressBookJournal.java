@@ -0,0 +1,319 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.commons.util.FileUtil;
+import seedu.address.model.AddressBookMutation;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.person.Person;
+import seedu.address.model.petpatient.PetPatient;
+import seedu.address.model.tag.Tag;
+
+/**
+ * An append-only file of the mutations made to an address book since it was last saved in full.
+ *
+ * The journal starts with {@link #MAGIC}, a version number and the version of the saved address book it applies
+ * to. Each mutation is then appended as a record: its length, its type and entities in the
+ * {@link BinaryAddressBookFormat}, and a CRC32 checksum. A record cut short by a crash fails its checksum,
+ * and is dropped along with anything after it when the journal is next opened. A journal that does not apply to
+ * the saved address book is moved aside rather than deleted.
+ */
+public class AddressBookJournal {
+
+    public static final byte[] MAGIC = {'M', 'E', 'D', 'J'};
+    public static final int VERSION = 1;
+
+    private static final Logger logger = LogsCenter.getLogger(AddressBookJournal.class);
+
+    private final File file;
+    private FileChannel channel;
+    private int recordCount;
+
+    public AddressBookJournal(File file) {
+        requireNonNull(file);
+        this.file = file;
+    }
+
+    /**
+     * Returns the journal file kept alongside {@code addressBookFile}.
+     */
+    public static File getJournalFile(File addressBookFile) {
+        return new File(addressBookFile.getPath() + ".journal");
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns true if mutations can be appended, that is, if the journal has been opened or reset.
+     */
+    public boolean isOpen() {
+        return channel != null;
+    }
+
+    /**
+     * Returns the number of mutations in the journal.
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the file a journal that does not apply to the saved address book is moved to, instead of being
+     * deleted, so that its changes can still be recovered by hand.
+     */
+    public static File getDiscardedJournalFile(File journalFile) {
+        return new File(journalFile.getPath() + ".discarded");
+    }
+
+    /**
+     * Opens the journal for appending and returns the mutations in it, in the order they were made.
+     * If the journal is missing, or applies to a version of the address book other than {@code baseVersion} or
+     * one of {@code equivalentVersions}, an empty journal is started instead.
+     *
+     * @param equivalentVersions other names of {@code baseVersion}, such as the name an older release gave it.
+     * @throws DataConversionException if the journal holds a mutation that cannot be read.
+     */
+    public List<AddressBookMutation> open(String baseVersion, String... equivalentVersions)
+            throws DataConversionException, IOException {
+        requireNonNull(baseVersion);
+        requireNonNull(equivalentVersions);
+        close();
+        if (!file.exists()) {
+            reset(baseVersion);
+            return new ArrayList<>();
+        }
+
+        byte[] content = Files.readAllBytes(file.toPath());
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+        BinaryAddressBookFormat.Reader reader = new BinaryAddressBookFormat.Reader(in);
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC) || reader.readVarInt() != VERSION
+                    || !isVersionOf(reader.readString(), baseVersion, equivalentVersions)) {
+                File discardedFile = getDiscardedJournalFile(file);
+                logger.warning("Journal " + file + " does not apply to the saved address book, so its changes are "
+                        + "not shown. It is kept as " + discardedFile);
+                Files.move(file.toPath(), discardedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                reset(baseVersion);
+                return new ArrayList<>();
+            }
+        } catch (EOFException eofe) {
+            logger.warning("Discarding journal " + file + ", which has an incomplete header");
+            reset(baseVersion);
+            return new ArrayList<>();
+        }
+
+        List<AddressBookMutation> mutations = new ArrayList<>();
+        int validLength = content.length - in.available();
+        byte[] record;
+        while ((record = readRecord(in, reader)) != null) {
+            mutations.add(decode(record));
+            validLength = content.length - in.available();
+        }
+        if (validLength < content.length) {
+            logger.warning("Dropping " + (content.length - validLength) + " bytes of incomplete records from "
+                    + file);
+        }
+
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+        channel.truncate(validLength);
+        channel.position(validLength);
+        recordCount = mutations.size();
+        return mutations;
+    }
+
+    /**
+     * Returns true if {@code version} is {@code baseVersion} or one of {@code equivalentVersions}.
+     */
+    private static boolean isVersionOf(String version, String baseVersion, String... equivalentVersions) {
+        return version.equals(baseVersion) || Arrays.asList(equivalentVersions).contains(version);
+    }
+
+    /**
+     * Replaces the journal with an empty journal for version {@code baseVersion} of the address book,
+     * and opens it for appending.
+     */
+    public void reset(String baseVersion) throws IOException {
+        requireNonNull(baseVersion);
+        close();
+        FileUtil.writeToFileAtomically(file, out -> {
+            DataOutputStream header = new DataOutputStream(out);
+            header.write(MAGIC);
+            BinaryAddressBookFormat.Writer writer = new BinaryAddressBookFormat.Writer(header);
+            writer.writeVarInt(VERSION);
+            writer.writeString(baseVersion);
+            header.flush();
+        });
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        recordCount = 0;
+    }
+
+    /**
+     * Appends {@code mutation} to the journal, and waits for it to be written to the disk.
+     *
+     * @throws IllegalStateException if the journal is not open.
+     */
+    public void append(AddressBookMutation mutation) throws IOException {
+        requireNonNull(mutation);
+        append(Collections.singletonList(mutation));
+    }
+
+    /**
+     * Appends {@code mutations} to the journal, in order, as one record each. The records are written together and
+     * synced to the disk once.
+     *
+     * @throws IllegalStateException if the journal is not open.
+     */
+    public void append(List<AddressBookMutation> mutations) throws IOException {
+        requireNonNull(mutations);
+        if (channel == null) {
+            throw new IllegalStateException("Journal " + file + " is not open.");
+        }
+
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(records);
+        for (AddressBookMutation mutation : mutations) {
+            byte[] payload = encode(mutation);
+            new BinaryAddressBookFormat.Writer(out).writeVarInt(payload.length);
+            out.write(payload);
+            out.writeInt(checksum(payload));
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(records.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+        recordCount += mutations.size();
+    }
+
+    /**
+     * Closes the journal, if it is open. It must be opened or reset again before mutations can be appended.
+     */
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Returns the payload of the next record in {@code in}, or null if there are no more complete records.
+     */
+    private static byte[] readRecord(DataInputStream in, BinaryAddressBookFormat.Reader reader) throws IOException {
+        try {
+            int length = reader.readVarInt();
+            if (length < 0 || length > in.available() - Integer.BYTES) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            return in.readInt() == checksum(payload) ? payload : null;
+        } catch (EOFException | DataConversionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the record payload for {@code mutation}.
+     */
+    private static byte[] encode(AddressBookMutation mutation) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        BinaryAddressBookFormat.Writer writer = new BinaryAddressBookFormat.Writer(new DataOutputStream(payload));
+        writer.writeVarInt(mutation.getType().ordinal());
+        writeEntity(writer, mutation.getTarget());
+        if (mutation.getEditedTarget().isPresent()) {
+            writeEntity(writer, mutation.getEditedTarget().get());
+        }
+        return payload.toByteArray();
+    }
+
+    /**
+     * Writes {@code entity}, which is a person, pet patient, appointment or tag.
+     */
+    private static void writeEntity(BinaryAddressBookFormat.Writer writer, Object entity) throws IOException {
+        if (entity instanceof Person) {
+            writer.writePerson((Person) entity);
+        } else if (entity instanceof PetPatient) {
+            writer.writePetPatient((PetPatient) entity);
+        } else if (entity instanceof Appointment) {
+            writer.writeAppointment((Appointment) entity);
+        } else if (entity instanceof Tag) {
+            writer.writeTag((Tag) entity);
+        } else {
+            throw new AssertionError("Mutations are only made with persons, pet patients, appointments and tags.");
+        }
+    }
+
+    /**
+     * Returns the mutation in the record payload {@code record}.
+     *
+     * @throws DataConversionException if the payload does not hold a valid mutation.
+     */
+    private static AddressBookMutation decode(byte[] record) throws DataConversionException, IOException {
+        BinaryAddressBookFormat.Reader reader =
+                new BinaryAddressBookFormat.Reader(new DataInputStream(new ByteArrayInputStream(record)));
+        try {
+            int typeIndex = reader.readVarInt();
+            if (typeIndex < 0 || typeIndex >= AddressBookMutation.Type.values().length) {
+                throw new IllegalValueException("Unknown mutation type: " + typeIndex);
+            }
+            AddressBookMutation.Type type = AddressBookMutation.Type.values()[typeIndex];
+            Object target = readEntity(reader, type.getEntityClass());
+            Object editedTarget = type.isUpdate() ? readEntity(reader, type.getEntityClass()) : null;
+            return new AddressBookMutation(type, target, editedTarget);
+        } catch (EOFException | IllegalValueException | IllegalArgumentException e) {
+            // model constructors throw IllegalArgumentException for invalid values
+            throw new DataConversionException(e);
+        }
+    }
+
+    /**
+     * Reads an entity of class {@code entityClass}.
+     */
+    private static Object readEntity(BinaryAddressBookFormat.Reader reader, Class<?> entityClass)
+            throws DataConversionException, IOException {
+        if (entityClass == Person.class) {
+            return reader.readPerson();
+        } else if (entityClass == PetPatient.class) {
+            return reader.readPetPatient();
+        } else if (entityClass == Appointment.class) {
+            return reader.readAppointment();
+        } else if (entityClass == Tag.class) {
+            return reader.readTag();
+        } else {
+            throw new AssertionError("Mutations are only made with persons, pet patients, appointments and tags.");
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,526 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.model.AddressBook;
+import seedu.address.model.ReadOnlyAddressBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.Remark;
+import seedu.address.model.person.Address;
+import seedu.address.model.person.Email;
+import seedu.address.model.person.Name;
+import seedu.address.model.person.Nric;
+import seedu.address.model.person.Person;
+import seedu.address.model.person.Phone;
+import seedu.address.model.petpatient.BloodType;
+import seedu.address.model.petpatient.Breed;
+import seedu.address.model.petpatient.Colour;
+import seedu.address.model.petpatient.PetPatient;
+import seedu.address.model.petpatient.PetPatientName;
+import seedu.address.model.petpatient.Species;
+import seedu.address.model.tag.Tag;
+
+/**
+ * Converts address books to and from a compact binary format.
+ *
+ * The format starts with {@link #MAGIC} and a version number. Values that repeat across many entities (tag names,
+ * and the species, breed, colour and blood type of pet patients) are written once to a dictionary, and are then
+ * referred to by their position in it. Other strings are written as UTF-8, prefixed by their length in bytes.
+ * Appointment times are written as minutes since the epoch. Counts, lengths and positions are written as
+ * variable-length integers, so that small numbers take a single byte.
+ *
+ * Version 1 is laid out as: the dictionary, the master tag list, then the persons, appointments and pet patients,
+ * each list prefixed by its size.
+ */
+public class BinaryAddressBookFormat {
+
+    public static final byte[] MAGIC = {'M', 'E', 'D', 'B'};
+    public static final int VERSION = 1;
+
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_PAYLOAD_MASK = 0x7f;
+    private static final int VARINT_CONTINUATION_BIT = 0x80;
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    /**
+     * Writes {@code addressBook} to {@code out}. The stream is flushed, but not closed.
+     */
+    public static void write(ReadOnlyAddressBook addressBook, OutputStream out) throws IOException {
+        requireNonNull(addressBook);
+        requireNonNull(out);
+        new Writer(new DataOutputStream(new BufferedOutputStream(out))).writeAddressBook(addressBook);
+    }
+
+    /**
+     * Returns the address book read from {@code in}. The stream is not closed.
+     *
+     * @throws DataConversionException if the data is not an address book in this format, or holds invalid values.
+     */
+    public static AddressBook read(InputStream in) throws DataConversionException, IOException {
+        requireNonNull(in);
+        try {
+            return new Reader(new DataInputStream(new BufferedInputStream(in))).readAddressBook();
+        } catch (EOFException eofe) {
+            throw new DataConversionException(eofe);
+        } catch (IllegalValueException | IllegalArgumentException e) {
+            // model constructors throw IllegalArgumentException for invalid values
+            throw new DataConversionException(e);
+        }
+    }
+
+    /**
+     * Writes address books, or single entities, in this format.
+     */
+    static class Writer {
+        private final DataOutputStream out;
+        /** Positions of the values written through the dictionary, or null to write them in place. */
+        private Map<String, Integer> dictionary;
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        /**
+         * Writes {@code addressBook}, in the layout described in {@link BinaryAddressBookFormat}.
+         */
+        void writeAddressBook(ReadOnlyAddressBook addressBook) throws IOException {
+            buildDictionary(addressBook);
+
+            out.write(MAGIC);
+            writeVarInt(VERSION);
+
+            writeVarInt(dictionary.size());
+            for (String value : dictionary.keySet()) {
+                writeString(value);
+            }
+
+            writeTags(addressBook.getTagList());
+
+            writeVarInt(addressBook.getPersonList().size());
+            for (Person person : addressBook.getPersonList()) {
+                writePerson(person);
+            }
+
+            writeVarInt(addressBook.getAppointmentList().size());
+            for (Appointment appointment : addressBook.getAppointmentList()) {
+                writeAppointment(appointment);
+            }
+
+            writeVarInt(addressBook.getPetPatientList().size());
+            for (PetPatient petPatient : addressBook.getPetPatientList()) {
+                writePetPatient(petPatient);
+            }
+
+            out.flush();
+        }
+
+        /**
+         * Writes {@code person}. Values that would go through the dictionary are written in place unless
+         * a whole address book is being written.
+         */
+        void writePerson(Person person) throws IOException {
+            writeString(person.getName().fullName);
+            writeString(person.getPhone().value);
+            writeString(person.getEmail().value);
+            writeString(person.getAddress().value);
+            writeString(person.getNric().value);
+            writeTags(person.getTags());
+        }
+
+        /**
+         * Writes {@code appointment}, with its time as minutes since the epoch.
+         */
+        void writeAppointment(Appointment appointment) throws IOException {
+            writeString(appointment.getOwnerNric().value);
+            writeString(appointment.getPetPatientName().fullName);
+            writeString(appointment.getRemark().value);
+            writeDateTime(appointment.getDateTime());
+            writeTags(appointment.getAppointmentTags());
+        }
+
+        /**
+         * Writes {@code dateTime} as minutes since the epoch. Seconds are dropped.
+         */
+        void writeDateTime(LocalDateTime dateTime) throws IOException {
+            writeVarLong(Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_MINUTE));
+        }
+
+        /**
+         * Writes {@code petPatient}.
+         */
+        void writePetPatient(PetPatient petPatient) throws IOException {
+            writeString(petPatient.getName().fullName);
+            writeDictionaryValue(petPatient.getSpecies().species);
+            writeDictionaryValue(petPatient.getBreed().breed);
+            writeDictionaryValue(petPatient.getColour().colour);
+            writeDictionaryValue(petPatient.getBloodType().bloodType);
+            writeString(petPatient.getOwner().value);
+            writeTags(petPatient.getTags());
+        }
+
+        void writeTag(Tag tag) throws IOException {
+            writeDictionaryValue(tag.tagName);
+        }
+
+        /**
+         * Adds every value written through the dictionary to it, in the order they are first written.
+         */
+        private void buildDictionary(ReadOnlyAddressBook addressBook) {
+            dictionary = new LinkedHashMap<>();
+            addressBook.getTagList().forEach(this::addTagToDictionary);
+            addressBook.getPersonList().forEach(person -> person.getTags().forEach(this::addTagToDictionary));
+            addressBook.getAppointmentList().forEach(appointment ->
+                    appointment.getAppointmentTags().forEach(this::addTagToDictionary));
+            for (PetPatient petPatient : addressBook.getPetPatientList()) {
+                addToDictionary(petPatient.getSpecies().species);
+                addToDictionary(petPatient.getBreed().breed);
+                addToDictionary(petPatient.getColour().colour);
+                addToDictionary(petPatient.getBloodType().bloodType);
+                petPatient.getTags().forEach(this::addTagToDictionary);
+            }
+        }
+
+        private void addTagToDictionary(Tag tag) {
+            addToDictionary(tag.tagName);
+        }
+
+        private void addToDictionary(String value) {
+            dictionary.putIfAbsent(value, dictionary.size());
+        }
+
+        /**
+         * Writes the number of {@code tags}, followed by the dictionary position of each tag name.
+         */
+        private void writeTags(Collection<Tag> tags) throws IOException {
+            writeVarInt(tags.size());
+            for (Tag tag : tags) {
+                writeTag(tag);
+            }
+        }
+
+        /**
+         * Writes the position of {@code value} in the dictionary, or {@code value} itself if there is none.
+         */
+        private void writeDictionaryValue(String value) throws IOException {
+            if (dictionary == null) {
+                writeString(value);
+            } else {
+                writeVarInt(dictionary.get(value));
+            }
+        }
+
+        void writeString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+
+        void writeVarInt(int value) throws IOException {
+            writeVarLong(value & 0xffffffffL);
+        }
+
+        /**
+         * Writes {@code value}, treated as unsigned, seven bits at a time, lowest bits first.
+         */
+        private void writeVarLong(long value) throws IOException {
+            long remaining = value;
+            while ((remaining & ~VARINT_PAYLOAD_MASK) != 0) {
+                out.writeByte((int) (remaining & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION_BIT);
+                remaining >>>= VARINT_PAYLOAD_BITS;
+            }
+            out.writeByte((int) remaining);
+        }
+    }
+
+    /**
+     * Reads address books, or single entities, in this format.
+     */
+    /**
+     * The fields an entity is looked up by, read without decoding the rest of the entity: the NRIC of a person or
+     * of the owner of a pet patient or appointment, the name of the pet patient, and the date and time of the
+     * appointment. Fields that the entity does not have are null.
+     */
+    static class EntityKey {
+        final Nric nric;
+        final PetPatientName petPatientName;
+        final LocalDateTime dateTime;
+
+        EntityKey(Nric nric, PetPatientName petPatientName, LocalDateTime dateTime) {
+            this.nric = nric;
+            this.petPatientName = petPatientName;
+            this.dateTime = dateTime;
+        }
+    }
+
+    static class Reader {
+        private final DataInputStream in;
+        /** The values read through the dictionary, or null if they are written in place. */
+        private String[] dictionary;
+
+        Reader(DataInputStream in) {
+            this(in, null);
+        }
+
+        /**
+         * Creates a reader of entities in an address book with the dictionary {@code dictionary}, as returned by
+         * {@link #readHeader()}.
+         */
+        Reader(DataInputStream in, String[] dictionary) {
+            this.in = in;
+            this.dictionary = dictionary;
+        }
+
+        /**
+         * Reads an address book written by {@link Writer#writeAddressBook(ReadOnlyAddressBook)}.
+         */
+        AddressBook readAddressBook() throws DataConversionException, IllegalValueException, IOException {
+            readHeader();
+
+            AddressBook addressBook = new AddressBook();
+            for (Tag tag : readTags()) {
+                addressBook.addTag(tag);
+            }
+
+            int personCount = readCount();
+            for (int i = 0; i < personCount; i++) {
+                addressBook.addPerson(readPerson());
+            }
+
+            int appointmentCount = readCount();
+            for (int i = 0; i < appointmentCount; i++) {
+                addressBook.addAppointment(readAppointment());
+            }
+
+            int petPatientCount = readCount();
+            for (int i = 0; i < petPatientCount; i++) {
+                addressBook.addPetPatient(readPetPatient());
+            }
+
+            return addressBook;
+        }
+
+        /**
+         * Reads the magic number, version and dictionary that start an address book, and returns the dictionary.
+         * The master tag list follows.
+         */
+        String[] readHeader() throws DataConversionException, IOException {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new DataConversionException(new IllegalValueException("Not a binary Medeina file."));
+            }
+            int version = readVarInt();
+            if (version != VERSION) {
+                throw new DataConversionException(
+                        new IllegalValueException("Unsupported binary Medeina file version: " + version));
+            }
+
+            dictionary = new String[readCount()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = readString();
+            }
+            return dictionary;
+        }
+
+        /**
+         * Reads the NRIC of a person written by {@link Writer#writePerson(Person)}, and skips over the rest of the
+         * person without decoding it.
+         */
+        EntityKey readPersonKey() throws DataConversionException, IOException {
+            skipStrings(4);
+            Nric nric = new Nric(readString());
+            skipTags();
+            return new EntityKey(nric, null, null);
+        }
+
+        /**
+         * Reads the NRIC of the owner, the name of the pet patient and the date and time of an appointment written
+         * by {@link Writer#writeAppointment(Appointment)}, and skips over the rest of the appointment without
+         * decoding it.
+         */
+        EntityKey readAppointmentKey() throws DataConversionException, IOException {
+            Nric ownerNric = new Nric(readString());
+            PetPatientName petPatientName = new PetPatientName(readString());
+            skipStrings(1);
+            LocalDateTime dateTime = readDateTime();
+            skipTags();
+            return new EntityKey(ownerNric, petPatientName, dateTime);
+        }
+
+        /**
+         * Reads the NRIC of the owner and the name of a pet patient written by
+         * {@link Writer#writePetPatient(PetPatient)}, and skips over the rest of the pet patient without decoding it.
+         */
+        EntityKey readPetPatientKey() throws DataConversionException, IOException {
+            PetPatientName petPatientName = new PetPatientName(readString());
+            for (int i = 0; i < 4; i++) {
+                skipDictionaryValue();
+            }
+            Nric ownerNric = new Nric(readString());
+            skipTags();
+            return new EntityKey(ownerNric, petPatientName, null);
+        }
+
+        /**
+         * Reads a count or length, which cannot be negative.
+         */
+        int readCount() throws DataConversionException, IOException {
+            int count = readVarInt();
+            if (count < 0) {
+                throw new DataConversionException(new IllegalValueException("Invalid count: " + count));
+            }
+            return count;
+        }
+
+        /**
+         * Skips over tags written by {@link Writer#writeTags(Collection)}.
+         */
+        private void skipTags() throws DataConversionException, IOException {
+            int tagCount = readCount();
+            for (int i = 0; i < tagCount; i++) {
+                skipDictionaryValue();
+            }
+        }
+
+        /**
+         * Skips over a value written by {@link Writer#writeDictionaryValue(String)}.
+         */
+        private void skipDictionaryValue() throws DataConversionException, IOException {
+            if (dictionary == null) {
+                skipStrings(1);
+            } else {
+                readVarInt();
+            }
+        }
+
+        /**
+         * Skips over {@code count} strings written by {@link Writer#writeString(String)}.
+         */
+        private void skipStrings(int count) throws DataConversionException, IOException {
+            for (int i = 0; i < count; i++) {
+                int length = readCount();
+                if (in.skipBytes(length) != length) {
+                    throw new EOFException();
+                }
+            }
+        }
+
+        /**
+         * Reads a person written by {@link Writer#writePerson(Person)}.
+         */
+        Person readPerson() throws DataConversionException, IOException {
+            return new Person(new Name(readString()), new Phone(readString()), new Email(readString()),
+                    new Address(readString()), new Nric(readString()), readTags());
+        }
+
+        /**
+         * Reads an appointment written by {@link Writer#writeAppointment(Appointment)}.
+         */
+        Appointment readAppointment() throws DataConversionException, IOException {
+            Nric ownerNric = new Nric(readString());
+            PetPatientName petPatientName = new PetPatientName(readString());
+            Remark remark = new Remark(readString());
+            LocalDateTime dateTime = readDateTime();
+            return new Appointment(ownerNric, petPatientName, remark, dateTime, readTags());
+        }
+
+        /**
+         * Reads a date and time written by {@link Writer#writeDateTime(LocalDateTime)}.
+         */
+        LocalDateTime readDateTime() throws DataConversionException, IOException {
+            return LocalDateTime.ofEpochSecond(readVarLong() * SECONDS_PER_MINUTE, 0, ZoneOffset.UTC);
+        }
+
+        /**
+         * Reads a pet patient written by {@link Writer#writePetPatient(PetPatient)}.
+         */
+        PetPatient readPetPatient() throws DataConversionException, IOException {
+            return new PetPatient(new PetPatientName(readString()), new Species(readDictionaryValue()),
+                    new Breed(readDictionaryValue()), new Colour(readDictionaryValue()),
+                    new BloodType(readDictionaryValue()), new Nric(readString()), readTags());
+        }
+
+        Tag readTag() throws DataConversionException, IOException {
+            return new Tag(readDictionaryValue());
+        }
+
+        /**
+         * Reads tags written by {@link Writer#writeTags(Collection)}, in the order they were written.
+         */
+        Set<Tag> readTags() throws DataConversionException, IOException {
+            int tagCount = readCount();
+            Set<Tag> tags = new LinkedHashSet<>();
+            for (int i = 0; i < tagCount; i++) {
+                tags.add(readTag());
+            }
+            return tags;
+        }
+
+        /**
+         * Reads a position in the dictionary and returns the value at it, or reads the value in place if there is
+         * no dictionary.
+         */
+        private String readDictionaryValue() throws DataConversionException, IOException {
+            if (dictionary == null) {
+                return readString();
+            }
+            int index = readVarInt();
+            if (index < 0 || index >= dictionary.length) {
+                throw new DataConversionException(new IllegalValueException("Invalid dictionary index: " + index));
+            }
+            return dictionary[index];
+        }
+
+        String readString() throws DataConversionException, IOException {
+            byte[] bytes = new byte[readCount()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Reads a number written by {@link Writer#writeVarInt(int)}.
+         */
+        int readVarInt() throws DataConversionException, IOException {
+            long value = readVarLong();
+            if ((value & ~0xffffffffL) != 0) {
+                throw new DataConversionException(new IllegalValueException("Invalid number: " + value));
+            }
+            return (int) value;
+        }
+
+        /**
+         * Reads a number written by {@link Writer#writeVarLong(long)}.
+         */
+        private long readVarLong() throws DataConversionException, IOException {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += VARINT_PAYLOAD_BITS) {
+                int b = in.readUnsignedByte();
+                value |= (long) (b & VARINT_PAYLOAD_MASK) << shift;
+                if ((b & VARINT_CONTINUATION_BIT) == 0) {
+                    return value;
+                }
+            }
+            throw new DataConversionException(new IllegalValueException("Variable-length number is too long."));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.util.FileUtil;
+import seedu.address.model.ReadOnlyAddressBook;
+
+/**
+ * A class to access AddressBook data stored in the {@link BinaryAddressBookFormat} on the hard disk.
+ *
+ * Files are replaced atomically when saved, and their previous versions are kept as {@link FileBackups}.
+ */
+public class BinaryAddressBookStorage implements AddressBookStorage {
+
+    private static final Logger logger = LogsCenter.getLogger(BinaryAddressBookStorage.class);
+
+    private String filePath;
+    private final FileBackups backups;
+    private final boolean isCompressed;
+
+    public BinaryAddressBookStorage(String filePath) {
+        this(filePath, FileBackups.DEFAULT_BACKUP_COUNT);
+    }
+
+    /**
+     * @param backupCount number of previous versions of the file to keep.
+     */
+    public BinaryAddressBookStorage(String filePath, int backupCount) {
+        this(filePath, backupCount, false);
+    }
+
+    /**
+     * @param isCompressed whether the file and its backups are written compressed in the GZIP format.
+     *                     Files are read whether they are compressed or not.
+     */
+    public BinaryAddressBookStorage(String filePath, int backupCount, boolean isCompressed) {
+        this.filePath = filePath;
+        this.backups = new FileBackups(backupCount);
+        this.isCompressed = isCompressed;
+    }
+
+    public String getAddressBookFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlyAddressBook> readAddressBook() throws DataConversionException, IOException {
+        return readAddressBook(filePath);
+    }
+
+    /**
+     * Similar to {@link #readAddressBook()}
+     * @param filePath location of the data. Cannot be null
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    public Optional<ReadOnlyAddressBook> readAddressBook(String filePath) throws DataConversionException,
+        IOException {
+        requireNonNull(filePath);
+
+        File addressBookFile = new File(filePath);
+
+        if (!addressBookFile.exists()) {
+            logger.info("AddressBook file "  + addressBookFile + " not found");
+            return Optional.empty();
+        }
+
+        try (InputStream in = FileUtil.openDecompressed(addressBookFile)) {
+            return Optional.of(BinaryAddressBookFormat.read(in));
+        } catch (DataConversionException dce) {
+            logger.info("Unable to read " + addressBookFile + ": " + dce.getCause());
+            throw dce;
+        }
+    }
+
+    @Override
+    public void saveAddressBook(ReadOnlyAddressBook addressBook) throws IOException {
+        saveAddressBook(addressBook, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveAddressBook(ReadOnlyAddressBook)}
+     * @param filePath location of the data. Cannot be null
+     */
+    public void saveAddressBook(ReadOnlyAddressBook addressBook, String filePath) throws IOException {
+        requireNonNull(addressBook);
+        requireNonNull(filePath);
+
+        File file = new File(filePath);
+        backups.backUpCurrentVersion(file);
+        FileUtil.writeToFileAtomically(file, isCompressed, out -> BinaryAddressBookFormat.write(addressBook, out));
+    }
+
+    /**
+     * Saves {@code addressBook} as the latest backup of the address book file, pushing the older backups back.
+     */
+    @Override
+    public void backupAddressBook(ReadOnlyAddressBook addressBook) throws IOException {
+        requireNonNull(addressBook);
+
+        File backupFile = backups.makeRoomForLatestBackup(new File(filePath));
+        FileUtil.writeToFileAtomically(backupFile, isCompressed,
+            out -> BinaryAddressBookFormat.write(addressBook, out));
+    }
+
+}
@@ -0,0 +1,191 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.model.AddressBookMutation;
+import seedu.address.model.ReadOnlyAddressBook;
+
+/**
+ * Saves address books on a single background thread.
+ *
+ * A save is written {@code debounceMillis} after the first request following the previous write. All requests
+ * made in the meantime are coalesced into that one write, which saves the latest address book requested.
+ * The address books passed in must not change after they are passed in.
+ *
+ * When saving to a {@link JournaledAddressBookStorage}, single mutations are appended to its journal right away
+ * instead, and the address book is only saved in full once the journal holds {@code compactionThreshold}
+ * mutations, or when a change that is not a single mutation is requested.
+ */
+public class DebouncedAddressBookSaver {
+
+    private static final Logger logger = LogsCenter.getLogger(DebouncedAddressBookSaver.class);
+
+    private final AddressBookStorage addressBookStorage;
+    private final JournaledAddressBookStorage journaledStorage;
+    private final int compactionThreshold;
+    private final Consumer<Exception> saveFailureHandler;
+    private final long debounceMillis;
+    private final ScheduledExecutorService executor;
+
+    private ReadOnlyAddressBook pendingAddressBook;
+    private boolean isSaveScheduled;
+
+    /** The number of changes requested so far. */
+    private long requestedChangeCount;
+    /** The number of changes requested when {@link #pendingAddressBook} was requested. */
+    private long pendingChangeCount;
+    /** The number of changes written so far, in full or to the journal. Used on the saver thread only. */
+    private long savedChangeCount;
+    /** True if the latest save in full failed, so the journal is missing changes. Used on the saver thread only. */
+    private boolean isJournalBehind;
+
+    /**
+     * Creates a saver that writes to {@code addressBookStorage} and passes any exception thrown while writing to
+     * {@code saveFailureHandler}, on the background thread. Unchecked exceptions are passed on as well, as the
+     * futures of the background tasks are never read.
+     */
+    public DebouncedAddressBookSaver(AddressBookStorage addressBookStorage,
+                                     Consumer<Exception> saveFailureHandler, long debounceMillis) {
+        this(addressBookStorage, null, 0, saveFailureHandler, debounceMillis);
+    }
+
+    /**
+     * Creates a saver that appends single mutations to the journal of {@code journaledStorage}, and saves the
+     * address book in full once the journal holds {@code compactionThreshold} mutations.
+     */
+    public DebouncedAddressBookSaver(JournaledAddressBookStorage journaledStorage, int compactionThreshold,
+                                     Consumer<Exception> saveFailureHandler, long debounceMillis) {
+        this(journaledStorage, journaledStorage, compactionThreshold, saveFailureHandler, debounceMillis);
+        requireNonNull(journaledStorage);
+    }
+
+    private DebouncedAddressBookSaver(AddressBookStorage addressBookStorage,
+                                      JournaledAddressBookStorage journaledStorage, int compactionThreshold,
+                                      Consumer<Exception> saveFailureHandler, long debounceMillis) {
+        requireNonNull(addressBookStorage);
+        requireNonNull(saveFailureHandler);
+        this.addressBookStorage = addressBookStorage;
+        this.journaledStorage = journaledStorage;
+        this.compactionThreshold = Math.max(1, compactionThreshold);
+        this.saveFailureHandler = saveFailureHandler;
+        this.debounceMillis = Math.max(0, debounceMillis);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "address-book-saver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Requests {@code addressBook} to be saved once the debounce window has passed.
+     */
+    public synchronized void requestSave(ReadOnlyAddressBook addressBook) {
+        requireNonNull(addressBook);
+        requestedChangeCount++;
+        pendingAddressBook = addressBook;
+        pendingChangeCount = requestedChangeCount;
+        if (!isSaveScheduled) {
+            isSaveScheduled = true;
+            executor.schedule(this::savePendingAddressBook, debounceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Requests {@code mutations}, which changed the address book into {@code addressBook}, to be saved.
+     * Without a journal, this is the same as {@link #requestSave(ReadOnlyAddressBook)}.
+     */
+    public synchronized void requestSave(List<AddressBookMutation> mutations, ReadOnlyAddressBook addressBook) {
+        requireNonNull(mutations);
+        if (journaledStorage == null || isSaveScheduled) {
+            // a save in full will be written anyway, and will include these mutations
+            requestSave(addressBook);
+            return;
+        }
+        requestedChangeCount++;
+        long changeCount = requestedChangeCount;
+        executor.execute(() -> appendToJournal(mutations, addressBook, changeCount));
+    }
+
+    /**
+     * Saves the address book waiting to be saved, if any, without waiting for the debounce window to pass.
+     * Returns once every save requested before this call has been written.
+     */
+    public void flush() {
+        Future<?> flushed = executor.submit(this::savePendingAddressBook);
+        try {
+            flushed.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ee) {
+            throw new AssertionError("Saving should not throw unchecked exceptions.", ee.getCause());
+        }
+    }
+
+    /**
+     * Writes the address book waiting to be saved, if any.
+     */
+    private void savePendingAddressBook() {
+        ReadOnlyAddressBook addressBook;
+        long changeCount;
+        synchronized (this) {
+            addressBook = pendingAddressBook;
+            changeCount = pendingChangeCount;
+            pendingAddressBook = null;
+            isSaveScheduled = false;
+        }
+        if (addressBook == null) {
+            return;
+        }
+        save(addressBook, changeCount);
+    }
+
+    /**
+     * Appends {@code mutations}, the {@code changeCount}-th change requested, to the journal. The address book is
+     * saved in full as {@code addressBook} instead if the journal cannot take them, or is due to be compacted.
+     */
+    private void appendToJournal(List<AddressBookMutation> mutations, ReadOnlyAddressBook addressBook,
+                                 long changeCount) {
+        if (changeCount <= savedChangeCount) {
+            return;
+        }
+
+        try {
+            if (!isJournalBehind && journaledStorage.appendToJournal(mutations)) {
+                savedChangeCount = changeCount;
+                if (journaledStorage.getJournalRecordCount() < compactionThreshold) {
+                    return;
+                }
+                logger.fine("Compacting the journal of " + addressBookStorage.getAddressBookFilePath());
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warning("Unable to append to the journal, saving in full instead: " + e.getMessage());
+        }
+        save(addressBook, changeCount);
+    }
+
+    /**
+     * Saves {@code addressBook}, which includes the first {@code changeCount} changes requested, in full.
+     */
+    private void save(ReadOnlyAddressBook addressBook, long changeCount) {
+        logger.fine("Writing address book to file: " + addressBookStorage.getAddressBookFilePath());
+        try {
+            addressBookStorage.saveAddressBook(addressBook);
+            savedChangeCount = changeCount;
+            isJournalBehind = false;
+        } catch (IOException | RuntimeException e) {
+            isJournalBehind = true;
+            saveFailureHandler.accept(e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package seedu.address.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.logging.Logger;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.util.FileUtil;
+
+/**
+ * Keeps the previous {@code backupCount} versions of data files alongside them, in {@code <file>.backup.1}
+ * (the latest) to {@code <file>.backup.<backupCount>} (the oldest).
+ */
+public class FileBackups {
+
+    public static final int DEFAULT_BACKUP_COUNT = 3;
+
+    private static final Logger logger = LogsCenter.getLogger(FileBackups.class);
+
+    private final int backupCount;
+
+    public FileBackups(int backupCount) {
+        this.backupCount = Math.max(0, backupCount);
+    }
+
+    /**
+     * Returns the {@code generation}-th latest backup of {@code file}.
+     */
+    public static File getBackupFile(File file, int generation) {
+        return new File(file.getPath() + ".backup." + generation);
+    }
+
+    /**
+     * Keeps the current contents of {@code file}, if any, as its latest backup, pushing the older backups back.
+     * {@code file} must then be replaced by a rename rather than written over, to leave the backup intact.
+     */
+    public void backUpCurrentVersion(File file) throws IOException {
+        if (!FileUtil.isFileExists(file) || backupCount == 0) {
+            return;
+        }
+        rotateBackups(file);
+        File latestBackup = getBackupFile(file, 1);
+        // a hard link avoids copying the file on every save
+        try {
+            Files.createLink(latestBackup.toPath(), file.toPath());
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.fine("Unable to link " + latestBackup + ", copying instead: " + e.getMessage());
+            Files.copy(file.toPath(), latestBackup.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Pushes the backups of {@code file} back and returns the file to write the latest backup to.
+     */
+    public File makeRoomForLatestBackup(File file) throws IOException {
+        if (backupCount > 0) {
+            rotateBackups(file);
+        }
+        return getBackupFile(file, 1);
+    }
+
+    /**
+     * Moves each backup of {@code file} back by one generation, dropping the oldest backup.
+     */
+    private void rotateBackups(File file) throws IOException {
+        Files.deleteIfExists(getBackupFile(file, backupCount).toPath());
+        for (int generation = backupCount - 1; generation >= 1; generation--) {
+            File backupFile = getBackupFile(file, generation);
+            if (backupFile.exists()) {
+                Files.move(backupFile.toPath(), getBackupFile(file, generation + 1).toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+}
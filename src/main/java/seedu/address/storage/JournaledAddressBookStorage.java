@@ -0,0 +1,187 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.model.AddressBook;
+import seedu.address.model.AddressBookMutation;
+import seedu.address.model.ReadOnlyAddressBook;
+
+/**
+ * Keeps an {@link AddressBookJournal} of the mutations made since the address book was last saved in full
+ * by another {@code AddressBookStorage}, so that a single change costs one small append.
+ *
+ * Saving the address book in full compacts the journal: the journal is emptied once the address book is saved.
+ * Reading the address book reads the full save and makes the mutations in the journal again.
+ * The journal names the full save it applies to by the checksum of the saved file.
+ */
+public class JournaledAddressBookStorage implements AddressBookStorage {
+
+    /** The version of the full save when there is none. */
+    private static final String NO_SAVED_VERSION = "none";
+
+    private static final int CHECKSUM_BUFFER_SIZE = 64 * 1024;
+
+    private static final Logger logger = LogsCenter.getLogger(JournaledAddressBookStorage.class);
+
+    private final AddressBookStorage snapshotStorage;
+    private final AddressBookJournal journal;
+
+    public JournaledAddressBookStorage(AddressBookStorage snapshotStorage) {
+        requireNonNull(snapshotStorage);
+        this.snapshotStorage = snapshotStorage;
+        this.journal = new AddressBookJournal(
+                AddressBookJournal.getJournalFile(new File(snapshotStorage.getAddressBookFilePath())));
+    }
+
+    @Override
+    public String getAddressBookFilePath() {
+        return snapshotStorage.getAddressBookFilePath();
+    }
+
+    /**
+     * Returns the number of mutations made since the address book was last saved in full.
+     */
+    public synchronized int getJournalRecordCount() {
+        return journal.getRecordCount();
+    }
+
+    @Override
+    public Optional<ReadOnlyAddressBook> readAddressBook() throws DataConversionException, IOException {
+        return readAddressBook(getAddressBookFilePath());
+    }
+
+    /**
+     * Reads the address book saved in full at {@code filePath}. If {@code filePath} is the file this storage
+     * saves to, the mutations in the journal are then made again, and the journal is opened for appending.
+     */
+    @Override
+    public synchronized Optional<ReadOnlyAddressBook> readAddressBook(String filePath)
+            throws DataConversionException, IOException {
+        requireNonNull(filePath);
+        Optional<ReadOnlyAddressBook> savedAddressBook = snapshotStorage.readAddressBook(filePath);
+        if (!isOwnFile(filePath)) {
+            return savedAddressBook;
+        }
+
+        List<AddressBookMutation> mutations = journal.open(getSavedVersion(), getLegacySavedVersion());
+        if (mutations.isEmpty()) {
+            return savedAddressBook;
+        }
+
+        logger.info("Replaying " + mutations.size() + " changes from " + journal.getFile());
+        AddressBook addressBook = new AddressBook(savedAddressBook.orElseGet(AddressBook::new));
+        for (AddressBookMutation mutation : mutations) {
+            try {
+                mutation.applyTo(addressBook);
+            } catch (IllegalValueException ive) {
+                throw new DataConversionException(ive);
+            }
+        }
+        return Optional.of(addressBook);
+    }
+
+    /**
+     * Appends {@code mutation} to the journal. Returns false, leaving the journal unchanged, if the address book
+     * has to be saved in full instead, because there is no full save for the journal to apply to.
+     */
+    public boolean appendToJournal(AddressBookMutation mutation) throws IOException {
+        requireNonNull(mutation);
+        return appendToJournal(Collections.singletonList(mutation));
+    }
+
+    /**
+     * Appends {@code mutations} to the journal, in order, with a single write. Returns false, leaving the journal
+     * unchanged, if the address book has to be saved in full instead.
+     */
+    public synchronized boolean appendToJournal(List<AddressBookMutation> mutations) throws IOException {
+        requireNonNull(mutations);
+        if (!journal.isOpen() || !new File(getAddressBookFilePath()).exists()) {
+            return false;
+        }
+        journal.append(mutations);
+        return true;
+    }
+
+    @Override
+    public void saveAddressBook(ReadOnlyAddressBook addressBook) throws IOException {
+        saveAddressBook(addressBook, getAddressBookFilePath());
+    }
+
+    /**
+     * Saves {@code addressBook} in full to {@code filePath}. If {@code filePath} is the file this storage saves to,
+     * the journal is emptied afterwards, as the save includes every mutation in it.
+     */
+    @Override
+    public synchronized void saveAddressBook(ReadOnlyAddressBook addressBook, String filePath) throws IOException {
+        requireNonNull(addressBook);
+        requireNonNull(filePath);
+        if (!isOwnFile(filePath)) {
+            snapshotStorage.saveAddressBook(addressBook, filePath);
+            return;
+        }
+
+        // the journal applies to the previous full save until it is reset, which is what it holds if saving fails
+        snapshotStorage.saveAddressBook(addressBook, filePath);
+        journal.reset(getSavedVersion());
+    }
+
+    @Override
+    public void backupAddressBook(ReadOnlyAddressBook addressBook) throws IOException {
+        snapshotStorage.backupAddressBook(addressBook);
+    }
+
+    private boolean isOwnFile(String filePath) {
+        return new File(filePath).getAbsoluteFile().equals(new File(getAddressBookFilePath()).getAbsoluteFile());
+    }
+
+    /**
+     * Returns the checksum and length of the address book file, which name the content of the full save.
+     *
+     * Unlike the identity or modification time of the file, the content is kept when the file is copied, moved or
+     * restored, so the journal keeps applying to it. A journal only stops applying once the content is different.
+     */
+    private String getSavedVersion() throws IOException {
+        File file = new File(getAddressBookFilePath());
+        if (!file.exists()) {
+            return NO_SAVED_VERSION;
+        }
+        CRC32 crc = new CRC32();
+        long length = 0;
+        byte[] buffer = new byte[CHECKSUM_BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+                length += read;
+            }
+        }
+        return String.format("crc32:%08x/%d", crc.getValue(), length);
+    }
+
+    /**
+     * Returns the version of the full save as named by journals written before the version was a checksum: the
+     * identity, size and modification time of the file. Journals naming the file this way are still accepted.
+     */
+    private String getLegacySavedVersion() throws IOException {
+        File file = new File(getAddressBookFilePath());
+        if (!file.exists()) {
+            return NO_SAVED_VERSION;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        return attributes.fileKey() + "/" + attributes.size() + "/" + attributes.lastModifiedTime();
+    }
+}
@@ -0,0 +1,368 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.IndexedAddressBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.UniqueAppointmentList;
+import seedu.address.model.person.Nric;
+import seedu.address.model.person.Person;
+import seedu.address.model.person.UniquePersonList;
+import seedu.address.model.petpatient.PetPatient;
+import seedu.address.model.petpatient.PetPatientName;
+import seedu.address.model.petpatient.UniquePetPatientList;
+import seedu.address.model.tag.Tag;
+import seedu.address.model.util.SearchIndex;
+import seedu.address.model.util.SearchIndex.Field;
+import seedu.address.model.util.SearchIndex.Keyword;
+
+/**
+ * A read-only address book backed by a memory-mapped file in the {@link BinaryAddressBookFormat}.
+ *
+ * Only the dictionary and master tag list are decoded when the file is mapped. The file is then scanned for where
+ * each person, appointment and pet patient starts, and each of them is decoded the first time it is accessed.
+ * The scan also reads the fields entities are looked up by, the NRICs, pet patient names and appointment times, so
+ * a lookup only decodes the entities it returns. Only a search decodes every person or pet patient, to index the
+ * words in them the first time they are searched.
+ * The file must not be changed while it is mapped.
+ */
+public class MappedAddressBook implements IndexedAddressBook {
+
+    private final ObservableList<Tag> tags;
+    private final ObservableList<Person> persons;
+    private final ObservableList<Appointment> appointments;
+    private final ObservableList<PetPatient> petPatients;
+
+    private final Map<Nric, Integer> personIndexes = new HashMap<>();
+    private final Map<Nric, Map<PetPatientName, Integer>> petPatientIndexes = new HashMap<>();
+    private final Map<Nric, Map<PetPatientName, List<Integer>>> appointmentIndexes = new HashMap<>();
+    private final NavigableMap<LocalDateTime, Integer> appointmentIndexesByDateTime = new TreeMap<>();
+
+    /** The words of the persons and pet patients, once they have been searched. */
+    private SearchIndex<Person> personSearchIndex;
+    private SearchIndex<PetPatient> petPatientSearchIndex;
+
+    private MappedAddressBook(MappedByteBuffer buffer) throws DataConversionException, IOException {
+        ByteBuffer input = buffer.duplicate();
+        BinaryAddressBookFormat.Reader reader = newReader(input, null);
+        String[] dictionary = reader.readHeader();
+        tags = FXCollections.unmodifiableObservableList(FXCollections.observableArrayList(reader.readTags()));
+
+        int[] personOffsets = new int[reader.readCount()];
+        for (int i = 0; i < personOffsets.length; i++) {
+            personOffsets[i] = input.position();
+            personIndexes.put(reader.readPersonKey().nric, i);
+        }
+        int[] appointmentOffsets = new int[reader.readCount()];
+        for (int i = 0; i < appointmentOffsets.length; i++) {
+            appointmentOffsets[i] = input.position();
+            BinaryAddressBookFormat.EntityKey key = reader.readAppointmentKey();
+            appointmentIndexes.computeIfAbsent(key.nric, ownerNric -> new HashMap<>())
+                    .computeIfAbsent(key.petPatientName, petPatientName -> new ArrayList<>()).add(i);
+            appointmentIndexesByDateTime.put(key.dateTime, i);
+        }
+        int[] petPatientOffsets = new int[reader.readCount()];
+        for (int i = 0; i < petPatientOffsets.length; i++) {
+            petPatientOffsets[i] = input.position();
+            BinaryAddressBookFormat.EntityKey key = reader.readPetPatientKey();
+            petPatientIndexes.computeIfAbsent(key.nric, ownerNric -> new LinkedHashMap<>())
+                    .put(key.petPatientName, i);
+        }
+
+        persons = new LazilyDecodedList<>(buffer, dictionary, personOffsets,
+                BinaryAddressBookFormat.Reader::readPerson);
+        appointments = new LazilyDecodedList<>(buffer, dictionary, appointmentOffsets,
+                BinaryAddressBookFormat.Reader::readAppointment);
+        petPatients = new LazilyDecodedList<>(buffer, dictionary, petPatientOffsets,
+                BinaryAddressBookFormat.Reader::readPetPatient);
+    }
+
+    /**
+     * Maps {@code file} into memory and returns the address book in it.
+     *
+     * @throws DataConversionException if the file is not in the {@link BinaryAddressBookFormat}.
+     */
+    public static MappedAddressBook map(File file) throws DataConversionException, IOException {
+        requireNonNull(file);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too large to be mapped.");
+            }
+            // the mapping stays valid after the channel is closed
+            return new MappedAddressBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (EOFException | IllegalArgumentException e) {
+            // model constructors throw IllegalArgumentException for invalid values
+            throw new DataConversionException(e);
+        }
+    }
+
+    @Override
+    public ObservableList<Person> getPersonList() {
+        return persons;
+    }
+
+    @Override
+    public ObservableList<Tag> getTagList() {
+        return tags;
+    }
+
+    @Override
+    public ObservableList<Appointment> getAppointmentList() {
+        return appointments;
+    }
+
+    @Override
+    public ObservableList<PetPatient> getPetPatientList() {
+        return petPatients;
+    }
+
+    @Override
+    public Person getPersonWithNric(Nric nric) {
+        requireNonNull(nric);
+        Integer index = personIndexes.get(nric);
+        return index == null ? null : persons.get(index);
+    }
+
+    @Override
+    public PetPatient getPetPatientWithNricAndName(Nric ownerNric, PetPatientName petPatientName) {
+        requireAllNonNull(ownerNric, petPatientName);
+        Integer index = petPatientIndexes.getOrDefault(ownerNric, Collections.emptyMap()).get(petPatientName);
+        return index == null ? null : petPatients.get(index);
+    }
+
+    @Override
+    public List<PetPatient> getPetPatientsWithNric(Nric ownerNric) {
+        requireNonNull(ownerNric);
+        return petPatientIndexes.getOrDefault(ownerNric, Collections.emptyMap()).values().stream()
+                .map(petPatients::get)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Appointment> getAppointmentsWithNric(Nric ownerNric) {
+        requireNonNull(ownerNric);
+        return appointmentIndexes.getOrDefault(ownerNric, Collections.emptyMap()).values().stream()
+                .flatMap(List::stream)
+                .sorted()
+                .map(appointments::get)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Appointment> getAppointmentsWithNricAndPetName(Nric ownerNric, PetPatientName petPatientName) {
+        requireAllNonNull(ownerNric, petPatientName);
+        return appointmentIndexes.getOrDefault(ownerNric, Collections.emptyMap())
+                .getOrDefault(petPatientName, Collections.emptyList()).stream()
+                .map(appointments::get)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Appointment getAppointmentAt(LocalDateTime dateTime) {
+        requireNonNull(dateTime);
+        Integer index = appointmentIndexesByDateTime.get(dateTime);
+        return index == null ? null : appointments.get(index);
+    }
+
+    /**
+     * Returns true if an appointment at {@code dateTime} would overlap an existing appointment that does not start
+     * at exactly {@code dateTime}, ignoring the appointment at {@code excludedDateTime}, which may be null.
+     */
+    @Override
+    public boolean hasConcurrentAppointment(LocalDateTime dateTime, LocalDateTime excludedDateTime) {
+        requireNonNull(dateTime);
+        LocalDateTime before = appointmentIndexesByDateTime.lowerKey(dateTime);
+        if (before != null && before.equals(excludedDateTime)) {
+            before = appointmentIndexesByDateTime.lowerKey(before);
+        }
+        LocalDateTime after = appointmentIndexesByDateTime.higherKey(dateTime);
+        if (after != null && after.equals(excludedDateTime)) {
+            after = appointmentIndexesByDateTime.higherKey(after);
+        }
+        int duration = UniqueAppointmentList.APPOINTMENT_DURATION_MINUTES;
+        return (before != null && dateTime.isBefore(before.plusMinutes(duration)))
+                || (after != null && dateTime.plusMinutes(duration).isAfter(after));
+    }
+
+    @Override
+    public boolean hasAppointmentInYear(int year) {
+        LocalDateTime first = appointmentIndexesByDateTime.ceilingKey(LocalDate.of(year, 1, 1).atStartOfDay());
+        return first != null && first.getYear() == year;
+    }
+
+    /**
+     * Returns the persons matching {@code keywords}, each mapped to its relevance score. The first search decodes
+     * every person, to index the words in them.
+     */
+    @Override
+    public synchronized Map<Person, Double> findPersons(Map<Field, List<Keyword>> keywords) {
+        requireNonNull(keywords);
+        if (personSearchIndex == null) {
+            personSearchIndex = buildSearchIndex(persons, new SearchIndex<>(UniquePersonList.getSearchableFields()));
+        }
+        return personSearchIndex.score(keywords);
+    }
+
+    /**
+     * Returns the pet patients matching {@code keywords}, each mapped to its relevance score. The first search
+     * decodes every pet patient, to index the words in them.
+     */
+    @Override
+    public synchronized Map<PetPatient, Double> findPetPatients(Map<Field, List<Keyword>> keywords) {
+        requireNonNull(keywords);
+        if (petPatientSearchIndex == null) {
+            petPatientSearchIndex = buildSearchIndex(petPatients,
+                    new SearchIndex<>(UniquePetPatientList.getSearchableFields()));
+        }
+        return petPatientSearchIndex.score(keywords);
+    }
+
+    /**
+     * Returns {@code emptyIndex} with the words of every element of {@code elements}.
+     */
+    private static <T> SearchIndex<T> buildSearchIndex(List<T> elements, SearchIndex<T> emptyIndex) {
+        SearchIndex<T> searchIndex = emptyIndex;
+        for (T element : elements) {
+            searchIndex = searchIndex.with(element);
+        }
+        return searchIndex;
+    }
+
+    @Override
+    public String toString() {
+        return persons.size() + " persons, " + petPatients.size() + " pet patients, " + appointments.size()
+                + " appointments, " + tags.size() + " tags (mapped)";
+    }
+
+    /**
+     * Returns a reader of the bytes from the position of {@code buffer} onwards, which advances its position.
+     */
+    private static BinaryAddressBookFormat.Reader newReader(ByteBuffer buffer, String[] dictionary) {
+        return new BinaryAddressBookFormat.Reader(new DataInputStream(new ByteBufferInputStream(buffer)),
+                dictionary);
+    }
+
+    /**
+     * Reads one entity from a reader positioned at its start.
+     */
+    @FunctionalInterface
+    private interface EntityDecoder<T> {
+        T decode(BinaryAddressBookFormat.Reader reader) throws DataConversionException, IOException;
+    }
+
+    /**
+     * An unmodifiable list of the entities starting at {@code offsets} in a mapped file, each decoded when it is
+     * first accessed and kept from then on.
+     */
+    private static class LazilyDecodedList<T> extends ObservableListBase<T> {
+        private final ByteBuffer buffer;
+        private final String[] dictionary;
+        private final int[] offsets;
+        private final EntityDecoder<T> decoder;
+        private final List<T> decoded;
+
+        LazilyDecodedList(ByteBuffer buffer, String[] dictionary, int[] offsets, EntityDecoder<T> decoder) {
+            this.buffer = buffer;
+            this.dictionary = dictionary;
+            this.offsets = offsets;
+            this.decoder = decoder;
+            this.decoded = new ArrayList<>(offsets.length);
+            for (int i = 0; i < offsets.length; i++) {
+                decoded.add(null);
+            }
+        }
+
+        /**
+         * Returns the entity at {@code index}, decoding it if it has not been accessed before.
+         *
+         * @throws IllegalStateException if the entity in the file is invalid.
+         */
+        @Override
+        public synchronized T get(int index) {
+            T entity = decoded.get(index);
+            if (entity == null) {
+                ByteBuffer input = buffer.duplicate();
+                input.position(offsets[index]);
+                try {
+                    entity = decoder.decode(newReader(input, dictionary));
+                } catch (DataConversionException | IOException | IllegalArgumentException e) {
+                    throw new IllegalStateException("Invalid entity at offset " + offsets[index], e);
+                }
+                decoded.set(index, entity);
+            }
+            return entity;
+        }
+
+        @Override
+        public int size() {
+            return offsets.length;
+        }
+    }
+
+    /**
+     * An {@code InputStream} of the remaining bytes of a {@code ByteBuffer}.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long count) {
+            int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.util.FileUtil;
+import seedu.address.model.ReadOnlyAddressBook;
+
+/**
+ * A class to read AddressBook data stored in the {@link BinaryAddressBookFormat} on the hard disk without copying
+ * it into memory. The file is mapped as a {@link MappedAddressBook}, so it cannot be saved to.
+ * A compressed file cannot be mapped, and is read into memory instead.
+ */
+public class MappedAddressBookStorage implements AddressBookStorage {
+
+    private static final Logger logger = LogsCenter.getLogger(MappedAddressBookStorage.class);
+
+    private String filePath;
+
+    public MappedAddressBookStorage(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getAddressBookFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlyAddressBook> readAddressBook() throws DataConversionException, IOException {
+        return readAddressBook(filePath);
+    }
+
+    /**
+     * Similar to {@link #readAddressBook()}
+     * @param filePath location of the data. Cannot be null
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    public Optional<ReadOnlyAddressBook> readAddressBook(String filePath) throws DataConversionException,
+        IOException {
+        requireNonNull(filePath);
+
+        File addressBookFile = new File(filePath);
+
+        if (!addressBookFile.exists()) {
+            logger.info("AddressBook file "  + addressBookFile + " not found");
+            return Optional.empty();
+        }
+        if (AddressBookJournal.getJournalFile(addressBookFile).exists()) {
+            logger.warning("Changes in the journal of " + addressBookFile + " are not shown while it is read-only");
+        }
+
+        if (FileUtil.isCompressed(addressBookFile)) {
+            // a compressed file cannot be mapped, so it is read into memory as a whole instead
+            logger.info(addressBookFile + " is compressed and is read in full");
+            try (InputStream in = FileUtil.openDecompressed(addressBookFile)) {
+                return Optional.of(BinaryAddressBookFormat.read(in));
+            } catch (DataConversionException dce) {
+                logger.info("Unable to read " + addressBookFile + ": " + dce.getCause());
+                throw dce;
+            }
+        }
+
+        try {
+            return Optional.of(MappedAddressBook.map(addressBookFile));
+        } catch (DataConversionException dce) {
+            logger.info("Unable to read " + addressBookFile + ": " + dce.getCause());
+            throw dce;
+        }
+    }
+
+    @Override
+    public void saveAddressBook(ReadOnlyAddressBook addressBook) throws IOException {
+        saveAddressBook(addressBook, filePath);
+    }
+
+    /**
+     * Always throws {@code IOException}, as the mapped file is read-only.
+     */
+    public void saveAddressBook(ReadOnlyAddressBook addressBook, String filePath) throws IOException {
+        throw new IOException(filePath + " was opened read-only.");
+    }
+
+    /**
+     * Always throws {@code IOException}, as the mapped file is read-only.
+     */
+    @Override
+    public void backupAddressBook(ReadOnlyAddressBook addressBook) throws IOException {
+        throw new IOException(filePath + " was opened read-only.");
+    }
+
+}
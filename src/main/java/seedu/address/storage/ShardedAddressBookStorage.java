@@ -0,0 +1,895 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.commons.util.FileUtil;
+import seedu.address.model.AddressBook;
+import seedu.address.model.AddressBookSnapshot;
+import seedu.address.model.AddressBookSnapshot.Section;
+import seedu.address.model.ReadOnlyAddressBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.ArchivedAppointments;
+import seedu.address.model.appointment.ArchivedAppointments.Run;
+import seedu.address.model.appointment.ArchivedYear;
+import seedu.address.model.person.Nric;
+import seedu.address.model.person.Person;
+import seedu.address.model.petpatient.PetPatient;
+import seedu.address.model.petpatient.PetPatientName;
+import seedu.address.model.tag.Tag;
+
+/**
+ * A class to access AddressBook data stored as a manifest and segment files in the {@link BinaryAddressBookFormat}.
+ *
+ * The address book file is a small manifest, which names a core segment holding the tags, persons and pet
+ * patients, and one segment per year holding the appointments in that year. Saving rewrites only the segments
+ * whose contents changed since they were last read or saved, then replaces the manifest atomically, so a crash
+ * leaves either the old or the new set of segments in use. Segments that are no longer in use are deleted.
+ * A segment is known to be unchanged without serializing it when both address books are
+ * {@link AddressBookSnapshot}s, and otherwise by the checksum of its contents, which the manifest keeps.
+ *
+ * Only the appointments in the current and the next year are read with the manifest. The other years are left
+ * as {@link ArchivedAppointments}, which are read when they are needed, from what the manifest keeps about each
+ * year: the date and time of its first and last appointment, and the number of appointments of each pet patient.
+ * The manifest also keeps the order the appointments were saved in, as runs of appointments in the same year, so
+ * that the appointments are listed in that order however many of their years have been read.
+ *
+ * A file holding a whole address book in the {@link BinaryAddressBookFormat} can be read too, and is split into
+ * segments the next time it is saved. So can manifests of the first version, which only name their segments, all
+ * of which are then read with the manifest.
+ */
+public class ShardedAddressBookStorage implements AddressBookStorage {
+
+    public static final byte[] MAGIC = {'M', 'E', 'D', 'S'};
+    public static final int VERSION = 2;
+
+    /** The version of manifests that only name their segments. */
+    private static final int UNSUMMARIZED_VERSION = 1;
+
+    private static final String CORE_SEGMENT_KEY = "core";
+    private static final String SEGMENT_EXTENSION = ".seg";
+
+    private static final Logger logger = LogsCenter.getLogger(ShardedAddressBookStorage.class);
+
+    private String filePath;
+    private final FileBackups backups;
+    private final boolean isCompressed;
+    private final Clock clock;
+
+    /** The manifest that {@link #savedSegments} were read from or saved to, or null if there is none. */
+    private File savedManifest;
+    /** The segments in {@link #savedManifest}, by the key they are kept under in the manifest. */
+    private Map<String, SavedSegment> savedSegments = new HashMap<>();
+    /** The runs of appointments in {@link #savedManifest}, or null if there is none. */
+    private List<Run> savedRuns;
+    /** The snapshot last saved to {@link #savedManifest}, or null if the address book saved was not a snapshot. */
+    private AddressBookSnapshot savedSnapshot;
+
+    public ShardedAddressBookStorage(String filePath) {
+        this(filePath, FileBackups.DEFAULT_BACKUP_COUNT);
+    }
+
+    /**
+     * @param backupCount number of backups of the whole address book to keep.
+     */
+    public ShardedAddressBookStorage(String filePath, int backupCount) {
+        this(filePath, backupCount, false);
+    }
+
+    /**
+     * @param isCompressed whether the segments and backups are written compressed in the GZIP format. The manifest
+     *                     is small and is never compressed. Files are read whether they are compressed or not.
+     */
+    public ShardedAddressBookStorage(String filePath, int backupCount, boolean isCompressed) {
+        this(filePath, backupCount, isCompressed, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param clock tells the current year, whose appointments are read with the manifest along with those of the
+     *              next year.
+     */
+    public ShardedAddressBookStorage(String filePath, int backupCount, boolean isCompressed, Clock clock) {
+        requireNonNull(clock);
+        this.filePath = filePath;
+        this.backups = new FileBackups(backupCount);
+        this.isCompressed = isCompressed;
+        this.clock = clock;
+    }
+
+    public String getAddressBookFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlyAddressBook> readAddressBook() throws DataConversionException, IOException {
+        return readAddressBook(filePath);
+    }
+
+    /**
+     * Similar to {@link #readAddressBook()}
+     * @param filePath location of the manifest. Cannot be null
+     * @throws DataConversionException if the manifest or a segment is not in the correct format.
+     */
+    public synchronized Optional<ReadOnlyAddressBook> readAddressBook(String filePath)
+            throws DataConversionException, IOException {
+        requireNonNull(filePath);
+
+        File manifestFile = new File(filePath);
+
+        if (!manifestFile.exists()) {
+            logger.info("AddressBook file "  + manifestFile + " not found");
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(readManifest(manifestFile));
+        } catch (DataConversionException dce) {
+            logger.info("Unable to read " + manifestFile + ": " + dce.getCause());
+            throw dce;
+        }
+    }
+
+    @Override
+    public void saveAddressBook(ReadOnlyAddressBook addressBook) throws IOException {
+        saveAddressBook(addressBook, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveAddressBook(ReadOnlyAddressBook)}
+     * @param filePath location of the manifest. Cannot be null
+     */
+    public synchronized void saveAddressBook(ReadOnlyAddressBook addressBook, String filePath) throws IOException {
+        requireNonNull(addressBook);
+        requireNonNull(filePath);
+
+        File manifestFile = new File(filePath).getAbsoluteFile();
+        boolean isSameManifest = manifestFile.equals(savedManifest);
+        Map<String, SavedSegment> previousSegments = isSameManifest ? savedSegments : new HashMap<>();
+        Set<Section> changedSections = EnumSet.allOf(Section.class);
+        if (isSameManifest && savedSnapshot != null && addressBook instanceof AddressBookSnapshot) {
+            changedSections = ((AddressBookSnapshot) addressBook).getChangedSections(savedSnapshot);
+        }
+        // segments are written to new files, so the manifest in use keeps naming complete segments until replaced
+        long generation = getLatestGeneration(manifestFile) + 1;
+
+        Map<String, SavedSegment> segments = new LinkedHashMap<>();
+        segments.put(CORE_SEGMENT_KEY, saveCoreSegment(addressBook, manifestFile, generation,
+                previousSegments.get(CORE_SEGMENT_KEY), isChanged(CORE_SEGMENT_KEY, changedSections)));
+
+        Map<Integer, List<Appointment>> appointmentsByYear = getAppointmentsByYear(addressBook.getAppointmentList());
+        ArchivedAppointments archivedAppointments = addressBook.getArchivedAppointments();
+        Set<Integer> years = new TreeSet<>(appointmentsByYear.keySet());
+        archivedAppointments.getYears().forEach(archivedYear -> years.add(archivedYear.getYear()));
+        for (int year : years) {
+            String key = String.valueOf(year);
+            SavedSegment previous = previousSegments.get(key);
+            ArchivedYear archivedYear = archivedAppointments.get(year);
+            segments.put(key, archivedYear != null
+                    ? saveArchivedYearSegment(archivedYear, manifestFile, generation, previous)
+                    : saveYearSegment(year, appointmentsByYear.get(year), manifestFile, generation, previous,
+                            isChanged(key, changedSections)));
+        }
+
+        List<Run> runs = isSameManifest && savedRuns != null && !changedSections.contains(Section.APPOINTMENTS)
+                ? savedRuns
+                : getRuns(addressBook);
+        writeManifest(manifestFile, segments, runs);
+        keepArchivedYearsOfUnusedSegments(previousSegments.values(), segments.values());
+        savedManifest = manifestFile;
+        savedSegments = segments;
+        savedRuns = runs;
+        savedSnapshot = addressBook instanceof AddressBookSnapshot ? (AddressBookSnapshot) addressBook : null;
+        deleteUnusedSegments(manifestFile, segments);
+    }
+
+    /**
+     * Saves {@code addressBook} in full, in the {@link BinaryAddressBookFormat}, as the latest backup of the
+     * manifest, pushing the older backups back. Appointments in archived years are read to be saved too.
+     */
+    @Override
+    public void backupAddressBook(ReadOnlyAddressBook addressBook) throws IOException {
+        requireNonNull(addressBook);
+
+        ReadOnlyAddressBook wholeAddressBook = getWholeAddressBook(addressBook);
+        File backupFile = backups.makeRoomForLatestBackup(new File(filePath));
+        FileUtil.writeToFileAtomically(backupFile, isCompressed,
+            out -> BinaryAddressBookFormat.write(wholeAddressBook, out));
+    }
+
+    /**
+     * Returns true if the segment kept under {@code key} may hold one of {@code changedSections}.
+     */
+    private static boolean isChanged(String key, Set<Section> changedSections) {
+        if (key.equals(CORE_SEGMENT_KEY)) {
+            return changedSections.contains(Section.PERSONS) || changedSections.contains(Section.TAGS)
+                    || changedSections.contains(Section.PET_PATIENTS);
+        }
+        return changedSections.contains(Section.APPOINTMENTS);
+    }
+
+    //// saving segments
+
+    /**
+     * Returns the core segment of {@code addressBook}, saved to a new file unless it is the same as
+     * {@code previous}, the core segment last read or saved, which may be null.
+     *
+     * @param isChanged false if the core segment is known to be the same as {@code previous}.
+     */
+    private SavedSegment saveCoreSegment(ReadOnlyAddressBook addressBook, File manifestFile, long generation,
+                                         SavedSegment previous, boolean isChanged) throws IOException {
+        if (previous != null && !isChanged && exists(manifestFile, previous)) {
+            return previous;
+        }
+        byte[] content = serialize(getCoreSegment(addressBook));
+        String checksum = getChecksum(content);
+        if (previous != null && checksum.equals(previous.checksum) && exists(manifestFile, previous)) {
+            return previous;
+        }
+        return new SavedSegment(writeSegmentFile(manifestFile, CORE_SEGMENT_KEY, generation, content), checksum,
+                null, false);
+    }
+
+    /**
+     * Returns the segment of the loaded {@code appointments} in {@code year}, saved to a new file unless its
+     * contents are the same as those of {@code previous}, the segment of the year last read or saved, which may be
+     * null.
+     *
+     * @param isChanged false if the appointments are known to be the same as those in {@code previous}.
+     */
+    private SavedSegment saveYearSegment(int year, List<Appointment> appointments, File manifestFile,
+                                         long generation, SavedSegment previous, boolean isChanged)
+            throws IOException {
+        if (previous != null && !isChanged && exists(manifestFile, previous)) {
+            return previous;
+        }
+        byte[] content = serialize(getYearSegment(appointments));
+        String checksum = getChecksum(content);
+        String fileName = previous != null && checksum.equals(previous.checksum) && exists(manifestFile, previous)
+                ? previous.fileName
+                : writeSegmentFile(manifestFile, String.valueOf(year), generation, content);
+        File file = new File(manifestFile.getParentFile(), fileName);
+        return new SavedSegment(fileName, checksum,
+                ArchivedYear.of(year, appointments, () -> readYearSegment(file, year)), false);
+    }
+
+    /**
+     * Returns the segment of {@code archivedYear}, which is the segment it was read from if that is
+     * {@code previous}, or is otherwise saved to a new file.
+     */
+    private SavedSegment saveArchivedYearSegment(ArchivedYear archivedYear, File manifestFile, long generation,
+                                                 SavedSegment previous) throws IOException {
+        if (previous != null && previous.year == archivedYear && exists(manifestFile, previous)) {
+            return previous;
+        }
+        byte[] content = serialize(getYearSegment(readArchivedYear(archivedYear)));
+        String fileName = writeSegmentFile(manifestFile, String.valueOf(archivedYear.getYear()), generation,
+                content);
+        return new SavedSegment(fileName, getChecksum(content), archivedYear, true);
+    }
+
+    /**
+     * Writes {@code content} to a new segment file for the segment kept under {@code key}, and returns its name.
+     */
+    private String writeSegmentFile(File manifestFile, String key, long generation, byte[] content)
+            throws IOException {
+        String fileName = manifestFile.getName() + "." + key + "." + generation + SEGMENT_EXTENSION;
+        FileUtil.writeToFileAtomically(new File(manifestFile.getParentFile(), fileName), isCompressed,
+            out -> out.write(content));
+        return fileName;
+    }
+
+    private static boolean exists(File manifestFile, SavedSegment segment) {
+        return new File(manifestFile.getParentFile(), segment.fileName).exists();
+    }
+
+    /**
+     * Returns {@code segment} in the {@link BinaryAddressBookFormat}.
+     */
+    private static byte[] serialize(Segment segment) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryAddressBookFormat.write(segment, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Returns the checksum and length of {@code content}, in the form journals name the content of a file in.
+     */
+    private static String getChecksum(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return String.format("crc32:%08x/%d", crc.getValue(), content.length);
+    }
+
+    /**
+     * Returns the appointments of {@code archivedYear}, without it keeping them if it has not read them before.
+     *
+     * @throws IOException if they cannot be read.
+     */
+    private static List<Appointment> readArchivedYear(ArchivedYear archivedYear) throws IOException {
+        try {
+            return archivedYear.readAppointments();
+        } catch (IllegalStateException ise) {
+            throw new IOException(ise.getMessage(), ise.getCause());
+        }
+    }
+
+    /**
+     * Reads the appointments of the archived years of {@code previousSegments} whose files are not among
+     * {@code segments} and are about to be deleted, so that address books still holding those archived years, such
+     * as undo snapshots, can still read them.
+     */
+    private static void keepArchivedYearsOfUnusedSegments(Collection<SavedSegment> previousSegments,
+                                                          Collection<SavedSegment> segments) {
+        Set<String> usedFileNames = new HashSet<>();
+        segments.forEach(segment -> usedFileNames.add(segment.fileName));
+        for (SavedSegment previous : previousSegments) {
+            if (previous.isArchived && !usedFileNames.contains(previous.fileName)) {
+                try {
+                    previous.year.getAppointments();
+                } catch (IllegalStateException ise) {
+                    logger.warning("Unable to read " + previous.fileName + " before deleting it: "
+                            + ise.getCause());
+                }
+            }
+        }
+    }
+
+    //// reading the manifest
+
+    /**
+     * Returns the address book in the segments named by {@code manifestFile}, or in {@code manifestFile} itself if
+     * it holds a whole address book.
+     */
+    private AddressBook readManifest(File manifestFile) throws DataConversionException, IOException {
+        File directory = manifestFile.getAbsoluteFile().getParentFile();
+        byte[] magic = new byte[MAGIC.length];
+        try (DataInputStream in = new DataInputStream(FileUtil.openDecompressed(manifestFile))) {
+            in.readFully(magic);
+            if (Arrays.equals(magic, BinaryAddressBookFormat.MAGIC)) {
+                savedManifest = null;
+                savedSegments = new HashMap<>();
+                savedRuns = null;
+                savedSnapshot = null;
+                return readSegment(manifestFile);
+            }
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new DataConversionException(new IllegalValueException("Not an address book manifest"));
+            }
+
+            BinaryAddressBookFormat.Reader reader = new BinaryAddressBookFormat.Reader(in);
+            int version = reader.readVarInt();
+            if (version != VERSION && version != UNSUMMARIZED_VERSION) {
+                throw new DataConversionException(new IllegalValueException("Unsupported version: " + version));
+            }
+            int currentYear = Year.now(clock).getValue();
+            Map<String, SavedSegment> segments = new LinkedHashMap<>();
+            Map<Integer, List<Appointment>> loadedAppointments = new HashMap<>();
+            List<ArchivedYear> archivedYears = new ArrayList<>();
+            List<Run> runs = new ArrayList<>();
+            int segmentCount = reader.readCount();
+            for (int i = 0; i < segmentCount; i++) {
+                String key = reader.readString();
+                String fileName = reader.readString();
+                File file = new File(directory, fileName);
+                if (version == UNSUMMARIZED_VERSION) {
+                    segments.put(key, readUnsummarizedSegment(key, file, loadedAppointments, runs));
+                    continue;
+                }
+                String checksum = reader.readString();
+                if (key.equals(CORE_SEGMENT_KEY)) {
+                    segments.put(key, new SavedSegment(fileName, checksum, null, false));
+                    continue;
+                }
+                ArchivedYear summary = readYearSummary(reader, Integer.parseInt(key), file);
+                boolean isLoaded = summary.getYear() == currentYear || summary.getYear() == currentYear + 1;
+                if (isLoaded) {
+                    loadedAppointments.put(summary.getYear(), readYearSegment(file, summary.getYear(),
+                            summary.getFirstDateTime(), summary.getLastDateTime(), summary.getAppointmentCounts()));
+                } else {
+                    archivedYears.add(summary);
+                }
+                segments.put(key, new SavedSegment(fileName, checksum, summary, !isLoaded));
+            }
+            if (!segments.containsKey(CORE_SEGMENT_KEY)) {
+                throw new DataConversionException(new IllegalValueException("Missing core segment"));
+            }
+            if (version == VERSION) {
+                runs = readRuns(reader);
+                checkRuns(runs, segments.values());
+            }
+
+            AddressBook core = readSegment(new File(directory, segments.get(CORE_SEGMENT_KEY).fileName));
+            AddressBook addressBook = join(core, runs, loadedAppointments);
+            addressBook.setArchivedAppointments(ArchivedAppointments.of(runs, archivedYears));
+            savedManifest = manifestFile.getAbsoluteFile();
+            savedSegments = segments;
+            savedRuns = runs;
+            savedSnapshot = null;
+            return addressBook;
+        } catch (EOFException eofe) {
+            throw new DataConversionException(eofe);
+        } catch (IllegalArgumentException iae) {
+            // model constructors throw IllegalArgumentException for invalid values, as does parsing a year
+            throw new DataConversionException(iae);
+        }
+    }
+
+    /**
+     * Returns the segment kept under {@code key} in a manifest of the {@link #UNSUMMARIZED_VERSION}, which is in
+     * {@code file}. The appointments of a year segment are read into {@code loadedAppointments}, and listed after
+     * those of the earlier years in {@code runs}.
+     */
+    private static SavedSegment readUnsummarizedSegment(String key, File file,
+                                                        Map<Integer, List<Appointment>> loadedAppointments,
+                                                        List<Run> runs) throws DataConversionException, IOException {
+        if (key.equals(CORE_SEGMENT_KEY)) {
+            return new SavedSegment(file.getName(), "", null, false);
+        }
+        int year = Integer.parseInt(key);
+        List<Appointment> appointments = readYearSegment(file, year);
+        loadedAppointments.put(year, appointments);
+        runs.add(new Run(appointments.size(), appointments.get(0).getDateTime()));
+        return new SavedSegment(file.getName(), "", ArchivedYear.of(year, appointments,
+            () -> readYearSegment(file, year)), false);
+    }
+
+    /**
+     * Returns the address book in the segment file {@code file}.
+     */
+    private static AddressBook readSegment(File file) throws DataConversionException, IOException {
+        try (InputStream in = FileUtil.openDecompressed(file)) {
+            return BinaryAddressBookFormat.read(in);
+        }
+    }
+
+    /**
+     * Returns the appointments in the segment file {@code file}, in the order they were saved in, checking that
+     * there are some and that all of them are in {@code year}.
+     */
+    private static List<Appointment> readYearSegment(File file, int year) throws DataConversionException,
+            IOException {
+        List<Appointment> appointments = new ArrayList<>(readSegment(file).getAppointmentList());
+        if (appointments.isEmpty()) {
+            throw new DataConversionException(new IllegalValueException(file.getName() + " has no appointments"));
+        }
+        for (Appointment appointment : appointments) {
+            if (appointment.getDateTime().getYear() != year) {
+                throw new DataConversionException(new IllegalValueException(
+                        file.getName() + " has an appointment outside " + year));
+            }
+        }
+        return appointments;
+    }
+
+    /**
+     * Returns the appointments in the segment file {@code file}, in the order they were saved in, checking that
+     * they are summarized by {@code firstDateTime}, {@code lastDateTime} and {@code appointmentCounts}, as the
+     * manifest says.
+     */
+    private static List<Appointment> readYearSegment(File file, int year, LocalDateTime firstDateTime,
+                                                     LocalDateTime lastDateTime,
+                                                     Map<Nric, Map<PetPatientName, Integer>> appointmentCounts)
+            throws DataConversionException, IOException {
+        List<Appointment> appointments = readYearSegment(file, year);
+        ArchivedYear summary = ArchivedYear.of(year, appointments, () -> appointments);
+        if (!summary.getFirstDateTime().equals(firstDateTime) || !summary.getLastDateTime().equals(lastDateTime)
+                || !summary.getAppointmentCounts().equals(appointmentCounts)) {
+            throw new DataConversionException(new IllegalValueException(
+                    file.getName() + " does not match its summary in the manifest"));
+        }
+        return appointments;
+    }
+
+    /**
+     * Returns the year of appointments summarized by {@code reader}, whose appointments are in {@code file}.
+     */
+    private static ArchivedYear readYearSummary(BinaryAddressBookFormat.Reader reader, int year, File file)
+            throws DataConversionException, IOException {
+        LocalDateTime firstDateTime = reader.readDateTime();
+        LocalDateTime lastDateTime = reader.readDateTime();
+        Map<Nric, Map<PetPatientName, Integer>> appointmentCounts = new HashMap<>();
+        int ownerCount = reader.readCount();
+        for (int i = 0; i < ownerCount; i++) {
+            Nric ownerNric = new Nric(reader.readString());
+            Map<PetPatientName, Integer> petCounts = new HashMap<>();
+            int petCount = reader.readCount();
+            for (int j = 0; j < petCount; j++) {
+                petCounts.put(new PetPatientName(reader.readString()), reader.readCount());
+            }
+            appointmentCounts.put(ownerNric, petCounts);
+        }
+        return new ArchivedYear(year, firstDateTime, lastDateTime, appointmentCounts,
+            () -> readYearSegment(file, year, firstDateTime, lastDateTime, appointmentCounts));
+    }
+
+    /**
+     * Returns the runs of appointments in the manifest read by {@code reader}.
+     */
+    private static List<Run> readRuns(BinaryAddressBookFormat.Reader reader)
+            throws DataConversionException, IOException {
+        List<Run> runs = new ArrayList<>();
+        int runCount = reader.readCount();
+        for (int i = 0; i < runCount; i++) {
+            int size = reader.readCount();
+            runs.add(new Run(size, reader.readDateTime()));
+        }
+        return runs;
+    }
+
+    /**
+     * Checks that {@code runs} hold as many appointments in each year as the year segments among {@code segments}.
+     */
+    private static void checkRuns(List<Run> runs, Collection<SavedSegment> segments)
+            throws DataConversionException {
+        Map<Integer, Integer> runSizes = new HashMap<>();
+        runs.forEach(run -> runSizes.merge(run.getYear(), run.getSize(), Integer::sum));
+        for (SavedSegment segment : segments) {
+            if (segment.year != null
+                    && !Integer.valueOf(segment.year.getAppointmentCount()).equals(
+                            runSizes.remove(segment.year.getYear()))) {
+                throw new DataConversionException(new IllegalValueException(
+                        "The order of the appointments does not match the segments of " + segment.year.getYear()));
+            }
+        }
+        if (!runSizes.isEmpty()) {
+            throw new DataConversionException(new IllegalValueException(
+                    "The order of the appointments names years without segments: " + runSizes.keySet()));
+        }
+    }
+
+    //// writing the manifest
+
+    /**
+     * Writes a manifest naming {@code segments}, whose appointments were saved in {@code runs}, to
+     * {@code manifestFile}, replacing it atomically.
+     */
+    private static void writeManifest(File manifestFile, Map<String, SavedSegment> segments, List<Run> runs)
+            throws IOException {
+        FileUtil.writeToFileAtomically(manifestFile, out -> {
+            DataOutputStream data = new DataOutputStream(out);
+            data.write(MAGIC);
+            BinaryAddressBookFormat.Writer writer = new BinaryAddressBookFormat.Writer(data);
+            writer.writeVarInt(VERSION);
+            writer.writeVarInt(segments.size());
+            for (Map.Entry<String, SavedSegment> entry : segments.entrySet()) {
+                writer.writeString(entry.getKey());
+                writer.writeString(entry.getValue().fileName);
+                writer.writeString(entry.getValue().checksum);
+                if (entry.getValue().year != null) {
+                    writeYearSummary(writer, entry.getValue().year);
+                }
+            }
+            writer.writeVarInt(runs.size());
+            for (Run run : runs) {
+                writer.writeVarInt(run.getSize());
+                writer.writeDateTime(run.getFirstDateTime());
+            }
+            data.flush();
+        });
+    }
+
+    /**
+     * Writes what is known about the appointments of {@code year} without reading them.
+     */
+    private static void writeYearSummary(BinaryAddressBookFormat.Writer writer, ArchivedYear year)
+            throws IOException {
+        writer.writeDateTime(year.getFirstDateTime());
+        writer.writeDateTime(year.getLastDateTime());
+        writer.writeVarInt(year.getAppointmentCounts().size());
+        for (Map.Entry<Nric, Map<PetPatientName, Integer>> owner : year.getAppointmentCounts().entrySet()) {
+            writer.writeString(owner.getKey().value);
+            writer.writeVarInt(owner.getValue().size());
+            for (Map.Entry<PetPatientName, Integer> pet : owner.getValue().entrySet()) {
+                writer.writeString(pet.getKey().fullName);
+                writer.writeVarInt(pet.getValue());
+            }
+        }
+    }
+
+    /**
+     * Deletes the segment files of {@code manifestFile} that are not among {@code segments}.
+     */
+    private static void deleteUnusedSegments(File manifestFile, Map<String, SavedSegment> segments) {
+        List<String> usedFileNames = new ArrayList<>();
+        segments.values().forEach(segment -> usedFileNames.add(segment.fileName));
+
+        for (File file : getSegmentFiles(manifestFile)) {
+            if (!usedFileNames.contains(file.getName())) {
+                try {
+                    Files.deleteIfExists(file.toPath());
+                } catch (IOException ioe) {
+                    logger.warning("Unable to delete unused segment " + file + ": " + ioe.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the largest generation among the segment files of {@code manifestFile}, or 0 if there are none.
+     */
+    private static long getLatestGeneration(File manifestFile) {
+        Pattern segmentFileName = getSegmentFileNamePattern(manifestFile);
+        long latestGeneration = 0;
+        for (File file : getSegmentFiles(manifestFile)) {
+            Matcher matcher = segmentFileName.matcher(file.getName());
+            if (matcher.matches()) {
+                latestGeneration = Math.max(latestGeneration, Long.parseLong(matcher.group(2)));
+            }
+        }
+        return latestGeneration;
+    }
+
+    /**
+     * Returns the segment files of {@code manifestFile}, whether they are in use or not.
+     */
+    private static List<File> getSegmentFiles(File manifestFile) {
+        Pattern segmentFileName = getSegmentFileNamePattern(manifestFile);
+        List<File> segmentFiles = new ArrayList<>();
+        File[] files = manifestFile.getParentFile().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (segmentFileName.matcher(file.getName()).matches()) {
+                    segmentFiles.add(file);
+                }
+            }
+        }
+        return segmentFiles;
+    }
+
+    /**
+     * Returns the pattern of the names of segment files of {@code manifestFile}, which captures the key of the
+     * segment and its generation.
+     */
+    private static Pattern getSegmentFileNamePattern(File manifestFile) {
+        return Pattern.compile(Pattern.quote(manifestFile.getName())
+                + "\\.(" + CORE_SEGMENT_KEY + "|-?\\d+)\\.(\\d+)" + Pattern.quote(SEGMENT_EXTENSION));
+    }
+
+    //// splitting and joining
+
+    /**
+     * Returns {@code appointments} grouped by year, in order of year, keeping their order within each year.
+     */
+    private static Map<Integer, List<Appointment>> getAppointmentsByYear(List<Appointment> appointments) {
+        Map<Integer, List<Appointment>> appointmentsByYear = new TreeMap<>();
+        for (Appointment appointment : appointments) {
+            appointmentsByYear.computeIfAbsent(appointment.getDateTime().getYear(), year -> new ArrayList<>())
+                    .add(appointment);
+        }
+        return appointmentsByYear;
+    }
+
+    /**
+     * Returns the runs of appointments in the order {@code addressBook} would list them if all its archived years
+     * were read: the appointments it lists, with each run of an archived year where reading the year would put it.
+     */
+    private static List<Run> getRuns(ReadOnlyAddressBook addressBook) {
+        List<Appointment> appointments = addressBook.getAppointmentList();
+        Map<Integer, List<Run>> archivedRuns = getArchivedRunsByIndex(appointments,
+                addressBook.getArchivedAppointments());
+        List<Run> runs = new ArrayList<>();
+        int index = 0;
+        for (Appointment appointment : appointments) {
+            archivedRuns.getOrDefault(index, Collections.emptyList())
+                    .forEach(run -> appendToRuns(runs, run.getSize(), run.getFirstDateTime()));
+            appendToRuns(runs, 1, appointment.getDateTime());
+            index++;
+        }
+        archivedRuns.getOrDefault(index, Collections.emptyList())
+                .forEach(run -> appendToRuns(runs, run.getSize(), run.getFirstDateTime()));
+        return runs;
+    }
+
+    /**
+     * Appends {@code size} appointments from {@code firstDateTime} to {@code runs}, extending the last run if it
+     * is in the same year.
+     */
+    private static void appendToRuns(List<Run> runs, int size, LocalDateTime firstDateTime) {
+        int lastIndex = runs.size() - 1;
+        if (lastIndex >= 0 && runs.get(lastIndex).getYear() == firstDateTime.getYear()) {
+            Run last = runs.get(lastIndex);
+            runs.set(lastIndex, new Run(last.getSize() + size, last.getFirstDateTime()));
+        } else {
+            runs.add(new Run(size, firstDateTime));
+        }
+    }
+
+    /**
+     * Returns the runs of {@code archivedAppointments}, in the order they were saved in, by the index in
+     * {@code appointments} that reading their years would put them at.
+     */
+    private static Map<Integer, List<Run>> getArchivedRunsByIndex(List<Appointment> appointments,
+                                                                  ArchivedAppointments archivedAppointments) {
+        if (archivedAppointments.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<LocalDateTime, Integer> indexes = new HashMap<>();
+        for (Appointment appointment : appointments) {
+            indexes.put(appointment.getDateTime(), indexes.size());
+        }
+        Map<Integer, List<Run>> archivedRuns = new HashMap<>();
+        for (Run run : archivedAppointments.getArchivedRuns()) {
+            int index = archivedAppointments.getInsertionIndex(run, dateTime -> indexes.getOrDefault(dateTime, -1),
+                    appointments.size());
+            archivedRuns.computeIfAbsent(index, unused -> new ArrayList<>()).add(run);
+        }
+        return archivedRuns;
+    }
+
+    /**
+     * Returns {@code addressBook} with the appointments of its archived years read, and listed where they were
+     * saved.
+     */
+    private static ReadOnlyAddressBook getWholeAddressBook(ReadOnlyAddressBook addressBook) throws IOException {
+        ArchivedAppointments archivedAppointments = addressBook.getArchivedAppointments();
+        if (archivedAppointments.isEmpty()) {
+            return addressBook;
+        }
+        Map<Integer, List<Appointment>> archivedYears = new HashMap<>();
+        for (ArchivedYear archivedYear : archivedAppointments.getYears()) {
+            archivedYears.put(archivedYear.getYear(), readArchivedYear(archivedYear));
+        }
+        Map<Integer, Integer> readCounts = new HashMap<>();
+        List<Appointment> appointments = new ArrayList<>();
+        List<Appointment> loadedAppointments = addressBook.getAppointmentList();
+        Map<Integer, List<Run>> archivedRuns = getArchivedRunsByIndex(loadedAppointments, archivedAppointments);
+        for (int i = 0; i <= loadedAppointments.size(); i++) {
+            for (Run run : archivedRuns.getOrDefault(i, Collections.emptyList())) {
+                int start = readCounts.getOrDefault(run.getYear(), 0);
+                appointments.addAll(archivedYears.get(run.getYear()).subList(start, start + run.getSize()));
+                readCounts.put(run.getYear(), start + run.getSize());
+            }
+            if (i < loadedAppointments.size()) {
+                appointments.add(loadedAppointments.get(i));
+            }
+        }
+        return new Segment(addressBook.getTagList(), addressBook.getPersonList(), appointments,
+                addressBook.getPetPatientList());
+    }
+
+    /**
+     * Returns the core segment of {@code addressBook}, which holds everything except its appointments.
+     */
+    private static Segment getCoreSegment(ReadOnlyAddressBook addressBook) {
+        return new Segment(addressBook.getTagList(), addressBook.getPersonList(), Collections.emptyList(),
+                addressBook.getPetPatientList());
+    }
+
+    /**
+     * Returns the segment holding {@code appointments}, which are all in the same year.
+     * Their tags are kept with each appointment rather than in the master tag list of the segment.
+     */
+    private static Segment getYearSegment(List<Appointment> appointments) {
+        return new Segment(Collections.emptyList(), Collections.emptyList(), appointments, Collections.emptyList());
+    }
+
+    /**
+     * Returns the address book made up of {@code core}, the address book in the core segment, and
+     * {@code loadedAppointments}, the appointments read of each year. The appointments are listed in the order of
+     * {@code runs}, leaving out the runs of the years that were not read.
+     */
+    private static AddressBook join(AddressBook core, List<Run> runs,
+                                    Map<Integer, List<Appointment>> loadedAppointments)
+            throws DataConversionException {
+        AddressBook addressBook = new AddressBook();
+        Map<Integer, Integer> joinedCounts = new HashMap<>();
+        try {
+            for (Tag tag : core.getTagList()) {
+                addressBook.addTag(tag);
+            }
+            for (Person person : core.getPersonList()) {
+                addressBook.addPerson(person);
+            }
+            for (Run run : runs) {
+                List<Appointment> yearAppointments = loadedAppointments.get(run.getYear());
+                if (yearAppointments == null) {
+                    continue;
+                }
+                int start = joinedCounts.getOrDefault(run.getYear(), 0);
+                for (Appointment appointment : yearAppointments.subList(start, start + run.getSize())) {
+                    addressBook.addAppointment(appointment);
+                }
+                joinedCounts.put(run.getYear(), start + run.getSize());
+            }
+            for (PetPatient petPatient : core.getPetPatientList()) {
+                addressBook.addPetPatient(petPatient);
+            }
+        } catch (IllegalValueException ive) {
+            throw new DataConversionException(ive);
+        }
+        return addressBook;
+    }
+
+    /**
+     * The part of an address book kept in one segment file.
+     */
+    private static class Segment implements ReadOnlyAddressBook {
+        private final ObservableList<Tag> tags;
+        private final ObservableList<Person> persons;
+        private final ObservableList<Appointment> appointments;
+        private final ObservableList<PetPatient> petPatients;
+
+        Segment(List<Tag> tags, List<Person> persons, List<Appointment> appointments,
+                List<PetPatient> petPatients) {
+            this.tags = FXCollections.observableArrayList(tags);
+            this.persons = FXCollections.observableArrayList(persons);
+            this.appointments = FXCollections.observableArrayList(appointments);
+            this.petPatients = FXCollections.observableArrayList(petPatients);
+        }
+
+        @Override
+        public ObservableList<Person> getPersonList() {
+            return persons;
+        }
+
+        @Override
+        public ObservableList<Tag> getTagList() {
+            return tags;
+        }
+
+        @Override
+        public ObservableList<Appointment> getAppointmentList() {
+            return appointments;
+        }
+
+        @Override
+        public ObservableList<PetPatient> getPetPatientList() {
+            return petPatients;
+        }
+    }
+
+    /**
+     * A segment file, the checksum of its contents, and for a year segment, what the manifest keeps about its
+     * appointments.
+     */
+    private static class SavedSegment {
+        private final String fileName;
+        /** The checksum of the contents before they are compressed, or an empty string if it is not known. */
+        private final String checksum;
+        /** What is known about the appointments of a year segment without reading them, or null for the core. */
+        private final ArchivedYear year;
+        /** True if {@link #year} was left archived in an address book read or saved, instead of being read. */
+        private final boolean isArchived;
+
+        SavedSegment(String fileName, String checksum, ArchivedYear year, boolean isArchived) {
+            this.fileName = fileName;
+            this.checksum = checksum;
+            this.year = year;
+            this.isArchived = isArchived;
+        }
+    }
+}
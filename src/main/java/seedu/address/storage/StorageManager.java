@@ -19,15 +19,44 @@ import seedu.address.model.UserPrefs;
  */
 public class StorageManager extends ComponentManager implements Storage {
 
+    public static final long DEFAULT_SAVE_DEBOUNCE_MILLIS = 300;
+
     private static final Logger logger = LogsCenter.getLogger(StorageManager.class);
     private AddressBookStorage addressBookStorage;
     private UserPrefsStorage userPrefsStorage;
+    private DebouncedAddressBookSaver addressBookSaver;
 
 
     public StorageManager(AddressBookStorage addressBookStorage, UserPrefsStorage userPrefsStorage) {
+        this(addressBookStorage, userPrefsStorage, DEFAULT_SAVE_DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * Creates a {@code StorageManager} that saves address book changes {@code saveDebounceMillis} after
+     * the first unsaved change, writing all changes made in the meantime at once.
+     */
+    public StorageManager(AddressBookStorage addressBookStorage, UserPrefsStorage userPrefsStorage,
+                          long saveDebounceMillis) {
         super();
         this.addressBookStorage = addressBookStorage;
         this.userPrefsStorage = userPrefsStorage;
+        this.addressBookSaver = new DebouncedAddressBookSaver(addressBookStorage,
+            e -> raise(new DataSavingExceptionEvent(e)), saveDebounceMillis);
+    }
+
+    /**
+     * Creates a {@code StorageManager} that appends each change made by a single mutation to a journal kept next to
+     * the address book file, and saves the address book in full once the journal holds
+     * {@code journalCompactionThreshold} changes. Other changes are saved in full as described above.
+     */
+    public StorageManager(AddressBookStorage addressBookStorage, UserPrefsStorage userPrefsStorage,
+                          long saveDebounceMillis, int journalCompactionThreshold) {
+        super();
+        JournaledAddressBookStorage journaledStorage = new JournaledAddressBookStorage(addressBookStorage);
+        this.addressBookStorage = journaledStorage;
+        this.userPrefsStorage = userPrefsStorage;
+        this.addressBookSaver = new DebouncedAddressBookSaver(journaledStorage, journalCompactionThreshold,
+            e -> raise(new DataSavingExceptionEvent(e)), saveDebounceMillis);
     }
 
     // ================ UserPrefs methods ==============================
@@ -86,11 +115,16 @@ public class StorageManager extends ComponentManager implements Storage {
     @Subscribe
     public void handleAddressBookChangedEvent(AddressBookChangedEvent event) {
         logger.info(LogsCenter.getEventHandlingLogMessage(event, "Local data changed, saving to file"));
-        try {
-            saveAddressBook(event.data);
-        } catch (IOException e) {
-            raise(new DataSavingExceptionEvent(e));
+        if (!event.getMutations().isEmpty()) {
+            addressBookSaver.requestSave(event.getMutations(), event.data);
+        } else {
+            addressBookSaver.requestSave(event.data);
         }
     }
 
+    @Override
+    public void flushAddressBookSaves() {
+        addressBookSaver.flush();
+    }
+
 }
@@ -27,6 +27,8 @@ public class XmlAdaptedAppointment {
 
     public static final String MISSING_FIELD_MESSAGE_FORMAT = "Appointment %s field is missing!";
 
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     @XmlElement(required = true)
     private String ownerNric;
     @XmlElement(required = true)
@@ -117,11 +119,10 @@ public class XmlAdaptedAppointment {
                     String.format(MISSING_FIELD_MESSAGE_FORMAT, LocalDateTime.class.getSimpleName()));
         }
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
         LocalDateTime localDateTime = null;
 
         try {
-            localDateTime = LocalDateTime.parse(dateTime, formatter);
+            localDateTime = LocalDateTime.parse(dateTime, DATE_TIME_FORMATTER);
         } catch (DateTimeParseException e) {
             throw new IllegalValueException("Please follow the format of yyyy-MM-dd HH:mm");
         }
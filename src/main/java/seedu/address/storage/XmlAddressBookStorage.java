@@ -17,15 +17,39 @@ import seedu.address.model.ReadOnlyAddressBook;
 
 /**
  * A class to access AddressBook data stored as an xml file on the hard disk.
+ *
+ * Files are replaced atomically when saved, and their previous versions are kept as {@link FileBackups}.
  */
 public class XmlAddressBookStorage implements AddressBookStorage {
 
     private static final Logger logger = LogsCenter.getLogger(XmlAddressBookStorage.class);
 
     private String filePath;
+    private final FileBackups backups;
+    private final XmlAddressBookWriter writer;
+    private final boolean isCompressed;
 
     public XmlAddressBookStorage(String filePath) {
+        this(filePath, FileBackups.DEFAULT_BACKUP_COUNT, true);
+    }
+
+    /**
+     * @param backupCount number of previous versions of the file to keep.
+     * @param isFormatted whether the xml written is indented. Unformatted files are smaller and faster to save.
+     */
+    public XmlAddressBookStorage(String filePath, int backupCount, boolean isFormatted) {
+        this(filePath, backupCount, isFormatted, false);
+    }
+
+    /**
+     * @param isCompressed whether the file and its backups are written compressed in the GZIP format.
+     *                     Files are read whether they are compressed or not.
+     */
+    public XmlAddressBookStorage(String filePath, int backupCount, boolean isFormatted, boolean isCompressed) {
         this.filePath = filePath;
+        this.backups = new FileBackups(backupCount);
+        this.writer = new XmlAddressBookWriter(isFormatted);
+        this.isCompressed = isCompressed;
     }
 
     public String getAddressBookFilePath() {
@@ -53,9 +77,8 @@ public class XmlAddressBookStorage implements AddressBookStorage {
             return Optional.empty();
         }
 
-        XmlSerializableAddressBook xmlAddressBook = XmlFileStorage.loadDataFromSaveFile(new File(filePath));
         try {
-            return Optional.of(xmlAddressBook.toModelType());
+            return Optional.of(XmlFileStorage.loadAddressBookFromSaveFile(addressBookFile));
         } catch (IllegalValueException ive) {
             logger.info("Illegal values found in " + addressBookFile + ": " + ive.getMessage());
             throw new DataConversionException(ive);
@@ -76,14 +99,19 @@ public class XmlAddressBookStorage implements AddressBookStorage {
         requireNonNull(filePath);
 
         File file = new File(filePath);
-        FileUtil.createIfMissing(file);
-        XmlFileStorage.saveDataToFile(file, new XmlSerializableAddressBook(addressBook));
+        backups.backUpCurrentVersion(file);
+        FileUtil.writeToFileAtomically(file, isCompressed, out -> writer.write(addressBook, out));
     }
 
+    /**
+     * Saves {@code addressBook} as the latest backup of the address book file, pushing the older backups back.
+     */
     @Override
     public void backupAddressBook(ReadOnlyAddressBook addressBook) throws IOException {
-        String backupFilePath = filePath + ".backup";
-        saveAddressBook(addressBook, backupFilePath);
+        requireNonNull(addressBook);
+
+        File backupFile = backups.makeRoomForLatestBackup(new File(filePath));
+        FileUtil.writeToFileAtomically(backupFile, isCompressed, out -> writer.write(addressBook, out));
     }
 
 }
@@ -0,0 +1,315 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.commons.util.FileUtil;
+import seedu.address.commons.util.XmlStreamUtil;
+import seedu.address.model.AddressBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.person.Person;
+import seedu.address.model.petpatient.PetPatient;
+import seedu.address.model.tag.Tag;
+
+/**
+ * Reads an address book saved in the format of {@link XmlSerializableAddressBook} one entity at a time.
+ *
+ * Each entity is converted into the model's type as soon as it is read, so the file is never held in memory as
+ * {@code XmlAdapted*} objects. The converted entities are then added to the address book with the same checks,
+ * and in the same order, as {@link XmlSerializableAddressBook#toModelType()}.
+ *
+ * The fields of each entity are read directly from the stream, which is much faster than unmarshalling each entity
+ * with JAXB. As with JAXB, attributes and unknown elements are ignored.
+ *
+ * Validating the fields of an entity takes far longer than reading them, so entities are validated and converted
+ * in batches on a {@code ForkJoinPool} while the rest of the file is being read. The converted entities are still
+ * added to the address book in the order they appear in the file, and if several entities are invalid, the error
+ * reported is the one that converting and adding each entity in turn would have reported first.
+ */
+public class XmlAddressBookStreamReader {
+
+    private static final String PERSON_ELEMENT = "persons";
+    private static final String TAG_ELEMENT = "tags";
+    private static final String APPOINTMENT_ELEMENT = "appointments";
+    private static final String PET_PATIENT_ELEMENT = "petPatients";
+
+    private static final String TAGGED_ELEMENT = "tagged";
+    private static final String APPOINTMENT_TAG_ELEMENT = "appointmentTagged";
+
+    private static final int CONVERSION_BATCH_SIZE = 256;
+
+    private final List<Tag> tags = new ArrayList<>();
+    private final BatchConverter<XmlAdaptedPerson, Person> persons;
+    private final BatchConverter<XmlAdaptedAppointment, Appointment> appointments;
+    private final BatchConverter<XmlAdaptedPetPatient, PetPatient> petPatients;
+
+    private XmlAddressBookStreamReader(ForkJoinPool pool) {
+        persons = new BatchConverter<>(pool, XmlAdaptedPerson::toModelType);
+        appointments = new BatchConverter<>(pool, XmlAdaptedAppointment::toModelType);
+        petPatients = new BatchConverter<>(pool, XmlAdaptedPetPatient::toModelType);
+    }
+
+    /**
+     * Returns the address book in the file, converting its entities on the common {@code ForkJoinPool}.
+     *
+     * @throws FileNotFoundException Thrown if the file is missing.
+     * @throws DataConversionException Thrown if the file is not in the correct format.
+     * @throws IllegalValueException Thrown if any entity in the file is invalid, or clashes with another.
+     */
+    public static AddressBook readAddressBook(File file)
+            throws FileNotFoundException, DataConversionException, IllegalValueException {
+        return readAddressBook(file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the address book in the file, converting its entities on {@code pool}.
+     *
+     * @see #readAddressBook(File)
+     */
+    public static AddressBook readAddressBook(File file, ForkJoinPool pool)
+            throws FileNotFoundException, DataConversionException, IllegalValueException {
+        requireNonNull(file);
+        requireNonNull(pool);
+
+        if (!FileUtil.isFileExists(file)) {
+            throw new FileNotFoundException("File not found : " + file.getAbsolutePath());
+        }
+
+        XmlAddressBookStreamReader addressBookReader = new XmlAddressBookStreamReader(pool);
+        try (InputStream in = FileUtil.openDecompressed(file)) {
+            XMLStreamReader reader = XmlStreamUtil.createReader(in);
+            try {
+                addressBookReader.readEntities(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new DataConversionException(e);
+        } catch (FileNotFoundException fnfe) {
+            throw fnfe;
+        } catch (IOException ioe) {
+            throw new DataConversionException(ioe);
+        }
+        return addressBookReader.toAddressBook();
+    }
+
+    /**
+     * Reads and converts every entity under the root element of {@code reader}.
+     */
+    private void readEntities(XMLStreamReader reader) throws XMLStreamException, IllegalValueException {
+        reader.nextTag(); // the root element
+        XmlStreamUtil.moveToNextElement(reader);
+
+        while (reader.isStartElement()) {
+            switch (reader.getLocalName()) {
+            case PERSON_ELEMENT:
+                persons.add(toAdaptedPerson(XmlStreamUtil.readFields(reader)));
+                break;
+            case TAG_ELEMENT:
+                tags.add(new XmlAdaptedTag(XmlStreamUtil.readText(reader)).toModelType());
+                break;
+            case APPOINTMENT_ELEMENT:
+                appointments.add(toAdaptedAppointment(XmlStreamUtil.readFields(reader)));
+                break;
+            case PET_PATIENT_ELEMENT:
+                petPatients.add(toAdaptedPetPatient(XmlStreamUtil.readFields(reader)));
+                break;
+            default:
+                // unknown elements are ignored, as they are when the whole file is unmarshalled at once
+                XmlStreamUtil.readText(reader);
+            }
+            XmlStreamUtil.moveToNextElement(reader);
+        }
+    }
+
+    /**
+     * Returns the person with the {@code fields} read.
+     */
+    private static XmlAdaptedPerson toAdaptedPerson(Map<String, List<String>> fields) {
+        return new XmlAdaptedPerson(getField(fields, "name"), getField(fields, "phone"), getField(fields, "email"),
+                getField(fields, "address"), getField(fields, "nric"), getTags(fields, TAGGED_ELEMENT));
+    }
+
+    /**
+     * Returns the appointment with the {@code fields} read.
+     */
+    private static XmlAdaptedAppointment toAdaptedAppointment(Map<String, List<String>> fields) {
+        return new XmlAdaptedAppointment(getField(fields, "ownerNric"), getField(fields, "petPatientName"),
+                getField(fields, "remark"), getField(fields, "dateTime"), getTags(fields, APPOINTMENT_TAG_ELEMENT));
+    }
+
+    /**
+     * Returns the pet patient with the {@code fields} read.
+     */
+    private static XmlAdaptedPetPatient toAdaptedPetPatient(Map<String, List<String>> fields) {
+        return new XmlAdaptedPetPatient(getField(fields, "name"), getField(fields, "species"),
+                getField(fields, "breed"), getField(fields, "colour"), getField(fields, "bloodType"),
+                getField(fields, "ownerNric"), getTags(fields, TAGGED_ELEMENT));
+    }
+
+    /**
+     * Returns the text of the first {@code name} field, or null if there is no such field.
+     */
+    private static String getField(Map<String, List<String>> fields, String name) {
+        List<String> values = fields.get(name);
+        return values == null ? null : values.get(0);
+    }
+
+    /**
+     * Returns the tags in each {@code name} field.
+     */
+    private static List<XmlAdaptedTag> getTags(Map<String, List<String>> fields, String name) {
+        return fields.getOrDefault(name, Collections.emptyList()).stream()
+                .map(XmlAdaptedTag::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns an address book of the entities read, in the order they were read.
+     *
+     * Each list is added as soon as it is converted, in the same order as
+     * {@link XmlSerializableAddressBook#toModelType()}, so that the same error is reported first.
+     *
+     * @throws IllegalValueException if any entities are invalid, are duplicates of each other,
+     *                               or appointments clash.
+     */
+    private AddressBook toAddressBook() throws IllegalValueException {
+        AddressBook addressBook = new AddressBook();
+        for (Tag tag : tags) {
+            addressBook.addTag(tag);
+        }
+        persons.addConvertedTo(addressBook::addPerson);
+        appointments.addConvertedTo(addressBook::addAppointment);
+        petPatients.addConvertedTo(addressBook::addPetPatient);
+        return addressBook;
+    }
+
+    /**
+     * Converts an adapted entity into the model's type.
+     */
+    @FunctionalInterface
+    private interface Conversion<A, M> {
+        M convert(A adapted) throws IllegalValueException;
+    }
+
+    /**
+     * Adds a converted entity to the address book.
+     */
+    @FunctionalInterface
+    private interface Addition<M> {
+        void add(M converted) throws IllegalValueException;
+    }
+
+    /**
+     * The entities of a batch converted before the first invalid entity in it, and the error in that entity.
+     */
+    private static class ConvertedBatch<M> {
+        private final List<M> converted;
+        private final IllegalValueException error;
+
+        ConvertedBatch(List<M> converted, IllegalValueException error) {
+            this.converted = converted;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Converts adapted entities into the model's type in batches on a {@code ForkJoinPool}, keeping their order.
+     */
+    private static class BatchConverter<A, M> {
+        private final ForkJoinPool pool;
+        private final Conversion<A, M> conversion;
+        private final List<Future<ConvertedBatch<M>>> batches = new ArrayList<>();
+        private List<A> pending = new ArrayList<>(CONVERSION_BATCH_SIZE);
+
+        BatchConverter(ForkJoinPool pool, Conversion<A, M> conversion) {
+            this.pool = pool;
+            this.conversion = conversion;
+        }
+
+        /**
+         * Adds {@code adapted} to be converted, after all entities added before it.
+         */
+        void add(A adapted) {
+            pending.add(adapted);
+            if (pending.size() == CONVERSION_BATCH_SIZE) {
+                submitPending();
+            }
+        }
+
+        /**
+         * Starts converting the entities added since the last batch was started.
+         * A batch stops converting at its first invalid entity.
+         */
+        private void submitPending() {
+            List<A> batch = pending;
+            pending = new ArrayList<>(CONVERSION_BATCH_SIZE);
+            batches.add(pool.submit(() -> {
+                List<M> converted = new ArrayList<>(batch.size());
+                for (A adapted : batch) {
+                    try {
+                        converted.add(conversion.convert(adapted));
+                    } catch (IllegalValueException ive) {
+                        return new ConvertedBatch<>(converted, ive);
+                    }
+                }
+                return new ConvertedBatch<>(converted, null);
+            }));
+        }
+
+        /**
+         * Passes all the entities added, converted, to {@code addition} in the order they were added.
+         *
+         * @throws IllegalValueException if an entity is invalid, or cannot be added. As when each entity is
+         *                               converted and then added in turn, the first such error is reported.
+         */
+        void addConvertedTo(Addition<M> addition) throws IllegalValueException {
+            if (!pending.isEmpty()) {
+                submitPending();
+            }
+            for (Future<ConvertedBatch<M>> batch : batches) {
+                ConvertedBatch<M> result = getResult(batch);
+                for (M converted : result.converted) {
+                    addition.add(converted);
+                }
+                if (result.error != null) {
+                    throw result.error;
+                }
+            }
+        }
+
+        /**
+         * Waits for {@code batch} to be converted and returns the converted entities.
+         */
+        private ConvertedBatch<M> getResult(Future<ConvertedBatch<M>> batch) {
+            try {
+                return batch.get();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading the address book.", ie);
+            } catch (ExecutionException ee) {
+                if (ee.getCause() instanceof Error) {
+                    throw (Error) ee.getCause();
+                }
+                throw (RuntimeException) ee.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.xml.bind.JAXBException;
+
+import seedu.address.commons.util.XmlUtil;
+import seedu.address.model.AddressBookSnapshot;
+import seedu.address.model.AddressBookSnapshot.Section;
+import seedu.address.model.ReadOnlyAddressBook;
+
+/**
+ * Writes address books in the same xml as {@link XmlSerializableAddressBook}, converting only what changed since
+ * the previous address book it wrote.
+ *
+ * The xml of each entity written is kept, keyed by the entity itself, as entities cannot be changed. When the next
+ * address book is written, entities that were written before reuse their xml. If both address books are
+ * {@link AddressBookSnapshot}s, the xml of each section that was not changed in between is reused whole.
+ */
+class XmlAddressBookWriter {
+
+    private static final String DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>";
+    private static final String ROOT_ELEMENT = "addressbook";
+    private static final String INDENT = "    ";
+
+    private final boolean isFormatted;
+    private final Map<Section, SectionXml> writtenSections = new EnumMap<>(Section.class);
+    private AddressBookSnapshot writtenSnapshot;
+
+    XmlAddressBookWriter(boolean isFormatted) {
+        this.isFormatted = isFormatted;
+    }
+
+    /**
+     * Writes {@code addressBook} to {@code out}. The stream is not closed.
+     */
+    synchronized void write(ReadOnlyAddressBook addressBook, OutputStream out) throws IOException {
+        requireNonNull(addressBook);
+        requireNonNull(out);
+
+        Set<Section> changedSections = EnumSet.allOf(Section.class);
+        if (addressBook instanceof AddressBookSnapshot && writtenSnapshot != null) {
+            changedSections = ((AddressBookSnapshot) addressBook).getChangedSections(writtenSnapshot);
+        }
+
+        // sections are written in the order of the fields of XmlSerializableAddressBook
+        byte[] persons = getSectionXml(Section.PERSONS, "persons", addressBook.getPersonList(),
+                XmlAdaptedPerson::new, changedSections);
+        byte[] tags = getSectionXml(Section.TAGS, "tags", addressBook.getTagList(),
+                XmlAdaptedTag::new, changedSections);
+        byte[] appointments = getSectionXml(Section.APPOINTMENTS, "appointments", addressBook.getAppointmentList(),
+                XmlAdaptedAppointment::new, changedSections);
+        byte[] petPatients = getSectionXml(Section.PET_PATIENTS, "petPatients", addressBook.getPetPatientList(),
+                XmlAdaptedPetPatient::new, changedSections);
+        writtenSnapshot = addressBook instanceof AddressBookSnapshot ? (AddressBookSnapshot) addressBook : null;
+
+        String lineBreak = isFormatted ? "\n" : "";
+        out.write(DECLARATION.getBytes(StandardCharsets.UTF_8));
+        out.write(lineBreak.getBytes(StandardCharsets.UTF_8));
+        if (persons.length + tags.length + appointments.length + petPatients.length == 0) {
+            out.write(("<" + ROOT_ELEMENT + "/>" + lineBreak).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        out.write(("<" + ROOT_ELEMENT + ">").getBytes(StandardCharsets.UTF_8));
+        out.write(persons);
+        out.write(tags);
+        out.write(appointments);
+        out.write(petPatients);
+        out.write((lineBreak + "</" + ROOT_ELEMENT + ">" + lineBreak).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the xml of {@code entities}, the {@code section} of the address book being written, as elements named
+     * {@code elementName}. The xml written before is reused if {@code section} is not among {@code changedSections}.
+     */
+    private <T> byte[] getSectionXml(Section section, String elementName, List<T> entities,
+                                     Function<T, Object> adapter, Set<Section> changedSections) throws IOException {
+        SectionXml written = writtenSections.get(section);
+        if (written != null && !changedSections.contains(section)) {
+            return written.xml;
+        }
+
+        Map<Object, byte[]> entityXml = new IdentityHashMap<>(entities.size());
+        ByteArrayOutputStream sectionXml = new ByteArrayOutputStream();
+        for (T entity : entities) {
+            byte[] xml = written == null ? null : written.entityXml.get(entity);
+            if (xml == null) {
+                xml = toXml(elementName, adapter.apply(entity));
+            }
+            entityXml.put(entity, xml);
+            sectionXml.write(xml);
+        }
+
+        SectionXml rewritten = new SectionXml(sectionXml.toByteArray(), entityXml);
+        writtenSections.put(section, rewritten);
+        return rewritten.xml;
+    }
+
+    /**
+     * Returns the xml of the adapted entity {@code adapted}, as an element named {@code elementName} in the
+     * root element.
+     */
+    private byte[] toXml(String elementName, Object adapted) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            XmlUtil.saveFragmentToStream(out, elementName, adapted, isFormatted);
+        } catch (JAXBException e) {
+            throw new IOException(e);
+        }
+        if (!isFormatted) {
+            return out.toByteArray();
+        }
+        // an indented element is written between line breaks, and each of its lines is one level deeper in the root
+        String xml = out.toString(StandardCharsets.UTF_8.name());
+        if (xml.endsWith("\n")) {
+            xml = xml.substring(0, xml.length() - 1);
+        }
+        return xml.replace("\n", "\n" + INDENT).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The xml written for a section, and for each entity in it.
+     */
+    private static class SectionXml {
+        private final byte[] xml;
+        private final Map<Object, byte[]> entityXml;
+
+        SectionXml(byte[] xml, Map<Object, byte[]> entityXml) {
+            this.xml = xml;
+            this.entityXml = entityXml;
+        }
+    }
+}
@@ -2,26 +2,52 @@ package seedu.address.storage;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 
 import javax.xml.bind.JAXBException;
 
 import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.commons.util.FileUtil;
 import seedu.address.commons.util.XmlUtil;
+import seedu.address.model.AddressBook;
 
 /**
  * Stores addressbook data in an XML file
  */
 public class XmlFileStorage {
     /**
-     * Saves the given addressbook data to the specified file.
+     * Saves the given addressbook data to the specified file, indented for reading by people.
+     * The file is replaced atomically, so it is never left partially written.
      */
-    public static void saveDataToFile(File file, XmlSerializableAddressBook addressBook)
-            throws FileNotFoundException {
-        try {
-            XmlUtil.saveDataToFile(file, addressBook);
-        } catch (JAXBException e) {
-            throw new AssertionError("Unexpected exception " + e.getMessage());
-        }
+    public static void saveDataToFile(File file, XmlSerializableAddressBook addressBook) throws IOException {
+        saveDataToFile(file, addressBook, true);
+    }
+
+    /**
+     * Saves the given addressbook data to the specified file, indented if {@code isFormatted} is true.
+     * The file is replaced atomically, so it is never left partially written.
+     */
+    public static void saveDataToFile(File file, XmlSerializableAddressBook addressBook, boolean isFormatted)
+            throws IOException {
+        FileUtil.writeToFileAtomically(file, out -> {
+            try {
+                XmlUtil.saveDataToStream(out, addressBook, isFormatted);
+            } catch (JAXBException e) {
+                // errors from writing to the disk reach us wrapped by the marshaller
+                throw new IOException(e);
+            }
+        });
+    }
+
+    /**
+     * Returns the address book in the file, reading it one entity at a time.
+     *
+     * @throws IllegalValueException if any entity in the file is invalid, or clashes with another.
+     */
+    public static AddressBook loadAddressBookFromSaveFile(File file) throws DataConversionException,
+            FileNotFoundException, IllegalValueException {
+        return XmlAddressBookStreamReader.readAddressBook(file);
     }
 
     /**
@@ -0,0 +1,50 @@
+package seedu.address.storage;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.ReadOnlyAddressBook;
+
+/**
+ * Converts an xml address book file to the {@link BinaryAddressBookFormat}, leaving the xml file untouched.
+ *
+ * Run with {@code java seedu.address.storage.XmlToBinaryMigrationTool <xml file> <binary file>}, then set
+ * {@code storageFormat} to {@code BINARY} and point {@code addressBookFilePath} at the binary file.
+ */
+public class XmlToBinaryMigrationTool {
+
+    public static final String MESSAGE_USAGE = "Usage: XmlToBinaryMigrationTool <xml file> <binary file>";
+
+    /**
+     * Reads the address book in {@code xmlFilePath} and saves it to {@code binaryFilePath}.
+     *
+     * @throws IOException if {@code xmlFilePath} does not exist, or either file cannot be accessed.
+     * @throws DataConversionException if {@code xmlFilePath} does not hold a valid address book.
+     */
+    public static void migrate(String xmlFilePath, String binaryFilePath)
+            throws DataConversionException, IOException {
+        Optional<ReadOnlyAddressBook> addressBook = new XmlAddressBookStorage(xmlFilePath).readAddressBook();
+        if (!addressBook.isPresent()) {
+            throw new IOException("AddressBook file " + xmlFilePath + " not found");
+        }
+        new BinaryAddressBookStorage(binaryFilePath, 0).saveAddressBook(addressBook.get());
+    }
+
+    /**
+     * Migrates the xml file named by the first argument to the binary file named by the second.
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println(MESSAGE_USAGE);
+            System.exit(1);
+        }
+        try {
+            migrate(args[0], args[1]);
+            System.out.println("Migrated " + args[0] + " to " + args[1]);
+        } catch (DataConversionException | IOException e) {
+            System.err.println("Unable to migrate " + args[0] + ": " + e);
+            System.exit(1);
+        }
+    }
+}
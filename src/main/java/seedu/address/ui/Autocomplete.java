@@ -13,7 +13,6 @@ import static seedu.address.logic.parser.CliSyntax.PREFIX_TAG;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -27,10 +26,12 @@ import seedu.address.commons.core.LogsCenter;
 import seedu.address.commons.events.model.AddressBookChangedEvent;
 import seedu.address.commons.util.StringUtil;
 import seedu.address.logic.Logic;
+import seedu.address.logic.SuggestionDictionary;
 import seedu.address.logic.commands.AddCommand;
 import seedu.address.logic.commands.EditCommand;
 import seedu.address.logic.commands.FindCommand;
 import seedu.address.logic.parser.CliSyntax;
+import seedu.address.logic.parser.Prefix;
 
 //@@author aquarinte
 /**
@@ -48,7 +49,7 @@ public class Autocomplete {
     private String commandWord;
     private String option;
     private String targetWord;
-    private Set<String> tagSet;
+    private SuggestionDictionary tagDictionary;
 
     public static Autocomplete getInstance() {
         if (instance == null) {
@@ -59,7 +60,8 @@ public class Autocomplete {
     }
 
     /**
-     * Initalizes or updates data required for autocomplete.
+     * Initalizes autocomplete, discarding the suggestions taken from the model so that they are rebuilt when next
+     * used.
      */
     public void init(Logic logic) {
         this.logic = logic;
@@ -242,24 +244,7 @@ public class Autocomplete {
      */
     private List<String> getTagSuggestions() {
         setTagListBasedOnOption();
-        if (targetWord.equals(PREFIX_TAG.toString())) {
-            List<String> suggestions = tagSet
-                    .stream()
-                    .sorted(String::compareToIgnoreCase)
-                    .limit(MAX_SUGGESTION_COUNT)
-                    .collect(Collectors.toList());
-            return suggestions;
-
-        } else {
-            String targetTag = getParameter();
-            List<String> suggestions = tagSet
-                    .stream()
-                    .filter(t -> t.toLowerCase().startsWith(targetTag) && !t.toLowerCase().equals(targetTag))
-                    .sorted(String::compareToIgnoreCase)
-                    .limit(MAX_SUGGESTION_COUNT)
-                    .collect(Collectors.toList());
-            return suggestions;
-        }
+        return getParameterSuggestions(tagDictionary, PREFIX_TAG);
     }
 
     /**
@@ -272,19 +257,19 @@ public class Autocomplete {
         switch(option) {
 
         case OPTION_OWNER:
-            tagSet = logic.getAllPersonTags();
+            tagDictionary = logic.getAllPersonTags();
             break;
 
         case OPTION_PETPATIENT:
-            tagSet = logic.getAllPetPatientTags();
+            tagDictionary = logic.getAllPetPatientTags();
             break;
 
         case OPTION_APPOINTMENT:
-            tagSet = logic.getAllAppointmentTags();
+            tagDictionary = logic.getAllAppointmentTags();
             break;
 
         default:
-            tagSet = logic.getAllTagsInModel();
+            tagDictionary = logic.getAllTagsInModel();
         }
     }
 
@@ -293,48 +278,14 @@ public class Autocomplete {
      * List size conforms to max size {@code MAX_SUGGESTION_COUNT}.
      */
     private List<String> getPetPatientNameSuggestions() {
-        if (targetWord.equals(PREFIX_NAME.toString())) {
-            List<String> suggestions = logic.getAllPetPatientNames()
-                    .stream()
-                    .sorted(String::compareToIgnoreCase)
-                    .limit(MAX_SUGGESTION_COUNT)
-                    .collect(Collectors.toList());
-            return suggestions;
-
-        } else {
-            String targetPetName = getParameter();
-            List<String> suggestions = logic.getAllPetPatientNames()
-                    .stream()
-                    .filter(pn -> pn.toLowerCase().startsWith(targetPetName) && !pn.toLowerCase().equals(targetPetName))
-                    .sorted(String::compareToIgnoreCase)
-                    .limit(MAX_SUGGESTION_COUNT)
-                    .collect(Collectors.toList());
-            return suggestions;
-        }
+        return getParameterSuggestions(logic.getAllPetPatientNames(), PREFIX_NAME);
     }
 
     /**
      * Returns a sorted list of suggestions for pet patient species.
      */
     private List<String> getPetPatientSpeciesSuggestions() {
-        if (targetWord.equals(PREFIX_SPECIES.toString())) {
-            List<String> suggestions = logic.getAllPetPatientSpecies()
-                    .stream()
-                    .sorted(String::compareToIgnoreCase)
-                    .limit(MAX_SUGGESTION_COUNT)
-                    .collect(Collectors.toList());
-            return suggestions;
-
-        } else {
-            String targetSpecies = getParameter();
-            List<String> suggestions = logic.getAllPetPatientSpecies()
-                    .stream()
-                    .filter(s -> s.toLowerCase().startsWith(targetSpecies) && !s.toLowerCase().equals(targetSpecies))
-                    .sorted(String::compareToIgnoreCase)
-                    .limit(MAX_SUGGESTION_COUNT)
-                    .collect(Collectors.toList());
-            return suggestions;
-        }
+        return getParameterSuggestions(logic.getAllPetPatientSpecies(), PREFIX_SPECIES);
     }
 
     /**
@@ -342,24 +293,7 @@ public class Autocomplete {
      * List size conforms to max size {@code MAX_SUGGESTION_COUNT}.
      */
     private List<String> getPetPatientBreedSuggestions() {
-        if (targetWord.equals(PREFIX_BREED.toString())) {
-            List<String> suggestions = logic.getAllPetPatientBreeds()
-                    .stream()
-                    .sorted(String::compareToIgnoreCase)
-                    .limit(MAX_SUGGESTION_COUNT)
-                    .collect(Collectors.toList());
-            return suggestions;
-
-        } else {
-            String targetBreed = getParameter();
-            List<String> suggestions = logic.getAllPetPatientBreeds()
-                    .stream()
-                    .filter(b -> b.toLowerCase().startsWith(targetBreed) && !b.toLowerCase().equals(targetBreed))
-                    .sorted(String::compareToIgnoreCase)
-                    .limit(MAX_SUGGESTION_COUNT)
-                    .collect(Collectors.toList());
-            return suggestions;
-        }
+        return getParameterSuggestions(logic.getAllPetPatientBreeds(), PREFIX_BREED);
     }
 
     /**
@@ -367,25 +301,7 @@ public class Autocomplete {
      * List size conforms to max size {@code MAX_SUGGESTION_COUNT}.
      */
     private List<String> getPetPatientColourSuggestions() {
-        if (targetWord.equals(PREFIX_COLOUR.toString())) {
-            List<String> suggestions = logic.getAllPetPatientColours()
-                    .stream()
-                    .sorted(String::compareToIgnoreCase)
-                    .limit(MAX_SUGGESTION_COUNT)
-                    .collect(Collectors.toList());
-            return suggestions;
-
-        } else {
-            String targetPetColour = getParameter();
-            List<String> suggestions = logic.getAllPetPatientColours()
-                    .stream()
-                    .filter(c -> c.toLowerCase().startsWith(targetPetColour)
-                            && !c.toLowerCase().equals(targetPetColour))
-                    .sorted(String::compareToIgnoreCase)
-                    .limit(MAX_SUGGESTION_COUNT)
-                    .collect(Collectors.toList());
-            return suggestions;
-        }
+        return getParameterSuggestions(logic.getAllPetPatientColours(), PREFIX_COLOUR);
     }
 
     /**
@@ -393,25 +309,7 @@ public class Autocomplete {
      * List size conforms to max size {@code MAX_SUGGESTION_COUNT}.
      */
     private List<String> getPetPatientBloodTypeSuggestions() {
-        if (targetWord.equals(PREFIX_BLOODTYPE.toString())) {
-            List<String> suggestions = logic.getAllPetPatientBloodTypes()
-                    .stream()
-                    .sorted(String::compareToIgnoreCase)
-                    .limit(MAX_SUGGESTION_COUNT)
-                    .collect(Collectors.toList());
-            return suggestions;
-
-        } else {
-            String targetPetBloodType = getParameter();
-            List<String> suggestions = logic.getAllPetPatientBloodTypes()
-                    .stream()
-                    .filter(bt -> bt.toLowerCase().startsWith(targetPetBloodType)
-                            && !bt.toLowerCase().equals(targetPetBloodType))
-                    .sorted(String::compareToIgnoreCase)
-                    .limit(MAX_SUGGESTION_COUNT)
-                    .collect(Collectors.toList());
-            return suggestions;
-        }
+        return getParameterSuggestions(logic.getAllPetPatientBloodTypes(), PREFIX_BLOODTYPE);
     }
 
     /**
@@ -419,26 +317,21 @@ public class Autocomplete {
      * List size conforms to max size {@code MAX_SUGGESTION_COUNT}.
      */
     private List<String> getNricSuggestions() {
-        if (targetWord.equals(PREFIX_NRIC.toString())) {
-            List<String> suggestions = logic.getAllNric()
-                    .stream()
-                    .sorted()
-                    .limit(MAX_SUGGESTION_COUNT)
-                    .collect(Collectors.toList());
-            return suggestions;
+        return getParameterSuggestions(logic.getAllNric(), PREFIX_NRIC);
+    }
 
-        } else {
-            String targetNric = getParameter().toUpperCase();
-            List<String> suggestions = logic.getAllNric()
-                    .stream()
-                    .filter(n -> n.startsWith(targetNric) && !n.equals(targetNric))
-                    .sorted()
-                    .limit(MAX_SUGGESTION_COUNT)
-                    .collect(Collectors.toList());
-            return suggestions;
-        }
+    //@@author
+    /**
+     * Returns the words in {@code dictionary} that start with the parameter of {@code targetWord}, which is given
+     * with {@code prefix}. All the words are suggested if the parameter is still empty.
+     * List size conforms to max size {@code MAX_SUGGESTION_COUNT}.
+     */
+    private List<String> getParameterSuggestions(SuggestionDictionary dictionary, Prefix prefix) {
+        String parameter = targetWord.equals(prefix.toString()) ? "" : getParameter();
+        return dictionary.getSuggestions(parameter, MAX_SUGGESTION_COUNT);
     }
 
+    //@@author aquarinte
     /**
      * Returns a sorted list of suggestions for prefixes.
      */
@@ -27,6 +27,7 @@ import javafx.fxml.FXML;
 import javafx.scene.layout.Region;
 
 import seedu.address.commons.events.model.AddressBookChangedEvent;
+import seedu.address.commons.events.model.ArchivedAppointmentsLoadedEvent;
 import seedu.address.commons.events.ui.ChangeDayViewRequestEvent;
 import seedu.address.commons.events.ui.ChangeMonthViewRequestEvent;
 import seedu.address.commons.events.ui.ChangeWeekViewRequestEvent;
@@ -198,6 +199,12 @@ public class CalendarWindow extends UiPart<Region> {
 
     }
 
+    @Subscribe
+    private void handleArchivedAppointmentsLoadedEvent(ArchivedAppointmentsLoadedEvent event) {
+        appointmentList = event.data.getAppointmentList();
+        Platform.runLater(this::setCalendar);
+    }
+
     //@@author wynonaK
     private void changeYearView(Year year) {
         calendarView.showYear(year);
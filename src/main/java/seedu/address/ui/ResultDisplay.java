@@ -35,7 +35,13 @@ public class ResultDisplay extends UiPart<Region> {
     @Subscribe
     private void handleNewResultAvailableEvent(NewResultAvailableEvent event) {
         logger.info(LogsCenter.getEventHandlingLogMessage(event));
-        Platform.runLater(() -> displayed.setValue(event.message));
+        // results raised on the ui thread are shown right away, so that the progress of background tasks that
+        // they start is never overwritten by the result itself
+        if (Platform.isFxApplicationThread()) {
+            displayed.setValue(event.message);
+        } else {
+            Platform.runLater(() -> displayed.setValue(event.message));
+        }
     }
 
 }
@@ -114,6 +114,11 @@ public class UiManager extends ComponentManager implements Ui {
     @Subscribe
     private void handleDataSavingExceptionEvent(DataSavingExceptionEvent event) {
         logger.info(LogsCenter.getEventHandlingLogMessage(event));
+        // the address book is saved on a background thread, but alerts can only be shown on the FX thread
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> handleDataSavingExceptionEvent(event));
+            return;
+        }
         showFileOperationAlertAndWait(FILE_OPS_ERROR_DIALOG_HEADER_MESSAGE, FILE_OPS_ERROR_DIALOG_CONTENT_MESSAGE,
                 event.exception);
     }
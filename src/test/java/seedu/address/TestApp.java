@@ -76,6 +76,7 @@ public class TestApp extends MainApp {
      * Returns a defensive copy of the address book data stored inside the storage file.
      */
     public AddressBook readStorageAddressBook() {
+        storage.flushAddressBookSaves();
         try {
             return new AddressBook(storage.readAddressBook().get());
         } catch (DataConversionException dce) {
@@ -16,7 +16,16 @@ public class ConfigTest {
     public void toString_defaultObject_stringReturned() {
         String defaultConfigAsString = "App title : Medeina\n"
                 + "Current log level : INFO\n"
-                + "Preference file Location : preferences.json";
+                + "Preference file Location : preferences.json\n"
+                + "Undo history limit : 100\n"
+                + "Undo record limit : 500000\n"
+                + "Save debounce (ms) : 300\n"
+                + "Backup count : 3\n"
+                + "Data file formatted : true\n"
+                + "Storage format : XML\n"
+                + "Journal compaction threshold : 0\n"
+                + "Data file read-only : false\n"
+                + "Data file compressed : false";
 
         assertEquals(defaultConfigAsString, new Config().toString());
     }
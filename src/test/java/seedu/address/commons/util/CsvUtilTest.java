@@ -0,0 +1,46 @@
+package seedu.address.commons.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class CsvUtilTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void readRecord_plainAndQuotedFields_success() throws Exception {
+        BufferedReader reader = new BufferedReader(new StringReader(
+                "a,b,c\r\n\"x, y\",\"say \"\"hi\"\"\",\"two\nlines\"\n\n,last"));
+        assertEquals(Arrays.asList("a", "b", "c"), CsvUtil.readRecord(reader));
+        assertEquals(Arrays.asList("x, y", "say \"hi\"", "two\nlines"), CsvUtil.readRecord(reader));
+        assertEquals(Collections.singletonList(""), CsvUtil.readRecord(reader));
+        assertEquals(Arrays.asList("", "last"), CsvUtil.readRecord(reader));
+        assertNull(CsvUtil.readRecord(reader));
+    }
+
+    @Test
+    public void readRecord_unclosedQuote_throwsIoException() throws Exception {
+        thrown.expect(IOException.class);
+        CsvUtil.readRecord(new BufferedReader(new StringReader("\"unclosed,field")));
+    }
+
+    @Test
+    public void toRecord_fieldsNeedingQuotes_readBackUnchanged() throws Exception {
+        List<String> fields = Arrays.asList("plain", "with, comma", "with \"quotes\"", "with\nline break", "");
+        String record = CsvUtil.toRecord(fields);
+        assertEquals("plain,\"with, comma\",\"with \"\"quotes\"\"\",\"with\nline break\",", record);
+        assertEquals(fields, CsvUtil.readRecord(new BufferedReader(new StringReader(record))));
+    }
+}
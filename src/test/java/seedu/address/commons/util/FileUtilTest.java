@@ -1,18 +1,29 @@
 package seedu.address.commons.util;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 
 public class FileUtilTest {
 
     @Rule
     public ExpectedException thrown = ExpectedException.none();
 
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
     @Test
     public void getPath() {
 
@@ -28,4 +39,38 @@ public class FileUtilTest {
         FileUtil.getPath("folder");
     }
 
+    @Test
+    public void writeToFileAtomically_compressed_readBackDecompressed() throws Exception {
+        byte[] content = "medeina medeina medeina medeina".getBytes(StandardCharsets.UTF_8);
+        File compressedFile = testFolder.newFile("compressed");
+        File plainFile = testFolder.newFile("plain");
+        FileUtil.writeToFileAtomically(compressedFile, true, out -> out.write(content));
+        FileUtil.writeToFileAtomically(plainFile, false, out -> out.write(content));
+
+        assertTrue(FileUtil.isCompressed(compressedFile));
+        assertFalse(FileUtil.isCompressed(plainFile));
+        assertArrayEquals(content, readDecompressed(compressedFile));
+        assertArrayEquals(content, readDecompressed(plainFile));
+    }
+
+    @Test
+    public void isCompressed_emptyFile_returnsFalse() throws Exception {
+        assertFalse(FileUtil.isCompressed(testFolder.newFile("empty")));
+    }
+
+    /**
+     * Returns the contents of {@code file}, read through {@link FileUtil#openDecompressed(File)}.
+     */
+    private static byte[] readDecompressed(File file) throws IOException {
+        try (InputStream in = FileUtil.openDecompressed(file)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
 }
@@ -0,0 +1,59 @@
+package seedu.address.commons.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+public class XmlStreamUtilTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void readFields_repeatedAndNestedElements_textOfEachChild() throws Exception {
+        XMLStreamReader reader = createReader("<root><entity><name>Hans<skipped>x</skipped></name>"
+                + "<tag>a</tag><!-- comment --><tag><![CDATA[b]]></tag></entity></root>");
+        reader.nextTag(); // the root element
+        XmlStreamUtil.moveToNextElement(reader);
+
+        Map<String, List<String>> fields = XmlStreamUtil.readFields(reader);
+        assertEquals(Collections.singletonList("Hans"), fields.get("name"));
+        assertEquals(Arrays.asList("a", "b"), fields.get("tag"));
+        assertTrue(reader.isEndElement());
+        assertEquals("entity", reader.getLocalName());
+    }
+
+    @Test
+    public void createReader_externalEntity_throwsXmlStreamException() throws Exception {
+        File secret = testFolder.newFile();
+        FileUtil.writeToFile(secret, "secret");
+        XMLStreamReader reader = createReader("<?xml version=\"1.0\"?><!DOCTYPE root [<!ENTITY secret SYSTEM \""
+                + secret.toURI() + "\">]><root>&secret;</root>");
+
+        thrown.expect(XMLStreamException.class);
+        reader.nextTag(); // the root element
+        XmlStreamUtil.readText(reader);
+    }
+
+    private static XMLStreamReader createReader(String xml) throws XMLStreamException {
+        return XmlStreamUtil.createReader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -1,9 +1,11 @@
 package seedu.address.commons.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.util.Collections;
 import java.util.List;
 
@@ -138,6 +140,20 @@ public class XmlUtilTest {
         assertEquals(dataToWrite, dataFromFile);
     }
 
+    @Test
+    public void saveDataToStream_unformatted_dataSavedWithoutIndentation() throws Exception {
+        XmlSerializableAddressBook dataToWrite = new XmlSerializableAddressBook(
+                new AddressBookBuilder().withPerson(new PersonBuilder().build()).build());
+        TEMP_FILE.createNewFile();
+        try (FileOutputStream out = new FileOutputStream(TEMP_FILE)) {
+            XmlUtil.saveDataToStream(out, dataToWrite, false);
+        }
+        assertFalse(FileUtil.readFromFile(TEMP_FILE).contains("\n    <"));
+
+        XmlSerializableAddressBook dataFromFile = XmlUtil.getDataFromFile(TEMP_FILE, XmlSerializableAddressBook.class);
+        assertEquals(dataToWrite, dataFromFile);
+    }
+
     /**
      * Test class annotated with {@code XmlRootElement} to allow unmarshalling of .xml data to {@code XmlAdaptedPerson}
      * objects.
@@ -0,0 +1,52 @@
+package seedu.address.logic;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SuggestionDictionaryTest {
+    private SuggestionDictionary dictionary;
+
+    @Before
+    public void setUp() {
+        dictionary = new SuggestionDictionary(Arrays.asList("Persian", "pug", "Poodle", "Maine Coon", "Pug",
+                "Pomeranian", "Persian"));
+    }
+
+    @Test
+    public void getSuggestions_emptyPrefix_returnsAllWordsSortedIgnoringCase() {
+        assertEquals(6, dictionary.size());
+        assertEquals(Arrays.asList("Maine Coon", "Persian", "Pomeranian", "Poodle", "Pug", "pug"),
+                dictionary.getSuggestions("", 10));
+    }
+
+    @Test
+    public void getSuggestions_prefix_returnsWordsStartingWithPrefixIgnoringCase() {
+        assertEquals(Arrays.asList("Pomeranian", "Poodle"), dictionary.getSuggestions("po", 10));
+        assertEquals(Arrays.asList("Maine Coon"), dictionary.getSuggestions("MAINE", 10));
+        assertEquals(Collections.emptyList(), dictionary.getSuggestions("Siamese", 10));
+        assertEquals(Collections.emptyList(), dictionary.getSuggestions("z", 10));
+    }
+
+    @Test
+    public void getSuggestions_wholeWord_excludesWord() {
+        assertEquals(Collections.emptyList(), dictionary.getSuggestions("persian", 10));
+        assertEquals(Collections.emptyList(), dictionary.getSuggestions("PUG", 10));
+    }
+
+    @Test
+    public void getSuggestions_limit_returnsFirstWords() {
+        assertEquals(Arrays.asList("Persian", "Pomeranian"), dictionary.getSuggestions("p", 2));
+        assertEquals(Collections.emptyList(), dictionary.getSuggestions("p", 0));
+    }
+
+    @Test
+    public void getSuggestions_emptyDictionary_returnsNothing() {
+        assertEquals(Collections.emptyList(),
+                new SuggestionDictionary(Collections.emptyList()).getSuggestions("", 10));
+    }
+}
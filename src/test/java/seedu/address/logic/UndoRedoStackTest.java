@@ -84,6 +84,35 @@ public class UndoRedoStackTest {
         assertStackStatus(Collections.singletonList(dummyUndoableCommandOne), Collections.emptyList());
     }
 
+    @Test
+    public void push_beyondMaxUndoDepth_oldestCommandDropped() {
+        undoRedoStack = new UndoRedoStack(2, Integer.MAX_VALUE);
+        DummyUndoableCommand dummyUndoableCommandThree = new DummyUndoableCommand();
+        undoRedoStack.push(dummyUndoableCommandOne);
+        undoRedoStack.push(dummyUndoableCommandTwo);
+        undoRedoStack.push(dummyUndoableCommandThree);
+
+        assertEquals(dummyUndoableCommandThree, undoRedoStack.popUndo());
+        assertEquals(dummyUndoableCommandTwo, undoRedoStack.popUndo());
+        assertFalse(undoRedoStack.canUndo());
+    }
+
+    @Test
+    public void push_beyondMaxUndoRecordCount_oldestCommandsDroppedButLatestKept() {
+        undoRedoStack = new UndoRedoStack(UndoRedoStack.DEFAULT_MAX_UNDO_DEPTH, 10);
+        undoRedoStack.push(new DummyUndoableCommand(4));
+        undoRedoStack.push(new DummyUndoableCommand(4));
+        assertEquals(8, undoRedoStack.getUndoRecordCount());
+
+        undoRedoStack.push(new DummyUndoableCommand(4));
+        assertEquals(8, undoRedoStack.getUndoRecordCount());
+
+        undoRedoStack.push(new DummyUndoableCommand(20));
+        assertEquals(20, undoRedoStack.getUndoRecordCount());
+        undoRedoStack.popUndo();
+        assertFalse(undoRedoStack.canUndo());
+    }
+
     @Test
     public void canUndo() {
         // empty undo stack
@@ -239,9 +268,24 @@ public class UndoRedoStackTest {
     }
 
     class DummyUndoableCommand extends UndoableCommand {
+        private final int undoRecordCount;
+
+        DummyUndoableCommand() {
+            this(0);
+        }
+
+        DummyUndoableCommand(int undoRecordCount) {
+            this.undoRecordCount = undoRecordCount;
+        }
+
         @Override
         public CommandResult executeUndoableCommand() {
             return new CommandResult("");
         }
+
+        @Override
+        public int getUndoRecordCount() {
+            return undoRecordCount;
+        }
     }
 }
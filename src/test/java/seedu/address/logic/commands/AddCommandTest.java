@@ -9,7 +9,9 @@ import static org.junit.Assert.fail;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 
 import org.junit.Rule;
@@ -21,6 +23,7 @@ import seedu.address.logic.CommandHistory;
 import seedu.address.logic.UndoRedoStack;
 import seedu.address.logic.commands.exceptions.CommandException;
 import seedu.address.model.AddressBook;
+import seedu.address.model.AddressBookDelta;
 import seedu.address.model.Model;
 import seedu.address.model.ReadOnlyAddressBook;
 import seedu.address.model.appointment.Appointment;
@@ -34,6 +37,8 @@ import seedu.address.model.petpatient.PetPatient;
 import seedu.address.model.petpatient.PetPatientName;
 import seedu.address.model.petpatient.exceptions.DuplicatePetPatientException;
 import seedu.address.model.tag.Tag;
+import seedu.address.model.util.SearchIndex.Field;
+import seedu.address.model.util.SearchIndex.Keyword;
 import seedu.address.testutil.AppointmentBuilder;
 import seedu.address.testutil.PersonBuilder;
 import seedu.address.testutil.PetPatientBuilder;
@@ -289,6 +294,20 @@ public class AddCommandTest {
             return null;
         }
 
+        //@@author
+        @Override
+        public Map<Person, Double> findPersons(Map<Field, List<Keyword>> keywords) {
+            fail("This method should not be called.");
+            return null;
+        }
+
+        @Override
+        public Map<PetPatient, Double> findPetPatients(Map<Field, List<Keyword>> keywords) {
+            fail("This method should not be called.");
+            return null;
+        }
+
+        //@@author aquarinte
         @Override
         public void deletePetPatient(PetPatient target) {
             fail("This method should not be called.");
@@ -315,6 +334,7 @@ public class AddCommandTest {
             fail("This method should not be called.");
         }
 
+        //@@author aquarinte
         @Override
         public void resetData(ReadOnlyAddressBook newData) {
             fail("This method should not be called.");
@@ -326,6 +346,33 @@ public class AddCommandTest {
             return null;
         }
 
+        //@@author
+        @Override
+        public boolean isReadOnly() {
+            return false;
+        }
+
+        @Override
+        public void startRecordingChanges() {
+        }
+
+        @Override
+        public AddressBookDelta stopRecordingChanges() {
+            return new AddressBookDelta();
+        }
+
+        @Override
+        public void revertChanges(AddressBookDelta changes) {
+            fail("This method should not be called.");
+        }
+
+        @Override
+        public <T, E extends Exception> T batch(BatchChange<T, E> changes) {
+            fail("This method should not be called.");
+            return null;
+        }
+
+        //@@author aquarinte
         @Override
         public void deletePerson(Person target) {
             fail("This method should not be called.");
@@ -379,6 +426,36 @@ public class AddCommandTest {
             return false;
         }
 
+        //@@author
+        @Override
+        public boolean hasAppointmentInYear(int year) {
+            fail("This method should not be called.");
+            return false;
+        }
+
+        @Override
+        public void loadArchivedAppointments(int year) {
+            fail("This method should not be called.");
+        }
+
+        @Override
+        public void loadArchivedAppointments(Nric ownerNric) {
+            fail("This method should not be called.");
+        }
+
+        @Override
+        public LocalDateTime getLatestAppointmentDateTime(Nric ownerNric) {
+            fail("This method should not be called.");
+            return null;
+        }
+
+        @Override
+        public LocalDateTime getLatestAppointmentDateTime(Nric ownerNric, PetPatientName petPatientName) {
+            fail("This method should not be called.");
+            return null;
+        }
+
+        //@@author aquarinte
         @Override
         public void deleteTag(Tag tag) {
             fail("This method should not be called.");
@@ -395,6 +472,13 @@ public class AddCommandTest {
             fail("This method should not be called.");
         }
 
+        //@@author
+        @Override
+        public void updateFilteredPersonList(Predicate<Person> predicate, Comparator<Person> comparator) {
+            fail("This method should not be called.");
+        }
+
+        //@@author aquarinte
         @Override
         public ObservableList<Appointment> getFilteredAppointmentList() {
             fail("This method should not be called.");
@@ -416,6 +500,14 @@ public class AddCommandTest {
             fail("This method should not be called.");
         }
 
+        //@@author
+        @Override
+        public void updateFilteredPetPatientList(Predicate<PetPatient> predicate,
+                                                 Comparator<PetPatient> comparator) {
+            fail("This method should not be called.");
+        }
+
+        //@@author aquarinte
         @Override
         public List<Tag> getTagList() {
             return null;
@@ -1,5 +1,6 @@
 package seedu.address.logic.commands;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
@@ -8,19 +9,26 @@ import static seedu.address.logic.commands.CommandTestUtil.assertCommandSuccess;
 import static seedu.address.logic.commands.CommandTestUtil.prepareRedoCommand;
 import static seedu.address.logic.commands.CommandTestUtil.prepareUndoCommand;
 import static seedu.address.logic.commands.CommandTestUtil.showPersonAtIndex;
+import static seedu.address.model.AddressBookMutation.Type.DELETE_APPOINTMENT_DEPENDENCIES;
+import static seedu.address.model.AddressBookMutation.Type.DELETE_PERSON;
+import static seedu.address.model.AddressBookMutation.Type.DELETE_PET_PATIENT_DEPENDENCIES;
 import static seedu.address.testutil.TypicalIndexes.INDEX_FIRST_PERSON;
 import static seedu.address.testutil.TypicalIndexes.INDEX_SECOND_PERSON;
 import static seedu.address.testutil.TypicalPersons.getTypicalAddressBook;
 
+import java.util.Arrays;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import seedu.address.commons.core.Messages;
 import seedu.address.commons.core.index.Index;
+import seedu.address.commons.events.model.AddressBookChangedEvent;
 import seedu.address.logic.CommandHistory;
 import seedu.address.logic.UndoRedoStack;
 import seedu.address.logic.commands.exceptions.CommandException;
+import seedu.address.model.AddressBookMutation;
 import seedu.address.model.Model;
 import seedu.address.model.ModelManager;
 import seedu.address.model.UserPrefs;
@@ -29,6 +37,7 @@ import seedu.address.model.person.Person;
 import seedu.address.model.petpatient.PetPatient;
 import seedu.address.testutil.TypicalAppointments;
 import seedu.address.testutil.TypicalPetPatients;
+import seedu.address.ui.testutil.EventsCollectorRule;
 
 /**
  * Contains integration tests (interaction with the Model, UndoCommand and RedoCommand) and unit tests for
@@ -39,6 +48,9 @@ public class DeleteCommandTest {
     @Rule
     public ExpectedException thrown = ExpectedException.none();
 
+    @Rule
+    public final EventsCollectorRule eventsCollectorRule = new EventsCollectorRule();
+
     private Model model = new ModelManager(getTypicalAddressBook(), new UserPrefs());
 
     @Test
@@ -128,6 +140,25 @@ public class DeleteCommandTest {
         assertCommandSuccess(deleteCommand, model, expectedMessage, expectedModel);
     }
 
+    //@@author
+    @Test
+    public void executeDeleteForceOwnerWithTiedPetAndAppt_raisesSingleChange() throws Exception {
+        Person personToDelete = model.getFilteredPersonList().get(INDEX_FIRST_PERSON.getZeroBased());
+        model.addPetPatient(TypicalPetPatients.JEWEL);
+        model.addAppointment(TypicalAppointments.ALICE_APP);
+        DeleteCommand deleteCommand = prepareDeleteForceOwnerCommand(INDEX_FIRST_PERSON);
+        eventsCollectorRule.eventsCollector.reset();
+
+        deleteCommand.execute();
+
+        assertEquals(1, eventsCollectorRule.eventsCollector.getSize());
+        AddressBookChangedEvent event = (AddressBookChangedEvent) eventsCollectorRule.eventsCollector.getMostRecent();
+        assertEquals(Arrays.asList(new AddressBookMutation(DELETE_PET_PATIENT_DEPENDENCIES, personToDelete),
+                new AddressBookMutation(DELETE_APPOINTMENT_DEPENDENCIES, TypicalPetPatients.JEWEL),
+                new AddressBookMutation(DELETE_PERSON, personToDelete)), event.getMutations());
+    }
+
+    //@@author wynonaK
     @Test
     public void executeDeletePetPatient_validIndexUnfilteredList_success() throws Exception {
         model.addPetPatient(TypicalPetPatients.JEWEL);
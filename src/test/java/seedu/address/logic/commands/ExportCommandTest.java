@@ -0,0 +1,141 @@
+package seedu.address.logic.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static seedu.address.testutil.TypicalAddressBook.getTypicalAddressBook;
+import static seedu.address.testutil.TypicalPersons.ALICE;
+import static seedu.address.testutil.TypicalPersons.BENSON;
+import static seedu.address.testutil.TypicalPetPatients.JEWEL;
+
+import java.io.File;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.address.commons.events.ui.NewResultAvailableEvent;
+import seedu.address.commons.util.FileUtil;
+import seedu.address.logic.CommandHistory;
+import seedu.address.logic.RecordExporter;
+import seedu.address.logic.UndoRedoStack;
+import seedu.address.logic.parser.ImportBatch;
+import seedu.address.logic.parser.ImportFileParser;
+import seedu.address.model.Model;
+import seedu.address.model.ModelManager;
+import seedu.address.model.UserPrefs;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.ui.testutil.EventsCollectorRule;
+
+public class ExportCommandTest {
+
+    @Rule
+    public final EventsCollectorRule eventsCollectorRule = new EventsCollectorRule();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Model model;
+
+    @Before
+    public void setUp() {
+        model = new ModelManager(getTypicalAddressBook(), new UserPrefs());
+    }
+
+    @Test
+    public void execute_filteredPersonsToCsv_writesListedPersonsOnly() throws Exception {
+        model.updateFilteredPersonList(person -> person.equals(ALICE) || person.equals(BENSON));
+        File file = new File(testFolder.getRoot(), "contacts.csv");
+
+        CommandResult result = exportAndWait(1, file);
+
+        assertEquals(String.format(ExportCommand.MESSAGE_EXPORTING, 2, "contacts", file.getPath()),
+                result.feedbackToUser);
+        assertEquals("type,name,phone,email,address,nric,tags\n"
+                + "person,Alice Pauline,85355255,alice@example.com,\"123, Jurong West Ave 6, #08-111\",G1111111B,"
+                + "friends\n"
+                + "person,Benson Meier,98765432,johnd@example.com,\"311, Clementi Ave 2, #02-25\",S0123456Q,"
+                + "friends owesMoney\n", FileUtil.readFromFile(file));
+        assertLastResult(String.format(RecordExporter.MESSAGE_SUCCESS, 2, "contacts", file.getPath()));
+    }
+
+    @Test
+    public void execute_filteredPetPatientsToJson_writesJsonArray() throws Exception {
+        model.updateFilteredPetPatientList(petPatient -> petPatient.equals(JEWEL));
+        File file = new File(testFolder.getRoot(), "pets.json");
+
+        exportAndWait(2, file);
+
+        assertEquals("[{\"type\":\"petPatient\",\"name\":\"Jewel\",\"species\":\"Cat\",\"breed\":\"Persian Ragdoll\","
+                + "\"colour\":\"calico\",\"bloodType\":\"AB\",\"ownerNric\":\"G1111111B\","
+                + "\"tags\":[\"depression\",\"test\"]}]", FileUtil.readFromFile(file));
+    }
+
+    @Test
+    public void execute_appointmentsToCsv_canBeImportedAgain() throws Exception {
+        File file = new File(testFolder.getRoot(), "appointments.csv");
+
+        exportAndWait(3, file);
+
+        ImportBatch batch = new ImportFileParser().parse(file);
+        assertFalse(batch.hasErrors());
+        List<Appointment> imported = batch.getAppointments().stream()
+                .map(ImportBatch.Row::getEntity)
+                .collect(Collectors.toList());
+        assertEquals(model.getFilteredAppointmentList(), imported);
+    }
+
+    @Test
+    public void execute_unwritableFile_reportsFailure() throws Exception {
+        File notDirectory = testFolder.newFile("notDirectory");
+        File file = new File(notDirectory, "contacts.csv");
+
+        exportAndWait(1, file);
+
+        assertFalse(file.exists());
+        NewResultAvailableEvent event = (NewResultAvailableEvent) eventsCollectorRule.eventsCollector.getMostRecent();
+        assertTrue(event.message.startsWith(String.format(RecordExporter.MESSAGE_FAILURE, file.getPath(), "")));
+    }
+
+    @Test
+    public void equals() {
+        ExportCommand exportCommand = new ExportCommand(3, "appointments.csv");
+
+        // same object -> returns true
+        assertTrue(exportCommand.equals(exportCommand));
+
+        // same values -> returns true
+        assertTrue(exportCommand.equals(new ExportCommand(3, "appointments.csv")));
+
+        // different types -> returns false
+        assertFalse(exportCommand.equals(1));
+
+        // null -> returns false
+        assertFalse(exportCommand.equals(null));
+
+        // different records -> returns false
+        assertFalse(exportCommand.equals(new ExportCommand(1, "appointments.csv")));
+
+        // different file path -> returns false
+        assertFalse(exportCommand.equals(new ExportCommand(3, "appointments.json")));
+    }
+
+    /**
+     * Executes an {@code ExportCommand} of {@code type} to {@code file}, and waits for the export to be done.
+     */
+    private CommandResult exportAndWait(int type, File file) {
+        ExportCommand command = new ExportCommand(type, file.getPath());
+        command.setData(model, new CommandHistory(), new UndoRedoStack());
+        CommandResult result = command.execute();
+        RecordExporter.getInstance().flush();
+        return result;
+    }
+
+    private void assertLastResult(String expectedMessage) {
+        NewResultAvailableEvent event = (NewResultAvailableEvent) eventsCollectorRule.eventsCollector.getMostRecent();
+        assertEquals(expectedMessage, event.message);
+    }
+}
@@ -14,7 +14,14 @@ import static seedu.address.testutil.TypicalPersons.DANIEL;
 import static seedu.address.testutil.TypicalPersons.ELLE;
 import static seedu.address.testutil.TypicalPersons.FIONA;
 import static seedu.address.testutil.TypicalPersons.GEORGE;
-
+import static seedu.address.testutil.TypicalPetPatients.JENN;
+import static seedu.address.testutil.TypicalPetPatients.JEWEL;
+import static seedu.address.testutil.TypicalPetPatients.JOKER;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -25,11 +32,13 @@ import org.junit.Test;
 import seedu.address.logic.CommandHistory;
 import seedu.address.logic.UndoRedoStack;
 import seedu.address.logic.commands.exceptions.CommandException;
+import seedu.address.logic.parser.FindCommandParser;
 import seedu.address.model.AddressBook;
 import seedu.address.model.Model;
 import seedu.address.model.ModelManager;
 import seedu.address.model.UserPrefs;
 import seedu.address.model.person.Person;
+import seedu.address.testutil.PersonBuilder;
 
 //@@author wynonaK
 /**
@@ -287,7 +296,8 @@ public class FindCommandTest {
                 + "\n"
                 + String.format(MESSAGE_PET_PATIENTS_LISTED_OVERVIEW, 3);
         FindCommand command = preparePersonTagCommand("friends owesMoney");
-        assertCommandSuccess(command, expectedMessage, Arrays.asList(ALICE, BENSON, CARL, DANIEL, ELLE, FIONA, GEORGE));
+        // Benson matches both keywords, so is listed first
+        assertCommandSuccess(command, expectedMessage, Arrays.asList(BENSON, ALICE, CARL, DANIEL, ELLE, FIONA, GEORGE));
     }
 
     @Test
@@ -318,6 +328,147 @@ public class FindCommandTest {
         assertCommandSuccess(command, expectedMessage, Arrays.asList(ALICE));
     }
 
+    //@@author
+    @Test
+    public void execute_ownerNricKeyword_petPatientsOfOwnerFound() throws CommandException {
+        String expectedMessage = String.format(MESSAGE_PERSONS_LISTED_OVERVIEW, 1)
+                + "\n"
+                + String.format(MESSAGE_PET_PATIENTS_LISTED_OVERVIEW, 2);
+
+        HashMap<String, String[]> hashMap = new HashMap<>();
+        hashMap.put("ownerNric", new String[] {BENSON.getNric().toString()});
+
+        FindCommand command = new FindCommand(hashMap);
+        command.setData(model, new CommandHistory(), new UndoRedoStack());
+
+        assertCommandSuccess(command, expectedMessage, Arrays.asList(BENSON));
+        assertEquals(Arrays.asList(JOKER, JENN), model.getFilteredPetPatientList());
+    }
+
+    @Test
+    public void execute_prefixNameKeyword_petPatientsFound() throws Exception {
+        String expectedMessage = String.format(MESSAGE_PERSONS_LISTED_OVERVIEW, 2)
+                + "\n"
+                + String.format(MESSAGE_PET_PATIENTS_LISTED_OVERVIEW, 2);
+
+        FindCommand command = new FindCommandParser().parse(" -p n/je*");
+        command.setData(model, new CommandHistory(), new UndoRedoStack());
+
+        assertCommandSuccess(command, expectedMessage, Arrays.asList(ALICE, BENSON));
+        assertEquals(Arrays.asList(JEWEL, JENN), model.getFilteredPetPatientList());
+    }
+
+    @Test
+    public void execute_misspeltBreedKeywords_petPatientsFound() throws Exception {
+        String expectedMessage = String.format(MESSAGE_PERSONS_LISTED_OVERVIEW, 2)
+                + "\n"
+                + String.format(MESSAGE_PET_PATIENTS_LISTED_OVERVIEW, 2);
+
+        FindCommand command = new FindCommandParser().parse(" -p b/Persan~ Retriver~");
+        command.setData(model, new CommandHistory(), new UndoRedoStack());
+
+        assertCommandSuccess(command, expectedMessage, Arrays.asList(ALICE, BENSON));
+        assertEquals(Arrays.asList(JEWEL, JENN), model.getFilteredPetPatientList());
+    }
+
+    @Test
+    public void execute_misspeltNameWithoutSuffix_noPersonFound() throws Exception {
+        String expectedMessage = String.format(MESSAGE_PERSONS_LISTED_OVERVIEW, 0)
+                + "\n"
+                + String.format(MESSAGE_PET_PATIENTS_LISTED_OVERVIEW, 0);
+
+        FindCommand command = new FindCommandParser().parse(" -o n/Bensen");
+        command.setData(model, new CommandHistory(), new UndoRedoStack());
+        assertCommandSuccess(command, expectedMessage, Collections.emptyList());
+
+        command = new FindCommandParser().parse(" -o n/Bensen~");
+        command.setData(model, new CommandHistory(), new UndoRedoStack());
+        assertCommandSuccess(command, String.format(MESSAGE_PERSONS_LISTED_OVERVIEW, 1)
+                + "\n"
+                + String.format(MESSAGE_PET_PATIENTS_LISTED_OVERVIEW, 2), Arrays.asList(BENSON));
+    }
+
+    @Test
+    public void execute_petPatientWithRecentAppointment_listedFirst() throws Exception {
+        String expectedMessage = String.format(MESSAGE_PERSONS_LISTED_OVERVIEW, 2)
+                + "\n"
+                + String.format(MESSAGE_PET_PATIENTS_LISTED_OVERVIEW, 2);
+
+        FindCommand command = new FindCommandParser().parse(" -p n/Jenn Jewel");
+        command.setData(model, new CommandHistory(), new UndoRedoStack());
+
+        // both names match exactly, but only Jewel has an appointment
+        assertCommandSuccess(command, expectedMessage, Arrays.asList(ALICE, BENSON));
+        assertEquals(Arrays.asList(JEWEL, JENN), model.getFilteredPetPatientList());
+    }
+
+    @Test
+    public void execute_petPatientsWithAppointments_closerAppointmentListedFirst() throws Exception {
+        HashMap<String, String[]> keywords = new HashMap<>();
+        keywords.put("petName", new String[] {"Jewel", "Joker"});
+
+        // Joker's appointment is on 22 April 2018, and Jewel's on 28 May 2018
+        FindCommand command = new FindCommand(keywords, 1, getClockAt("2018-04-20"));
+        command.setData(model, new CommandHistory(), new UndoRedoStack());
+        command.execute();
+        assertEquals(Arrays.asList(JOKER, JEWEL), model.getFilteredPetPatientList());
+
+        command = new FindCommand(keywords, 1, getClockAt("2018-06-01"));
+        command.setData(model, new CommandHistory(), new UndoRedoStack());
+        command.execute();
+        assertEquals(Arrays.asList(JEWEL, JOKER), model.getFilteredPetPatientList());
+    }
+
+    @Test
+    public void execute_readOnlyModel_matchesListed() throws Exception {
+        model = new ModelManager(getTypicalAddressBook(), new UserPrefs(), true);
+
+        FindCommand command = new FindCommandParser().parse(" -o n/Benson");
+        command.setData(model, new CommandHistory(), new UndoRedoStack());
+        command.execute();
+        assertEquals(Arrays.asList(BENSON), model.getFilteredPersonList());
+        assertEquals(Arrays.asList(JOKER, JENN), model.getFilteredPetPatientList());
+
+        command = new FindCommandParser().parse(" -p n/Jenn Jewel");
+        command.setData(model, new CommandHistory(), new UndoRedoStack());
+        command.execute();
+        assertEquals(Arrays.asList(ALICE, BENSON), model.getFilteredPersonList());
+        assertEquals(Arrays.asList(JEWEL, JENN), model.getFilteredPetPatientList());
+    }
+
+    @Test
+    public void execute_manyMatches_listedByPage() throws Exception {
+        int personCount = FindCommand.PAGE_SIZE * 2 + 20;
+        AddressBook addressBook = new AddressBook();
+        List<Person> persons = new ArrayList<>();
+        for (int i = personCount - 1; i >= 0; i--) {
+            Person person = new PersonBuilder().withName(String.format("Client %03d", i))
+                    .withNric(String.format("S%07dA", i)).build();
+            addressBook.addPerson(person);
+            persons.add(0, person);
+        }
+        model = new ModelManager(addressBook, new UserPrefs());
+
+        FindCommand command = new FindCommandParser().parse(" -o n/client --page 2");
+        command.setData(model, new CommandHistory(), new UndoRedoStack());
+        assertCommandSuccess(command, String.format(MESSAGE_PERSONS_LISTED_OVERVIEW, FindCommand.PAGE_SIZE)
+                + "\n"
+                + String.format(MESSAGE_PET_PATIENTS_LISTED_OVERVIEW, 0)
+                + "\n"
+                + String.format(FindCommand.MESSAGE_PAGE, 2, 3, personCount),
+                persons.subList(FindCommand.PAGE_SIZE, FindCommand.PAGE_SIZE * 2));
+
+        command = new FindCommandParser().parse(" -o n/client --page 3");
+        command.setData(model, new CommandHistory(), new UndoRedoStack());
+        command.execute();
+        assertEquals(persons.subList(FindCommand.PAGE_SIZE * 2, personCount), model.getFilteredPersonList());
+
+        command = new FindCommandParser().parse(" -o n/client --page 4");
+        command.setData(model, new CommandHistory(), new UndoRedoStack());
+        assertCommandFailure(command, String.format(FindCommand.MESSAGE_PAGE_NOT_FOUND, 4, 3));
+    }
+
+    //@@author wynonaK
     @Test
     public void executePetAllFields_noFoundName_noPetFound() throws CommandException {
         String expectedMessage = String.format(MESSAGE_PERSONS_LISTED_OVERVIEW, 0)
@@ -603,6 +754,15 @@ public class FindCommandTest {
         assertCommandSuccess(command, expectedMessage, Arrays.asList(ALICE, BENSON));
     }
 
+    //@@author
+    /**
+     * Returns a clock fixed at the start of {@code date}.
+     */
+    private static Clock getClockAt(String date) {
+        return Clock.fixed(LocalDate.parse(date).atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+    }
+
+    //@@author wynonaK
     /**
      * Parses {@code userInput} into a {@code FindCommand}.
      */
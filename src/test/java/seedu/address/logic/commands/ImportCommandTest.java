@@ -0,0 +1,186 @@
+package seedu.address.logic.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static seedu.address.logic.commands.CommandTestUtil.assertCommandFailure;
+import static seedu.address.logic.commands.CommandTestUtil.assertCommandSuccess;
+import static seedu.address.testutil.TypicalAddressBook.getTypicalAddressBook;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.address.commons.util.FileUtil;
+import seedu.address.logic.CommandHistory;
+import seedu.address.logic.UndoRedoStack;
+import seedu.address.logic.parser.ImportBatch;
+import seedu.address.model.Model;
+import seedu.address.model.ModelManager;
+import seedu.address.model.UserPrefs;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.person.Person;
+import seedu.address.model.person.Phone;
+import seedu.address.model.petpatient.PetPatient;
+import seedu.address.testutil.AppointmentBuilder;
+import seedu.address.testutil.PersonBuilder;
+import seedu.address.testutil.PetPatientBuilder;
+
+public class ImportCommandTest {
+
+    private static final String CSV_HEADER = "type,name,phone,email,address,nric,species,breed,colour,bloodType,"
+            + "ownerNric,petPatientName,remark,dateTime,tags\n";
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Model model;
+
+    @Before
+    public void setUp() {
+        model = new ModelManager(getTypicalAddressBook(), new UserPrefs());
+    }
+
+    @Test
+    public void execute_validCsvFile_importsAllLines() throws Exception {
+        File file = writeFile("clinic.csv", CSV_HEADER
+                + "person,Amy Bee,11111111,amy@example.com,\"Block 312, Amy Street 1\",G1078999P,,,,,,,,,friends\n"
+                + "petPatient,Tom,,,,,cat,persian,BROWN,a,G1078999P,,,,\n"
+                + "petPatient,Jerry,,,,,Mouse,House Mouse,grey,o,G1111111B,,,,injured old\n"
+                + "appointment,,,,,,,,,,G1078999P,Tom,\"Checkup, then \"\"shots\"\"\",2030-01-01 10:00,Checkup\n");
+        ImportCommand command = prepareCommand(file);
+
+        Person amy = new PersonBuilder().withName("Amy Bee").withPhone("11111111").withEmail("amy@example.com")
+                .withAddress("Block 312, Amy Street 1").withNric("G1078999P").withTags("friends").build();
+        PetPatient tom = new PetPatientBuilder().withName("Tom").withSpecies("Cat").withBreed("Persian")
+                .withColour("brown").withBloodType("A").withOwnerNric("G1078999P").withTags().build();
+        PetPatient jerry = new PetPatientBuilder().withName("Jerry").withSpecies("Mouse").withBreed("House Mouse")
+                .withColour("grey").withBloodType("O").withOwnerNric("G1111111B").withTags("injured", "old").build();
+        Appointment appointment = new AppointmentBuilder().withOwnerNric("G1078999P").withPetPatientName("Tom")
+                .withRemark("Checkup, then \"shots\"").withDateTime("2030-01-01 10:00")
+                .withAppointmentTags("checkup").build();
+
+        Model expectedModel = new ModelManager(model.getAddressBook(), new UserPrefs());
+        expectedModel.addPerson(amy);
+        expectedModel.addPetPatient(tom);
+        expectedModel.addPetPatient(jerry);
+        expectedModel.addAppointment(appointment);
+
+        assertCommandSuccess(command, model,
+                String.format(ImportCommand.MESSAGE_SUCCESS, 1, 2, 1, file.getPath()), expectedModel);
+
+        // the whole import is undone at once
+        command.undo();
+        assertEquals(new ModelManager(getTypicalAddressBook(), new UserPrefs()), model);
+    }
+
+    @Test
+    public void execute_validXmlFile_importsAllEntities() throws Exception {
+        File file = writeFile("clinic.xml", "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<addressbook>\n"
+                + "    <petPatients>\n"
+                + "        <name>Tom</name>\n"
+                + "        <species>Cat</species>\n"
+                + "        <breed>Persian</breed>\n"
+                + "        <colour>brown</colour>\n"
+                + "        <bloodType>A</bloodType>\n"
+                + "        <ownerNric>G1111111B</ownerNric>\n"
+                + "        <tagged>injured</tagged>\n"
+                + "    </petPatients>\n"
+                + "    <tags>injured</tags>\n"
+                + "</addressbook>\n");
+        PetPatient tom = new PetPatientBuilder().withName("Tom").withSpecies("Cat").withBreed("Persian")
+                .withColour("brown").withBloodType("A").withOwnerNric("G1111111B").withTags("injured").build();
+
+        Model expectedModel = new ModelManager(model.getAddressBook(), new UserPrefs());
+        expectedModel.addPetPatient(tom);
+
+        assertCommandSuccess(prepareCommand(file), model,
+                String.format(ImportCommand.MESSAGE_SUCCESS, 0, 1, 0, file.getPath()), expectedModel);
+    }
+
+    @Test
+    public void execute_invalidLines_reportsEveryErrorAndImportsNothing() throws Exception {
+        File file = writeFile("clinic.csv", CSV_HEADER
+                + "person,Amy Bee,phone,amy@example.com,Amy Street,G1078999P,,,,,,,,,\n"
+                + "person,Alice Again,11111111,alice@example.com,Alice Street,G1111111B,,,,,,,,,\n"
+                + "petPatient,Tom,,,,,Cat,Persian,brown,A,G1078999P,,,,\n"
+                + "visit,,,,,,,,,,,,,,\n"
+                + "person,Bob Choo,22222222,bob@example.com,Bob Street,S1234567D,,,,,,,,,\n");
+
+        String expectedErrors = String.join("\n",
+                String.format(ImportBatch.MESSAGE_LINE_ERROR, 2, Phone.MESSAGE_PHONE_CONSTRAINTS),
+                String.format(ImportBatch.MESSAGE_LINE_ERROR, 3, AddCommand.MESSAGE_DUPLICATE_NRIC),
+                String.format(ImportBatch.MESSAGE_LINE_ERROR, 4, AddCommand.MESSAGE_INVALID_NRIC),
+                String.format(ImportBatch.MESSAGE_LINE_ERROR, 5, "Unknown type: visit"));
+        assertCommandFailure(prepareCommand(file), model,
+                String.format(ImportCommand.MESSAGE_INVALID_LINES, 4, expectedErrors));
+    }
+
+    @Test
+    public void execute_clashingAppointments_throwsCommandException() throws Exception {
+        File file = writeFile("clinic.csv", CSV_HEADER
+                + "petPatient,Tom,,,,,Cat,Persian,brown,A,G1111111B,,,,\n"
+                + "appointment,,,,,,,,,,G1111111B,Tom,Checkup,2030-01-01 10:00,\n"
+                + "appointment,,,,,,,,,,G1111111B,Tom,Checkup,2030-01-01 10:00,\n"
+                + "appointment,,,,,,,,,,G1111111B,Tom,Checkup,2030-01-01 10:15,\n");
+
+        String expectedErrors = String.join("\n",
+                String.format(ImportBatch.MESSAGE_LINE_ERROR, 4, AddCommand.MESSAGE_DUPLICATE_DATETIME),
+                String.format(ImportBatch.MESSAGE_LINE_ERROR, 5, AddCommand.MESSAGE_CONCURRENT_APPOINTMENT));
+        assertCommandFailure(prepareCommand(file), model,
+                String.format(ImportCommand.MESSAGE_INVALID_LINES, 2, expectedErrors));
+    }
+
+    @Test
+    public void execute_missingFile_throwsCommandException() {
+        String filePath = new File(testFolder.getRoot(), "missing.csv").getPath();
+        assertCommandFailure(prepareCommand(filePath), model,
+                String.format(ImportCommand.MESSAGE_FILE_NOT_FOUND, filePath));
+    }
+
+    @Test
+    public void equals() {
+        ImportCommand importCommand = new ImportCommand("clinic.csv");
+
+        // same object -> returns true
+        assertTrue(importCommand.equals(importCommand));
+
+        // same file path -> returns true
+        assertTrue(importCommand.equals(new ImportCommand("clinic.csv")));
+
+        // different types -> returns false
+        assertFalse(importCommand.equals(1));
+
+        // null -> returns false
+        assertFalse(importCommand.equals(null));
+
+        // different file path -> returns false
+        assertFalse(importCommand.equals(new ImportCommand("clinic.xml")));
+    }
+
+    /**
+     * Writes {@code content} to a file named {@code fileName} in the test folder.
+     */
+    private File writeFile(String fileName, String content) throws Exception {
+        File file = new File(testFolder.getRoot(), fileName);
+        FileUtil.writeToFile(file, content);
+        return file;
+    }
+
+    private ImportCommand prepareCommand(File file) {
+        return prepareCommand(file.getPath());
+    }
+
+    /**
+     * Returns an {@code ImportCommand} of {@code filePath}, with the model set.
+     */
+    private ImportCommand prepareCommand(String filePath) {
+        ImportCommand command = new ImportCommand(filePath);
+        command.setData(model, new CommandHistory(), new UndoRedoStack());
+        return command;
+    }
+}
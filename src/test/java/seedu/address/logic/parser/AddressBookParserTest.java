@@ -23,9 +23,11 @@ import seedu.address.logic.commands.ClearCommand;
 import seedu.address.logic.commands.DeleteCommand;
 import seedu.address.logic.commands.EditCommand;
 import seedu.address.logic.commands.ExitCommand;
+import seedu.address.logic.commands.ExportCommand;
 import seedu.address.logic.commands.FindCommand;
 import seedu.address.logic.commands.HelpCommand;
 import seedu.address.logic.commands.HistoryCommand;
+import seedu.address.logic.commands.ImportCommand;
 import seedu.address.logic.commands.ListCommand;
 import seedu.address.logic.commands.RedoCommand;
 import seedu.address.logic.commands.SelectCommand;
@@ -69,6 +71,20 @@ public class AddressBookParserTest {
         assertTrue(parser.parseCommand(ClearCommand.COMMAND_WORD + " 3") instanceof ClearCommand);
     }
 
+    @Test
+    public void parseCommand_import() throws Exception {
+        assertEquals(new ImportCommand("clinic.csv"), parser.parseCommand(ImportCommand.COMMAND_WORD + " clinic.csv"));
+        assertEquals(new ImportCommand("clinic.csv"), parser.parseCommand(ImportCommand.COMMAND_ALIAS + " clinic.csv"));
+    }
+
+    @Test
+    public void parseCommand_export() throws Exception {
+        assertEquals(new ExportCommand(3, "appointments.csv"),
+                parser.parseCommand(ExportCommand.COMMAND_WORD + " -a appointments.csv"));
+        assertEquals(new ExportCommand(3, "appointments.csv"),
+                parser.parseCommand(ExportCommand.COMMAND_ALIAS + " -a appointments.csv"));
+    }
+
     @Test
     public void parseCommand_deleteAlias_forcePerson() throws Exception {
         DeleteCommand command = (DeleteCommand) parser.parseCommand(
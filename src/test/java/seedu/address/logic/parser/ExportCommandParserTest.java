@@ -0,0 +1,36 @@
+package seedu.address.logic.parser;
+
+import static seedu.address.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static seedu.address.logic.parser.CommandParserTestUtil.assertParseFailure;
+import static seedu.address.logic.parser.CommandParserTestUtil.assertParseSuccess;
+
+import org.junit.Test;
+
+import seedu.address.logic.commands.ExportCommand;
+
+public class ExportCommandParserTest {
+
+    private static final String MESSAGE_INVALID_FORMAT =
+            String.format(MESSAGE_INVALID_COMMAND_FORMAT, ExportCommand.MESSAGE_USAGE);
+
+    private ExportCommandParser parser = new ExportCommandParser();
+
+    @Test
+    public void parse_validArgs_returnsExportCommand() {
+        assertParseSuccess(parser, " -o contacts.csv", new ExportCommand(1, "contacts.csv"));
+        assertParseSuccess(parser, "-p  my pets.json ", new ExportCommand(2, "my pets.json"));
+        assertParseSuccess(parser, "-a appointments.csv", new ExportCommand(3, "appointments.csv"));
+    }
+
+    @Test
+    public void parse_invalidArgs_throwsParseException() {
+        // no file path
+        assertParseFailure(parser, "-a", MESSAGE_INVALID_FORMAT);
+
+        // no option
+        assertParseFailure(parser, "appointments.csv", MESSAGE_INVALID_FORMAT);
+
+        // unknown option
+        assertParseFailure(parser, "-fo appointments.csv", MESSAGE_INVALID_FORMAT);
+    }
+}
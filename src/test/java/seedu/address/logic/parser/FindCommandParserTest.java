@@ -92,4 +92,30 @@ public class FindCommandParserTest {
         assertParseFailure(parser, " -p t/ ",
                 String.format(Tag.MESSAGE_TAG_CONSTRAINTS));
     }
+
+    //@@author
+    @Test
+    public void parse_matchSuffixWithoutKeyword_throwsParseException() {
+        assertParseFailure(parser, " -o n/* ",
+                String.format(Name.MESSAGE_NAME_CONSTRAINTS));
+    }
+
+    @Test
+    public void parse_matchSuffixOnNric_throwsParseException() {
+        assertParseFailure(parser, " -o nr/S012* ",
+                String.format(Nric.MESSAGE_NRIC_CONSTRAINTS));
+    }
+
+    @Test
+    public void parse_invalidPage_throwsParseException() {
+        assertParseFailure(parser, " -o n/Alice --page 0", FindCommandParser.MESSAGE_INVALID_PAGE);
+        assertParseFailure(parser, " -p b/Pug --page", FindCommandParser.MESSAGE_INVALID_PAGE);
+        assertParseFailure(parser, " -p b/Pug --page 2 3", FindCommandParser.MESSAGE_INVALID_PAGE);
+    }
+
+    @Test
+    public void parse_pageWithoutKeywords_throwsParseException() {
+        assertParseFailure(parser, " --page 2",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, FindCommand.MESSAGE_USAGE));
+    }
 }
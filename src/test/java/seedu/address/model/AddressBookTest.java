@@ -1,19 +1,26 @@
 package seedu.address.model;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static seedu.address.logic.commands.CommandTestUtil.VALID_TAG_FRIEND;
 import static seedu.address.logic.commands.CommandTestUtil.VALID_TAG_HUSBAND;
 import static seedu.address.logic.commands.CommandTestUtil.VALID_TAG_UNUSED;
 import static seedu.address.testutil.TypicalAppointments.ALICE_APP;
+import static seedu.address.testutil.TypicalAppointments.BENSON_APP;
 import static seedu.address.testutil.TypicalPersons.ALICE;
 import static seedu.address.testutil.TypicalPersons.AMY;
+import static seedu.address.testutil.TypicalPersons.BENSON;
 import static seedu.address.testutil.TypicalPersons.BOB;
 import static seedu.address.testutil.TypicalPersons.getTypicalAddressBook;
+import static seedu.address.testutil.TypicalPetPatients.JENN;
+import static seedu.address.testutil.TypicalPetPatients.JEWEL;
+import static seedu.address.testutil.TypicalPetPatients.JOKER;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 
 import org.junit.Rule;
@@ -22,15 +29,16 @@ import org.junit.rules.ExpectedException;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import seedu.address.model.AddressBookSnapshot.Section;
 import seedu.address.model.appointment.Appointment;
 import seedu.address.model.person.Person;
 import seedu.address.model.petpatient.PetPatient;
 import seedu.address.model.tag.Tag;
 import seedu.address.testutil.AddressBookBuilder;
 import seedu.address.testutil.PersonBuilder;
+import seedu.address.testutil.TypicalAddressBook;
 
 public class AddressBookTest {
-
     @Rule
     public ExpectedException thrown = ExpectedException.none();
 
@@ -43,6 +51,21 @@ public class AddressBookTest {
         assertEquals(Collections.emptyList(), addressBook.getAppointmentList());
     }
 
+    @Test
+    public void snapshot_getChangedSections_onlyChangedSections() throws Exception {
+        AddressBook typicalAddressBook = TypicalAddressBook.getTypicalAddressBook();
+        AddressBookSnapshot original = typicalAddressBook.snapshot();
+        assertEquals(EnumSet.noneOf(Section.class), typicalAddressBook.snapshot().getChangedSections(original));
+
+        typicalAddressBook.updatePerson(ALICE, new PersonBuilder(ALICE).withPhone("91234567").build());
+        AddressBookSnapshot personChanged = typicalAddressBook.snapshot();
+        assertEquals(EnumSet.of(Section.PERSONS), personChanged.getChangedSections(original));
+
+        typicalAddressBook.updatePerson(BENSON, new PersonBuilder(BENSON).withTags("newTag").build());
+        assertEquals(EnumSet.of(Section.PERSONS, Section.TAGS),
+                typicalAddressBook.snapshot().getChangedSections(personChanged));
+    }
+
     @Test
     public void resetData_null_throwsNullPointerException() {
         thrown.expect(NullPointerException.class);
@@ -101,6 +124,72 @@ public class AddressBookTest {
         assertEquals(addressBookAfterChange, addressBookAmyBob);
     }
 
+    @Test
+    public void removeAllDependencies_personWithPetPatients_removesOnlyTheirDependencies() {
+        AddressBook typicalAddressBook = TypicalAddressBook.getTypicalAddressBook();
+
+        List<PetPatient> petPatientsDeleted = typicalAddressBook.removeAllPetPatientDependencies(BENSON);
+        assertEquals(Arrays.asList(JOKER, JENN), petPatientsDeleted);
+        assertEquals(Collections.singletonList(BENSON_APP),
+                typicalAddressBook.removeAllAppointmentDependencies(JOKER));
+        assertEquals(Collections.emptyList(), typicalAddressBook.removeAllAppointmentDependencies(JENN));
+
+        assertEquals(Collections.singletonList(JEWEL), typicalAddressBook.getPetPatientList());
+        assertEquals(Collections.singletonList(ALICE_APP), typicalAddressBook.getAppointmentList());
+        assertEquals(Collections.emptyList(), typicalAddressBook.getPetPatientsWithNric(BENSON.getNric()));
+        assertEquals(Collections.singletonList(ALICE_APP),
+                typicalAddressBook.getAppointmentsWithNricAndPetName(ALICE.getNric(), JEWEL.getName()));
+    }
+
+    @Test
+    public void resetData_withSnapshot_restoresStateWhenSnapshotWasTaken() throws Exception {
+        AddressBook typicalAddressBook = TypicalAddressBook.getTypicalAddressBook();
+        ReadOnlyAddressBook snapshot = typicalAddressBook.snapshot();
+
+        typicalAddressBook.updatePerson(ALICE, new PersonBuilder(ALICE).withTags(VALID_TAG_UNUSED).build());
+        typicalAddressBook.addPerson(AMY);
+        typicalAddressBook.removeAllAppointmentDependencies(JOKER);
+        assertEquals(2, snapshot.getAppointmentList().size());
+
+        typicalAddressBook.resetData(snapshot);
+        AddressBook expectedAddressBook = TypicalAddressBook.getTypicalAddressBook();
+        assertEquals(expectedAddressBook, typicalAddressBook);
+        assertEquals(expectedAddressBook.getTagList().size(), typicalAddressBook.getTagList().size());
+    }
+
+    @Test
+    public void revertChanges_recordedChanges_restoresContentsAndOrder() throws Exception {
+        AddressBook typicalAddressBook = TypicalAddressBook.getTypicalAddressBook();
+
+        typicalAddressBook.startRecordingChanges();
+        typicalAddressBook.addPerson(AMY);
+        typicalAddressBook.updatePerson(ALICE, new PersonBuilder(ALICE).withTags(VALID_TAG_UNUSED).build());
+        for (PetPatient petPatient : typicalAddressBook.removeAllPetPatientDependencies(BENSON)) {
+            typicalAddressBook.removeAllAppointmentDependencies(petPatient);
+        }
+        typicalAddressBook.removePerson(BENSON);
+        AddressBookDelta changes = typicalAddressBook.stopRecordingChanges();
+
+        typicalAddressBook.revertChanges(changes);
+        AddressBook expectedAddressBook = TypicalAddressBook.getTypicalAddressBook();
+        assertEquals(expectedAddressBook, typicalAddressBook);
+        assertEquals(expectedAddressBook.getTagList().size(), typicalAddressBook.getTagList().size());
+        assertEquals(Arrays.asList(JOKER, JENN), typicalAddressBook.getPetPatientsWithNric(BENSON.getNric()));
+    }
+
+    @Test
+    public void stopRecordingChanges_deltaHoldsOnlyChangedRecords() throws Exception {
+        AddressBook typicalAddressBook = TypicalAddressBook.getTypicalAddressBook();
+
+        typicalAddressBook.startRecordingChanges();
+        typicalAddressBook.addPerson(AMY);
+        typicalAddressBook.updatePerson(ALICE, new PersonBuilder(ALICE).withPhone("999").build());
+        assertEquals(3, typicalAddressBook.stopRecordingChanges().getRecordCount());
+
+        typicalAddressBook.addPerson(BOB);
+        assertTrue(typicalAddressBook.stopRecordingChanges().isEmpty());
+    }
+
     @Test
     public void getTagList_modifyList_throwsUnsupportedOperationException() {
         thrown.expect(UnsupportedOperationException.class);
@@ -0,0 +1,134 @@
+package seedu.address.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.address.model.person.Nric;
+import seedu.address.model.person.Person;
+import seedu.address.model.person.UniquePersonList;
+import seedu.address.testutil.PersonBuilder;
+
+/**
+ * Measures how the model scales to a large address book: the time taken to add, look up, edit and remove persons,
+ * the memory retained by the snapshots that undo keeps, and the time taken to restore one.
+ *
+ * Run with {@code gradlew modelBenchmark}.
+ */
+public class ModelBenchmark {
+
+    private static final int LARGE_ADDRESS_BOOK_SIZE = 100000;
+    private static final int EDIT_COUNT = 1000;
+    private static final int RESTORE_ITERATIONS = 1000;
+
+    /**
+     * Prints the measurements for an address book of {@code LARGE_ADDRESS_BOOK_SIZE} persons.
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println(LARGE_ADDRESS_BOOK_SIZE + " persons:");
+        measurePersonListOperations();
+        AddressBook addressBook = getLargeAddressBook();
+        List<AddressBookSnapshot> snapshots = measureSnapshotMemory(addressBook);
+        measureRestore(addressBook, snapshots);
+    }
+
+    /**
+     * Returns an address book of {@code LARGE_ADDRESS_BOOK_SIZE} persons.
+     */
+    private static AddressBook getLargeAddressBook() throws Exception {
+        AddressBook addressBook = new AddressBook();
+        PersonBuilder builder = new PersonBuilder();
+        for (int i = 0; i < LARGE_ADDRESS_BOOK_SIZE; i++) {
+            addressBook.addPerson(builder.withNric(nricOf(i)).build());
+        }
+        return addressBook;
+    }
+
+    /**
+     * Adds {@code LARGE_ADDRESS_BOOK_SIZE} persons to a list, then looks up, edits and removes each of them, printing
+     * the mean time per operation. Each operation takes time logarithmic in the size of the list, so the means stay
+     * small; a scan of the list per operation would make them grow with it.
+     */
+    private static void measurePersonListOperations() throws Exception {
+        UniquePersonList uniquePersonList = new UniquePersonList();
+        PersonBuilder builder = new PersonBuilder();
+        long start = System.nanoTime();
+        for (int i = 0; i < LARGE_ADDRESS_BOOK_SIZE; i++) {
+            uniquePersonList.add(builder.withNric(nricOf(i)).build());
+        }
+        start = printMeanTime("add", start);
+
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < LARGE_ADDRESS_BOOK_SIZE; i++) {
+            persons.add(uniquePersonList.getPersonWithNric(new Nric(nricOf(i))));
+        }
+        start = printMeanTime("look up by NRIC", start);
+
+        for (int i = 0; i < LARGE_ADDRESS_BOOK_SIZE; i++) {
+            Person editedPerson = new PersonBuilder(persons.get(i)).withPhone(String.valueOf(90000000 + i)).build();
+            uniquePersonList.setPerson(persons.get(i), editedPerson);
+            persons.set(i, editedPerson);
+        }
+        start = printMeanTime("edit", start);
+
+        for (Person person : persons) {
+            uniquePersonList.remove(person);
+        }
+        printMeanTime("remove", start);
+    }
+
+    /**
+     * Prints the mean time per operation of {@code LARGE_ADDRESS_BOOK_SIZE} operations of {@code operation} that
+     * started at {@code start}, as given by {@code System.nanoTime()}, and returns the time now.
+     */
+    private static long printMeanTime(String operation, long start) {
+        long end = System.nanoTime();
+        double meanMicros = (end - start) / 1e3 / LARGE_ADDRESS_BOOK_SIZE;
+        System.out.println(String.format("  %-38s %10.3f us", operation + ", per person", meanMicros));
+        return end;
+    }
+
+    /**
+     * Takes a snapshot before each of {@code EDIT_COUNT} edits to {@code addressBook}, as undo does, and keeps all of
+     * them, printing the memory they retain. Returns the snapshots.
+     */
+    private static List<AddressBookSnapshot> measureSnapshotMemory(AddressBook addressBook) throws Exception {
+        long usedMemoryBefore = getUsedMemory();
+        List<AddressBookSnapshot> snapshots = new ArrayList<>();
+        for (int i = 0; i < EDIT_COUNT; i++) {
+            snapshots.add(addressBook.snapshot());
+            Person target = addressBook.getPersonList().get(i * (LARGE_ADDRESS_BOOK_SIZE / EDIT_COUNT));
+            addressBook.updatePerson(target, new PersonBuilder(target).withPhone(String.valueOf(90000000 + i)).build());
+        }
+        long retainedBytes = getUsedMemory() - usedMemoryBefore;
+        System.out.println(String.format("  %-38s %10.3f MB", EDIT_COUNT + " snapshots, retained",
+                retainedBytes / 1024.0 / 1024.0));
+        return snapshots;
+    }
+
+    /**
+     * Restores {@code addressBook} from each of {@code snapshots} in turn, printing the mean time per restore.
+     */
+    private static void measureRestore(AddressBook addressBook, List<AddressBookSnapshot> snapshots) {
+        long start = System.nanoTime();
+        for (int i = 0; i < RESTORE_ITERATIONS; i++) {
+            addressBook.resetData(snapshots.get(i % snapshots.size()));
+        }
+        double meanMillis = (System.nanoTime() - start) / 1e6 / RESTORE_ITERATIONS;
+        System.out.println(String.format("  %-38s %10.3f ms", "restore from snapshot", meanMillis));
+    }
+
+    private static String nricOf(int i) {
+        return String.format("S%07dA", i);
+    }
+
+    /**
+     * Returns the memory in use after collecting garbage.
+     */
+    private static long getUsedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -1,33 +1,55 @@
 package seedu.address.model;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static seedu.address.logic.commands.CommandTestUtil.VALID_TAG_FRIEND;
 import static seedu.address.logic.commands.CommandTestUtil.VALID_TAG_HUSBAND;
 import static seedu.address.logic.commands.CommandTestUtil.VALID_TAG_UNUSED;
+import static seedu.address.model.AddressBookMutation.Type.ADD_PERSON;
+import static seedu.address.model.AddressBookMutation.Type.UPDATE_PERSON;
 import static seedu.address.model.Model.PREDICATE_SHOW_ALL_PERSONS;
+import static seedu.address.testutil.TypicalAddressBook.getTypicalAddressBook;
+import static seedu.address.testutil.TypicalAppointments.BOB_APP;
 import static seedu.address.testutil.TypicalPersons.ALICE;
 import static seedu.address.testutil.TypicalPersons.AMY;
 import static seedu.address.testutil.TypicalPersons.BENSON;
 import static seedu.address.testutil.TypicalPersons.BOB;
 
+import java.io.File;
 import java.util.Arrays;
 import java.util.function.Predicate;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 
+import seedu.address.commons.events.model.AddressBookChangedEvent;
+import seedu.address.commons.events.model.ArchivedAppointmentsLoadedEvent;
 import seedu.address.commons.util.StringUtil;
+import seedu.address.model.appointment.Appointment;
 import seedu.address.model.person.Person;
+import seedu.address.model.person.exceptions.DuplicatePersonException;
 import seedu.address.model.tag.Tag;
+import seedu.address.storage.ShardedAddressBookStorage;
 import seedu.address.testutil.AddressBookBuilder;
+import seedu.address.testutil.AppointmentBuilder;
 import seedu.address.testutil.PersonBuilder;
+import seedu.address.ui.testutil.EventsCollectorRule;
 
 public class ModelManagerTest {
     @Rule
     public ExpectedException thrown = ExpectedException.none();
 
+    @Rule
+    public final EventsCollectorRule eventsCollectorRule = new EventsCollectorRule();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
     @Test
     public void getFilteredPersonList_modifyList_throwsUnsupportedOperationException() {
         ModelManager modelManager = new ModelManager();
@@ -81,6 +103,144 @@ public class ModelManagerTest {
         assertTrue(modelManager.equals(modelManagerAfterChange));
     }
 
+    @Test
+    public void readOnly_lookUpAndFilter_viewsAddressBook() throws Exception {
+        AddressBook addressBook = new AddressBookBuilder().withPerson(ALICE).withPerson(BENSON).build();
+        ModelManager modelManager = new ModelManager(addressBook, new UserPrefs(), true);
+
+        assertTrue(modelManager.isReadOnly());
+        assertSame(addressBook, modelManager.getAddressBook());
+        assertEquals(addressBook.getPersonList(), modelManager.getFilteredPersonList());
+        assertEquals(ALICE, modelManager.getPersonWithNric(ALICE.getNric()));
+
+        modelManager.updateFilteredPersonList(person -> person.equals(BENSON));
+        assertEquals(Arrays.asList(BENSON), modelManager.getFilteredPersonList());
+    }
+
+    @Test
+    public void readOnly_addPerson_throwsUnsupportedOperationException() throws Exception {
+        ModelManager modelManager = new ModelManager(new AddressBook(), new UserPrefs(), true);
+        thrown.expect(UnsupportedOperationException.class);
+        modelManager.addPerson(AMY);
+    }
+
+    @Test
+    public void loadArchivedAppointments_archivedYear_raisesLoadedEventOnly() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "addressBook.bin";
+        AddressBook original = getTypicalAddressBook();
+        Appointment pastAppointment = new AppointmentBuilder(BOB_APP).withDateTime("2016-03-01 09:00").build();
+        original.addAppointment(pastAppointment);
+        new ShardedAddressBookStorage(filePath).saveAddressBook(original);
+        ModelManager modelManager = new ModelManager(new ShardedAddressBookStorage(filePath).readAddressBook().get(),
+                new UserPrefs());
+
+        modelManager.loadArchivedAppointments(2016);
+
+        assertTrue(modelManager.getFilteredAppointmentList().contains(pastAppointment));
+        assertEquals(1, eventsCollectorRule.eventsCollector.getSize());
+        assertTrue(eventsCollectorRule.eventsCollector.getMostRecent() instanceof ArchivedAppointmentsLoadedEvent);
+    }
+
+    @Test
+    public void readOnly_loadArchivedAppointments_readIntoViewedAddressBook() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "addressBook.bin";
+        AddressBook original = getTypicalAddressBook();
+        Appointment pastAppointment = new AppointmentBuilder(BOB_APP).withDateTime("2016-03-01 09:00").build();
+        original.addAppointment(pastAppointment);
+        new ShardedAddressBookStorage(filePath).saveAddressBook(original);
+        ModelManager modelManager = new ModelManager(new ShardedAddressBookStorage(filePath).readAddressBook().get(),
+                new UserPrefs(), true);
+        assertTrue(modelManager.hasAppointmentInYear(2016));
+
+        modelManager.loadArchivedAppointments(2016);
+
+        assertTrue(modelManager.getFilteredAppointmentList().contains(pastAppointment));
+    }
+
+    @Test
+    public void batch_manyChanges_raisesOneEventWithEveryMutation() throws Exception {
+        ModelManager modelManager = new ModelManager(new AddressBookBuilder().withPerson(ALICE).build(),
+                new UserPrefs());
+        Person editedAlice = new PersonBuilder(ALICE).withPhone("999").build();
+
+        String result = modelManager.batch(model -> {
+            model.addPerson(AMY);
+            model.updatePerson(ALICE, editedAlice);
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(new AddressBookBuilder().withPerson(editedAlice).withPerson(AMY).build(),
+                modelManager.getAddressBook());
+        assertEquals(1, eventsCollectorRule.eventsCollector.getSize());
+        AddressBookChangedEvent event = (AddressBookChangedEvent) eventsCollectorRule.eventsCollector.getMostRecent();
+        assertEquals(Arrays.asList(new AddressBookMutation(ADD_PERSON, AMY),
+                new AddressBookMutation(UPDATE_PERSON, ALICE, editedAlice)), event.getMutations());
+    }
+
+    @Test
+    public void batch_changeWithoutMutation_raisesEventWithoutMutations() throws Exception {
+        ModelManager modelManager = new ModelManager();
+
+        modelManager.batch(model -> {
+            model.addPerson(AMY);
+            model.resetData(new AddressBookBuilder().withPerson(BOB).build());
+            return null;
+        });
+
+        assertEquals(1, eventsCollectorRule.eventsCollector.getSize());
+        AddressBookChangedEvent event = (AddressBookChangedEvent) eventsCollectorRule.eventsCollector.getMostRecent();
+        assertTrue(event.getMutations().isEmpty());
+    }
+
+    @Test
+    public void batch_changeThrows_revertsEveryChange() throws Exception {
+        AddressBook addressBook = new AddressBookBuilder().withPerson(ALICE).withPerson(BENSON).build();
+        ModelManager modelManager = new ModelManager(addressBook, new UserPrefs());
+        modelManager.startRecordingChanges();
+
+        try {
+            modelManager.batch(model -> {
+                model.addPerson(AMY);
+                model.deletePerson(BENSON);
+                model.addPerson(ALICE);
+                return null;
+            });
+            fail("Adding ALICE again should throw");
+        } catch (DuplicatePersonException dpe) {
+            // expected
+        }
+
+        assertEquals(new ModelManager(addressBook, new UserPrefs()), modelManager);
+        assertTrue(modelManager.stopRecordingChanges().isEmpty());
+        assertTrue(eventsCollectorRule.eventsCollector.isEmpty());
+    }
+
+    @Test
+    public void batch_nestedBatchThrows_revertsNestedChangesOnly() throws Exception {
+        ModelManager modelManager = new ModelManager(new AddressBookBuilder().withPerson(ALICE).build(),
+                new UserPrefs());
+
+        modelManager.batch(model -> {
+            model.addPerson(AMY);
+            try {
+                model.batch(nested -> {
+                    nested.addPerson(BOB);
+                    nested.addPerson(ALICE);
+                    return null;
+                });
+            } catch (DuplicatePersonException dpe) {
+                // the outer batch carries on without the nested changes
+            }
+            return null;
+        });
+
+        assertEquals(new AddressBookBuilder().withPerson(ALICE).withPerson(AMY).build(),
+                modelManager.getAddressBook());
+        AddressBookChangedEvent event = (AddressBookChangedEvent) eventsCollectorRule.eventsCollector.getMostRecent();
+        assertEquals(Arrays.asList(new AddressBookMutation(ADD_PERSON, AMY)), event.getMutations());
+    }
+
     @Test
     public void equals() {
         AddressBook addressBook = new AddressBookBuilder().withPerson(ALICE).withPerson(BENSON).build();
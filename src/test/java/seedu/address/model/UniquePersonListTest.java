@@ -1,10 +1,29 @@
 package seedu.address.model;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static seedu.address.testutil.TypicalPersons.ALICE;
+import static seedu.address.testutil.TypicalPersons.BOB;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import seedu.address.model.person.Person;
 import seedu.address.model.person.UniquePersonList;
+import seedu.address.model.person.exceptions.DuplicateNricException;
+import seedu.address.model.util.SearchIndex.Field;
+import seedu.address.model.util.SearchIndex.Keyword;
+import seedu.address.testutil.PersonBuilder;
 
 public class UniquePersonListTest {
     @Rule
@@ -16,4 +35,65 @@ public class UniquePersonListTest {
         thrown.expect(UnsupportedOperationException.class);
         uniquePersonList.asObservableList().remove(0);
     }
+
+    @Test
+    public void iterator_remove_throwsUnsupportedOperationException() throws Exception {
+        UniquePersonList uniquePersonList = new UniquePersonList();
+        uniquePersonList.add(ALICE);
+        Iterator<Person> iterator = uniquePersonList.iterator();
+        iterator.next();
+        thrown.expect(UnsupportedOperationException.class);
+        iterator.remove();
+    }
+
+    @Test
+    public void add_personWithExistingNric_throwsDuplicateNricException() throws Exception {
+        UniquePersonList uniquePersonList = new UniquePersonList();
+        uniquePersonList.add(ALICE);
+        thrown.expect(DuplicateNricException.class);
+        uniquePersonList.add(new PersonBuilder(BOB).withNric(ALICE.getNric().toString()).build());
+    }
+
+    @Test
+    public void setPerson_toExistingNric_throwsDuplicateNricException() throws Exception {
+        UniquePersonList uniquePersonList = new UniquePersonList();
+        uniquePersonList.add(ALICE);
+        uniquePersonList.add(BOB);
+        thrown.expect(DuplicateNricException.class);
+        uniquePersonList.setPerson(BOB, new PersonBuilder(BOB).withNric(ALICE.getNric().toString()).build());
+    }
+
+    @Test
+    public void getPersonWithNric_afterSetAndRemove_indexStaysInSync() throws Exception {
+        UniquePersonList uniquePersonList = new UniquePersonList();
+        uniquePersonList.add(ALICE);
+        assertEquals(ALICE, uniquePersonList.getPersonWithNric(ALICE.getNric()));
+
+        Person editedAlice = new PersonBuilder(ALICE).withNric(BOB.getNric().toString()).build();
+        uniquePersonList.setPerson(ALICE, editedAlice);
+        assertNull(uniquePersonList.getPersonWithNric(ALICE.getNric()));
+        assertEquals(editedAlice, uniquePersonList.getPersonWithNric(BOB.getNric()));
+        assertFalse(uniquePersonList.contains(ALICE));
+
+        uniquePersonList.remove(editedAlice);
+        assertNull(uniquePersonList.getPersonWithNric(BOB.getNric()));
+        assertTrue(uniquePersonList.asObservableList().isEmpty());
+    }
+
+    @Test
+    public void find_afterSetAndRemove_searchIndexStaysInSync() throws Exception {
+        UniquePersonList uniquePersonList = new UniquePersonList();
+        uniquePersonList.add(ALICE);
+        uniquePersonList.add(BOB);
+        Map<Field, List<Keyword>> keywords = new EnumMap<>(Field.class);
+        keywords.put(Field.NAME, Arrays.asList(Keyword.word("alice"), Keyword.word("carl")));
+        assertEquals(Collections.singleton(ALICE), uniquePersonList.find(keywords).keySet());
+
+        Person carl = new PersonBuilder(ALICE).withName("Carl Kurz").build();
+        uniquePersonList.setPerson(ALICE, carl);
+        assertEquals(Collections.singleton(carl), uniquePersonList.find(keywords).keySet());
+
+        uniquePersonList.remove(carl);
+        assertTrue(uniquePersonList.find(keywords).isEmpty());
+    }
 }
@@ -1,10 +1,25 @@
 package seedu.address.model;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static seedu.address.testutil.TypicalPersons.ALICE;
+import static seedu.address.testutil.TypicalPersons.BENSON;
+import static seedu.address.testutil.TypicalPetPatients.JENN;
+import static seedu.address.testutil.TypicalPetPatients.JEWEL;
+import static seedu.address.testutil.TypicalPetPatients.JOKER;
+
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import seedu.address.model.petpatient.PetPatient;
 import seedu.address.model.petpatient.UniquePetPatientList;
+import seedu.address.testutil.PetPatientBuilder;
 
 //@@author chialejing
 public class UniquePetPatientListTest {
@@ -17,4 +32,44 @@ public class UniquePetPatientListTest {
         thrown.expect(UnsupportedOperationException.class);
         uniquePetPatientList.asObservableList().remove(0);
     }
+
+    //@@author
+    @Test
+    public void getPetPatientsWithNric_multipleOwners_returnsOnlyOwnersPetPatients() throws Exception {
+        UniquePetPatientList uniquePetPatientList = new UniquePetPatientList();
+        uniquePetPatientList.add(JOKER);
+        uniquePetPatientList.add(JEWEL);
+        uniquePetPatientList.add(JENN);
+
+        assertEquals(Arrays.asList(JOKER, JENN), uniquePetPatientList.getPetPatientsWithNric(BENSON.getNric()));
+        assertEquals(JEWEL, uniquePetPatientList.getPetPatientWithNricAndName(ALICE.getNric(), JEWEL.getName()));
+        assertNull(uniquePetPatientList.getPetPatientWithNricAndName(ALICE.getNric(), JOKER.getName()));
+    }
+
+    @Test
+    public void setPetPatient_ownerChanged_indexStaysInSync() throws Exception {
+        UniquePetPatientList uniquePetPatientList = new UniquePetPatientList();
+        uniquePetPatientList.add(JEWEL);
+        PetPatient transferredJewel = new PetPatientBuilder(JEWEL).withOwnerNric(BENSON.getNric().toString()).build();
+        uniquePetPatientList.setPetPatient(JEWEL, transferredJewel);
+
+        assertFalse(uniquePetPatientList.hasPetPatientsWithNric(ALICE.getNric()));
+        assertEquals(Collections.singletonList(transferredJewel),
+                uniquePetPatientList.getPetPatientsWithNric(BENSON.getNric()));
+        assertFalse(uniquePetPatientList.contains(JEWEL));
+        assertTrue(uniquePetPatientList.contains(transferredJewel));
+    }
+
+    @Test
+    public void removeAll_someOwnersPetPatients_removesFromListAndIndex() throws Exception {
+        UniquePetPatientList uniquePetPatientList = new UniquePetPatientList();
+        uniquePetPatientList.add(JOKER);
+        uniquePetPatientList.add(JEWEL);
+        uniquePetPatientList.add(JENN);
+        uniquePetPatientList.removeAll(uniquePetPatientList.getPetPatientsWithNric(BENSON.getNric()));
+
+        assertEquals(Collections.singletonList(JEWEL), uniquePetPatientList.asObservableList());
+        assertFalse(uniquePetPatientList.hasPetPatientsWithNric(BENSON.getNric()));
+        assertTrue(uniquePetPatientList.hasPetPatientsWithNric(ALICE.getNric()));
+    }
 }
@@ -1,11 +1,25 @@
 package seedu.address.model.appointment;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import seedu.address.model.appointment.exceptions.ConcurrentAppointmentException;
+import seedu.address.model.appointment.exceptions.DuplicateDateTimeException;
+import seedu.address.testutil.AppointmentBuilder;
+
 //@@author wynonaK
 public class UniqueAppointmentListTest {
+    private static final Appointment NOON = new AppointmentBuilder().withDateTime("2099-01-01 12:00").build();
+    private static final Appointment ONE_PM = new AppointmentBuilder().withDateTime("2099-01-01 13:00").build();
+
     @Rule
     public ExpectedException thrown = ExpectedException.none();
 
@@ -15,4 +29,101 @@ public class UniqueAppointmentListTest {
         thrown.expect(UnsupportedOperationException.class);
         uniquePersonList.asObservableList().remove(0);
     }
+
+    //@@author
+    @Test
+    public void hasAppointmentInYear() throws Exception {
+        UniqueAppointmentList uniqueAppointmentList = new UniqueAppointmentList();
+        assertFalse(uniqueAppointmentList.hasAppointmentInYear(2099));
+
+        uniqueAppointmentList.add(NOON);
+        assertTrue(uniqueAppointmentList.hasAppointmentInYear(2099));
+        assertFalse(uniqueAppointmentList.hasAppointmentInYear(2098));
+        assertFalse(uniqueAppointmentList.hasAppointmentInYear(2100));
+    }
+
+    @Test
+    public void indexOf() throws Exception {
+        UniqueAppointmentList uniqueAppointmentList = new UniqueAppointmentList();
+        uniqueAppointmentList.add(ONE_PM);
+        uniqueAppointmentList.add(NOON);
+        assertEquals(0, uniqueAppointmentList.indexOf(ONE_PM));
+        assertEquals(1, uniqueAppointmentList.indexOf(NOON));
+
+        uniqueAppointmentList.remove(ONE_PM);
+        assertEquals(-1, uniqueAppointmentList.indexOf(ONE_PM));
+        assertEquals(0, uniqueAppointmentList.indexOf(NOON));
+    }
+
+    @Test
+    public void add_sameSlot_throwsDuplicateDateTimeException() throws Exception {
+        UniqueAppointmentList uniqueAppointmentList = new UniqueAppointmentList();
+        uniqueAppointmentList.add(NOON);
+        thrown.expect(DuplicateDateTimeException.class);
+        uniqueAppointmentList.add(new AppointmentBuilder(NOON).withRemark("Another remark").build());
+    }
+
+    @Test
+    public void add_overlappingPreviousAppointment_throwsConcurrentAppointmentException() throws Exception {
+        UniqueAppointmentList uniqueAppointmentList = new UniqueAppointmentList();
+        uniqueAppointmentList.add(NOON);
+        uniqueAppointmentList.add(ONE_PM);
+        thrown.expect(ConcurrentAppointmentException.class);
+        uniqueAppointmentList.add(new AppointmentBuilder().withDateTime("2099-01-01 12:29").build());
+    }
+
+    @Test
+    public void add_overlappingNextAppointment_throwsConcurrentAppointmentException() throws Exception {
+        UniqueAppointmentList uniqueAppointmentList = new UniqueAppointmentList();
+        uniqueAppointmentList.add(NOON);
+        uniqueAppointmentList.add(ONE_PM);
+        thrown.expect(ConcurrentAppointmentException.class);
+        uniqueAppointmentList.add(new AppointmentBuilder().withDateTime("2099-01-01 12:31").build());
+    }
+
+    @Test
+    public void add_backToBackAppointments_success() throws Exception {
+        UniqueAppointmentList uniqueAppointmentList = new UniqueAppointmentList();
+        uniqueAppointmentList.add(NOON);
+        uniqueAppointmentList.add(ONE_PM);
+        uniqueAppointmentList.add(new AppointmentBuilder().withDateTime("2099-01-01 12:30").build());
+        assertEquals(3, uniqueAppointmentList.asObservableList().size());
+    }
+
+    @Test
+    public void hasConcurrentAppointment_excludedNeighbour_skipsToNextNeighbour() throws Exception {
+        UniqueAppointmentList uniqueAppointmentList = new UniqueAppointmentList();
+        uniqueAppointmentList.add(NOON);
+        uniqueAppointmentList.add(ONE_PM);
+
+        LocalDateTime quarterPastNoon = LocalDateTime.of(2099, 1, 1, 12, 15);
+        assertTrue(uniqueAppointmentList.hasConcurrentAppointment(quarterPastNoon, null));
+        assertFalse(uniqueAppointmentList.hasConcurrentAppointment(quarterPastNoon, NOON.getDateTime()));
+        assertTrue(uniqueAppointmentList.hasConcurrentAppointment(
+                LocalDateTime.of(2099, 1, 1, 12, 45), NOON.getDateTime()));
+    }
+
+    @Test
+    public void setAppointment_toNewSlot_indexStaysInSync() throws Exception {
+        UniqueAppointmentList uniqueAppointmentList = new UniqueAppointmentList();
+        uniqueAppointmentList.add(NOON);
+        Appointment moved = new AppointmentBuilder(NOON).withDateTime("2099-01-02 12:00").build();
+        uniqueAppointmentList.setAppointment(NOON, moved);
+
+        assertNull(uniqueAppointmentList.getAppointmentAt(NOON.getDateTime()));
+        assertEquals(moved, uniqueAppointmentList.getAppointmentAt(moved.getDateTime()));
+
+        uniqueAppointmentList.remove(moved);
+        assertNull(uniqueAppointmentList.getAppointmentAt(moved.getDateTime()));
+    }
+
+    @Test
+    public void setAppointment_toTakenSlot_throwsDuplicateDateTimeException() throws Exception {
+        UniqueAppointmentList uniqueAppointmentList = new UniqueAppointmentList();
+        uniqueAppointmentList.add(NOON);
+        uniqueAppointmentList.add(ONE_PM);
+        thrown.expect(DuplicateDateTimeException.class);
+        uniqueAppointmentList.setAppointment(ONE_PM,
+                new AppointmentBuilder(ONE_PM).withRemark("Moved").withDateTime("2099-01-01 12:00").build());
+    }
 }
@@ -0,0 +1,77 @@
+package seedu.address.model.tag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class TagRegistryTest {
+    private static final Set<Tag> FRIENDS = Collections.singleton(new Tag("friends"));
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void asObservableList_modifyList_throwsUnsupportedOperationException() {
+        TagRegistry tagRegistry = new TagRegistry();
+        thrown.expect(UnsupportedOperationException.class);
+        tagRegistry.asObservableList().remove(0);
+    }
+
+    @Test
+    public void add_duplicateTag_throwsDuplicateTagException() throws Exception {
+        TagRegistry tagRegistry = new TagRegistry();
+        tagRegistry.add(new Tag("friends"));
+        thrown.expect(UniqueTagList.DuplicateTagException.class);
+        tagRegistry.add(new Tag("friends"));
+    }
+
+    @Test
+    public void intern_registeredTag_returnsRegisteredInstance() {
+        TagRegistry tagRegistry = new TagRegistry();
+        tagRegistry.acquire(FRIENDS);
+        Tag registeredTag = FRIENDS.iterator().next();
+
+        Set<Tag> interned = tagRegistry.intern(Collections.singleton(new Tag("friends")));
+        assertSame(registeredTag, interned.iterator().next());
+    }
+
+    @Test
+    public void removeUnreferencedTags_tagStillReferenced_keepsTag() {
+        TagRegistry tagRegistry = new TagRegistry();
+        tagRegistry.acquire(FRIENDS);
+        tagRegistry.acquire(FRIENDS);
+
+        tagRegistry.release(FRIENDS);
+        tagRegistry.removeUnreferencedTags();
+        assertTrue(tagRegistry.contains(new Tag("friends")));
+
+        tagRegistry.release(FRIENDS);
+        tagRegistry.removeUnreferencedTags();
+        assertFalse(tagRegistry.contains(new Tag("friends")));
+        assertEquals(0, tagRegistry.asObservableList().size());
+    }
+
+    @Test
+    public void restore_snapshot_restoresTagsAndReferenceCounts() {
+        TagRegistry tagRegistry = new TagRegistry();
+        tagRegistry.acquire(FRIENDS);
+        TagRegistry.Snapshot snapshot = tagRegistry.snapshot();
+
+        tagRegistry.release(FRIENDS);
+        tagRegistry.removeUnreferencedTags();
+        assertEquals(0, tagRegistry.asObservableList().size());
+
+        tagRegistry.restore(snapshot);
+        assertEquals(FRIENDS.iterator().next(), tagRegistry.asObservableList().get(0));
+        tagRegistry.removeUnreferencedTags();
+        assertTrue(tagRegistry.contains(new Tag("friends")));
+    }
+}
@@ -0,0 +1,89 @@
+package seedu.address.model.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Test;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+public class DeferredFilteredListTest {
+
+    private final ObservableList<Integer> source = FXCollections.observableArrayList(1, 2, 3, 4);
+    private final DeferredFilteredList<Integer> list = new DeferredFilteredList<>(source);
+
+    @Test
+    public void noPredicate_passesThroughToSource() {
+        assertNull(list.getPredicate());
+        assertEquals(source, list);
+
+        source.add(5);
+        source.remove(Integer.valueOf(1));
+        assertEquals(Arrays.asList(2, 3, 4, 5), list);
+        assertEquals(2, list.getSourceIndex(2));
+    }
+
+    @Test
+    public void setPredicate_filtersAndFiresReplacement() {
+        List<Integer> seen = new ArrayList<>(list);
+        list.addListener((ListChangeListener<Integer>) change -> {
+            while (change.next()) {
+                seen.subList(change.getFrom(), change.getFrom() + change.getRemovedSize()).clear();
+                seen.addAll(change.getFrom(), change.getAddedSubList());
+            }
+        });
+
+        list.setPredicate(i -> i % 2 == 0);
+        assertEquals(Arrays.asList(2, 4), list);
+        assertEquals(list, seen);
+        assertEquals(3, list.getSourceIndex(1));
+        assertEquals(1, list.getViewIndex(3));
+        assertEquals(-1, list.getViewIndex(0));
+
+        source.add(6);
+        assertEquals(Arrays.asList(2, 4, 6), list);
+        assertEquals(list, seen);
+
+        list.setPredicate(null);
+        assertEquals(source, list);
+        assertEquals(list, seen);
+    }
+
+    @Test
+    public void setPredicateWithComparator_ordersUntilNextPredicate() {
+        List<Integer> seen = new ArrayList<>(list);
+        list.addListener((ListChangeListener<Integer>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated()) {
+                    seen.clear();
+                    seen.addAll(change.getList());
+                    continue;
+                }
+                seen.subList(change.getFrom(), change.getFrom() + change.getRemovedSize()).clear();
+                seen.addAll(change.getFrom(), change.getAddedSubList());
+            }
+        });
+
+        list.setPredicate(i -> i > 1, Comparator.reverseOrder());
+        assertEquals(Arrays.asList(4, 3, 2), list);
+        assertEquals(list, seen);
+        assertEquals(3, list.getSourceIndex(0));
+        assertEquals(0, list.getViewIndex(3));
+
+        source.add(5);
+        assertEquals(Arrays.asList(5, 4, 3, 2), list);
+        assertEquals(list, seen);
+
+        list.setPredicate(i -> i < 5);
+        assertNull(list.getComparator());
+        assertEquals(Arrays.asList(1, 2, 3, 4), list);
+        assertEquals(list, seen);
+    }
+}
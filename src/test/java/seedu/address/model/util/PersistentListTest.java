@@ -0,0 +1,156 @@
+package seedu.address.model.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class PersistentListTest {
+    private static final int LIST_SIZE = 300;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void add_unsupportedMutator_throwsUnsupportedOperationException() {
+        thrown.expect(UnsupportedOperationException.class);
+        PersistentList.<Integer>empty().add(1);
+    }
+
+    @Test
+    public void get_indexOutOfBounds_throwsIndexOutOfBoundsException() {
+        thrown.expect(IndexOutOfBoundsException.class);
+        PersistentList.of(Arrays.asList(1, 2, 3)).get(3);
+    }
+
+    @Test
+    public void withAdded_manyElements_matchesArrayList() {
+        List<Integer> expected = new ArrayList<>();
+        PersistentList<Integer> list = PersistentList.empty();
+        for (int i = 0; i < LIST_SIZE; i++) {
+            expected.add(i);
+            list = list.withAdded(i);
+        }
+        assertEquals(expected, list);
+        assertEquals(expected, PersistentList.of(expected));
+    }
+
+    @Test
+    public void withSetAndWithRemoved_originalListUnchanged() {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < LIST_SIZE; i++) {
+            expected.add(i);
+        }
+        PersistentList<Integer> original = PersistentList.of(expected);
+
+        PersistentList<Integer> edited = original.withSet(200, -1).withRemoved(0).withRemoved(LIST_SIZE - 2);
+        assertEquals(expected, original);
+
+        List<Integer> expectedEdited = new ArrayList<>(expected);
+        expectedEdited.set(200, -1);
+        expectedEdited.remove(0);
+        expectedEdited.remove(LIST_SIZE - 2);
+        assertEquals(expectedEdited, edited);
+    }
+
+    @Test
+    public void withInserted_betweenExistingElements_matchesArrayList() {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < LIST_SIZE; i++) {
+            expected.add(i);
+        }
+        PersistentList<Integer> original = PersistentList.of(expected);
+
+        PersistentList<Integer> list = original;
+        for (int i = 0; i < LIST_SIZE; i++) {
+            expected.add(i * 2, -i);
+            list = list.withInserted(i * 2, -i);
+        }
+        assertEquals(expected, list);
+        assertEquals(LIST_SIZE, original.size());
+        assertEquals(Collections.singletonList(1), PersistentList.<Integer>empty().withInserted(0, 1));
+    }
+
+    @Test
+    public void withInserted_repeatedlyAtSamePosition_matchesArrayList() {
+        // runs out of room between the labels of the first two elements many times over
+        List<Integer> expected = new ArrayList<>(Arrays.asList(-1, -2));
+        PersistentList<Integer> list = PersistentList.of(expected);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            expected.add(1, i);
+            expected.add(0, i);
+            list = list.withInserted(1, i).withInserted(0, i);
+        }
+        assertEquals(expected, list);
+    }
+
+    @Test
+    public void withRemoved_onlyElement_returnsEmptyList() {
+        PersistentList<Integer> list = PersistentList.<Integer>empty().withAdded(1).withRemoved(0);
+        assertEquals(Collections.emptyList(), list);
+        assertEquals(Collections.singletonList(2), list.withAdded(2));
+    }
+
+    @Test
+    public void indexOf() {
+        PersistentList<Integer> list = PersistentList.of(Arrays.asList(3, 1, 2, 1));
+        assertEquals(1, list.indexOf(1));
+        assertEquals(-1, list.indexOf(4));
+    }
+
+    @Test
+    public void indexOf_indexedList_followsInsertSetAndRemove() {
+        List<Integer> expected = new ArrayList<>();
+        PersistentList<Integer> list = PersistentList.emptyIndexed();
+        for (int i = 0; i < LIST_SIZE; i++) {
+            expected.add(i);
+            list = list.withAdded(i);
+        }
+        for (int i = 0; i < LIST_SIZE; i++) {
+            expected.add(i * 2, -i - 1);
+            list = list.withInserted(i * 2, -i - 1);
+        }
+        expected.set(5, LIST_SIZE);
+        list = list.withSet(5, LIST_SIZE);
+        expected.remove(0);
+        list = list.withRemoved(0);
+
+        assertEquals(expected, list);
+        for (int element = -LIST_SIZE - 1; element <= LIST_SIZE + 1; element++) {
+            assertEquals(expected.indexOf(element), list.indexOf(element));
+            assertEquals(expected.contains(element), list.contains(element));
+        }
+    }
+
+    @Test
+    public void indexOf_indexedListAfterRelabelling_staysIndexed() {
+        // runs out of room between the labels of the first two elements, so the list is relabelled
+        PersistentList<Integer> list = PersistentList.<Integer>emptyIndexed().withAdded(-1).withAdded(-2);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            list = list.withInserted(1, i);
+        }
+        assertEquals(0, list.indexOf(-1));
+        assertEquals(1, list.indexOf(LIST_SIZE - 1));
+        assertEquals(LIST_SIZE, list.indexOf(0));
+        assertEquals(LIST_SIZE + 1, list.indexOf(-2));
+    }
+
+    @Test
+    public void withAdded_duplicateInIndexedList_throwsIllegalArgumentException() {
+        thrown.expect(IllegalArgumentException.class);
+        PersistentList.<Integer>emptyIndexed().withAdded(1).withAdded(1);
+    }
+
+    @Test
+    public void withSet_sameElementInIndexedList_replacesElement() {
+        PersistentList<Integer> list = PersistentList.<Integer>emptyIndexed().withAdded(1).withAdded(2).withSet(0, 1);
+        assertEquals(Arrays.asList(1, 2), list);
+        assertEquals(0, list.indexOf(1));
+    }
+}
@@ -0,0 +1,77 @@
+package seedu.address.model.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class PersistentMapTest {
+    private static final int MAP_SIZE = 3000;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void put_unsupportedMutator_throwsUnsupportedOperationException() {
+        thrown.expect(UnsupportedOperationException.class);
+        PersistentMap.<String, Integer>empty().put("a", 1);
+    }
+
+    @Test
+    public void withAndWithout_manyKeys_matchesHashMap() {
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentMap<Integer, Integer> map = PersistentMap.empty();
+        for (int i = 0; i < MAP_SIZE; i++) {
+            expected.put(i, -i);
+            map = map.with(i, -i);
+        }
+        assertEquals(expected, map);
+
+        PersistentMap<Integer, Integer> original = map;
+        for (int i = 0; i < MAP_SIZE; i += 2) {
+            expected.remove(i);
+            map = map.without(i);
+        }
+        assertEquals(expected, map);
+        assertEquals(MAP_SIZE, original.size());
+        assertEquals(Integer.valueOf(-2), original.get(2));
+    }
+
+    @Test
+    public void with_keysWithSameHash_keepsAllKeys() {
+        // "Aa" and "BB" have the same hash code
+        PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty().with("Aa", 1).with("BB", 2);
+        assertEquals(2, map.size());
+        assertEquals(Integer.valueOf(1), map.get("Aa"));
+        assertEquals(Integer.valueOf(2), map.get("BB"));
+
+        map = map.without("Aa");
+        assertFalse(map.containsKey("Aa"));
+        assertEquals(Integer.valueOf(2), map.get("BB"));
+        assertTrue(map.without("BB").isEmpty());
+    }
+
+    @Test
+    public void with_sameValue_returnsSameMap() {
+        Integer value = 1;
+        PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty().with("a", value);
+        assertSame(map, map.with("a", value));
+        assertSame(map, map.without("b"));
+    }
+
+    @Test
+    public void identity_equalKeys_keptApart() {
+        String key = new String("a");
+        PersistentMap<String, Integer> map = PersistentMap.<String, Integer>identity().with(key, 1);
+        assertEquals(Integer.valueOf(1), map.get(key));
+        assertNull(map.get(new String("a")));
+    }
+}
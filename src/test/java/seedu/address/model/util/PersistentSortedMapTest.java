@@ -0,0 +1,102 @@
+package seedu.address.model.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class PersistentSortedMapTest {
+    private static final int MAP_SIZE = 1000;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void withAndWithout_shuffledKeys_matchesTreeMap() {
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < MAP_SIZE; i++) {
+            keys.add(i);
+        }
+        Collections.shuffle(keys, new Random(0));
+
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        PersistentSortedMap<Integer, Integer> map = PersistentSortedMap.empty();
+        for (Integer key : keys) {
+            expected.put(key, -key);
+            map = map.with(key, -key);
+        }
+        PersistentSortedMap<Integer, Integer> original = map;
+        for (Integer key : keys.subList(0, MAP_SIZE / 2)) {
+            expected.remove(key);
+            map = map.without(key);
+        }
+
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(map.entrySet()));
+        assertEquals(MAP_SIZE, original.size());
+        List<Integer> expectedKeys = new ArrayList<>(expected.keySet());
+        for (int i = 0; i < expectedKeys.size(); i++) {
+            assertEquals(expectedKeys.get(i), map.keyAt(i));
+            assertEquals(expected.get(expectedKeys.get(i)), map.valueAt(i));
+        }
+    }
+
+    @Test
+    public void navigation_matchesTreeMap() {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        PersistentSortedMap<Integer, String> map = PersistentSortedMap.empty();
+        for (Integer key : Arrays.asList(10, 20, 30)) {
+            expected.put(key, key.toString());
+            map = map.with(key, key.toString());
+        }
+        for (int key = 5; key <= 35; key += 5) {
+            assertEquals(expected.lowerKey(key), map.lowerKey(key));
+            assertEquals(expected.higherKey(key), map.higherKey(key));
+            assertEquals(expected.ceilingKey(key), map.ceilingKey(key));
+        }
+        assertEquals(Integer.valueOf(10), map.firstKey());
+        assertEquals(Integer.valueOf(30), map.lastKey());
+        assertNull(PersistentSortedMap.<Integer, String>empty().firstKey());
+    }
+
+    @Test
+    public void ofSorted_matchesTreeMap() {
+        Map<Integer, String> expected = new TreeMap<>();
+        expected.put(1, "a");
+        expected.put(2, "b");
+        expected.put(3, "c");
+        assertEquals(expected, PersistentSortedMap.ofSorted(new Integer[] {1, 2, 3}, new String[] {"a", "b", "c"}));
+    }
+
+    @Test
+    public void indexOfKey_shuffledKeys_returnsRank() {
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < MAP_SIZE; i++) {
+            keys.add(i * 2);
+        }
+        Collections.shuffle(keys, new Random(0));
+        PersistentSortedMap<Integer, String> map = PersistentSortedMap.empty();
+        for (Integer key : keys) {
+            map = map.with(key, key.toString());
+        }
+        for (int i = 0; i < MAP_SIZE; i++) {
+            assertEquals(i, map.indexOfKey(i * 2));
+            assertEquals(-1, map.indexOfKey(i * 2 + 1));
+        }
+    }
+
+    @Test
+    public void keyAt_indexOutOfBounds_throwsIndexOutOfBoundsException() {
+        thrown.expect(IndexOutOfBoundsException.class);
+        PersistentSortedMap.<Integer, String>empty().with(1, "a").keyAt(1);
+    }
+}
@@ -0,0 +1,127 @@
+package seedu.address.model.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import seedu.address.model.util.SearchIndex.Field;
+import seedu.address.model.util.SearchIndex.Keyword;
+import seedu.address.model.util.SearchIndex.Keyword.Match;
+
+public class SearchIndexTest {
+    private static final String[] ALICE = {"Alice Pauline", "friends"};
+    private static final String[] BENSON = {"Benson Meier", "owesMoney friends"};
+    private static final String[] CARL = {"Carl Kurz", ""};
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private SearchIndex<String[]> searchIndex;
+
+    @Before
+    public void setUp() {
+        Map<Field, Function<String[], String>> fields = new EnumMap<>(Field.class);
+        fields.put(Field.NAME, element -> element[0]);
+        fields.put(Field.TAG, element -> element[1]);
+        searchIndex = new SearchIndex<>(fields).with(ALICE).with(BENSON).with(CARL);
+    }
+
+    @Test
+    public void find_keywordsOfOneField_returnsElementsWithAnyKeyword() {
+        assertFound(searchIndex.find(keywords(Field.NAME, "alice", "KURZ", "nobody")), ALICE, CARL);
+    }
+
+    @Test
+    public void find_partialWord_returnsNothing() {
+        assertFound(searchIndex.find(keywords(Field.NAME, "Ali")));
+    }
+
+    @Test
+    public void find_keywordsOfSeveralFields_returnsElementsMatchingEveryField() {
+        Map<Field, List<Keyword>> keywords = keywords(Field.TAG, "friends");
+        keywords.put(Field.NAME, Arrays.asList(Keyword.word("Benson"), Keyword.word("Carl")));
+        assertFound(searchIndex.find(keywords), BENSON);
+    }
+
+    @Test
+    public void find_prefixKeyword_returnsElementsWithWordsStartingWithKeyword() {
+        assertFound(searchIndex.find(keywords(Field.NAME, new Keyword("ali", Match.PREFIX))), ALICE);
+        assertFound(searchIndex.find(keywords(Field.TAG, new Keyword("", Match.PREFIX))), ALICE, BENSON);
+        assertFound(searchIndex.find(keywords(Field.NAME, new Keyword("alic", Match.WORD))));
+    }
+
+    @Test
+    public void find_fuzzyKeyword_returnsElementsWithWordsWithinEditDistance() {
+        // one substitution, one deletion and one insertion
+        assertFound(searchIndex.find(keywords(Field.NAME, new Keyword("Pauliny", Match.FUZZY))), ALICE);
+        assertFound(searchIndex.find(keywords(Field.NAME, new Keyword("Bnson", Match.FUZZY))), BENSON);
+        assertFound(searchIndex.find(keywords(Field.NAME, new Keyword("Kurtz", Match.FUZZY))), CARL);
+
+        // three edits away from any word
+        assertFound(searchIndex.find(keywords(Field.NAME, new Keyword("Bensonxyz", Match.FUZZY))));
+    }
+
+    @Test
+    public void getMaxEditDistance() {
+        assertEquals(0, SearchIndex.getMaxEditDistance(2));
+        assertEquals(1, SearchIndex.getMaxEditDistance(3));
+        assertEquals(1, SearchIndex.getMaxEditDistance(5));
+        assertEquals(2, SearchIndex.getMaxEditDistance(9));
+    }
+
+    @Test
+    public void find_afterWithout_doesNotReturnRemovedElement() {
+        SearchIndex<String[]> newSearchIndex = searchIndex.without(ALICE);
+        assertFound(newSearchIndex.find(keywords(Field.TAG, "friends")), BENSON);
+        assertFound(searchIndex.find(keywords(Field.TAG, "friends")), ALICE, BENSON);
+
+        newSearchIndex = newSearchIndex.without(BENSON);
+        assertFound(newSearchIndex.find(keywords(Field.TAG, "friends")));
+    }
+
+    @Test
+    public void find_fieldNotIndexed_throwsIllegalArgumentException() {
+        thrown.expect(IllegalArgumentException.class);
+        searchIndex.find(keywords(Field.BREED, "Persian"));
+    }
+
+    @Test
+    public void find_noFields_returnsNothing() {
+        assertTrue(searchIndex.find(Collections.emptyMap()).isEmpty());
+    }
+
+    /**
+     * Returns {@code words} as keywords of {@code field} that match whole words.
+     */
+    private static Map<Field, List<Keyword>> keywords(Field field, String... words) {
+        List<Keyword> keywords = new ArrayList<>();
+        for (String word : words) {
+            keywords.add(Keyword.word(word));
+        }
+        return keywords(field, keywords.toArray(new Keyword[0]));
+    }
+
+    private static Map<Field, List<Keyword>> keywords(Field field, Keyword... keywords) {
+        Map<Field, List<Keyword>> fieldKeywords = new EnumMap<>(Field.class);
+        fieldKeywords.put(field, new ArrayList<>(Arrays.asList(keywords)));
+        return fieldKeywords;
+    }
+
+    private static void assertFound(Set<String[]> found, String[]... expected) {
+        assertEquals(new HashSet<>(Arrays.asList(expected)), new HashSet<>(found));
+    }
+}
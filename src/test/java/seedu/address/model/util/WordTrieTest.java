@@ -0,0 +1,71 @@
+package seedu.address.model.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class WordTrieTest {
+    private WordTrie<String> trie;
+
+    @Before
+    public void setUp() {
+        trie = WordTrie.empty();
+        for (String word : Arrays.asList("schnauzer", "schnapps", "shih", "siamese", "sphynx")) {
+            trie = trie.with(word, word);
+        }
+    }
+
+    @Test
+    public void with_existingWord_replacesValueInNewTrieOnly() {
+        WordTrie<String> newTrie = trie.with("shih", "other");
+        assertEquals("other", newTrie.get("shih"));
+        assertEquals("shih", trie.get("shih"));
+        assertNull(trie.get("shi"));
+    }
+
+    @Test
+    public void getWithPrefix() {
+        assertWords(trie.getWithPrefix("schna"), "schnauzer", "schnapps");
+        assertWords(trie.getWithPrefix("s"), "schnauzer", "schnapps", "shih", "siamese", "sphynx");
+        assertWords(trie.getWithPrefix("sphynx"), "sphynx");
+        assertTrue(trie.getWithPrefix("spx").isEmpty());
+    }
+
+    @Test
+    public void getWithinDistance() {
+        assertWords(trie.getWithinDistance("schnauzer", 0), "schnauzer");
+        assertWords(trie.getWithinDistance("schnauser", 1), "schnauzer");
+        assertWords(trie.getWithinDistance("shnauzr", 2), "schnauzer");
+        assertWords(trie.getWithinDistance("sphinx", 1), "sphynx");
+        assertWords(trie.getWithinDistance("shi", 1), "shih");
+        assertTrue(trie.getWithinDistance("shnauzr", 1).isEmpty());
+    }
+
+    @Test
+    public void without_word_keepsOtherWordsWithSamePrefix() {
+        WordTrie<String> newTrie = trie.without("schnapps");
+        assertNull(newTrie.get("schnapps"));
+        assertWords(newTrie.getWithPrefix("schna"), "schnauzer");
+        assertWords(trie.getWithPrefix("schna"), "schnauzer", "schnapps");
+
+        newTrie = newTrie.without("schnauzer");
+        assertTrue(newTrie.getWithPrefix("sc").isEmpty());
+        assertWords(newTrie.getWithPrefix("s"), "shih", "siamese", "sphynx");
+
+        // removing a word that is only a prefix of other words changes nothing
+        assertSame(newTrie, newTrie.without("sh"));
+    }
+
+    private static void assertWords(List<String> actual, String... expected) {
+        assertEquals(new HashSet<>(Arrays.asList(expected)), new HashSet<>(actual));
+        assertEquals(expected.length, actual.size());
+    }
+}
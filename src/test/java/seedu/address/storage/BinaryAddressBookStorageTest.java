@@ -0,0 +1,118 @@
+package seedu.address.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static seedu.address.testutil.TypicalAddressBook.getTypicalAddressBook;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.util.FileUtil;
+import seedu.address.model.AddressBook;
+import seedu.address.model.ReadOnlyAddressBook;
+import seedu.address.testutil.PersonBuilder;
+
+public class BinaryAddressBookStorageTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void readAddressBook_nullFilePath_throwsNullPointerException() throws Exception {
+        thrown.expect(NullPointerException.class);
+        new BinaryAddressBookStorage(null).readAddressBook(null);
+    }
+
+    @Test
+    public void read_missingFile_emptyResult() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "NonExistentFile.bin";
+        assertFalse(new BinaryAddressBookStorage(filePath).readAddressBook().isPresent());
+    }
+
+    @Test
+    public void readAndSaveAddressBook_typicalAddressBook_success() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "TempAddressBook.bin";
+        BinaryAddressBookStorage storage = new BinaryAddressBookStorage(filePath);
+        AddressBook original = getTypicalAddressBook();
+
+        storage.saveAddressBook(original);
+        ReadOnlyAddressBook readBack = storage.readAddressBook().get();
+        assertEquals(original, new AddressBook(readBack));
+        assertEquals(original.getTagList(), readBack.getTagList());
+
+        // overwrite, keeping the first version as a backup
+        original.addPerson(new PersonBuilder().withNric("S1234567Z").build());
+        storage.saveAddressBook(original);
+        assertEquals(original, new AddressBook(storage.readAddressBook().get()));
+        assertEquals(getTypicalAddressBook(), new AddressBook(new BinaryAddressBookStorage(
+                FileBackups.getBackupFile(new File(filePath), 1).getPath()).readAddressBook().get()));
+    }
+
+    @Test
+    public void saveAddressBook_typicalAddressBook_smallerThanXml() throws Exception {
+        File binaryFile = testFolder.newFile("addressBook.bin");
+        File xmlFile = testFolder.newFile("addressBook.xml");
+        new BinaryAddressBookStorage(binaryFile.getPath()).saveAddressBook(getTypicalAddressBook());
+        new XmlAddressBookStorage(xmlFile.getPath(), 0, false).saveAddressBook(getTypicalAddressBook());
+        assertTrue(binaryFile.length() * 2 < xmlFile.length());
+    }
+
+    @Test
+    public void readAndSaveAddressBook_compressed_success() throws Exception {
+        File file = testFolder.newFile("addressBook.bin");
+        AddressBook original = getTypicalAddressBook();
+        BinaryAddressBookStorage storage = new BinaryAddressBookStorage(file.getPath(), 1, true);
+        storage.saveAddressBook(original);
+        storage.backupAddressBook(original);
+
+        assertTrue(FileUtil.isCompressed(file));
+        assertEquals(original, new AddressBook(storage.readAddressBook().get()));
+        assertEquals(original, new AddressBook(new BinaryAddressBookStorage(file.getPath()).readAddressBook().get()));
+    }
+
+    @Test
+    public void readAddressBook_xmlFile_throwsDataConversionException() throws Exception {
+        File file = testFolder.newFile("addressBook.xml");
+        new XmlAddressBookStorage(file.getPath()).saveAddressBook(getTypicalAddressBook());
+        thrown.expect(DataConversionException.class);
+        new BinaryAddressBookStorage(file.getPath()).readAddressBook();
+    }
+
+    @Test
+    public void readAddressBook_truncatedFile_throwsDataConversionException() throws Exception {
+        File file = testFolder.newFile("addressBook.bin");
+        new BinaryAddressBookStorage(file.getPath()).saveAddressBook(getTypicalAddressBook());
+        byte[] content = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(content, content.length / 2));
+        thrown.expect(DataConversionException.class);
+        new BinaryAddressBookStorage(file.getPath()).readAddressBook();
+    }
+
+    @Test
+    public void migrate_xmlFile_sameAddressBookInBinaryFile() throws Exception {
+        String xmlFilePath = testFolder.getRoot().getPath() + File.separator + "addressBook.xml";
+        String binaryFilePath = testFolder.getRoot().getPath() + File.separator + "addressBook.bin";
+        new XmlAddressBookStorage(xmlFilePath).saveAddressBook(getTypicalAddressBook());
+
+        XmlToBinaryMigrationTool.migrate(xmlFilePath, binaryFilePath);
+        assertEquals(getTypicalAddressBook(), new BinaryAddressBookStorage(binaryFilePath).readAddressBook().get());
+        assertTrue(FileUtil.isFileExists(new File(xmlFilePath)));
+    }
+
+    @Test
+    public void saveAddressBook_nullAddressBook_throwsNullPointerException() throws Exception {
+        thrown.expect(NullPointerException.class);
+        new BinaryAddressBookStorage("SomeFile.bin").saveAddressBook(null);
+    }
+}
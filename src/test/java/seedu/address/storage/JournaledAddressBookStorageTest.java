@@ -0,0 +1,191 @@
+package seedu.address.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static seedu.address.model.AddressBookMutation.Type.ADD_PERSON;
+import static seedu.address.model.AddressBookMutation.Type.DELETE_APPOINTMENT;
+import static seedu.address.model.AddressBookMutation.Type.UPDATE_PERSON;
+import static seedu.address.testutil.TypicalAddressBook.getTypicalAddressBook;
+import static seedu.address.testutil.TypicalPersons.ALICE;
+import static seedu.address.testutil.TypicalPersons.AMY;
+import static seedu.address.testutil.TypicalPersons.BOB;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.AddressBook;
+import seedu.address.model.AddressBookMutation;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.testutil.PersonBuilder;
+import seedu.address.testutil.TypicalAppointments;
+
+public class JournaledAddressBookStorageTest {
+
+    private static final AddressBookMutation ADD_AMY = new AddressBookMutation(ADD_PERSON, AMY);
+    private static final AddressBookMutation ADD_BOB = new AddressBookMutation(ADD_PERSON, BOB);
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void readAddressBook_mutationsInJournal_madeAgainOnSavedAddressBook() throws Exception {
+        String filePath = getTempFilePath("addressBook.xml");
+        JournaledAddressBookStorage storage = createStorage(filePath);
+        AddressBook expected = getTypicalAddressBook();
+        storage.saveAddressBook(expected);
+
+        Appointment appointment = TypicalAppointments.getTypicalAppointments().get(0);
+        applyAndAppend(storage, expected, ADD_AMY,
+                new AddressBookMutation(UPDATE_PERSON, ALICE, new PersonBuilder(ALICE).withPhone("91234567").build()),
+                new AddressBookMutation(DELETE_APPOINTMENT, appointment));
+        assertEquals(3, storage.getJournalRecordCount());
+
+        // the full save is untouched
+        assertEquals(getTypicalAddressBook(), new AddressBook(
+                new XmlAddressBookStorage(filePath).readAddressBook().get()));
+        assertEquals(expected, new AddressBook(createStorage(filePath).readAddressBook().get()));
+    }
+
+    @Test
+    public void appendToJournal_manyMutations_appendedInOrder() throws Exception {
+        String filePath = getTempFilePath("addressBook.xml");
+        JournaledAddressBookStorage storage = createStorage(filePath);
+        AddressBook expected = getTypicalAddressBook();
+        storage.saveAddressBook(expected);
+
+        assertTrue(storage.appendToJournal(Arrays.asList(ADD_AMY, ADD_BOB)));
+        ADD_AMY.applyTo(expected);
+        ADD_BOB.applyTo(expected);
+
+        assertEquals(2, storage.getJournalRecordCount());
+        assertEquals(expected, new AddressBook(createStorage(filePath).readAddressBook().get()));
+    }
+
+    @Test
+    public void saveAddressBook_mutationsInJournal_journalEmptied() throws Exception {
+        String filePath = getTempFilePath("addressBook.xml");
+        JournaledAddressBookStorage storage = createStorage(filePath);
+        AddressBook expected = getTypicalAddressBook();
+        storage.saveAddressBook(expected);
+        applyAndAppend(storage, expected, ADD_AMY);
+
+        storage.saveAddressBook(expected);
+        assertEquals(0, storage.getJournalRecordCount());
+        JournaledAddressBookStorage reopened = createStorage(filePath);
+        assertEquals(expected, new AddressBook(reopened.readAddressBook().get()));
+        assertEquals(0, reopened.getJournalRecordCount());
+    }
+
+    @Test
+    public void readAddressBook_journalOfOlderSave_ignored() throws Exception {
+        String filePath = getTempFilePath("addressBook.xml");
+        File journalFile = AddressBookJournal.getJournalFile(new File(filePath));
+        File staleJournalFile = new File(getTempFilePath("stale.journal"));
+        JournaledAddressBookStorage storage = createStorage(filePath);
+        AddressBook expected = getTypicalAddressBook();
+        storage.saveAddressBook(expected);
+        applyAndAppend(storage, expected, ADD_AMY);
+        Files.copy(journalFile.toPath(), staleJournalFile.toPath());
+
+        // as if the journal was not emptied after the address book was saved in full
+        storage.saveAddressBook(expected);
+        Files.copy(staleJournalFile.toPath(), journalFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        assertEquals(expected, new AddressBook(createStorage(filePath).readAddressBook().get()));
+        // the changes in the stale journal can still be recovered by hand
+        assertTrue(AddressBookJournal.getDiscardedJournalFile(journalFile).exists());
+    }
+
+    @Test
+    public void readAddressBook_addressBookFileRestoredFromCopy_mutationsInJournalMadeAgain() throws Exception {
+        String filePath = getTempFilePath("addressBook.xml");
+        File copy = new File(getTempFilePath("copy.xml"));
+        JournaledAddressBookStorage storage = createStorage(filePath);
+        AddressBook expected = getTypicalAddressBook();
+        storage.saveAddressBook(expected);
+        applyAndAppend(storage, expected, ADD_AMY);
+
+        // a copy restored over the file is a different file with a later modification time, but the same content
+        Files.copy(new File(filePath).toPath(), copy.toPath());
+        assertTrue(copy.setLastModified(copy.lastModified() + 60000));
+        Files.move(copy.toPath(), new File(filePath).toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        assertEquals(expected, new AddressBook(createStorage(filePath).readAddressBook().get()));
+    }
+
+    @Test
+    public void readAddressBook_incompleteLastRecord_dropped() throws Exception {
+        String filePath = getTempFilePath("addressBook.xml");
+        File journalFile = AddressBookJournal.getJournalFile(new File(filePath));
+        JournaledAddressBookStorage storage = createStorage(filePath);
+        AddressBook expected = getTypicalAddressBook();
+        storage.saveAddressBook(expected);
+        applyAndAppend(storage, expected, ADD_AMY);
+        storage.appendToJournal(ADD_BOB);
+        try (RandomAccessFile journal = new RandomAccessFile(journalFile, "rw")) {
+            journal.setLength(journal.length() - 1);
+        }
+
+        JournaledAddressBookStorage reopened = createStorage(filePath);
+        assertEquals(expected, new AddressBook(reopened.readAddressBook().get()));
+        assertEquals(1, reopened.getJournalRecordCount());
+
+        // appends follow the last complete record
+        applyAndAppend(reopened, expected, ADD_BOB);
+        assertEquals(expected, new AddressBook(createStorage(filePath).readAddressBook().get()));
+    }
+
+    @Test
+    public void readAddressBook_mutationCannotBeMadeAgain_throwsDataConversionException() throws Exception {
+        String filePath = getTempFilePath("addressBook.xml");
+        JournaledAddressBookStorage storage = createStorage(filePath);
+        storage.saveAddressBook(getTypicalAddressBook());
+        storage.appendToJournal(ADD_AMY);
+        storage.appendToJournal(ADD_AMY);
+
+        thrown.expect(DataConversionException.class);
+        createStorage(filePath).readAddressBook();
+    }
+
+    @Test
+    public void appendToJournal_noFullSave_returnsFalse() throws Exception {
+        JournaledAddressBookStorage storage = createStorage(getTempFilePath("addressBook.xml"));
+        assertFalse(storage.readAddressBook().isPresent());
+        assertFalse(storage.appendToJournal(ADD_AMY));
+
+        storage.saveAddressBook(new AddressBook());
+        assertTrue(storage.appendToJournal(ADD_AMY));
+    }
+
+    private JournaledAddressBookStorage createStorage(String filePath) {
+        return new JournaledAddressBookStorage(new XmlAddressBookStorage(filePath));
+    }
+
+    /**
+     * Makes {@code mutations} on {@code addressBook} and appends them to the journal of {@code storage}.
+     */
+    private void applyAndAppend(JournaledAddressBookStorage storage, AddressBook addressBook,
+                                AddressBookMutation... mutations) throws Exception {
+        for (AddressBookMutation mutation : mutations) {
+            mutation.applyTo(addressBook);
+            assertTrue(storage.appendToJournal(mutation));
+        }
+    }
+
+    private String getTempFilePath(String fileName) {
+        return testFolder.getRoot().getPath() + File.separator + fileName;
+    }
+}
@@ -0,0 +1,133 @@
+package seedu.address.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static seedu.address.testutil.TypicalAddressBook.getTypicalAddressBook;
+import static seedu.address.testutil.TypicalAppointments.ALICE_APP;
+import static seedu.address.testutil.TypicalPersons.ALICE;
+import static seedu.address.testutil.TypicalPersons.BENSON;
+import static seedu.address.testutil.TypicalPetPatients.JEWEL;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.AddressBook;
+import seedu.address.model.ReadOnlyAddressBook;
+import seedu.address.model.util.SearchIndex.Field;
+import seedu.address.model.util.SearchIndex.Keyword;
+
+public class MappedAddressBookStorageTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void readAddressBook_nullFilePath_throwsNullPointerException() throws Exception {
+        thrown.expect(NullPointerException.class);
+        new MappedAddressBookStorage(null).readAddressBook(null);
+    }
+
+    @Test
+    public void read_missingFile_emptyResult() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "NonExistentFile.bin";
+        assertFalse(new MappedAddressBookStorage(filePath).readAddressBook().isPresent());
+    }
+
+    @Test
+    public void readAddressBook_typicalAddressBook_success() throws Exception {
+        File file = testFolder.newFile("addressBook.bin");
+        AddressBook original = getTypicalAddressBook();
+        new BinaryAddressBookStorage(file.getPath()).saveAddressBook(original);
+
+        ReadOnlyAddressBook mapped = new MappedAddressBookStorage(file.getPath()).readAddressBook().get();
+        assertEquals(original.getTagList(), mapped.getTagList());
+        assertEquals(original.getPersonList(), mapped.getPersonList());
+        assertEquals(original.getPetPatientList(), mapped.getPetPatientList());
+        assertEquals(original.getAppointmentList(), mapped.getAppointmentList());
+        assertEquals(original, new AddressBook(mapped));
+
+        // entities are decoded once and kept
+        assertSame(mapped.getPersonList().get(0), mapped.getPersonList().get(0));
+    }
+
+    @Test
+    public void readAddressBook_lookUps_sameAsAddressBook() throws Exception {
+        File file = testFolder.newFile("addressBook.bin");
+        AddressBook original = getTypicalAddressBook();
+        new BinaryAddressBookStorage(file.getPath()).saveAddressBook(original);
+
+        MappedAddressBook mapped = (MappedAddressBook) new MappedAddressBookStorage(file.getPath())
+                .readAddressBook().get();
+        assertEquals(BENSON, mapped.getPersonWithNric(BENSON.getNric()));
+        assertEquals(JEWEL, mapped.getPetPatientWithNricAndName(JEWEL.getOwner(), JEWEL.getName()));
+        assertEquals(original.getPetPatientsWithNric(ALICE.getNric()), mapped.getPetPatientsWithNric(ALICE.getNric()));
+        assertEquals(original.getAppointmentsWithNric(ALICE.getNric()),
+                mapped.getAppointmentsWithNric(ALICE.getNric()));
+        assertEquals(original.getAppointmentsWithNricAndPetName(ALICE.getNric(), JEWEL.getName()),
+                mapped.getAppointmentsWithNricAndPetName(ALICE.getNric(), JEWEL.getName()));
+        assertEquals(ALICE_APP, mapped.getAppointmentAt(ALICE_APP.getDateTime()));
+        assertNull(mapped.getAppointmentAt(ALICE_APP.getDateTime().plusMinutes(1)));
+        assertTrue(mapped.hasConcurrentAppointment(ALICE_APP.getDateTime().plusMinutes(1), null));
+        assertFalse(mapped.hasConcurrentAppointment(ALICE_APP.getDateTime().plusMinutes(1),
+                ALICE_APP.getDateTime()));
+        assertTrue(mapped.hasAppointmentInYear(ALICE_APP.getDateTime().getYear()));
+        assertFalse(mapped.hasAppointmentInYear(ALICE_APP.getDateTime().getYear() + 1));
+
+        Map<Field, List<Keyword>> keywords =
+                Collections.singletonMap(Field.NAME, Collections.singletonList(Keyword.word("alice")));
+        assertEquals(new HashMap<>(original.findPersons(keywords)), new HashMap<>(mapped.findPersons(keywords)));
+    }
+
+    @Test
+    public void readAddressBook_compressedFile_success() throws Exception {
+        File file = testFolder.newFile("addressBook.bin");
+        AddressBook original = getTypicalAddressBook();
+        new BinaryAddressBookStorage(file.getPath(), 0, true).saveAddressBook(original);
+
+        ReadOnlyAddressBook read = new MappedAddressBookStorage(file.getPath()).readAddressBook().get();
+        assertEquals(original, new AddressBook(read));
+    }
+
+    @Test
+    public void readAddressBook_xmlFile_throwsDataConversionException() throws Exception {
+        File file = testFolder.newFile("addressBook.xml");
+        new XmlAddressBookStorage(file.getPath()).saveAddressBook(getTypicalAddressBook());
+        thrown.expect(DataConversionException.class);
+        new MappedAddressBookStorage(file.getPath()).readAddressBook();
+    }
+
+    @Test
+    public void readAddressBook_truncatedFile_throwsDataConversionException() throws Exception {
+        File file = testFolder.newFile("addressBook.bin");
+        new BinaryAddressBookStorage(file.getPath()).saveAddressBook(getTypicalAddressBook());
+        byte[] content = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(content, content.length / 2));
+        thrown.expect(DataConversionException.class);
+        new MappedAddressBookStorage(file.getPath()).readAddressBook();
+    }
+
+    @Test
+    public void saveAddressBook_readOnly_throwsIoException() throws Exception {
+        File file = testFolder.newFile("addressBook.bin");
+        thrown.expect(IOException.class);
+        new MappedAddressBookStorage(file.getPath()).saveAddressBook(getTypicalAddressBook());
+    }
+}
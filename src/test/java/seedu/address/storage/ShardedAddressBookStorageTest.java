@@ -0,0 +1,216 @@
+package seedu.address.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static seedu.address.testutil.TypicalAddressBook.getTypicalAddressBook;
+import static seedu.address.testutil.TypicalAppointments.ALICE_APP;
+import static seedu.address.testutil.TypicalAppointments.BOB_APP;
+import static seedu.address.testutil.TypicalAppointments.getTypicalAppointments;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.AddressBook;
+import seedu.address.model.ReadOnlyAddressBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.testutil.AppointmentBuilder;
+
+public class ShardedAddressBookStorageTest {
+
+    private static final Clock CLOCK_IN_2018 = Clock.fixed(Instant.parse("2018-06-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void readAddressBook_nullFilePath_throwsNullPointerException() throws Exception {
+        thrown.expect(NullPointerException.class);
+        new ShardedAddressBookStorage(null).readAddressBook(null);
+    }
+
+    @Test
+    public void read_missingFile_emptyResult() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "NonExistentFile.bin";
+        assertFalse(newStorage(filePath).readAddressBook().isPresent());
+    }
+
+    @Test
+    public void readAndSaveAddressBook_typicalAddressBook_success() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "addressBook.bin";
+        AddressBook original = getTypicalAddressBook();
+        newStorage(filePath).saveAddressBook(original);
+
+        assertSameAddressBook(original, newStorage(filePath).readAddressBook().get());
+        assertEquals(new HashSet<>(Arrays.asList("addressBook.bin", "addressBook.bin.core.1.seg",
+                "addressBook.bin.2018.1.seg")), getFileNames());
+    }
+
+    @Test
+    public void saveAddressBook_oneYearChanged_onlyThatSegmentRewritten() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "addressBook.bin";
+        AddressBook original = getTypicalAddressBook();
+        original.addAppointment(new AppointmentBuilder(BOB_APP).withDateTime("2099-01-01 12:00").build());
+        newStorage(filePath).saveAddressBook(original);
+
+        // a new storage starts from the segments it reads
+        ShardedAddressBookStorage storage = newStorage(filePath);
+        AddressBook changed = new AddressBook(storage.readAddressBook().get());
+        Appointment target = getTypicalAppointments().get(0);
+        changed.updateAppointment(target, new AppointmentBuilder(target).withRemark("Changed").build());
+        storage.saveAddressBook(changed);
+
+        assertEquals(new HashSet<>(Arrays.asList("addressBook.bin", "addressBook.bin.core.1.seg",
+                "addressBook.bin.2018.2.seg", "addressBook.bin.2099.1.seg")), getFileNames());
+        assertSameAddressBook(changed, newStorage(filePath).readAddressBook().get());
+    }
+
+    @Test
+    public void saveAddressBook_yearEmptied_segmentDeleted() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "addressBook.bin";
+        ShardedAddressBookStorage storage = newStorage(filePath);
+        AddressBook addressBook = getTypicalAddressBook();
+        storage.saveAddressBook(addressBook);
+
+        addressBook.resetData(new AddressBook());
+        storage.saveAddressBook(addressBook);
+
+        assertEquals(new HashSet<>(Arrays.asList("addressBook.bin", "addressBook.bin.core.2.seg")), getFileNames());
+        assertEquals(new AddressBook(), newStorage(filePath).readAddressBook().get());
+    }
+
+    @Test
+    public void readAddressBook_pastYear_readWhenNeeded() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "addressBook.bin";
+        AddressBook original = getTypicalAddressBook();
+        Appointment pastAppointment = new AppointmentBuilder(BOB_APP).withDateTime("2016-03-01 09:00").build();
+        original.addAppointment(pastAppointment);
+        newStorage(filePath).saveAddressBook(original);
+
+        AddressBook read = new AddressBook(newStorage(filePath).readAddressBook().get());
+        assertEquals(getTypicalAppointments(), read.getAppointmentList());
+        assertTrue(read.getArchivedAppointments().contains(2016));
+        assertTrue(read.hasAppointmentInYear(2016));
+
+        // the latest appointment of a pet patient is known without reading the years it has appointments in
+        assertEquals(Collections.emptyList(), read.getAppointmentsWithNric(BOB_APP.getOwnerNric()));
+        assertEquals(pastAppointment.getDateTime(), read.getLatestAppointmentDateTime(BOB_APP.getOwnerNric()));
+        assertTrue(read.getArchivedAppointments().contains(2016));
+
+        read.loadArchivedYearsWithNric(BOB_APP.getOwnerNric());
+        assertEquals(Collections.singletonList(pastAppointment), read.getAppointmentsWithNric(BOB_APP.getOwnerNric()));
+        assertTrue(read.getArchivedAppointments().isEmpty());
+        assertSameAddressBook(original, read);
+    }
+
+    @Test
+    public void readAddressBook_interleavedYears_savedOrderKept() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "addressBook.bin";
+        AddressBook original = getTypicalAddressBook();
+        original.addAppointment(new AppointmentBuilder(BOB_APP).withDateTime("2016-03-01 09:00").build());
+        original.addAppointment(new AppointmentBuilder(ALICE_APP).withDateTime("2018-07-01 10:00").build());
+        newStorage(filePath).saveAddressBook(original);
+
+        AddressBook read = new AddressBook(newStorage(filePath).readAddressBook().get());
+        read.loadArchivedYears(Collections.singleton(2016));
+        assertSameAddressBook(original, read);
+
+        // the years read with the manifest depend on the current year
+        Clock clockIn2016 = Clock.fixed(Instant.parse("2016-06-01T00:00:00Z"), ZoneOffset.UTC);
+        read = new AddressBook(new ShardedAddressBookStorage(filePath, 0, false, clockIn2016).readAddressBook().get());
+        assertEquals(1, read.getAppointmentList().size());
+        read.loadArchivedYears(Collections.singleton(2018));
+        assertSameAddressBook(original, read);
+    }
+
+    @Test
+    public void saveAddressBook_pastYearNotRead_segmentKept() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "addressBook.bin";
+        AddressBook original = getTypicalAddressBook();
+        original.addAppointment(new AppointmentBuilder(BOB_APP).withDateTime("2016-03-01 09:00").build());
+        newStorage(filePath).saveAddressBook(original);
+
+        ShardedAddressBookStorage storage = newStorage(filePath);
+        AddressBook changed = new AddressBook(storage.readAddressBook().get());
+        Appointment target = getTypicalAppointments().get(0);
+        changed.updateAppointment(target, new AppointmentBuilder(target).withRemark("Changed").build());
+        storage.saveAddressBook(changed);
+
+        assertEquals(new HashSet<>(Arrays.asList("addressBook.bin", "addressBook.bin.core.1.seg",
+                "addressBook.bin.2016.1.seg", "addressBook.bin.2018.2.seg")), getFileNames());
+        AddressBook read = new AddressBook(newStorage(filePath).readAddressBook().get());
+        read.loadArchivedYears(Collections.singleton(2016));
+        changed.loadArchivedYears(Collections.singleton(2016));
+        assertSameAddressBook(changed, read);
+    }
+
+    @Test
+    public void readAddressBook_wholeBinaryFile_success() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "addressBook.bin";
+        new BinaryAddressBookStorage(filePath).saveAddressBook(getTypicalAddressBook());
+
+        ShardedAddressBookStorage storage = newStorage(filePath);
+        assertEquals(getTypicalAddressBook(), storage.readAddressBook().get());
+
+        // the next save splits the file into segments
+        storage.saveAddressBook(getTypicalAddressBook());
+        assertNotEquals(1, getFileNames().size());
+        assertSameAddressBook(getTypicalAddressBook(), storage.readAddressBook().get());
+    }
+
+    @Test
+    public void readAddressBook_xmlFile_throwsDataConversionException() throws Exception {
+        File file = testFolder.newFile("addressBook.xml");
+        new XmlAddressBookStorage(file.getPath()).saveAddressBook(getTypicalAddressBook());
+        thrown.expect(DataConversionException.class);
+        newStorage(file.getPath()).readAddressBook();
+    }
+
+    @Test
+    public void readAddressBook_missingSegment_throwsIoException() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "addressBook.bin";
+        newStorage(filePath).saveAddressBook(getTypicalAddressBook());
+        assertTrue(new File(filePath + ".2018.1.seg").delete());
+        thrown.expect(FileNotFoundException.class);
+        newStorage(filePath).readAddressBook();
+    }
+
+    /**
+     * Returns a storage for {@code filePath} that reads the appointments in 2018 and 2019 with the manifest.
+     */
+    private ShardedAddressBookStorage newStorage(String filePath) {
+        return new ShardedAddressBookStorage(filePath, FileBackups.DEFAULT_BACKUP_COUNT, false, CLOCK_IN_2018);
+    }
+
+    /**
+     * Asserts that {@code actual} holds the same data as {@code expected}, with the appointments in the same order.
+     */
+    private void assertSameAddressBook(ReadOnlyAddressBook expected, ReadOnlyAddressBook actual) {
+        assertEquals(expected.getTagList(), actual.getTagList());
+        assertEquals(expected.getPersonList(), actual.getPersonList());
+        assertEquals(expected.getPetPatientList(), actual.getPetPatientList());
+        assertEquals(expected.getAppointmentList(), actual.getAppointmentList());
+    }
+
+    private Set<String> getFileNames() {
+        return new TreeSet<>(Arrays.asList(testFolder.getRoot().list()));
+    }
+}
@@ -4,6 +4,9 @@ import static junit.framework.TestCase.assertNotNull;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static seedu.address.logic.commands.CommandTestUtil.VALID_THEME_PATH_DARK;
+import static seedu.address.model.AddressBookMutation.Type.ADD_PERSON;
+import static seedu.address.testutil.TypicalPersons.AMY;
+import static seedu.address.testutil.TypicalPersons.BOB;
 import static seedu.address.testutil.TypicalPersons.getTypicalAddressBook;
 
 import java.io.IOException;
@@ -16,6 +19,7 @@ import org.junit.rules.TemporaryFolder;
 import seedu.address.commons.events.model.AddressBookChangedEvent;
 import seedu.address.commons.events.storage.DataSavingExceptionEvent;
 import seedu.address.model.AddressBook;
+import seedu.address.model.AddressBookMutation;
 import seedu.address.model.ReadOnlyAddressBook;
 import seedu.address.model.UserPrefs;
 import seedu.address.ui.testutil.EventsCollectorRule;
@@ -79,9 +83,67 @@ public class StorageManagerTest {
         Storage storage = new StorageManager(new XmlAddressBookStorageExceptionThrowingStub("dummy"),
                                              new JsonUserPrefsStorage("dummy"));
         storage.handleAddressBookChangedEvent(new AddressBookChangedEvent(new AddressBook()));
+        storage.flushAddressBookSaves();
         assertTrue(eventsCollectorRule.eventsCollector.getMostRecent() instanceof DataSavingExceptionEvent);
     }
 
+    @Test
+    public void handleAddressBookChangedEvent_uncheckedExceptionThrown_eventRaised() {
+        Storage storage = new StorageManager(new XmlAddressBookStorageUncheckedExceptionThrowingStub("dummy"),
+                                             new JsonUserPrefsStorage("dummy"));
+        storage.handleAddressBookChangedEvent(new AddressBookChangedEvent(new AddressBook()));
+        storage.flushAddressBookSaves();
+        assertTrue(eventsCollectorRule.eventsCollector.getMostRecent() instanceof DataSavingExceptionEvent);
+    }
+
+    @Test
+    public void handleAddressBookChangedEvent_manyChanges_latestChangeSavedOnce() {
+        XmlAddressBookStorageSaveCountingStub addressBookStorage =
+                new XmlAddressBookStorageSaveCountingStub(getTempFilePath("ab"));
+        Storage storage = new StorageManager(addressBookStorage, new JsonUserPrefsStorage(getTempFilePath("prefs")),
+                Long.MAX_VALUE);
+        AddressBook latest = getTypicalAddressBook();
+        storage.handleAddressBookChangedEvent(new AddressBookChangedEvent(new AddressBook()));
+        storage.handleAddressBookChangedEvent(new AddressBookChangedEvent(new AddressBook()));
+        storage.handleAddressBookChangedEvent(new AddressBookChangedEvent(latest));
+        assertEquals(0, addressBookStorage.saveCount);
+
+        storage.flushAddressBookSaves();
+        assertEquals(1, addressBookStorage.saveCount);
+        assertEquals(latest, addressBookStorage.lastSaved);
+
+        // nothing left to save
+        storage.flushAddressBookSaves();
+        assertEquals(1, addressBookStorage.saveCount);
+    }
+
+
+    @Test
+    public void handleAddressBookChangedEvent_journaledMutations_appendedUntilCompacted() throws Exception {
+        String filePath = getTempFilePath("ab");
+        Storage storage = new StorageManager(new XmlAddressBookStorage(filePath),
+                new JsonUserPrefsStorage(getTempFilePath("prefs")), Long.MAX_VALUE, 2);
+        AddressBook addressBook = getTypicalAddressBook();
+        storage.saveAddressBook(addressBook);
+
+        AddressBookMutation addAmy = new AddressBookMutation(ADD_PERSON, AMY);
+        addAmy.applyTo(addressBook);
+        storage.handleAddressBookChangedEvent(new AddressBookChangedEvent(addressBook.snapshot(), addAmy));
+        storage.flushAddressBookSaves();
+        // appended to the journal only
+        assertEquals(getTypicalAddressBook(), new AddressBook(
+                new XmlAddressBookStorage(filePath).readAddressBook().get()));
+        assertEquals(addressBook, new AddressBook(new StorageManager(new XmlAddressBookStorage(filePath),
+                new JsonUserPrefsStorage(getTempFilePath("prefs")), 0, 2).readAddressBook().get()));
+
+        AddressBookMutation addBob = new AddressBookMutation(ADD_PERSON, BOB);
+        addBob.applyTo(addressBook);
+        storage.handleAddressBookChangedEvent(new AddressBookChangedEvent(addressBook.snapshot(), addBob));
+        storage.flushAddressBookSaves();
+        // the journal is full, so the address book is saved in full
+        assertEquals(addressBook, new AddressBook(new XmlAddressBookStorage(filePath).readAddressBook().get()));
+    }
+
 
     /**
      * A Stub class to throw an exception when the save method is called
@@ -98,5 +160,38 @@ public class StorageManagerTest {
         }
     }
 
+    /**
+     * A Stub class to throw an unchecked exception when the save method is called
+     */
+    class XmlAddressBookStorageUncheckedExceptionThrowingStub extends XmlAddressBookStorage {
+
+        public XmlAddressBookStorageUncheckedExceptionThrowingStub(String filePath) {
+            super(filePath);
+        }
+
+        @Override
+        public void saveAddressBook(ReadOnlyAddressBook addressBook, String filePath) {
+            throw new IllegalStateException("dummy exception");
+        }
+    }
+
+    /**
+     * A Stub class to count the number of times the save method is called
+     */
+    class XmlAddressBookStorageSaveCountingStub extends XmlAddressBookStorage {
+        private int saveCount;
+        private ReadOnlyAddressBook lastSaved;
+
+        public XmlAddressBookStorageSaveCountingStub(String filePath) {
+            super(filePath);
+        }
+
+        @Override
+        public void saveAddressBook(ReadOnlyAddressBook addressBook, String filePath) {
+            saveCount++;
+            lastSaved = addressBook;
+        }
+    }
+
 
 }
@@ -2,11 +2,13 @@ package seedu.address.storage;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static seedu.address.testutil.TypicalPersons.ALICE;
 import static seedu.address.testutil.TypicalPersons.HOON;
 import static seedu.address.testutil.TypicalPersons.IDA;
 import static seedu.address.testutil.TypicalPersons.getTypicalAddressBook;
 
+import java.io.File;
 import java.io.IOException;
 
 import org.junit.Rule;
@@ -18,6 +20,7 @@ import seedu.address.commons.exceptions.DataConversionException;
 import seedu.address.commons.util.FileUtil;
 import seedu.address.model.AddressBook;
 import seedu.address.model.ReadOnlyAddressBook;
+import seedu.address.testutil.AddressBookBuilder;
 
 public class XmlAddressBookStorageTest {
     private static final String TEST_DATA_FOLDER = FileUtil.getPath("./src/test/data/XmlAddressBookStorageTest/");
@@ -98,6 +101,65 @@ public class XmlAddressBookStorageTest {
 
     }
 
+    @Test
+    public void readAndSaveAddressBook_compressed_success() throws Exception {
+        File compressedFile = testFolder.newFile("compressed.xml");
+        File plainFile = testFolder.newFile("plain.xml");
+        AddressBook original = getTypicalAddressBook();
+        new XmlAddressBookStorage(compressedFile.getPath(), 0, true, true).saveAddressBook(original);
+        new XmlAddressBookStorage(plainFile.getPath(), 0, true, false).saveAddressBook(original);
+
+        assertTrue(FileUtil.isCompressed(compressedFile));
+        assertTrue(compressedFile.length() < plainFile.length());
+
+        // files are read whether they are compressed or not
+        XmlAddressBookStorage storage = new XmlAddressBookStorage(plainFile.getPath());
+        assertEquals(original, new AddressBook(storage.readAddressBook(compressedFile.getPath()).get()));
+        assertEquals(original, new AddressBook(storage.readAddressBook(plainFile.getPath()).get()));
+    }
+
+    @Test
+    public void saveAddressBook_moreSavesThanBackups_keepsLatestVersionsAsBackups() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "TempAddressBook.xml";
+        XmlAddressBookStorage xmlAddressBookStorage = new XmlAddressBookStorage(filePath, 2, true);
+        AddressBook first = new AddressBook();
+        AddressBook second = new AddressBookBuilder().withPerson(ALICE).build();
+        AddressBook third = new AddressBookBuilder().withPerson(ALICE).withPerson(HOON).build();
+        AddressBook fourth = getTypicalAddressBook();
+
+        xmlAddressBookStorage.saveAddressBook(first);
+        assertFalse(FileBackups.getBackupFile(new File(filePath), 1).exists());
+
+        xmlAddressBookStorage.saveAddressBook(second);
+        xmlAddressBookStorage.saveAddressBook(third);
+        xmlAddressBookStorage.saveAddressBook(fourth);
+        assertEquals(fourth, new AddressBook(xmlAddressBookStorage.readAddressBook().get()));
+        assertEquals(third, readBackup(xmlAddressBookStorage, filePath, 1));
+        assertEquals(second, readBackup(xmlAddressBookStorage, filePath, 2));
+        assertFalse(FileBackups.getBackupFile(new File(filePath), 3).exists());
+
+        // no temporary files are left behind
+        assertEquals(3, testFolder.getRoot().listFiles().length);
+    }
+
+    @Test
+    public void backupAddressBook_existingBackups_savedAsLatestBackup() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + File.separator + "TempAddressBook.xml";
+        XmlAddressBookStorage xmlAddressBookStorage = new XmlAddressBookStorage(filePath, 2, true);
+        AddressBook original = getTypicalAddressBook();
+        xmlAddressBookStorage.saveAddressBook(new AddressBook());
+        xmlAddressBookStorage.saveAddressBook(original);
+
+        xmlAddressBookStorage.backupAddressBook(original);
+        assertEquals(original, readBackup(xmlAddressBookStorage, filePath, 1));
+        assertEquals(new AddressBook(), readBackup(xmlAddressBookStorage, filePath, 2));
+    }
+
+    private AddressBook readBackup(XmlAddressBookStorage storage, String filePath, int generation) throws Exception {
+        return new AddressBook(storage.readAddressBook(
+                FileBackups.getBackupFile(new File(filePath), generation).getPath()).get());
+    }
+
     @Test
     public void saveAddressBook_nullAddressBook_throwsNullPointerException() {
         thrown.expect(NullPointerException.class);
@@ -0,0 +1,129 @@
+package seedu.address.storage;
+
+import static org.junit.Assert.assertEquals;
+import static seedu.address.testutil.TypicalAddressBook.getTypicalAddressBook;
+
+import java.io.File;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.commons.util.FileUtil;
+import seedu.address.model.AddressBook;
+import seedu.address.model.person.Phone;
+import seedu.address.model.person.exceptions.DuplicatePersonException;
+import seedu.address.testutil.PersonBuilder;
+
+public class XmlAddressBookStreamReaderTest {
+    private static final String TEST_DATA_FOLDER = FileUtil.getPath("./src/test/data/XmlAddressBookStorageTest/");
+
+    /** Spans several conversion batches. */
+    private static final int MANY_PERSONS = 2000;
+
+    private static final String PERSON_XML = "<persons><name>Hans Muster</name><phone>9482424</phone>"
+            + "<email>hans@example.com</email><address>4th street</address><nric>S6752888K</nric></persons>";
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void readAddressBook_savedAddressBook_sameAsWholeFileConversion() throws Exception {
+        File file = testFolder.newFile("addressBook.xml");
+        XmlSerializableAddressBook saved = new XmlSerializableAddressBook(getTypicalAddressBook());
+        XmlFileStorage.saveDataToFile(file, saved);
+
+        AddressBook readBack = XmlAddressBookStreamReader.readAddressBook(file);
+        assertEquals(getTypicalAddressBook(), readBack);
+        assertEquals(saved.toModelType(), readBack);
+        assertEquals(saved.toModelType().getTagList(), readBack.getTagList());
+    }
+
+    @Test
+    public void readAddressBook_unknownElements_ignored() throws Exception {
+        File file = writeToTempFile("<addressbook><!-- comment --><unknown><nested/></unknown>"
+                + PERSON_XML + "<unknown/></addressbook>");
+        assertEquals(1, XmlAddressBookStreamReader.readAddressBook(file).getPersonList().size());
+    }
+
+    @Test
+    public void readAddressBook_emptyRootElement_emptyAddressBook() throws Exception {
+        File file = writeToTempFile("<addressbook/>");
+        assertEquals(new AddressBook(), XmlAddressBookStreamReader.readAddressBook(file));
+    }
+
+    @Test
+    public void readAddressBook_manyPersonsInParallel_sameOrderAsFile() throws Exception {
+        AddressBook original = new AddressBook();
+        PersonBuilder builder = new PersonBuilder();
+        for (int i = 0; i < MANY_PERSONS; i++) {
+            original.addPerson(builder.withNric(String.format("S%07dA", MANY_PERSONS - i)).build());
+        }
+        File file = testFolder.newFile("addressBook.xml");
+        XmlFileStorage.saveDataToFile(file, new XmlSerializableAddressBook(original));
+
+        AddressBook readBack = XmlAddressBookStreamReader.readAddressBook(file, new ForkJoinPool(4));
+        assertEquals(original.getPersonList(), readBack.getPersonList());
+    }
+
+    @Test
+    public void readAddressBook_invalidPersonsInDifferentBatches_firstInvalidPersonReported() throws Exception {
+        StringBuilder xml = new StringBuilder("<addressbook>");
+        for (int i = 0; i < MANY_PERSONS; i++) {
+            String phone = (i == MANY_PERSONS / 2) ? "invalid phone" : "9482424";
+            String email = (i == MANY_PERSONS - 1) ? "invalid email" : "hans@example.com";
+            xml.append(String.format("<persons><name>Hans Muster</name><phone>%s</phone><email>%s</email>"
+                    + "<address>4th street</address><nric>S%07dA</nric></persons>", phone, email, i));
+        }
+        File file = writeToTempFile(xml.append("</addressbook>").toString());
+
+        thrown.expect(IllegalValueException.class);
+        thrown.expectMessage(Phone.MESSAGE_PHONE_CONSTRAINTS);
+        XmlAddressBookStreamReader.readAddressBook(file, new ForkJoinPool(4));
+    }
+
+    @Test
+    public void readAddressBook_duplicatePersons_throwsIllegalValueException() throws Exception {
+        File file = writeToTempFile("<addressbook>" + PERSON_XML + PERSON_XML + "</addressbook>");
+        thrown.expect(IllegalValueException.class);
+        XmlAddressBookStreamReader.readAddressBook(file);
+    }
+
+    @Test
+    public void readAddressBook_duplicatePersonBeforeInvalidEntities_duplicatePersonReported() throws Exception {
+        File file = writeToTempFile("<addressbook>" + PERSON_XML + PERSON_XML
+                + PERSON_XML.replace("9482424", "invalid phone")
+                + "<appointments><ownerNric>invalid nric</ownerNric></appointments></addressbook>");
+        thrown.expect(DuplicatePersonException.class);
+        XmlAddressBookStreamReader.readAddressBook(file, new ForkJoinPool(4));
+    }
+
+    @Test
+    public void readAddressBook_notXmlFormat_throwsDataConversionException() throws Exception {
+        thrown.expect(DataConversionException.class);
+        XmlAddressBookStreamReader.readAddressBook(new File(TEST_DATA_FOLDER + "NotXmlFormatAddressBook.xml"));
+    }
+
+    @Test
+    public void readAddressBook_externalEntity_throwsDataConversionException() throws Exception {
+        File secret = writeToTempFile("secret");
+        File file = writeToTempFile("<?xml version=\"1.0\"?><!DOCTYPE addressbook [<!ENTITY secret SYSTEM \""
+                + secret.toURI() + "\">]><addressbook>" + PERSON_XML.replace("4th street", "&secret;")
+                + "</addressbook>");
+        thrown.expect(DataConversionException.class);
+        XmlAddressBookStreamReader.readAddressBook(file);
+    }
+
+    private File writeToTempFile(String content) throws Exception {
+        File file = testFolder.newFile();
+        FileUtil.writeToFile(file, content);
+        return file;
+    }
+}
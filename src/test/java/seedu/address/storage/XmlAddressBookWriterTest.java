@@ -0,0 +1,66 @@
+package seedu.address.storage;
+
+import static org.junit.Assert.assertEquals;
+import static seedu.address.testutil.TypicalAddressBook.getTypicalAddressBook;
+import static seedu.address.testutil.TypicalPersons.ALICE;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+
+import seedu.address.commons.util.XmlUtil;
+import seedu.address.model.AddressBook;
+import seedu.address.model.ReadOnlyAddressBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.testutil.AppointmentBuilder;
+import seedu.address.testutil.PersonBuilder;
+
+public class XmlAddressBookWriterTest {
+
+    @Test
+    public void write_typicalAddressBook_sameAsXmlSerializableAddressBook() throws Exception {
+        assertSameXml(getTypicalAddressBook(), new XmlAddressBookWriter(true), true);
+        assertSameXml(getTypicalAddressBook(), new XmlAddressBookWriter(false), false);
+    }
+
+    @Test
+    public void write_emptyAddressBook_sameAsXmlSerializableAddressBook() throws Exception {
+        assertSameXml(new AddressBook(), new XmlAddressBookWriter(true), true);
+        assertSameXml(new AddressBook(), new XmlAddressBookWriter(false), false);
+    }
+
+    @Test
+    public void write_changedSnapshots_sameAsXmlSerializableAddressBook() throws Exception {
+        XmlAddressBookWriter writer = new XmlAddressBookWriter(true);
+        AddressBook addressBook = getTypicalAddressBook();
+        assertSameXml(addressBook.snapshot(), writer, true);
+
+        // only the appointments change
+        Appointment target = addressBook.getAppointmentList().get(0);
+        addressBook.updateAppointment(target, new AppointmentBuilder(target).withRemark("Changed remark").build());
+        assertSameXml(addressBook.snapshot(), writer, true);
+
+        // a person and the tags change
+        addressBook.updatePerson(ALICE, new PersonBuilder(ALICE).withTags("newTag").build());
+        assertSameXml(addressBook.snapshot(), writer, true);
+
+        // nothing changes
+        assertSameXml(addressBook.snapshot(), writer, true);
+
+        // not a snapshot
+        assertSameXml(new AddressBook(), writer, true);
+        assertSameXml(addressBook.snapshot(), writer, true);
+    }
+
+    /**
+     * Asserts that {@code writer} writes {@code addressBook} as the same xml as {@link XmlSerializableAddressBook}.
+     */
+    private void assertSameXml(ReadOnlyAddressBook addressBook, XmlAddressBookWriter writer, boolean isFormatted)
+            throws Exception {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        XmlUtil.saveDataToStream(expected, new XmlSerializableAddressBook(addressBook), isFormatted);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        writer.write(addressBook, actual);
+        assertEquals(expected.toString("UTF-8"), actual.toString("UTF-8"));
+    }
+}
@@ -0,0 +1,149 @@
+package seedu.address.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.commons.util.FileUtil;
+import seedu.address.commons.util.XmlUtil;
+import seedu.address.model.AddressBook;
+import seedu.address.testutil.PersonBuilder;
+import seedu.address.testutil.TypicalAddressBook;
+
+/**
+ * Times saving and loading address books in xml, with the {@code JAXBContext} built on every call (as it was
+ * before contexts were cached) and with the cached contexts and pooled marshallers of {@code XmlUtil}.
+ * Both ways of saving write the file atomically and sync it to the disk, as {@code XmlFileStorage} does, so they
+ * differ only in where the marshaller comes from.
+ *
+ * Run with {@code gradlew xmlStorageBenchmark}.
+ */
+public class XmlStorageBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 50;
+    private static final int LARGE_ADDRESS_BOOK_SIZE = 100000;
+    private static final int LARGE_ITERATIONS = 3;
+
+    /**
+     * Prints the timings for a typical address book and a large address book.
+     */
+    public static void main(String[] args) throws Exception {
+        File file = Files.createTempFile("benchmark", ".xml").toFile();
+        file.deleteOnExit();
+
+        XmlSerializableAddressBook typical =
+                new XmlSerializableAddressBook(TypicalAddressBook.getTypicalAddressBook());
+        XmlSerializableAddressBook large = new XmlSerializableAddressBook(getLargeAddressBook());
+
+        System.out.println("Typical address book:");
+        runAll(file, typical, WARMUP_ITERATIONS, MEASURED_ITERATIONS);
+        System.out.println(LARGE_ADDRESS_BOOK_SIZE + " persons:");
+        runAll(file, large, 1, LARGE_ITERATIONS);
+    }
+
+    /**
+     * Returns an address book of {@code LARGE_ADDRESS_BOOK_SIZE} persons.
+     */
+    private static AddressBook getLargeAddressBook() throws Exception {
+        AddressBook addressBook = new AddressBook();
+        PersonBuilder builder = new PersonBuilder();
+        for (int i = 0; i < LARGE_ADDRESS_BOOK_SIZE; i++) {
+            addressBook.addPerson(builder.withNric(String.format("S%07dA", i)).build());
+        }
+        return addressBook;
+    }
+
+    /**
+     * Times each way of saving and loading {@code data}, printing the mean time per call.
+     */
+    private static void runAll(File file, XmlSerializableAddressBook data, int warmups, int iterations)
+            throws Exception {
+        run("save, new context per call, formatted", warmups, iterations, () ->
+                saveWithNewContext(file, data, true));
+        run("save, cached context, formatted", warmups, iterations, () ->
+                XmlFileStorage.saveDataToFile(file, data, true));
+        run("save, new context per call, unformatted", warmups, iterations, () ->
+                saveWithNewContext(file, data, false));
+        run("save, cached context, unformatted", warmups, iterations, () ->
+                XmlFileStorage.saveDataToFile(file, data, false));
+        run("load, new context per call", warmups, iterations, () ->
+                JAXBContext.newInstance(XmlSerializableAddressBook.class).createUnmarshaller().unmarshal(file));
+        run("load, cached context", warmups, iterations, () ->
+                XmlUtil.getDataFromFile(file, XmlSerializableAddressBook.class));
+        run("load and convert, whole file", warmups, iterations, () -> convert(
+                XmlUtil.getDataFromFile(file, XmlSerializableAddressBook.class)));
+        run("load and convert, streamed", warmups, iterations, () -> convert(file, new ForkJoinPool(1)));
+        run("load and convert, streamed, parallel", warmups, iterations, () ->
+                convert(file, ForkJoinPool.commonPool()));
+    }
+
+    /**
+     * Saves {@code data} as {@link XmlFileStorage#saveDataToFile(File, XmlSerializableAddressBook, boolean)} does,
+     * but with a marshaller from a {@code JAXBContext} built for this call, as before contexts were cached.
+     */
+    private static void saveWithNewContext(File file, XmlSerializableAddressBook data, boolean isFormatted)
+            throws IOException {
+        FileUtil.writeToFileAtomically(file, out -> {
+            try {
+                Marshaller m = JAXBContext.newInstance(XmlSerializableAddressBook.class).createMarshaller();
+                m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, isFormatted);
+                m.marshal(data, out);
+            } catch (JAXBException e) {
+                throw new IOException(e);
+            }
+        });
+    }
+
+    /**
+     * Converts {@code data} the way it was converted before entities were streamed.
+     */
+    private static void convert(XmlSerializableAddressBook data) throws IOException {
+        try {
+            data.toModelType();
+        } catch (IllegalValueException ive) {
+            throw new IOException(ive);
+        }
+    }
+
+    /**
+     * Streams the address book in {@code file}, converting it on {@code pool}.
+     */
+    private static void convert(File file, ForkJoinPool pool) throws IOException {
+        try {
+            XmlAddressBookStreamReader.readAddressBook(file, pool);
+        } catch (DataConversionException | IllegalValueException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Runs {@code operation} {@code warmups} times, then prints its mean time over {@code iterations} runs.
+     */
+    private static void run(String name, int warmups, int iterations, Operation operation) throws Exception {
+        for (int i = 0; i < warmups; i++) {
+            operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        double meanMillis = (System.nanoTime() - start) / 1e6 / iterations;
+        System.out.println(String.format("  %-42s %10.3f ms", name, meanMillis));
+    }
+
+    /**
+     * An operation to be timed.
+     */
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws IOException, JAXBException;
+    }
+}